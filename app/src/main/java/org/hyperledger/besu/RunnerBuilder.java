@@ -1316,7 +1316,7 @@ public class RunnerBuilder {
         new LogsSubscriptionService(subscriptionManager);
 
     // monitoring public logs
-    blockchain.observeLogs(logsSubscriptionService);
+    blockchain.observeBlockAdded(logsSubscriptionService);
   }
 
   private void createSyncingSubscriptionService(
@@ -0,0 +1,294 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.chainimport;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.pipeline.Pipe;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+import org.hyperledger.besu.services.pipeline.PipelineBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports blocks read from a file through a bounded pipeline.
+ *
+ * <p>Raw entries are decoded and then validated, including sender recovery, ahead of execution on a
+ * fork-join pool, while a single stage imports the prepared blocks strictly in file order. Every
+ * stage is bounded by the pipeline buffer size, so reading the file never runs far ahead of
+ * execution.
+ *
+ * @param <R> the type of the raw entries read from the file
+ */
+final class BlockImportPipeline<R> implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockImportPipeline.class);
+  private static final long PROGRESS_LOG_INTERVAL = 1000;
+
+  private final String name;
+  private final ImportSteps<R> steps;
+  private final int parallelism;
+  private final ForkJoinPool preparationPool;
+  private final ExecutorService stageExecutor;
+
+  private final StageStats decodeStats = new StageStats("decode");
+  private final StageStats validateStats = new StageStats("validate");
+  private final StageStats importStats = new StageStats("import");
+
+  private Optional<BlockHeader> previousHeader = Optional.empty();
+
+  /**
+   * Creates a new pipeline.
+   *
+   * @param name the name of the pipeline, used for logging and thread names
+   * @param steps the format specific steps of the import
+   * @param parallelism the number of threads used to decode and validate blocks
+   */
+  BlockImportPipeline(final String name, final ImportSteps<R> steps, final int parallelism) {
+    this.name = name;
+    this.steps = steps;
+    this.parallelism = parallelism;
+    this.preparationPool = new ForkJoinPool(parallelism);
+    this.stageExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat(name + "-stage-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Feeds every entry of the source through the pipeline and waits for all of them to be imported.
+   *
+   * @param source the source of raw entries
+   * @return the number of imported blocks
+   * @throws IOException if the source fails to read its entries
+   * @throws CompletionException if any block fails to decode, validate or import
+   */
+  long importBlocks(final BlockSource<R> source) throws IOException {
+    final int bufferSize = parallelism * 2;
+    final Pipeline<R> pipeline =
+        PipelineBuilder.<R>createPipeline(
+                "readBlocks", bufferSize, NoOpMetricsSystem.NO_OP_LABELLED_1_COUNTER, false, name)
+            .thenProcessAsyncOrdered(
+                "decodeBlocks",
+                raw -> prepare(decodeStats, () -> steps.decode(raw)),
+                parallelism)
+            .thenFlatMap("linkBlocks", this::linkToPreviousHeader, bufferSize)
+            .thenProcessAsyncOrdered(
+                "validateBlocks",
+                pending ->
+                    prepare(
+                        validateStats,
+                        () -> {
+                          steps.validate(pending.block(), pending.parentHeader());
+                          return pending.block();
+                        }),
+                parallelism)
+            .andFinishWith("importBlocks", this::importBlock);
+
+    final Pipe<R> inputPipe = pipeline.getInputPipe();
+    final CompletableFuture<Void> result = pipeline.start(stageExecutor);
+    try {
+      source.feed(
+          raw -> {
+            if (!inputPipe.isOpen()) {
+              throw new ImportAbortedException();
+            }
+            inputPipe.put(raw);
+          });
+    } catch (final ImportAbortedException e) {
+      LOG.debug("{} stopped reading after the pipeline was aborted", name);
+    } catch (final IOException | RuntimeException e) {
+      pipeline.abort();
+      throw e;
+    } finally {
+      inputPipe.close();
+    }
+    result.join();
+    logStageThroughput();
+    return importStats.count.sum();
+  }
+
+  private <T> CompletableFuture<T> prepare(final StageStats stats, final Supplier<T> task) {
+    return CompletableFuture.supplyAsync(() -> stats.time(task), preparationPool);
+  }
+
+  private Stream<PendingBlock> linkToPreviousHeader(final Optional<BlockToImport> decoded) {
+    if (decoded.isEmpty()) {
+      return Stream.empty();
+    }
+    final BlockToImport block = decoded.get();
+    final BlockHeader header = block.block().getHeader();
+    final Optional<BlockHeader> parentHeader =
+        previousHeader.isPresent() ? previousHeader : steps.lookupParentHeader(header);
+    previousHeader = Optional.of(header);
+    return Stream.of(new PendingBlock(block, parentHeader));
+  }
+
+  private void importBlock(final BlockToImport block) {
+    importStats.time(
+        () -> {
+          steps.importBlock(block);
+          return null;
+        });
+    final long imported = importStats.count.sum();
+    if (imported % PROGRESS_LOG_INTERVAL == 0) {
+      LOG.info(
+          "{} imported {} blocks, head {}", name, imported, block.block().getHeader().getNumber());
+      logStageThroughput();
+    }
+  }
+
+  private void logStageThroughput() {
+    final List<String> stages = new ArrayList<>(3);
+    for (final StageStats stats : List.of(decodeStats, validateStats, importStats)) {
+      stages.add(stats.describe());
+    }
+    LOG.info("{} stage throughput: {}", name, String.join(", ", stages));
+  }
+
+  @Override
+  public void close() {
+    preparationPool.shutdownNow();
+    stageExecutor.shutdownNow();
+    try {
+      //noinspection ResultOfMethodCallIgnored
+      preparationPool.awaitTermination(5, SECONDS);
+      //noinspection ResultOfMethodCallIgnored
+      stageExecutor.awaitTermination(5, SECONDS);
+    } catch (final InterruptedException e) {
+      LOG.error("Interrupted shutting down {} executors", name, e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * A block decoded from the import file, with its receipts when the file format carries them.
+   *
+   * @param block the block
+   * @param receipts the receipts of the block, if present in the file
+   */
+  record BlockToImport(Block block, Optional<List<TransactionReceipt>> receipts) {}
+
+  private record PendingBlock(BlockToImport block, Optional<BlockHeader> parentHeader) {}
+
+  /**
+   * The format specific steps of an import.
+   *
+   * @param <R> the type of the raw entries read from the file
+   */
+  interface ImportSteps<R> {
+
+    /**
+     * Decodes a raw entry. Called concurrently from the preparation pool.
+     *
+     * @param raw the raw entry
+     * @return the decoded block, or empty if the block should be skipped
+     */
+    Optional<BlockToImport> decode(R raw);
+
+    /**
+     * Looks up the parent of the first block to import, as it is not part of the file.
+     *
+     * @param header the header of the first block to import
+     * @return the parent header, if known
+     */
+    Optional<BlockHeader> lookupParentHeader(BlockHeader header);
+
+    /**
+     * Validates a block ahead of execution. Called concurrently from the preparation pool.
+     *
+     * @param block the block to validate
+     * @param parentHeader the header of the parent block, if known
+     */
+    void validate(BlockToImport block, Optional<BlockHeader> parentHeader);
+
+    /**
+     * Imports a validated block. Called sequentially, in file order, from a single thread.
+     *
+     * @param block the block to import
+     */
+    void importBlock(BlockToImport block);
+  }
+
+  /**
+   * Feeds raw entries into the pipeline, blocking while the pipeline is full.
+   *
+   * @param <R> the type of the raw entries read from the file
+   */
+  @FunctionalInterface
+  interface BlockSource<R> {
+
+    /**
+     * Reads every raw entry and hands it to the sink.
+     *
+     * @param sink the sink accepting raw entries
+     * @throws IOException if reading fails
+     */
+    void feed(Consumer<R> sink) throws IOException;
+  }
+
+  private static final class StageStats {
+    private final String stageName;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+
+    private StageStats(final String stageName) {
+      this.stageName = stageName;
+    }
+
+    private <T> T time(final Supplier<T> task) {
+      final long start = System.nanoTime();
+      try {
+        return task.get();
+      } finally {
+        busyNanos.add(System.nanoTime() - start);
+        count.increment();
+      }
+    }
+
+    private String describe() {
+      final long items = count.sum();
+      final double busySeconds = busyNanos.sum() / 1_000_000_000d;
+      return String.format(
+          "%s %d blocks %.1f blocks/s per thread",
+          stageName, items, busySeconds == 0 ? 0d : items / busySeconds);
+    }
+  }
+
+  private static final class ImportAbortedException extends RuntimeException {
+    private ImportAbortedException() {
+      super("Block import pipeline aborted");
+    }
+  }
+}
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.chainimport;
 
+import org.hyperledger.besu.chainimport.BlockImportPipeline.BlockToImport;
 import org.hyperledger.besu.controller.BesuController;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -24,34 +25,28 @@ import org.hyperledger.besu.ethereum.core.BlockImporter;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptDecoder;
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
+import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
 import org.hyperledger.besu.ethereum.mainnet.BodyValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
-import org.hyperledger.besu.util.era1.Era1BlockIndex;
-import org.hyperledger.besu.util.era1.Era1ExecutionBlockBody;
-import org.hyperledger.besu.util.era1.Era1ExecutionBlockHeader;
-import org.hyperledger.besu.util.era1.Era1ExecutionBlockReceipts;
 import org.hyperledger.besu.util.era1.Era1Reader;
-import org.hyperledger.besu.util.era1.Era1ReaderListener;
+import org.hyperledger.besu.util.era1.MappedEra1File;
+import org.hyperledger.besu.util.era1.MappedEra1File.Era1BlockEntries;
 import org.hyperledger.besu.util.io.InputStreamFactory;
 import org.hyperledger.besu.util.snappy.SnappyFactory;
 
 import java.io.Closeable;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,11 +56,21 @@ import org.slf4j.LoggerFactory;
 public class Era1BlockImporter implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(Era1BlockImporter.class);
 
-  private static final int ERA1_BLOCK_COUNT_MAX = 8192;
-  private static final int IMPORT_COUNT_FOR_LOG_UPDATE = 1000;
+  private final int parallelism;
 
   /** Default Constructor. */
-  public Era1BlockImporter() {}
+  public Era1BlockImporter() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Instantiates a new Era1 block importer.
+   *
+   * @param parallelism the number of threads used to decode and validate blocks ahead of import
+   */
+  public Era1BlockImporter(final int parallelism) {
+    this.parallelism = parallelism;
+  }
 
   /**
    * Imports the blocks, headers, and transaction receipts from the file found at the supplied path
@@ -84,90 +89,96 @@ public class Era1BlockImporter implements Closeable {
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
     final ProtocolContext context = controller.getProtocolContext();
 
-    Era1Reader reader = new Era1Reader(new SnappyFactory(), new InputStreamFactory());
-
-    final List<Future<BlockHeader>> headersFutures = new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
-    final List<Future<BlockBody>> bodiesFutures = new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
-    final List<Future<List<TransactionReceipt>>> receiptsFutures =
-        new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
-    reader.read(
-        new FileInputStream(path.toFile()),
-        new Era1ReaderListener() {
+    final Era1Reader reader = new Era1Reader(new SnappyFactory(), new InputStreamFactory());
 
+    final BlockImportPipeline.ImportSteps<Era1BlockEntries> steps =
+        new BlockImportPipeline.ImportSteps<>() {
           @Override
-          public void handleExecutionBlockHeader(
-              final Era1ExecutionBlockHeader executionBlockHeader) {
-            headersFutures.add(
-                CompletableFuture.supplyAsync(
-                    () ->
-                        BlockHeader.readFrom(
-                            new BytesValueRLPInput(
-                                Bytes.wrap(executionBlockHeader.header()), false),
-                            blockHeaderFunctions)));
+          public Optional<BlockToImport> decode(final Era1BlockEntries rawBlock) {
+            return Optional.of(decodeBlock(rawBlock, blockHeaderFunctions));
           }
 
           @Override
-          public void handleExecutionBlockBody(final Era1ExecutionBlockBody executionBlockBody) {
-            bodiesFutures.add(
-                CompletableFuture.supplyAsync(
-                    () ->
-                        BlockBody.readWrappedBodyFrom(
-                            new BytesValueRLPInput(Bytes.wrap(executionBlockBody.block()), false),
-                            blockHeaderFunctions,
-                            true)));
+          public Optional<BlockHeader> lookupParentHeader(final BlockHeader header) {
+            return context.getBlockchain().getBlockHeader(header.getParentHash());
           }
 
           @Override
-          public void handleExecutionBlockReceipts(
-              final Era1ExecutionBlockReceipts executionBlockReceipts) {
-            receiptsFutures.add(
-                CompletableFuture.supplyAsync(
-                    () -> {
-                      RLPInput input =
-                          new BytesValueRLPInput(
-                              Bytes.wrap(executionBlockReceipts.receipts()), false);
-                      final List<TransactionReceipt> receiptsForBlock = new ArrayList<>();
-                      input.readList(
-                          (in) ->
-                              receiptsForBlock.add(TransactionReceiptDecoder.readFrom(in, false)));
-                      return receiptsForBlock;
-                    }));
+          public void validate(
+              final BlockToImport blockToImport, final Optional<BlockHeader> parentHeader) {
+            validateRoots(blockToImport);
           }
 
           @Override
-          public void handleBlockIndex(final Era1BlockIndex blockIndex) {
-            // not really necessary, do nothing
+          public void importBlock(final BlockToImport blockToImport) {
+            final Block block = blockToImport.block();
+            final BlockImporter blockImporter =
+                protocolSchedule.getByBlockHeader(block.getHeader()).getBlockImporter();
+            final BlockImportResult importResult =
+                blockImporter.importBlockForSyncing(
+                    context,
+                    block,
+                    blockToImport.receipts().orElseThrow(),
+                    HeaderValidationMode.NONE,
+                    HeaderValidationMode.NONE,
+                    BodyValidationMode.NONE,
+                    false);
+            if (importResult.getStatus() != BlockImportResult.BlockImportStatus.IMPORTED) {
+              LOG.warn(
+                  "Failed to import block {} due to {}",
+                  block.getHeader().getNumber(),
+                  importResult.getStatus());
+            }
           }
-        });
-
-    LOG.info("Read {} blocks, now importing", headersFutures.size());
-
-    Block block = null;
-    for (int i = 0; i < headersFutures.size(); i++) {
-      BlockHeader blockHeader = headersFutures.get(i).get(10, TimeUnit.SECONDS);
-      BlockImporter blockImporter =
-          protocolSchedule.getByBlockHeader(blockHeader).getBlockImporter();
-      block = new Block(blockHeader, bodiesFutures.get(i).get(10, TimeUnit.SECONDS));
-
-      BlockImportResult importResult =
-          blockImporter.importBlockForSyncing(
-              context,
-              block,
-              receiptsFutures.get(i).get(10, TimeUnit.SECONDS),
-              HeaderValidationMode.NONE,
-              HeaderValidationMode.NONE,
-              BodyValidationMode.NONE,
-              false);
-      if (importResult.getStatus() != BlockImportResult.BlockImportStatus.IMPORTED) {
-        LOG.warn(
-            "Failed to import block {} due to {}",
-            blockHeader.getNumber(),
-            importResult.getStatus());
-      } else if (i % IMPORT_COUNT_FOR_LOG_UPDATE == 0) {
-        LOG.info("{}/{} blocks imported", i, headersFutures.size());
-      }
+        };
+
+    final long count;
+    try (final MappedEra1File era1File = reader.map(path);
+        final BlockImportPipeline<Era1BlockEntries> pipeline =
+            new BlockImportPipeline<>("era1-block-import", steps, parallelism)) {
+      final long firstBlock = era1File.getStartingBlockNumber();
+      count =
+          pipeline.importBlocks(
+              sink -> {
+                for (long i = 0; i < era1File.getBlockCount(); i++) {
+                  sink.accept(era1File.getBlock(firstBlock + i));
+                }
+              });
+    }
+    LOG.info("Done importing {} blocks", count);
+  }
+
+  private static BlockToImport decodeBlock(
+      final Era1BlockEntries rawBlock, final BlockHeaderFunctions blockHeaderFunctions) {
+    final BlockHeader blockHeader =
+        BlockHeader.readFrom(
+            new BytesValueRLPInput(rawBlock.header(), false), blockHeaderFunctions);
+    final BlockBody blockBody =
+        BlockBody.readWrappedBodyFrom(
+            new BytesValueRLPInput(rawBlock.body(), false), blockHeaderFunctions, true);
+    final RLPInput input = new BytesValueRLPInput(rawBlock.receipts(), false);
+    final List<TransactionReceipt> receipts = new ArrayList<>();
+    input.readList((in) -> receipts.add(TransactionReceiptDecoder.readFrom(in, false)));
+    return new BlockToImport(new Block(blockHeader, blockBody), Optional.of(receipts));
+  }
+
+  private static void validateRoots(final BlockToImport blockToImport) {
+    final BlockHeader header = blockToImport.block().getHeader();
+    final BlockBody body = blockToImport.block().getBody();
+    if (!BodyValidation.transactionsRoot(body.getTransactions())
+        .equals(header.getTransactionsRoot())) {
+      throw new IllegalStateException(
+          "Invalid transactions root at block number " + header.getNumber() + ".");
+    }
+    if (!BodyValidation.ommersHash(body.getOmmers()).equals(header.getOmmersHash())) {
+      throw new IllegalStateException(
+          "Invalid ommers hash at block number " + header.getNumber() + ".");
+    }
+    if (!BodyValidation.receiptsRoot(blockToImport.receipts().orElseThrow())
+        .equals(header.getReceiptsRoot())) {
+      throw new IllegalStateException(
+          "Invalid receipts root at block number " + header.getNumber() + ".");
     }
-    LOG.info("Done importing {} blocks", headersFutures.size());
   }
 
   @Override
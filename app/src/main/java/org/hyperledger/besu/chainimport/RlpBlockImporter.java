@@ -14,8 +14,7 @@
  */
 package org.hyperledger.besu.chainimport;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
-
+import org.hyperledger.besu.chainimport.BlockImportPipeline.BlockToImport;
 import org.hyperledger.besu.controller.BesuController;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
@@ -31,22 +30,18 @@ import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.util.MappedRawBlockIterator;
 import org.hyperledger.besu.ethereum.util.RawBlockIterator;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Stopwatch;
+import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,10 +49,7 @@ import org.slf4j.LoggerFactory;
 public class RlpBlockImporter implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(RlpBlockImporter.class);
 
-  private final Semaphore blockBacklog = new Semaphore(2);
-
-  private final ExecutorService validationExecutor = Executors.newCachedThreadPool();
-  private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+  private final int parallelism;
 
   private long cumulativeGas;
   private long segmentGas;
@@ -66,7 +58,18 @@ public class RlpBlockImporter implements Closeable {
   private static final long SEGMENT_SIZE = 1000;
 
   /** Default Constructor. */
-  public RlpBlockImporter() {}
+  public RlpBlockImporter() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Instantiates a new Rlp block importer.
+   *
+   * @param parallelism the number of threads used to decode and validate blocks ahead of import
+   */
+  public RlpBlockImporter(final int parallelism) {
+    this.parallelism = parallelism;
+  }
 
   /**
    * Imports blocks that are stored as concatenated RLP sections in the given file into Besu's block
@@ -105,94 +108,72 @@ public class RlpBlockImporter implements Closeable {
     final ProtocolSchedule protocolSchedule = besuController.getProtocolSchedule();
     final ProtocolContext context = besuController.getProtocolContext();
     final MutableBlockchain blockchain = context.getBlockchain();
-    int count = 0;
     final BlockHeaderFunctions blockHeaderFunctions =
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
-    try (final RawBlockIterator iterator = new RawBlockIterator(blocks, blockHeaderFunctions)) {
-      BlockHeader previousHeader = null;
-      CompletableFuture<Void> previousBlockFuture = null;
-      final AtomicReference<Throwable> threadedException = new AtomicReference<>();
-      while (iterator.hasNext()) {
-        final Block block = iterator.next();
-        final BlockHeader header = block.getHeader();
-        final long blockNumber = header.getNumber();
-        if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
-            || blockNumber < startBlock
-            || blockNumber >= endBlock) {
-          continue;
-        }
-        if (blockchain.contains(header.getHash())) {
-          continue;
-        }
-        if (previousHeader == null) {
-          previousHeader = lookupPreviousHeader(blockchain, header);
-        }
-        final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
-        final BlockHeader lastHeader = previousHeader;
-
-        final CompletableFuture<Void> validationFuture =
-            CompletableFuture.runAsync(
-                () -> validateBlock(protocolSpec, context, lastHeader, header, skipPowValidation),
-                validationExecutor);
-
-        final CompletableFuture<Void> extractingFuture =
-            CompletableFuture.runAsync(() -> extractSignatures(block));
+    final BlockImportPipeline.ImportSteps<Bytes> steps =
+        new BlockImportPipeline.ImportSteps<>() {
+          @Override
+          public Optional<BlockToImport> decode(final Bytes rawBlock) {
+            final Block block = RawBlockIterator.decodeBlock(rawBlock, blockHeaderFunctions);
+            final long blockNumber = block.getHeader().getNumber();
+            if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
+                || blockNumber < startBlock
+                || blockNumber >= endBlock
+                || blockchain.contains(block.getHash())) {
+              return Optional.empty();
+            }
+            return Optional.of(new BlockToImport(block, Optional.empty()));
+          }
 
-        final CompletableFuture<Void> calculationFutures;
-        if (previousBlockFuture == null) {
-          calculationFutures = extractingFuture;
-        } else {
-          calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
-        }
+          @Override
+          public Optional<BlockHeader> lookupParentHeader(final BlockHeader header) {
+            return Optional.ofNullable(lookupPreviousHeader(blockchain, header));
+          }
 
-        try {
-          do {
-            final Throwable t = (Exception) threadedException.get();
-            if (t != null) {
-              throw new RuntimeException("Error importing block " + header.getNumber(), t);
-            }
-          } while (!blockBacklog.tryAcquire(1, SECONDS));
-        } catch (final InterruptedException e) {
-          LOG.error("Interrupted adding to backlog.", e);
-          break;
-        }
-        previousBlockFuture =
-            validationFuture.runAfterBothAsync(
-                calculationFutures,
-                () ->
-                    evaluateBlock(
-                        context,
-                        block,
-                        header,
-                        protocolSchedule.getByBlockHeader(header),
-                        skipPowValidation),
-                importExecutor);
-        previousBlockFuture.exceptionally(
-            exception -> {
-              threadedException.set(exception);
-              return null;
-            });
+          @Override
+          public void validate(
+              final BlockToImport blockToImport, final Optional<BlockHeader> parentHeader) {
+            final BlockHeader header = blockToImport.block().getHeader();
+            validateBlock(
+                protocolSchedule.getByBlockHeader(header),
+                context,
+                parentHeader.orElse(null),
+                header,
+                skipPowValidation);
+            extractSignatures(blockToImport.block());
+          }
 
-        ++count;
-        previousHeader = header;
-      }
-      if (previousBlockFuture != null) {
-        previousBlockFuture.join();
-      }
-      logProgress(blockchain.getChainHeadBlockNumber());
-      return new RlpBlockImporter.ImportResult(
-          blockchain.getChainHead().getTotalDifficulty(), count);
+          @Override
+          public void importBlock(final BlockToImport blockToImport) {
+            final Block block = blockToImport.block();
+            evaluateBlock(
+                context,
+                block,
+                block.getHeader(),
+                protocolSchedule.getByBlockHeader(block.getHeader()),
+                skipPowValidation);
+          }
+        };
+    final long count;
+    try (final MappedRawBlockIterator iterator = new MappedRawBlockIterator(blocks);
+        final BlockImportPipeline<Bytes> pipeline =
+            new BlockImportPipeline<>("rlp-block-import", steps, parallelism)) {
+      count =
+          pipeline.importBlocks(
+              sink -> {
+                while (iterator.hasNext()) {
+                  sink.accept(iterator.next());
+                }
+              });
     }
+    logProgress(blockchain.getChainHeadBlockNumber());
+    return new RlpBlockImporter.ImportResult(
+        blockchain.getChainHead().getTotalDifficulty(), (int) count);
   }
 
   private void extractSignatures(final Block block) {
-    final List<CompletableFuture<Void>> futures =
-        new ArrayList<>(block.getBody().getTransactions().size());
     for (final Transaction tx : block.getBody().getTransactions()) {
-      futures.add(CompletableFuture.runAsync(tx::getSender, validationExecutor));
-    }
-    for (final CompletableFuture<Void> future : futures) {
-      future.join();
+      tx.getSender();
     }
   }
 
@@ -239,7 +220,6 @@ public class RlpBlockImporter implements Closeable {
             "Invalid block at block number " + header.getNumber() + ".");
       }
     } finally {
-      blockBacklog.release();
       cumulativeTimer.stop();
       segmentTimer.stop();
       final long thisGas = block.getHeader().getGasUsed();
@@ -284,21 +264,7 @@ public class RlpBlockImporter implements Closeable {
 
   @Override
   public void close() {
-    validationExecutor.shutdownNow();
-    try {
-      //noinspection ResultOfMethodCallIgnored
-      validationExecutor.awaitTermination(5, SECONDS);
-    } catch (final Exception e) {
-      LOG.error("Error shutting down validatorExecutor.", e);
-    }
-
-    importExecutor.shutdownNow();
-    try {
-      //noinspection ResultOfMethodCallIgnored
-      importExecutor.awaitTermination(5, SECONDS);
-    } catch (final Exception e) {
-      LOG.error("Error shutting down importExecutor", e);
-    }
+    // executors are owned by the import pipeline of each import
   }
 
   /** The Import result. */
@@ -1837,6 +1837,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .isRevertReasonEnabled(isRevertReasonEnabled)
             .storageProvider(storageProvider)
             .isEarlyRoundChangeEnabled(unstableQbftOptions.isEarlyRoundChangeEnabled())
+            .isPipelinedProposalsEnabled(unstableQbftOptions.isPipelinedProposalsEnabled())
             .requiredBlocks(requiredBlocks)
             .reorgLoggingThreshold(reorgLoggingThreshold)
             .evmConfiguration(unstableEvmOptions.toDomainObject())
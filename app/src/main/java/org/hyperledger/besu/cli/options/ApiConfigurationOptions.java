@@ -48,6 +48,13 @@ public class ApiConfigurationOptions {
       description = "Decimal ratio for eth_estimateGas tolerance (default: ${DEFAULT-VALUE})")
   private final Double estimateGasToleranceRatio = 0.015;
 
+  @CommandLine.Option(
+      names = {"--estimate-gas-parallelism"},
+      hidden = true,
+      description =
+          "Number of gas limits simulated concurrently by each round of the eth_estimateGas search. 1 performs a sequential binary search (default: ${DEFAULT-VALUE})")
+  private final Integer estimateGasParallelism = 1;
+
   @CommandLine.Option(
       names = {"--api-gas-price-max"},
       description = "Maximum gas price for eth_gasPrice (default: ${DEFAULT-VALUE})")
@@ -94,6 +101,13 @@ public class ApiConfigurationOptions {
           "Specifies the maximum number of blocks for the trace_filter method. Must be >=0. 0 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Long maxTraceFilterRange = 1000L;
 
+  @CommandLine.Option(
+      names = {"--rpc-trace-filter-parallelism"},
+      hidden = true,
+      description =
+          "Number of blocks traced concurrently by the trace_filter method. 1 traces blocks sequentially (default: ${DEFAULT-VALUE})")
+  private final Integer traceFilterParallelism = 1;
+
   /**
    * Validates the API options.
    *
@@ -101,6 +115,14 @@ public class ApiConfigurationOptions {
    * @param logger Logger instance
    */
   public void validate(final CommandLine commandLine, final Logger logger) {
+    if (traceFilterParallelism < 1) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--rpc-trace-filter-parallelism must be greater than or equal to 1");
+    }
+    if (estimateGasParallelism < 1) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--estimate-gas-parallelism must be greater than or equal to 1");
+    }
     if (apiGasAndPriorityFeeLimitingEnabled) {
       if (apiGasAndPriorityFeeLowerBoundCoefficient > apiGasAndPriorityFeeUpperBoundCoefficient) {
         throw new CommandLine.ParameterException(
@@ -134,10 +156,12 @@ public class ApiConfigurationOptions {
             .gasPricePercentile(apiGasPricePercentile)
             .gasPriceMax(Wei.of(apiGasPriceMax))
             .estimateGasToleranceRatio(estimateGasToleranceRatio)
+            .estimateGasParallelism(estimateGasParallelism)
             .maxLogsRange(rpcMaxLogsRange)
             .gasCap(rpcGasCap)
             .isGasAndPriorityFeeLimitingEnabled(apiGasAndPriorityFeeLimitingEnabled)
-            .maxTraceFilterRange(maxTraceFilterRange);
+            .maxTraceFilterRange(maxTraceFilterRange)
+            .traceFilterParallelism(traceFilterParallelism);
     if (apiGasAndPriorityFeeLimitingEnabled) {
       builder
           .lowerBoundGasAndPriorityFeeCoefficient(apiGasAndPriorityFeeLowerBoundCoefficient)
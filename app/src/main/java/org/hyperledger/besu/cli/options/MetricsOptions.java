@@ -51,6 +51,7 @@ public class MetricsOptions implements CLIOptions<MetricsConfiguration.Builder>
     builder
         .timersEnabled(unstableOptions.timersEnabled)
         .idleTimeout(unstableOptions.idleTimeout)
+        .stripedEnabled(unstableOptions.stripedEnabled)
         .enabled(getMetricsEnabled())
         .host(getMetricsHost())
         .port(getMetricsPort())
@@ -75,6 +76,7 @@ public class MetricsOptions implements CLIOptions<MetricsConfiguration.Builder>
     final MetricsOptions metricsOptions = create();
     metricsOptions.unstableOptions.timersEnabled = config.isTimersEnabled();
     metricsOptions.unstableOptions.idleTimeout = config.getIdleTimeout();
+    metricsOptions.unstableOptions.stripedEnabled = config.isStripedEnabled();
     metricsOptions.isMetricsEnabled = config.isEnabled();
     metricsOptions.metricsHost = config.getHost();
     metricsOptions.metricsPort = config.getPort();
@@ -309,6 +311,7 @@ public class MetricsOptions implements CLIOptions<MetricsConfiguration.Builder>
   static class Unstable {
     private static final String TIMERS_ENABLED_FLAG = "--Xmetrics-timers-enabled";
     private static final String IDLE_TIMEOUT_FLAG = "--Xmetrics-idle-timeout";
+    private static final String STRIPED_ENABLED_FLAG = "--Xmetrics-striped-enabled";
 
     @CommandLine.Option(
         names = TIMERS_ENABLED_FLAG,
@@ -323,5 +326,12 @@ public class MetricsOptions implements CLIOptions<MetricsConfiguration.Builder>
         description = "Timeout for metrics TCP connections, in seconds (default: ${DEFAULT-VALUE})",
         arity = "1")
     private int idleTimeout = MetricsConfiguration.DEFAULT_METRICS_IDLE_TIMEOUT_SECONDS;
+
+    @CommandLine.Option(
+        names = STRIPED_ENABLED_FLAG,
+        hidden = true,
+        description =
+            "Whether to record Prometheus counters and timers in striped cells resolved once per label values (default: ${DEFAULT-VALUE}).")
+    private Boolean stripedEnabled = MetricsConfiguration.DEFAULT_METRICS_STRIPED_ENABLED;
   }
 }
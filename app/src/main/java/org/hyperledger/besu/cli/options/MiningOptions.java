@@ -204,6 +204,21 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
         description =
             "Specifies the maximum time, in milliseconds, to wait for block building to complete when only an empty block is available (default: ${DEFAULT-VALUE} milliseconds)")
     private Long posBlockFinalizationTimeoutMs = DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xtxs-selection-pre-evaluation-window"},
+        description =
+            "Number of upcoming candidate transactions speculatively executed in parallel during block transaction selection, 0 to disable (default: ${DEFAULT-VALUE})")
+    private Integer txsSelectionPreEvaluationWindow = 0;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xpos-block-creation-incremental-enabled"},
+        description =
+            "Append the new pending transactions to the best PoS block proposal on each repetition, instead of creating it again (default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private Boolean posBlockCreationIncrementalEnabled = Boolean.FALSE;
   }
 
   private TransactionSelectionService transactionSelectionService;
@@ -296,6 +311,11 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
           commandLine, "--Xpos-block-finalization-timeout-ms must be positive and ≤ 12000");
     }
 
+    if (unstableOptions.txsSelectionPreEvaluationWindow < 0) {
+      throw new ParameterException(
+          commandLine, "--Xtxs-selection-pre-evaluation-window must be positive or 0");
+    }
+
     CommandLineUtils.failIfOptionDoesntMeetRequirement(
         commandLine,
         "--block-txs-selection-max-time can only be used on networks with PoS support in the genesis file,"
@@ -343,6 +363,10 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
         miningConfiguration.getUnstable().getPosSlotDuration();
     miningOptions.unstableOptions.posBlockFinalizationTimeoutMs =
         miningConfiguration.getUnstable().getPosBlockFinalizationTimeoutMs();
+    miningOptions.unstableOptions.txsSelectionPreEvaluationWindow =
+        miningConfiguration.getUnstable().getTxsSelectionPreEvaluationWindow();
+    miningOptions.unstableOptions.posBlockCreationIncrementalEnabled =
+        miningConfiguration.getUnstable().isPosBlockCreationIncremental();
 
     miningConfiguration.getCoinbase().ifPresent(coinbase -> miningOptions.coinbase = coinbase);
     miningConfiguration.getTargetGasLimit().ifPresent(tgl -> miningOptions.targetGasLimit = tgl);
@@ -387,6 +411,8 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
                     unstableOptions.posBlockCreationRepetitionMinDuration)
                 .posSlotDuration(unstableOptions.posSlotDuration)
                 .posBlockFinalizationTimeoutMs(unstableOptions.posBlockFinalizationTimeoutMs)
+                .txsSelectionPreEvaluationWindow(unstableOptions.txsSelectionPreEvaluationWindow)
+                .isPosBlockCreationIncremental(unstableOptions.posBlockCreationIncrementalEnabled)
                 .build())
         .build();
   }
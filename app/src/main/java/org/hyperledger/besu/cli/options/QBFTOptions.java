@@ -38,6 +38,13 @@ public class QBFTOptions {
       hidden = true)
   private boolean enableEarlyRoundChange = false;
 
+  @CommandLine.Option(
+      names = {"--Xqbft-enable-pipelined-proposals"},
+      description =
+          "Enable the creation of the next block by its proposer while the current block collects its commit seals (experimental)",
+      hidden = true)
+  private boolean enablePipelinedProposals = false;
+
   /**
    * Is early round change enabled boolean.
    *
@@ -46,4 +53,13 @@ public class QBFTOptions {
   public boolean isEarlyRoundChangeEnabled() {
     return enableEarlyRoundChange;
   }
+
+  /**
+   * Is pipelined proposals enabled boolean.
+   *
+   * @return true if pipelined proposals are enabled
+   */
+  public boolean isPipelinedProposalsEnabled() {
+    return enablePipelinedProposals;
+  }
 }
@@ -22,8 +22,10 @@ import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.ImmutableDataStorageConfiguration;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 import picocli.CommandLine;
@@ -55,6 +57,13 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
           "Convenience option to enable online history pruning and configure BlobDB garbage collection settings (default: ${DEFAULT-VALUE}). \"--Xhistory-expiry-prune\" is deprecated and will be removed in a future release. Use \"--history-expiry-prune\" instead.")
   private Boolean historyExpiryPrune = false;
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xera1-history-directory"},
+      description =
+          "Directory of ERA1 files used to serve the bodies and receipts of historical blocks missing from the database, for example after pruning pre-merge blocks")
+  private Path era1HistoryDirectory = null;
+
   /**
    * Options specific to path-based storage modes. Holds the necessary parameters to configure
    * path-based storage, such as the Bonsai mode or Verkle in the future.
@@ -98,6 +107,7 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         PathBasedExtraStorageOptions.fromConfig(
             domainObject.getPathBasedExtraStorageConfiguration());
     dataStorageOptions.historyExpiryPrune = domainObject.getHistoryExpiryPruneEnabled();
+    dataStorageOptions.era1HistoryDirectory = domainObject.getEra1HistoryDirectory().orElse(null);
     return dataStorageOptions;
   }
 
@@ -108,6 +118,7 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
             .dataStorageFormat(dataStorageFormat)
             .receiptCompactionEnabled(receiptCompactionEnabled)
             .historyExpiryPruneEnabled(historyExpiryPrune)
+            .era1HistoryDirectory(Optional.ofNullable(era1HistoryDirectory))
             .pathBasedExtraStorageConfiguration(pathBasedExtraStorageOptions.toDomainObject());
     return builder.build();
   }
@@ -81,6 +81,7 @@ import org.hyperledger.besu.ethereum.forkid.ForkIdManager;
 import org.hyperledger.besu.ethereum.mainnet.BalConfiguration;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.profiling.EvmProfilerMetrics;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
@@ -227,6 +228,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   /** When enabled, round changes on f+1 RC messages from higher rounds */
   protected boolean isEarlyRoundChangeEnabled = false;
 
+  /** When enabled, the proposer of the next block creates it while the current one is prepared */
+  protected boolean isPipelinedProposalsEnabled = false;
+
   /** The global code cache */
   protected CodeCache codeCache;
 
@@ -588,6 +592,18 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     return this;
   }
 
+  /**
+   * check if the proposer of the next block creates it while the current block is prepared
+   *
+   * @param isPipelinedProposalsEnabled whether to enable pipelined proposals
+   * @return the besu controller
+   */
+  public BesuControllerBuilder isPipelinedProposalsEnabled(
+      final boolean isPipelinedProposalsEnabled) {
+    this.isPipelinedProposalsEnabled = isPipelinedProposalsEnabled;
+    return this;
+  }
+
   /**
    * Build besu controller.
    *
@@ -701,6 +717,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final int maxMessageSize = ethereumWireProtocolConfiguration.getMaxMessageSize();
     final Supplier<ProtocolSpec> currentProtocolSpecSupplier =
         () -> protocolSchedule.getByBlockHeader(blockchain.getChainHeadHeader());
+    EvmProfilerMetrics.register(metricsSystem);
     final ForkIdManager forkIdManager =
         new ForkIdManager(
             blockchain,
@@ -1246,7 +1263,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             ethPeers,
             snapMessages,
             protocolContext,
-            synchronizer));
+            synchronizer,
+            metricsSystem));
   }
 
   WorldStateArchive createWorldStateArchive(
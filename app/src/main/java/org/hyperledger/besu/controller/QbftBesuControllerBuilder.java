@@ -27,6 +27,7 @@ import org.hyperledger.besu.consensus.common.bft.BftBlockInterface;
 import org.hyperledger.besu.consensus.common.bft.BftContext;
 import org.hyperledger.besu.consensus.common.bft.BftEventQueue;
 import org.hyperledger.besu.consensus.common.bft.BftExecutors;
+import org.hyperledger.besu.consensus.common.bft.BftMessageVerifier;
 import org.hyperledger.besu.consensus.common.bft.BftProcessor;
 import org.hyperledger.besu.consensus.common.bft.BftProtocolSchedule;
 import org.hyperledger.besu.consensus.common.bft.BftRoundExpiryTimeCalculator;
@@ -56,14 +57,17 @@ import org.hyperledger.besu.consensus.qbft.adaptor.QbftBlockCreatorFactoryAdapto
 import org.hyperledger.besu.consensus.qbft.adaptor.QbftBlockInterfaceAdaptor;
 import org.hyperledger.besu.consensus.qbft.adaptor.QbftBlockchainAdaptor;
 import org.hyperledger.besu.consensus.qbft.adaptor.QbftFinalStateImpl;
+import org.hyperledger.besu.consensus.qbft.adaptor.QbftMessageAdaptor;
 import org.hyperledger.besu.consensus.qbft.adaptor.QbftProtocolScheduleAdaptor;
 import org.hyperledger.besu.consensus.qbft.adaptor.QbftValidatorModeTransitionLoggerAdaptor;
 import org.hyperledger.besu.consensus.qbft.adaptor.QbftValidatorProviderAdaptor;
 import org.hyperledger.besu.consensus.qbft.blockcreation.QbftBlockCreatorFactory;
+import org.hyperledger.besu.consensus.qbft.core.messagewrappers.QbftMessageDecoder;
 import org.hyperledger.besu.consensus.qbft.core.payload.MessageFactory;
 import org.hyperledger.besu.consensus.qbft.core.statemachine.QbftBlockHeightManagerFactory;
 import org.hyperledger.besu.consensus.qbft.core.statemachine.QbftController;
 import org.hyperledger.besu.consensus.qbft.core.statemachine.QbftRoundFactory;
+import org.hyperledger.besu.consensus.qbft.core.statemachine.SpeculativeBlockCreator;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockCodec;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockInterface;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftEventHandler;
@@ -93,6 +97,7 @@ import org.hyperledger.besu.ethereum.core.Util;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.SnapProtocol;
 import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManager;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.ethereum.eth.manager.snap.SnapProtocolManager;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
@@ -115,7 +120,10 @@ import org.slf4j.LoggerFactory;
 public class QbftBesuControllerBuilder extends BesuControllerBuilder {
 
   private static final Logger LOG = LoggerFactory.getLogger(QbftBesuControllerBuilder.class);
+  private static final int MESSAGE_VERIFIER_WORKERS =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
   private BftEventQueue bftEventQueue;
+  private BftMessageVerifier messageVerifier;
   private QbftConfigOptions qbftConfig;
   private ForksSchedule<QbftConfigOptions> qbftForksSchedule;
   private ValidatorPeers peers;
@@ -179,6 +187,7 @@ public class QbftBesuControllerBuilder extends BesuControllerBuilder {
                 Istanbul100SubProtocol.get(),
                 new BftProtocolManager(
                     bftEventQueue,
+                    Optional.ofNullable(messageVerifier),
                     peers,
                     Istanbul100SubProtocol.ISTANBUL_100,
                     Istanbul100SubProtocol.get().getName()));
@@ -200,6 +209,15 @@ public class QbftBesuControllerBuilder extends BesuControllerBuilder {
     final BftExecutors bftExecutors =
         BftExecutors.create(metricsSystem, BftExecutors.ConsensusType.QBFT);
     final QbftBlockCodec blockEncoder = new QbftBlockCodecAdaptor(qbftExtraDataCodec);
+    final QbftMessageDecoder messageDecoder = new QbftMessageDecoder();
+    messageVerifier =
+        new BftMessageVerifier(
+            bftEventQueue,
+            new MessageTracker(qbftConfig.getDuplicateMessageLimit()),
+            message -> messageDecoder.decode(new QbftMessageAdaptor(message), blockEncoder),
+            MonitoredExecutors.newFixedThreadPool(
+                "BftMessageVerifier", MESSAGE_VERIFIER_WORKERS, metricsSystem),
+            qbftConfig.getMessageQueueLimit());
 
     final Address localAddress = Util.publicKeyToAddress(nodeKey.getPublicKey());
     final BftProtocolSchedule bftProtocolSchedule = (BftProtocolSchedule) protocolSchedule;
@@ -303,6 +321,13 @@ public class QbftBesuControllerBuilder extends BesuControllerBuilder {
                 new ValidatorModeTransitionLogger(qbftForksSchedule)));
 
     qbftBlockHeightManagerFactory.isEarlyRoundChangeEnabled(isEarlyRoundChangeEnabled);
+    if (isPipelinedProposalsEnabled) {
+      qbftBlockHeightManagerFactory.speculativeBlockCreator(
+          new SpeculativeBlockCreator(
+              finalState,
+              MonitoredExecutors.newFixedThreadPool(
+                  "QbftSpeculativeBlockCreator", 1, metricsSystem)));
+    }
 
     final QbftEventHandler qbftController =
         new QbftController(
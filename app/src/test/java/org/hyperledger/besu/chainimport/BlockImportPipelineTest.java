@@ -0,0 +1,125 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.chainimport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.chainimport.BlockImportPipeline.BlockToImport;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class BlockImportPipelineTest {
+
+  private final List<Block> blocks = new BlockDataGenerator(1).blockSequence(50);
+
+  @Test
+  public void importsBlocksInOrderWithParentHeaders() throws IOException {
+    final RecordingSteps steps = new RecordingSteps(Integer.MAX_VALUE);
+    final long imported;
+    try (final BlockImportPipeline<Block> pipeline =
+        new BlockImportPipeline<>("test-import", steps, 4)) {
+      imported = pipeline.importBlocks(sink -> blocks.forEach(sink));
+    }
+
+    assertThat(imported).isEqualTo(blocks.size() - 1);
+    assertThat(steps.imported).containsExactlyElementsOf(blocks.subList(1, blocks.size()));
+    for (int i = 2; i < blocks.size(); i++) {
+      assertThat(steps.validatedParents.get(blocks.get(i).getHeader()))
+          .isEqualTo(blocks.get(i - 1).getHeader());
+    }
+    assertThat(steps.validatedParents.get(blocks.get(1).getHeader()))
+        .isEqualTo(blocks.get(0).getHeader());
+    assertThat(steps.parentLookups).hasValue(1);
+  }
+
+  @Test
+  public void stopsOnValidationFailure() {
+    final RecordingSteps steps = new RecordingSteps(10);
+    try (final BlockImportPipeline<Block> pipeline =
+        new BlockImportPipeline<>("test-import", steps, 4)) {
+      assertThatThrownBy(() -> pipeline.importBlocks(sink -> blocks.forEach(sink)))
+          .isInstanceOf(CompletionException.class)
+          .hasRootCauseMessage("Invalid block 10");
+    }
+
+    // blocks ahead of the invalid one may or may not have been imported before the abort
+    assertThat(steps.imported).doesNotContain(blocks.get(10));
+    assertThat(steps.imported).isEqualTo(blocks.subList(1, 1 + steps.imported.size()));
+  }
+
+  private class RecordingSteps implements BlockImportPipeline.ImportSteps<Block> {
+    private final long invalidBlockNumber;
+    private final List<Block> imported = new CopyOnWriteArrayList<>();
+    private final Map<BlockHeader, BlockHeader> validatedParents = new ConcurrentHashMap<>();
+    private final AtomicInteger parentLookups = new AtomicInteger();
+
+    private RecordingSteps(final long invalidBlockNumber) {
+      this.invalidBlockNumber = invalidBlockNumber;
+    }
+
+    @Override
+    public Optional<BlockToImport> decode(final Block raw) {
+      // shuffle completion order to check that the pipeline restores it
+      sleepRandomly();
+      if (raw.getHeader().getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
+        return Optional.empty();
+      }
+      return Optional.of(new BlockToImport(raw, Optional.empty()));
+    }
+
+    @Override
+    public Optional<BlockHeader> lookupParentHeader(final BlockHeader header) {
+      parentLookups.incrementAndGet();
+      return Optional.of(blocks.get(0).getHeader());
+    }
+
+    @Override
+    public void validate(final BlockToImport block, final Optional<BlockHeader> parentHeader) {
+      sleepRandomly();
+      final BlockHeader header = block.block().getHeader();
+      if (header.getNumber() == invalidBlockNumber) {
+        throw new IllegalStateException("Invalid block " + invalidBlockNumber);
+      }
+      validatedParents.put(header, parentHeader.orElseThrow());
+    }
+
+    @Override
+    public void importBlock(final BlockToImport block) {
+      imported.add(block.block());
+    }
+
+    private void sleepRandomly() {
+      try {
+        Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
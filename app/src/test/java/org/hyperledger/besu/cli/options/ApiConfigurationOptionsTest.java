@@ -181,6 +181,54 @@ public class ApiConfigurationOptionsTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void rpcTraceFilterParallelismOptionMustBeUsed() {
+    parseCommand("--rpc-trace-filter-parallelism", "8");
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(ImmutableApiConfiguration.builder().traceFilterParallelism(8).build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcTraceFilterParallelismMustBePositive() {
+    parseCommand("--rpc-trace-filter-parallelism", "0");
+
+    Mockito.verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--rpc-trace-filter-parallelism must be greater than or equal to 1");
+  }
+
+  @Test
+  public void estimateGasParallelismOptionMustBeUsed() {
+    parseCommand("--estimate-gas-parallelism", "4");
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(ImmutableApiConfiguration.builder().estimateGasParallelism(4).build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void estimateGasParallelismMustBePositive() {
+    parseCommand("--estimate-gas-parallelism", "0");
+
+    Mockito.verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--estimate-gas-parallelism must be greater than or equal to 1");
+  }
+
   @Test
   public void estimateGasToleranceRatioOptionMustBeUsed() {
     final double tolerance = 0.5d;
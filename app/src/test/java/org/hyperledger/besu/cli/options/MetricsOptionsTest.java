@@ -50,7 +50,8 @@ public class MetricsOptionsTest
   protected MetricsConfiguration.Builder createCustomizedDomainObject() {
     return MetricsConfiguration.builder()
         .timersEnabled(!MetricsConfiguration.DEFAULT_METRICS_TIMERS_ENABLED)
-        .idleTimeout(MetricsConfiguration.DEFAULT_METRICS_IDLE_TIMEOUT_SECONDS);
+        .idleTimeout(MetricsConfiguration.DEFAULT_METRICS_IDLE_TIMEOUT_SECONDS)
+        .stripedEnabled(!MetricsConfiguration.DEFAULT_METRICS_STRIPED_ENABLED);
   }
 
   @Override
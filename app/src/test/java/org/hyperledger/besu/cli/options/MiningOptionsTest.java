@@ -263,6 +263,33 @@ public class MiningOptionsTest extends AbstractCLIOptionsTest<MiningConfiguratio
         "17000");
   }
 
+  @Test
+  public void txsSelectionPreEvaluationWindowOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().getTxsSelectionPreEvaluationWindow())
+                .isEqualTo(8),
+        "--Xtxs-selection-pre-evaluation-window",
+        "8");
+  }
+
+  @Test
+  public void txsSelectionPreEvaluationWindowMustNotBeNegative() {
+    internalTestFailure(
+        "--Xtxs-selection-pre-evaluation-window must be positive or 0",
+        "--Xtxs-selection-pre-evaluation-window",
+        "-1");
+  }
+
+  @Test
+  public void posBlockCreationIncrementalOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().isPosBlockCreationIncremental()).isTrue(),
+        "--Xpos-block-creation-incremental-enabled",
+        "true");
+  }
+
   @Test
   public void blockTxsSelectionMaxTimeDefaultValue() {
     internalTestSuccess(
@@ -24,6 +24,8 @@ import org.hyperledger.besu.ethereum.worldstate.ImmutableDataStorageConfiguratio
 import org.hyperledger.besu.ethereum.worldstate.ImmutablePathBasedExtraStorageConfiguration;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
 
 public class DataStorageOptionsTest
@@ -55,6 +57,23 @@ public class DataStorageOptionsTest
         "--bonsai-limit-trie-logs-enabled=false");
   }
 
+  @Test
+  public void era1HistoryDirectoryOption() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(dataStorageConfiguration.getEra1HistoryDirectory())
+                .contains(Path.of("/data/era1")),
+        "--Xera1-history-directory",
+        "/data/era1");
+  }
+
+  @Test
+  public void era1HistoryDirectoryDisabledByDefault() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(dataStorageConfiguration.getEra1HistoryDirectory()).isEmpty());
+  }
+
   @Test
   public void pathbasedTrieLogPruningWindowSizeShouldBePositive() {
     internalTestFailure(
@@ -53,7 +53,12 @@ public class BftEventQueue {
     started.set(false);
   }
 
-  private boolean isStarted() {
+  /**
+   * Is started.
+   *
+   * @return whether the queue accepts the events other than the block timer expiries
+   */
+  public boolean isStarted() {
     return started.get();
   }
 
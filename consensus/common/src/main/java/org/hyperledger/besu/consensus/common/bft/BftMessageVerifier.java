@@ -0,0 +1,153 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common.bft;
+
+import org.hyperledger.besu.consensus.common.bft.events.BftEvents;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Verifies the messages received from peers on a pool of workers before they are added to the
+ * {@link BftEventQueue}, so the BFT processor does not spend its time decoding the messages and
+ * recovering the authors of their signatures.
+ *
+ * <p>Duplicate messages are dropped before they are decoded, and the messages that cannot be
+ * decoded, including those whose signatures cannot be recovered, are dropped once decoded. The
+ * verified messages are queued with their decoded form, in the order they were received.
+ */
+public class BftMessageVerifier {
+  private static final Logger LOG = LoggerFactory.getLogger(BftMessageVerifier.class);
+
+  private final BftEventQueue bftEventQueue;
+  private final MessageTracker messageTracker;
+  private final Function<Message, BftMessage<?>> messageDecoder;
+  private final ExecutorService executor;
+  private final int pendingMessageLimit;
+  private final AtomicInteger pendingMessages = new AtomicInteger();
+  private CompletableFuture<Void> lastQueued = CompletableFuture.completedFuture(null);
+
+  /**
+   * Instantiates a new Bft message verifier.
+   *
+   * @param bftEventQueue the queue the verified messages are added to
+   * @param messageTracker the tracker of the messages already received
+   * @param messageDecoder decodes a message, failing if it is invalid
+   * @param executor the workers decoding the messages
+   * @param pendingMessageLimit the number of messages being verified above which messages are
+   *     dropped
+   */
+  public BftMessageVerifier(
+      final BftEventQueue bftEventQueue,
+      final MessageTracker messageTracker,
+      final Function<Message, BftMessage<?>> messageDecoder,
+      final ExecutorService executor,
+      final int pendingMessageLimit) {
+    this.bftEventQueue = bftEventQueue;
+    this.messageTracker = messageTracker;
+    this.messageDecoder = messageDecoder;
+    this.executor = executor;
+    this.pendingMessageLimit = pendingMessageLimit;
+  }
+
+  /**
+   * Verifies a received message, which is added to the event queue once it and the messages
+   * received before it are verified.
+   *
+   * @param message the received message
+   */
+  public synchronized void add(final Message message) {
+    // messages received before the queue is started would be discarded by the queue
+    if (!bftEventQueue.isStarted()) {
+      return;
+    }
+    if (pendingMessages.get() >= pendingMessageLimit) {
+      LOG.warn("Verification queue size exceeded trying to add new bft message {}", message);
+      return;
+    }
+    final MessageData messageData = message.getData();
+    if (messageTracker.hasSeenMessage(messageData)) {
+      LOG.trace("Discarded duplicate message {}", message);
+      return;
+    }
+    messageTracker.addSeenMessage(messageData);
+
+    final CompletableFuture<Optional<BftMessage<?>>> verification;
+    try {
+      verification = CompletableFuture.supplyAsync(() -> decode(message), executor);
+    } catch (final RejectedExecutionException e) {
+      LOG.trace("Discarded message {} received while stopping", message);
+      return;
+    }
+    pendingMessages.incrementAndGet();
+    // each stage completes normally, so a failed verification does not hold the next messages
+    lastQueued =
+        lastQueued
+            .thenCombine(verification, (unused, decodedMessage) -> decodedMessage)
+            .handle(
+                (decodedMessage, error) -> {
+                  pendingMessages.decrementAndGet();
+                  if (error != null) {
+                    LOG.debug("Discarded message {} whose verification failed", message, error);
+                  } else {
+                    decodedMessage.ifPresent(
+                        decoded ->
+                            bftEventQueue.add(BftEvents.fromVerifiedMessage(message, decoded)));
+                  }
+                  return null;
+                });
+  }
+
+  private Optional<BftMessage<?>> decode(final Message message) {
+    try {
+      return Optional.of(messageDecoder.apply(message));
+    } catch (final RuntimeException e) {
+      LOG.atDebug()
+          .setMessage("Discarded invalid message {} from {}: {}")
+          .addArgument(message.getData()::getCode)
+          .addArgument(() -> message.getConnection().getPeerInfo().getAddress())
+          .addArgument(e::getMessage)
+          .log();
+      return Optional.empty();
+    }
+  }
+
+  /** Stops the verification of the messages. */
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Waits for the verification workers to stop.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void awaitStop() throws InterruptedException {
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("{} workers did not terminate", getClass().getSimpleName());
+    }
+  }
+}
@@ -95,10 +95,15 @@ public class BftProposerSelector implements ProposerSelector {
       throw new RuntimeException("Unable to determine past proposer");
     }
 
-    final BlockHeader blockHeader = maybeParentHeader.get();
-    final Address prevBlockProposer = blockInterface.getProposerOfBlock(blockHeader);
+    return selectProposerForRound(roundIdentifier, maybeParentHeader.get());
+  }
+
+  @Override
+  public Address selectProposerForRound(
+      final ConsensusRoundIdentifier roundIdentifier, final BlockHeader parentHeader) {
+    final Address prevBlockProposer = blockInterface.getProposerOfBlock(parentHeader);
     final Collection<Address> validatorsForRound =
-        validatorProvider.getValidatorsAfterBlock(blockHeader);
+        validatorProvider.getValidatorsAfterBlock(parentHeader);
 
     return selectProposerForRound(
         roundIdentifier, prevBlockProposer, validatorsForRound, changeEachBlock);
@@ -16,6 +16,7 @@ package org.hyperledger.besu.consensus.common.bft.blockcreation;
 
 import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 
 /**
  * Responsible for determining which member of the validator pool should propose the next block
@@ -29,4 +30,15 @@ public interface ProposerSelector {
    * @return The address of the node which is to propose a block for the provided Round.
    */
   Address selectProposerForRound(ConsensusRoundIdentifier roundIdentifier);
+
+  /**
+   * Determines which validator should be acting as the proposer for a given sequence/round after
+   * the given parent block, which does not need to be imported.
+   *
+   * @param roundIdentifier Identifies the chain height and proposal attempt number.
+   * @param parentHeader The header of the block preceding the chain height.
+   * @return The address of the node which is to propose a block for the provided Round.
+   */
+  Address selectProposerForRound(
+      ConsensusRoundIdentifier roundIdentifier, BlockHeader parentHeader);
 }
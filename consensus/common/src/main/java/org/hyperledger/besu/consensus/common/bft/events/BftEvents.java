@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.consensus.common.bft.events;
 
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
 /** Static helper functions for producing and working with BftEvent objects */
@@ -31,6 +32,18 @@ public class BftEvents {
     return new BftReceivedMessageEvent(message);
   }
 
+  /**
+   * Instantiate BftEvent From a message that was already decoded and whose author was recovered.
+   *
+   * @param message the message
+   * @param decodedMessage the decoded message
+   * @return the bft event
+   */
+  public static BftEvent fromVerifiedMessage(
+      final Message message, final BftMessage<?> decodedMessage) {
+    return new BftReceivedMessageEvent(message, decodedMessage);
+  }
+
   /** The enum Type. */
   public enum Type {
     /** Round expiry type. */
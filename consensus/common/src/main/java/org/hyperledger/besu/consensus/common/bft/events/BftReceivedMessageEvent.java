@@ -14,12 +14,16 @@
  */
 package org.hyperledger.besu.consensus.common.bft.events;
 
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
+import java.util.Optional;
+
 /** The Bft received message event. */
 public class BftReceivedMessageEvent implements BftEvent {
 
   private final Message message;
+  private final Optional<BftMessage<?>> decodedMessage;
 
   /**
    * Instantiates a new Bft received message event.
@@ -28,6 +32,18 @@ public class BftReceivedMessageEvent implements BftEvent {
    */
   public BftReceivedMessageEvent(final Message message) {
     this.message = message;
+    this.decodedMessage = Optional.empty();
+  }
+
+  /**
+   * Instantiates a new Bft received message event for a message that was already decoded.
+   *
+   * @param message the message
+   * @param decodedMessage the decoded message, whose author was recovered
+   */
+  public BftReceivedMessageEvent(final Message message, final BftMessage<?> decodedMessage) {
+    this.message = message;
+    this.decodedMessage = Optional.of(decodedMessage);
   }
 
   /**
@@ -39,6 +55,15 @@ public class BftReceivedMessageEvent implements BftEvent {
     return message;
   }
 
+  /**
+   * Gets the decoded message, if the message was decoded before it was queued.
+   *
+   * @return the decoded message
+   */
+  public Optional<BftMessage<?>> getDecodedMessage() {
+    return decodedMessage;
+  }
+
   @Override
   public BftEvents.Type getType() {
     return BftEvents.Type.MESSAGE;
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.consensus.common.bft.protocol;
 
 import org.hyperledger.besu.consensus.common.bft.BftEventQueue;
+import org.hyperledger.besu.consensus.common.bft.BftMessageVerifier;
 import org.hyperledger.besu.consensus.common.bft.events.BftEvent;
 import org.hyperledger.besu.consensus.common.bft.events.BftEvents;
 import org.hyperledger.besu.consensus.common.bft.network.PeerConnectionTracker;
@@ -28,6 +29,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.Di
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +42,7 @@ public class BftProtocolManager implements ProtocolManager {
   private final PeerConnectionTracker peers;
   private final Capability supportedCapability;
   private final String subProtocolName;
+  private final Optional<BftMessageVerifier> messageVerifier;
 
   /**
    * Constructor for the ibft protocol manager
@@ -54,7 +57,26 @@ public class BftProtocolManager implements ProtocolManager {
       final PeerConnectionTracker peers,
       final Capability supportedCapability,
       final String subProtocolName) {
+    this(bftEventQueue, Optional.empty(), peers, supportedCapability, subProtocolName);
+  }
+
+  /**
+   * Constructor for a bft protocol manager verifying the received messages before they are queued
+   *
+   * @param bftEventQueue Entry point into the bft event processor
+   * @param messageVerifier Verifies the received messages before adding them to the event queue
+   * @param peers Used to track all connected BFT peers.
+   * @param supportedCapability The capability offered by this protocol manager
+   * @param subProtocolName The name of the protocol being supported
+   */
+  public BftProtocolManager(
+      final BftEventQueue bftEventQueue,
+      final Optional<BftMessageVerifier> messageVerifier,
+      final PeerConnectionTracker peers,
+      final Capability supportedCapability,
+      final String subProtocolName) {
     this.bftEventQueue = bftEventQueue;
+    this.messageVerifier = messageVerifier;
     this.peers = peers;
     this.supportedCapability = supportedCapability;
     this.subProtocolName = subProtocolName;
@@ -71,10 +93,16 @@ public class BftProtocolManager implements ProtocolManager {
   }
 
   @Override
-  public void stop() {}
+  public void stop() {
+    messageVerifier.ifPresent(BftMessageVerifier::stop);
+  }
 
   @Override
-  public void awaitStop() throws InterruptedException {}
+  public void awaitStop() throws InterruptedException {
+    if (messageVerifier.isPresent()) {
+      messageVerifier.get().awaitStop();
+    }
+  }
 
   /**
    * This function is called by the P2P framework when an "IBF" message has been received. This
@@ -98,6 +126,10 @@ public class BftProtocolManager implements ProtocolManager {
     final Address address = message.getConnection().getPeerInfo().getAddress();
     LOG.trace("Process message {}, {}, from = {}", cap, code, address);
 
+    if (messageVerifier.isPresent()) {
+      messageVerifier.get().add(message);
+      return;
+    }
     final BftEvent messageEvent = BftEvents.fromMessage(message);
     bftEventQueue.add(messageEvent);
   }
@@ -0,0 +1,203 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common.bft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.consensus.common.bft.events.BftEvent;
+import org.hyperledger.besu.consensus.common.bft.events.BftReceivedMessageEvent;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.DefaultMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BftMessageVerifierTest {
+  private static final int INVALID_CODE = 99;
+  private static final int FAILING_CODE = 98;
+
+  private final BftEventQueue eventQueue = new BftEventQueue(1000);
+  private final PeerConnection connection = mock(PeerConnection.class, RETURNS_DEEP_STUBS);
+  private final Map<Message, BftMessage<?>> decodedMessages = new HashMap<>();
+  private final ManualExecutor executor = new ManualExecutor();
+  private final BftMessageVerifier verifier =
+      new BftMessageVerifier(eventQueue, new MessageTracker(100), this::decode, executor, 10);
+
+  @BeforeEach
+  public void setUp() {
+    eventQueue.start();
+  }
+
+  @Test
+  public void verifiedMessagesAreQueuedInReceivedOrder() throws InterruptedException {
+    final Message first = message(1, 1);
+    final Message second = message(1, 2);
+    final Message third = message(1, 3);
+    verifier.add(first);
+    verifier.add(second);
+    verifier.add(third);
+
+    executor.runInReverseOrder();
+
+    assertQueuedMessage(first);
+    assertQueuedMessage(second);
+    assertQueuedMessage(third);
+    assertThat(eventQueue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void duplicateMessagesAreDroppedBeforeDecoding() throws InterruptedException {
+    final Message message = message(1, 1);
+    verifier.add(message);
+    verifier.add(message(1, 1));
+
+    assertThat(executor.tasks).hasSize(1);
+    executor.runInReverseOrder();
+    assertQueuedMessage(message);
+    assertThat(eventQueue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void invalidMessagesAreDroppedWithoutBlockingTheNextMessages()
+      throws InterruptedException {
+    final Message invalid = message(INVALID_CODE, 1);
+    final Message valid = message(1, 2);
+    verifier.add(invalid);
+    verifier.add(valid);
+
+    executor.runInReverseOrder();
+
+    assertQueuedMessage(valid);
+    assertThat(eventQueue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void failedVerificationsDoNotBlockTheNextMessages() throws InterruptedException {
+    final Message failing = message(FAILING_CODE, 1);
+    final Message valid = message(1, 2);
+    verifier.add(failing);
+    verifier.add(valid);
+
+    executor.runInReverseOrder();
+
+    assertQueuedMessage(valid);
+    assertThat(eventQueue.isEmpty()).isTrue();
+
+    // the failed verification is no longer counted as pending
+    for (int i = 0; i < 15; i++) {
+      verifier.add(message(1, 10 + i));
+    }
+    assertThat(executor.tasks).hasSize(10);
+  }
+
+  @Test
+  public void messagesReceivedBeforeTheQueueIsStartedAreNotTracked() throws InterruptedException {
+    eventQueue.stop();
+    verifier.add(message(1, 1));
+    assertThat(executor.tasks).isEmpty();
+
+    eventQueue.start();
+    final Message message = message(1, 1);
+    verifier.add(message);
+    executor.runInReverseOrder();
+    assertQueuedMessage(message);
+  }
+
+  @Test
+  public void messagesAboveThePendingLimitAreDropped() {
+    for (int i = 0; i < 15; i++) {
+      verifier.add(message(1, i));
+    }
+
+    assertThat(executor.tasks).hasSize(10);
+  }
+
+  private Message message(final int code, final int content) {
+    final Message message = new DefaultMessage(connection, new RawMessage(code, Bytes.of(content)));
+    decodedMessages.put(message, mock(BftMessage.class));
+    return message;
+  }
+
+  private BftMessage<?> decode(final Message message) {
+    if (message.getData().getCode() == INVALID_CODE) {
+      throw new IllegalArgumentException("Invalid signature");
+    }
+    if (message.getData().getCode() == FAILING_CODE) {
+      throw new StackOverflowError();
+    }
+    return decodedMessages.get(message);
+  }
+
+  private void assertQueuedMessage(final Message message) throws InterruptedException {
+    final BftEvent event = eventQueue.poll(0, TimeUnit.MILLISECONDS);
+    assertThat(event).isInstanceOf(BftReceivedMessageEvent.class);
+    final BftReceivedMessageEvent messageEvent = (BftReceivedMessageEvent) event;
+    assertThat(messageEvent.getMessage()).isSameAs(message);
+    assertThat(messageEvent.getDecodedMessage()).containsSame(decodedMessages.get(message));
+  }
+
+  private static class ManualExecutor extends AbstractExecutorService {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    void runInReverseOrder() {
+      final List<Runnable> toRun = new ArrayList<>(tasks);
+      tasks.clear();
+      Collections.reverse(toRun);
+      toRun.forEach(Runnable::run);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      tasks.add(command);
+    }
+
+    @Override
+    public void shutdown() {}
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+      return true;
+    }
+  }
+}
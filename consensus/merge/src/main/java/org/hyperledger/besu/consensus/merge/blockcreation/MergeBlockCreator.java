@@ -93,6 +93,36 @@ class MergeBlockCreator extends AbstractBlockCreator {
         parentHeader);
   }
 
+  /**
+   * Create block with the transactions selected from the pool, and when possible a checkpoint to
+   * append the pending transactions that arrive later to it, with {@link #resumeBlock}.
+   *
+   * @param random the random
+   * @param timestamp the timestamp
+   * @param withdrawals optional list of withdrawals
+   * @param parentBeaconBlockRoot optional root hash of the parent beacon block
+   * @param parentHeader the parent header
+   * @return the block creation result, with the checkpoint if one was taken
+   */
+  public BlockCreationResult createResumableBlock(
+      final Bytes32 random,
+      final long timestamp,
+      final Optional<List<Withdrawal>> withdrawals,
+      final Optional<Bytes32> parentBeaconBlockRoot,
+      final BlockHeader parentHeader) {
+
+    return createBlock(
+        Optional.empty(),
+        Optional.of(Collections.emptyList()),
+        withdrawals,
+        Optional.of(random),
+        parentBeaconBlockRoot,
+        timestamp,
+        false,
+        parentHeader,
+        true);
+  }
+
   @Override
   public BlockCreationResult createBlock(
       final Optional<List<Transaction>> maybeTransactions,
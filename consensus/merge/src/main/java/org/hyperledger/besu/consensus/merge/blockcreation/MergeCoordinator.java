@@ -25,6 +25,7 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.blockcreation.BlockCreationCheckpoint;
 import org.hyperledger.besu.ethereum.blockcreation.BlockCreationTiming;
 import org.hyperledger.besu.ethereum.blockcreation.BlockCreator.BlockCreationResult;
 import org.hyperledger.besu.ethereum.chain.BadBlockCause;
@@ -63,7 +64,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Supplier;
+import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.tuweni.bytes.Bytes32;
@@ -448,15 +449,26 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       final Optional<Bytes32> parentBeaconBlockRoot,
       final BlockHeader parentHeader) {
 
-    final Supplier<BlockCreationResult> blockCreator =
-        () ->
-            mergeBlockCreator.createBlock(
-                Optional.empty(),
-                random,
-                timestamp,
-                withdrawals,
-                parentBeaconBlockRoot,
-                parentHeader);
+    // given the checkpoint of the best block so far, only the new transactions are appended to it
+    final Function<Optional<BlockCreationCheckpoint>, Optional<BlockCreationResult>> blockCreator =
+        maybeCheckpoint -> {
+          if (maybeCheckpoint.isPresent()) {
+            return mergeBlockCreator.resumeBlock(maybeCheckpoint.get());
+          }
+          if (miningConfiguration.getUnstable().isPosBlockCreationIncremental()) {
+            return Optional.of(
+                mergeBlockCreator.createResumableBlock(
+                    random, timestamp, withdrawals, parentBeaconBlockRoot, parentHeader));
+          }
+          return Optional.of(
+              mergeBlockCreator.createBlock(
+                  Optional.empty(),
+                  random,
+                  timestamp,
+                  withdrawals,
+                  parentBeaconBlockRoot,
+                  parentHeader));
+        };
 
     LOG.debug(
         "Block creation started for payload id {}, remaining time is {}ms",
@@ -504,47 +516,71 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
   }
 
   private Void retryBlockCreationUntilUseful(
-      final PayloadIdentifier payloadIdentifier, final Supplier<BlockCreationResult> blockCreator) {
+      final PayloadIdentifier payloadIdentifier,
+      final Function<Optional<BlockCreationCheckpoint>, Optional<BlockCreationResult>>
+          blockCreator) {
 
     long lastStartAt;
+    Optional<BlockCreationCheckpoint> bestCheckpoint = Optional.empty();
 
-    while (!isBlockCreationCancelled(payloadIdentifier)) {
-      try {
-        lastStartAt = System.currentTimeMillis();
-        recoverableBlockCreation(payloadIdentifier, blockCreator, lastStartAt);
-        final long lastDuration = System.currentTimeMillis() - lastStartAt;
-        final long waitBeforeRepetition =
-            Math.max(
-                100,
-                miningConfiguration.getUnstable().getPosBlockCreationRepetitionMinDuration()
-                    - lastDuration);
-        LOG.debug("Waiting {}ms before repeating block creation", waitBeforeRepetition);
-        Thread.sleep(waitBeforeRepetition);
-      } catch (final CancellationException | InterruptedException ce) {
-        LOG.atDebug()
-            .setMessage("Block creation for payload id {} has been cancelled, reason {}")
-            .addArgument(payloadIdentifier)
-            .addArgument(() -> logException(ce))
-            .log();
-        return null;
-      } catch (final Throwable e) {
-        LOG.warn(
-            "Something went wrong creating block for payload id {}, error {}",
-            payloadIdentifier,
-            logException(e));
-        return null;
+    try {
+      while (!isBlockCreationCancelled(payloadIdentifier)) {
+        try {
+          lastStartAt = System.currentTimeMillis();
+          bestCheckpoint =
+              recoverableBlockCreation(
+                  payloadIdentifier, blockCreator, bestCheckpoint, lastStartAt);
+          final long lastDuration = System.currentTimeMillis() - lastStartAt;
+          final long waitBeforeRepetition =
+              Math.max(
+                  100,
+                  miningConfiguration.getUnstable().getPosBlockCreationRepetitionMinDuration()
+                      - lastDuration);
+          LOG.debug("Waiting {}ms before repeating block creation", waitBeforeRepetition);
+          Thread.sleep(waitBeforeRepetition);
+        } catch (final CancellationException | InterruptedException ce) {
+          LOG.atDebug()
+              .setMessage("Block creation for payload id {} has been cancelled, reason {}")
+              .addArgument(payloadIdentifier)
+              .addArgument(() -> logException(ce))
+              .log();
+          return null;
+        } catch (final Throwable e) {
+          LOG.warn(
+              "Something went wrong creating block for payload id {}, error {}",
+              payloadIdentifier,
+              logException(e));
+          return null;
+        }
       }
+      return null;
+    } finally {
+      bestCheckpoint.ifPresent(BlockCreationCheckpoint::close);
     }
-    return null;
   }
 
-  private void recoverableBlockCreation(
+  private Optional<BlockCreationCheckpoint> recoverableBlockCreation(
       final PayloadIdentifier payloadIdentifier,
-      final Supplier<BlockCreationResult> blockCreator,
+      final Function<Optional<BlockCreationCheckpoint>, Optional<BlockCreationResult>> blockCreator,
+      final Optional<BlockCreationCheckpoint> checkpoint,
       final long startedAt) {
 
     try {
-      evaluateNewBlock(blockCreator.get(), payloadIdentifier, startedAt);
+      final Optional<BlockCreationResult> maybeBlockCreationResult = blockCreator.apply(checkpoint);
+      if (maybeBlockCreationResult.isEmpty()) {
+        LOG.atDebug()
+            .setMessage("No new transaction to append to the block for payload id {}")
+            .addArgument(payloadIdentifier)
+            .log();
+        return checkpoint;
+      }
+      final BlockCreationResult blockCreationResult = maybeBlockCreationResult.get();
+      try {
+        return evaluateNewBlock(blockCreationResult, payloadIdentifier, startedAt);
+      } catch (final RuntimeException e) {
+        blockCreationResult.getCheckpoint().ifPresent(BlockCreationCheckpoint::close);
+        throw e;
+      }
     } catch (final Throwable throwable) {
       if (canRetryBlockCreation(throwable) && !isBlockCreationCancelled(payloadIdentifier)) {
         LOG.atDebug()
@@ -552,14 +588,17 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
             .addArgument(payloadIdentifier)
             .addArgument(() -> logException(throwable))
             .log();
-        recoverableBlockCreation(payloadIdentifier, blockCreator, startedAt);
+        // the checkpoint could have been partially resumed, so the block is created from scratch
+        checkpoint.ifPresent(BlockCreationCheckpoint::close);
+        return recoverableBlockCreation(
+            payloadIdentifier, blockCreator, Optional.empty(), startedAt);
       } else {
         throw throwable;
       }
     }
   }
 
-  private void evaluateNewBlock(
+  private Optional<BlockCreationCheckpoint> evaluateNewBlock(
       final BlockCreationResult blockCreationResult,
       final PayloadIdentifier payloadIdentifier,
       final long startedAt) {
@@ -581,6 +620,7 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
           .addArgument(bestBlock.getBody().getTransactions()::size)
           .addArgument(() -> System.currentTimeMillis() - startedAt)
           .log();
+      return blockCreationResult.getCheckpoint();
     } else {
       LOG.warn(
           "Block {} built for proposal identified by {}, is not valid reason {}",
@@ -590,6 +630,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       if (resultBest.causedBy().isPresent()) {
         LOG.warn("caused by", resultBest.cause.get());
       }
+      blockCreationResult.getCheckpoint().ifPresent(BlockCreationCheckpoint::close);
+      return Optional.empty();
     }
   }
 
@@ -71,6 +71,7 @@ public class QbftBlockHeightManager implements BaseQbftBlockHeightManager {
   private Optional<PreparedCertificate> latestPreparedCertificate = Optional.empty();
   private Optional<QbftRound> currentRound = Optional.empty();
   private boolean isEarlyRoundChangeEnabled = false;
+  private Optional<SpeculativeBlockCreator> speculativeBlockCreator = Optional.empty();
 
   /**
    * Instantiates a new Qbft block height manager.
@@ -157,6 +158,46 @@ public class QbftBlockHeightManager implements BaseQbftBlockHeightManager {
     this.isEarlyRoundChangeEnabled = isEarlyRoundChangeEnabled;
   }
 
+  /**
+   * Instantiates a new Qbft block height manager. Secondary constructor with early round change
+   * and speculative creation of the next block options.
+   *
+   * @param parentHeader the parent header
+   * @param finalState the final state
+   * @param roundChangeManager the round change manager
+   * @param qbftRoundFactory the qbft round factory
+   * @param clock the clock
+   * @param messageValidatorFactory the message validator factory
+   * @param messageFactory the message factory
+   * @param validatorProvider the validator provider
+   * @param isEarlyRoundChangeEnabled enable round change when f+1 RC messages are received
+   * @param speculativeBlockCreator creates the block of the next height once this height is
+   *     prepared, and provides the block of this height created while the parent was prepared
+   */
+  public QbftBlockHeightManager(
+      final QbftBlockHeader parentHeader,
+      final QbftFinalState finalState,
+      final RoundChangeManager roundChangeManager,
+      final QbftRoundFactory qbftRoundFactory,
+      final Clock clock,
+      final MessageValidatorFactory messageValidatorFactory,
+      final MessageFactory messageFactory,
+      final QbftValidatorProvider validatorProvider,
+      final boolean isEarlyRoundChangeEnabled,
+      final Optional<SpeculativeBlockCreator> speculativeBlockCreator) {
+    this(
+        parentHeader,
+        finalState,
+        roundChangeManager,
+        qbftRoundFactory,
+        clock,
+        messageValidatorFactory,
+        messageFactory,
+        validatorProvider,
+        isEarlyRoundChangeEnabled);
+    this.speculativeBlockCreator = speculativeBlockCreator;
+  }
+
   @Override
   public void handleBlockTimerExpiry(final ConsensusRoundIdentifier roundIdentifier) {
     if (currentRound.isPresent()) {
@@ -197,7 +238,10 @@ public class QbftBlockHeightManager implements BaseQbftBlockHeightManager {
     }
 
     final long headerTimeStampSeconds = Math.round(clock.millis() / 1000D);
-    final QbftBlock block = qbftRound.createBlock(headerTimeStampSeconds);
+    final QbftBlock block =
+        speculativeBlockCreator
+            .flatMap(creator -> creator.takeBlock(parentHeader, headerTimeStampSeconds))
+            .orElseGet(() -> qbftRound.createBlock(headerTimeStampSeconds));
     if (!block.isEmpty()) {
       LOG.trace(
           "Block is not empty and this node is a proposer so it will send a proposal: "
@@ -328,6 +372,7 @@ public class QbftBlockHeightManager implements BaseQbftBlockHeightManager {
         startNewRound(proposal.getRoundIdentifier().getRoundNumber());
       }
       currentRound.ifPresent(r -> r.handleProposalMessage(proposal));
+      createNextBlockIfPrepared();
     }
   }
 
@@ -338,6 +383,23 @@ public class QbftBlockHeightManager implements BaseQbftBlockHeightManager {
         prepare,
         currentRound.isPresent() ? currentRound.get()::handlePrepareMessage : (ignore) -> {},
         RoundState::addPrepareMessage);
+    createNextBlockIfPrepared();
+  }
+
+  private void createNextBlockIfPrepared() {
+    if (speculativeBlockCreator.isEmpty() || currentRound.isEmpty()) {
+      return;
+    }
+    final RoundState roundState = currentRound.get().getRoundState();
+    if (roundState.isPrepared() && !roundState.isCommitted()) {
+      roundState
+          .getProposedBlock()
+          .ifPresent(
+              block ->
+                  speculativeBlockCreator
+                      .get()
+                      .createNextBlock(block, roundState.getRoundIdentifier().getRoundNumber()));
+    }
   }
 
   @Override
@@ -22,6 +22,8 @@ import org.hyperledger.besu.consensus.qbft.core.types.QbftValidatorModeTransitio
 import org.hyperledger.besu.consensus.qbft.core.types.QbftValidatorProvider;
 import org.hyperledger.besu.consensus.qbft.core.validation.MessageValidatorFactory;
 
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +39,7 @@ public class QbftBlockHeightManagerFactory {
   private final QbftValidatorProvider validatorProvider;
   private final QbftValidatorModeTransitionLogger validatorModeTransitionLogger;
   private boolean isEarlyRoundChangeEnabled = false;
+  private Optional<SpeculativeBlockCreator> speculativeBlockCreator = Optional.empty();
 
   /**
    * Instantiates a new Qbft block height manager factory.
@@ -90,6 +93,16 @@ public class QbftBlockHeightManagerFactory {
     this.isEarlyRoundChangeEnabled = isEarlyRoundChangeEnabled;
   }
 
+  /**
+   * Sets the creator of the block of the next height while the current height is prepared, which
+   * enables pipelined proposals.
+   *
+   * @param speculativeBlockCreator the speculative block creator
+   */
+  public void speculativeBlockCreator(final SpeculativeBlockCreator speculativeBlockCreator) {
+    this.speculativeBlockCreator = Optional.of(speculativeBlockCreator);
+  }
+
   /**
    * Creates a no-op height manager
    *
@@ -125,7 +138,8 @@ public class QbftBlockHeightManagerFactory {
               messageValidatorFactory,
               messageFactory,
               validatorProvider,
-              true);
+              true,
+              speculativeBlockCreator);
     } else {
       roundChangeManager =
           new RoundChangeManager(
@@ -142,7 +156,9 @@ public class QbftBlockHeightManagerFactory {
               finalState.getClock(),
               messageValidatorFactory,
               messageFactory,
-              validatorProvider);
+              validatorProvider,
+              false,
+              speculativeBlockCreator);
     }
 
     return qbftBlockHeightManager;
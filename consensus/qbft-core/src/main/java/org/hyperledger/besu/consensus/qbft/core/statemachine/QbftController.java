@@ -94,7 +94,11 @@ public class QbftController implements QbftEventHandler {
   }
 
   private void handleMessage(final QbftMessage message, final boolean isReplayed) {
-    final BftMessage<?> bftMessage = messageDecoder.decode(message, blockEncoder);
+    handleMessage(message, messageDecoder.decode(message, blockEncoder), isReplayed);
+  }
+
+  private void handleMessage(
+      final QbftMessage message, final BftMessage<?> bftMessage, final boolean isReplayed) {
     switch (bftMessage) {
       case Proposal proposal ->
           consumeMessage(
@@ -185,7 +189,13 @@ public class QbftController implements QbftEventHandler {
     final MessageData data = msg.getMessage().getData();
     if (!duplicateMessageTracker.hasSeenMessage(data)) {
       duplicateMessageTracker.addSeenMessage(data);
-      handleMessage(msg.getMessage(), false);
+      // messages verified before they were queued are already decoded
+      final Optional<BftMessage<?>> decodedMessage = msg.getDecodedMessage();
+      if (decodedMessage.isPresent()) {
+        handleMessage(msg.getMessage(), decodedMessage.get(), false);
+      } else {
+        handleMessage(msg.getMessage(), false);
+      }
     } else {
       LOG.trace("Discarded duplicate message");
     }
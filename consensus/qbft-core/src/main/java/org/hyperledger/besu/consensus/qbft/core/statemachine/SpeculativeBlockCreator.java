@@ -0,0 +1,154 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft.core.statemachine;
+
+import static java.util.Collections.emptyList;
+
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftBlock;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockCreator;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockHeader;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftFinalState;
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the block of the next height while the prepared block of the current height collects its
+ * commit seals, so a local node proposing the first round of the next height does not have to
+ * create its block once the block timer expires.
+ *
+ * <p>The next block is created by a worker on top of the prepared block, and it is only used if
+ * the block imported at the current height is the prepared block, and if its creation is complete
+ * when the block timer expires. The node proposing the next height is predicted with the prepared
+ * block as parent, the prediction is checked again against the imported block before proposing.
+ * As the prepared block is not imported while the next block is created, the block creator looks
+ * the block hashes up from the header of the prepared block.
+ */
+public class SpeculativeBlockCreator {
+  private static final Logger LOG = LoggerFactory.getLogger(SpeculativeBlockCreator.class);
+
+  private final QbftFinalState finalState;
+  private final Executor executor;
+  private Optional<SpeculativeBlock> speculativeBlock = Optional.empty();
+
+  private record SpeculativeBlock(
+      Hash preparedBlockHash, CompletableFuture<Optional<NextBlock>> nextBlock) {}
+
+  private record NextBlock(Hash parentHash, QbftBlock block) {}
+
+  /**
+   * Instantiates a new speculative block creator.
+   *
+   * @param finalState the final state
+   * @param executor the executor creating the next blocks
+   */
+  public SpeculativeBlockCreator(final QbftFinalState finalState, final Executor executor) {
+    this.finalState = finalState;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts creating the block of the next height on top of the prepared block, which is only
+   * created if the local node is the proposer of the first round of the next height.
+   *
+   * @param preparedBlock the prepared block of the current height
+   * @param roundNumber the round the block was prepared in
+   */
+  public synchronized void createNextBlock(final QbftBlock preparedBlock, final int roundNumber) {
+    if (speculativeBlock.isPresent()
+        && speculativeBlock.get().preparedBlockHash().equals(preparedBlock.getHash())) {
+      return;
+    }
+    speculativeBlock = Optional.empty();
+    try {
+      speculativeBlock =
+          Optional.of(
+              new SpeculativeBlock(
+                  preparedBlock.getHash(),
+                  CompletableFuture.supplyAsync(
+                      () -> createBlock(preparedBlock, roundNumber), executor)));
+    } catch (final RejectedExecutionException e) {
+      LOG.debug(
+          "Unable to create block on top of prepared block {}: {}",
+          preparedBlock.getHash(),
+          e.getMessage());
+    }
+  }
+
+  private Optional<NextBlock> createBlock(final QbftBlock preparedBlock, final int roundNumber) {
+    try {
+      final QbftBlockCreator blockCreator = finalState.getBlockCreatorFactory().create(0);
+      // the header of the block as it is imported, whose hash is the parent hash of the next block
+      final QbftBlockHeader parentHeader =
+          blockCreator.createSealedBlock(preparedBlock, roundNumber, emptyList()).getHeader();
+      final ConsensusRoundIdentifier nextRound =
+          new ConsensusRoundIdentifier(parentHeader.getNumber() + 1, 0);
+      if (!finalState.isLocalNodeProposerForRound(nextRound, parentHeader)) {
+        return Optional.empty();
+      }
+      final long headerTimeStampSeconds =
+          parentHeader.getTimestamp() + finalState.getBlockTimer().getBlockPeriodSeconds();
+      LOG.debug(
+          "Creating block of {} on top of prepared block {}", nextRound, parentHeader.getHash());
+      return Optional.of(
+          new NextBlock(
+              parentHeader.getHash(),
+              blockCreator.createBlock(headerTimeStampSeconds, parentHeader)));
+    } catch (final RuntimeException e) {
+      LOG.debug("Failed to create block on top of prepared block {}", preparedBlock.getHash(), e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Takes the block created on top of the given parent, if its creation is complete and its
+   * timestamp is valid for a proposal at the given time. The block is discarded otherwise.
+   *
+   * @param parentHeader the header of the imported parent block
+   * @param headerTimeStampSeconds the timestamp of a block created now
+   * @return the block created on top of the parent
+   */
+  public synchronized Optional<QbftBlock> takeBlock(
+      final QbftBlockHeader parentHeader, final long headerTimeStampSeconds) {
+    final Optional<SpeculativeBlock> taken = speculativeBlock;
+    speculativeBlock = Optional.empty();
+    if (taken.isEmpty()) {
+      return Optional.empty();
+    }
+    final CompletableFuture<Optional<NextBlock>> nextBlock = taken.get().nextBlock();
+    if (!nextBlock.isDone()) {
+      LOG.debug("Creation of block on top of {} is not complete", parentHeader.getHash());
+      return Optional.empty();
+    }
+    final long minimumTimestamp =
+        parentHeader.getTimestamp() + finalState.getBlockTimer().getBlockPeriodSeconds();
+    return nextBlock
+        .join()
+        .filter(created -> created.parentHash().equals(parentHeader.getHash()))
+        .map(NextBlock::block)
+        .filter(
+            created -> {
+              final long timestamp = created.getHeader().getTimestamp();
+              return timestamp >= minimumTimestamp && timestamp <= headerTimeStampSeconds;
+            });
+  }
+}
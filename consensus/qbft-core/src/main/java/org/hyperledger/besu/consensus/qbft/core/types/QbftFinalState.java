@@ -104,4 +104,15 @@ public interface QbftFinalState {
    * @return true if the local node is the proposer for the given round, false otherwise
    */
   boolean isLocalNodeProposerForRound(ConsensusRoundIdentifier roundIdentifier);
+
+  /**
+   * Is local node proposer for round after the given parent block, which does not need to be
+   * imported.
+   *
+   * @param roundIdentifier the round identifier
+   * @param parentHeader the header of the block preceding the round
+   * @return true if the local node is the proposer for the given round, false otherwise
+   */
+  boolean isLocalNodeProposerForRound(
+      ConsensusRoundIdentifier roundIdentifier, QbftBlockHeader parentHeader);
 }
@@ -15,6 +15,9 @@
 package org.hyperledger.besu.consensus.qbft.core.types;
 
 import org.hyperledger.besu.consensus.common.bft.events.BftEvent;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
+
+import java.util.Optional;
 
 /** Event indicating a QBFT message has been received */
 public interface QbftReceivedMessageEvent extends BftEvent {
@@ -25,4 +28,14 @@ public interface QbftReceivedMessageEvent extends BftEvent {
    * @return the QBFT message
    */
   QbftMessage getMessage();
+
+  /**
+   * Gets the decoded message, if the message was decoded and its author recovered before it was
+   * queued.
+   *
+   * @return the decoded message
+   */
+  default Optional<BftMessage<?>> getDecodedMessage() {
+    return Optional.empty();
+  }
 }
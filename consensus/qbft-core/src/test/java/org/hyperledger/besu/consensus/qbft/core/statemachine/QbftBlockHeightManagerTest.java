@@ -562,6 +562,45 @@ public class QbftBlockHeightManagerTest {
     verify(roundFactory, never()).createNewRound(any(), anyInt());
   }
 
+  @Test
+  public void onBlockTimerExpirySpeculativeBlockIsProposedInsteadOfCreatingBlock() {
+    final QbftBlockHeader parent = headerTestFixture.buildHeader();
+    final QbftBlock speculativeBlock = new QbftBlockTestFixture().build();
+    final SpeculativeBlockCreator speculativeBlockCreator = mock(SpeculativeBlockCreator.class);
+    when(speculativeBlockCreator.takeBlock(parent, 0L)).thenReturn(Optional.of(speculativeBlock));
+    when(finalState.isLocalNodeProposerForRound(roundIdentifier)).thenReturn(true);
+    when(blockTimer.checkEmptyBlockExpired(any(), eq(0L))).thenReturn(true);
+    when(blockInterface.replaceRoundForCommitBlock(eq(speculativeBlock), eq(0)))
+        .thenReturn(speculativeBlock);
+
+    final QbftBlockHeightManager manager =
+        createManagerWithSpeculativeBlockCreator(parent, speculativeBlockCreator);
+
+    manager.handleBlockTimerExpiry(roundIdentifier);
+    verify(speculativeBlockCreator).takeBlock(parent, 0L);
+    verify(blockCreator, never()).createBlock(anyLong(), any());
+    verify(messageTransmitter).multicastProposal(eq(roundIdentifier), any(), any(), any());
+  }
+
+  @Test
+  public void onBlockTimerExpiryBlockIsCreatedWhenNoSpeculativeBlockIsAvailable() {
+    final QbftBlockHeader parent = headerTestFixture.buildHeader();
+    final SpeculativeBlockCreator speculativeBlockCreator = mock(SpeculativeBlockCreator.class);
+    when(speculativeBlockCreator.takeBlock(parent, 0L)).thenReturn(Optional.empty());
+    when(finalState.isLocalNodeProposerForRound(roundIdentifier)).thenReturn(true);
+    when(blockTimer.checkEmptyBlockExpired(any(), eq(0L))).thenReturn(true);
+    when(blockInterface.replaceRoundForCommitBlock(eq(createdBlock), eq(0)))
+        .thenReturn(createdBlock);
+
+    final QbftBlockHeightManager manager =
+        createManagerWithSpeculativeBlockCreator(parent, speculativeBlockCreator);
+
+    manager.handleBlockTimerExpiry(roundIdentifier);
+    verify(speculativeBlockCreator).takeBlock(parent, 0L);
+    verify(blockCreator).createBlock(eq(0L), any());
+    verify(messageTransmitter).multicastProposal(eq(roundIdentifier), any(), any(), any());
+  }
+
   @Test
   public void checkOnlyEmptyBlockPeriodSecondsIsInvokedForBlocksWithNoTransactions() {
     when(finalState.isLocalNodeProposerForRound(roundIdentifier)).thenReturn(true);
@@ -621,4 +660,19 @@ public class QbftBlockHeightManagerTest {
     verify(roundFactory, times(1))
         .createNewRound(any(), eq(futureRoundIdentifier1.getRoundNumber()));
   }
+
+  private QbftBlockHeightManager createManagerWithSpeculativeBlockCreator(
+      final QbftBlockHeader parent, final SpeculativeBlockCreator speculativeBlockCreator) {
+    return new QbftBlockHeightManager(
+        parent,
+        finalState,
+        roundChangeManager,
+        roundFactory,
+        clock,
+        messageValidatorFactory,
+        messageFactory,
+        validatorProvider,
+        false,
+        Optional.of(speculativeBlockCreator));
+  }
 }
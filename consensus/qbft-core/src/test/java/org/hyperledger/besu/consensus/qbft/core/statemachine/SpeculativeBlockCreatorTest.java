@@ -0,0 +1,160 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft.core.statemachine;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.consensus.common.bft.BlockTimer;
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
+import org.hyperledger.besu.consensus.qbft.core.QbftBlockTestFixture;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftBlock;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockCreator;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockCreatorFactory;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockHeader;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftFinalState;
+import org.hyperledger.besu.consensus.qbft.core.validation.QbftBlockHeaderTestFixture;
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.concurrent.Executor;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SpeculativeBlockCreatorTest {
+  private static final Hash PREPARED_HASH = Hash.hash(Bytes.of(1));
+  private static final Hash SEALED_HASH = Hash.hash(Bytes.of(2));
+
+  @Mock private QbftFinalState finalState;
+  @Mock private QbftBlockCreatorFactory blockCreatorFactory;
+  @Mock private QbftBlockCreator blockCreator;
+  @Mock private BlockTimer blockTimer;
+
+  private final QbftBlock preparedBlock =
+      new QbftBlockTestFixture()
+          .blockHeader(
+              new QbftBlockHeaderTestFixture()
+                  .number(1)
+                  .timestamp(10)
+                  .hash(PREPARED_HASH)
+                  .buildHeader())
+          .build();
+  private final QbftBlockHeader sealedHeader =
+      new QbftBlockHeaderTestFixture().number(1).timestamp(10).hash(SEALED_HASH).buildHeader();
+  private final QbftBlock nextBlock =
+      new QbftBlockTestFixture()
+          .blockHeader(new QbftBlockHeaderTestFixture().number(2).timestamp(11).buildHeader())
+          .build();
+  private final ConsensusRoundIdentifier nextRound = new ConsensusRoundIdentifier(2, 0);
+
+  @BeforeEach
+  public void setup() {
+    lenient().when(finalState.getBlockCreatorFactory()).thenReturn(blockCreatorFactory);
+    lenient().when(blockCreatorFactory.create(0)).thenReturn(blockCreator);
+    lenient()
+        .when(blockCreator.createSealedBlock(preparedBlock, 0, emptyList()))
+        .thenReturn(new QbftBlockTestFixture().blockHeader(sealedHeader).build());
+  }
+
+  @Test
+  public void nextBlockIsCreatedOnTopOfPreparedBlock() {
+    expectNextBlockCreation();
+    final SpeculativeBlockCreator creator = new SpeculativeBlockCreator(finalState, Runnable::run);
+
+    creator.createNextBlock(preparedBlock, 0);
+
+    assertThat(creator.takeBlock(sealedHeader, 11)).contains(nextBlock);
+    assertThat(creator.takeBlock(sealedHeader, 11)).isEmpty();
+  }
+
+  @Test
+  public void nextBlockIsCreatedOncePerPreparedBlock() {
+    expectNextBlockCreation();
+    final SpeculativeBlockCreator creator = new SpeculativeBlockCreator(finalState, Runnable::run);
+
+    creator.createNextBlock(preparedBlock, 0);
+    creator.createNextBlock(preparedBlock, 0);
+
+    verify(blockCreator, times(1)).createBlock(11, sealedHeader);
+  }
+
+  @Test
+  public void nextBlockIsDiscardedWhenImportedBlockIsNotPreparedBlock() {
+    expectNextBlockCreation();
+    final SpeculativeBlockCreator creator = new SpeculativeBlockCreator(finalState, Runnable::run);
+    final QbftBlockHeader importedHeader =
+        new QbftBlockHeaderTestFixture().number(1).timestamp(10).buildHeader();
+
+    creator.createNextBlock(preparedBlock, 0);
+
+    assertThat(creator.takeBlock(importedHeader, 11)).isEmpty();
+    assertThat(creator.takeBlock(sealedHeader, 11)).isEmpty();
+  }
+
+  @Test
+  public void nextBlockIsDiscardedWhenItsTimestampIsInTheFuture() {
+    expectNextBlockCreation();
+    final SpeculativeBlockCreator creator = new SpeculativeBlockCreator(finalState, Runnable::run);
+
+    creator.createNextBlock(preparedBlock, 0);
+
+    assertThat(creator.takeBlock(sealedHeader, 10)).isEmpty();
+  }
+
+  @Test
+  public void nextBlockIsNotUsedWhenItsCreationIsIncomplete() {
+    final Executor pendingExecutor = command -> {};
+    final SpeculativeBlockCreator creator =
+        new SpeculativeBlockCreator(finalState, pendingExecutor);
+
+    creator.createNextBlock(preparedBlock, 0);
+
+    assertThat(creator.takeBlock(sealedHeader, 11)).isEmpty();
+    // the prepared block is sealed and the next proposer predicted by the worker
+    verify(blockCreator, never()).createSealedBlock(any(), anyInt(), any());
+    verify(finalState, never()).isLocalNodeProposerForRound(any(), any());
+  }
+
+  @Test
+  public void nextBlockIsNotCreatedWhenLocalNodeIsNotNextProposer() {
+    when(finalState.isLocalNodeProposerForRound(nextRound, sealedHeader)).thenReturn(false);
+    final SpeculativeBlockCreator creator = new SpeculativeBlockCreator(finalState, Runnable::run);
+
+    creator.createNextBlock(preparedBlock, 0);
+
+    verify(blockCreator, never()).createBlock(anyLong(), any());
+    assertThat(creator.takeBlock(sealedHeader, 11)).isEmpty();
+  }
+
+  private void expectNextBlockCreation() {
+    when(finalState.getBlockTimer()).thenReturn(blockTimer);
+    when(blockTimer.getBlockPeriodSeconds()).thenReturn(1L);
+    when(finalState.isLocalNodeProposerForRound(nextRound, sealedHeader)).thenReturn(true);
+    when(blockCreator.createBlock(11, sealedHeader)).thenReturn(nextBlock);
+  }
+}
@@ -17,33 +17,89 @@ package org.hyperledger.besu.consensus.qbft.adaptor;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlock;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockImporter;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockImporter;
+import org.hyperledger.besu.ethereum.mainnet.BlockHeaderValidator;
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
 
-/** Adaptor class to allow a {@link BlockImporter} to be used as a {@link QbftBlockImporter}. */
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adaptor class to allow a {@link BlockImporter} to be used as a {@link QbftBlockImporter}.
+ *
+ * <p>A block whose proposal was processed when it was validated is appended to the chain with the
+ * outputs of that processing, provided its world state is still available, instead of being
+ * processed again by the Besu block importer.
+ */
 public class QbftBlockImporterAdaptor implements QbftBlockImporter {
+  private static final Logger LOG = LoggerFactory.getLogger(QbftBlockImporterAdaptor.class);
 
   private final BlockImporter blockImporter;
   private final ProtocolContext context;
+  private final BlockHeaderValidator blockHeaderValidator;
+  private final ValidatedBlockCache validatedBlocks;
 
   /**
    * Constructs a new Qbft block importer.
    *
    * @param blockImporter The Besu block importer
    * @param context The protocol context
+   * @param blockHeaderValidator The header validator of the imported blocks
+   * @param validatedBlocks The cache of the outputs of the validated blocks
    */
-  public QbftBlockImporterAdaptor(
-      final BlockImporter blockImporter, final ProtocolContext context) {
+  QbftBlockImporterAdaptor(
+      final BlockImporter blockImporter,
+      final ProtocolContext context,
+      final BlockHeaderValidator blockHeaderValidator,
+      final ValidatedBlockCache validatedBlocks) {
     this.blockImporter = blockImporter;
     this.context = context;
+    this.blockHeaderValidator = blockHeaderValidator;
+    this.validatedBlocks = validatedBlocks;
   }
 
   @Override
   public boolean importBlock(final QbftBlock block) {
+    final Block besuBlock = AdaptorUtil.toBesuBlock(block);
+    final Optional<ValidatedBlockCache.ValidatedBlock> validatedBlock =
+        validatedBlocks.remove(besuBlock.getHash());
+    if (validatedBlock.isPresent() && importValidatedBlock(besuBlock, validatedBlock.get())) {
+      return true;
+    }
     final BlockImportResult blockImportResult =
-        blockImporter.importBlock(
-            context, AdaptorUtil.toBesuBlock(block), HeaderValidationMode.FULL);
+        blockImporter.importBlock(context, besuBlock, HeaderValidationMode.FULL);
     return blockImportResult.isImported();
   }
+
+  private boolean importValidatedBlock(
+      final Block block, final ValidatedBlockCache.ValidatedBlock validatedBlock) {
+    final BlockHeader header = block.getHeader();
+    final MutableBlockchain blockchain = context.getBlockchain();
+    if (blockchain.contains(header.getHash())) {
+      return false;
+    }
+    if (!context
+        .getWorldStateArchive()
+        .isWorldStateAvailable(header.getStateRoot(), header.getHash())) {
+      LOG.debug(
+          "World state of validated block {} is no longer available, processing it again",
+          block.toLogString());
+      return false;
+    }
+    if (!blockHeaderValidator.validateHeader(header, context, HeaderValidationMode.FULL)) {
+      return false;
+    }
+    blockchain.appendBlock(block, validatedBlock.receipts(), validatedBlock.blockAccessList());
+    context
+        .getWorldStateArchive()
+        .getWorldState(WorldStateQueryParams.withBlockHeaderAndUpdateNodeHead(header));
+    return true;
+  }
 }
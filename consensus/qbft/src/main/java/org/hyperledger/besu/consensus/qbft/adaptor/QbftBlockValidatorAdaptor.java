@@ -19,6 +19,9 @@ import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockValidator;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.BlockValidator;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 
 /** Adaptor class to allow a {@link BlockValidator} to be used as a {@link QbftBlockValidator}. */
@@ -26,28 +29,51 @@ public class QbftBlockValidatorAdaptor implements QbftBlockValidator {
 
   private final BlockValidator blockValidator;
   private final ProtocolContext protocolContext;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+  private final ValidatedBlockCache validatedBlocks;
 
   /**
    * Constructs a new Qbft block validator
    *
    * @param blockValidator The Besu block validator
    * @param protocolContext The protocol context
+   * @param blockHeaderFunctions The header functions of the blocks imported to the chain
+   * @param validatedBlocks The cache of the outputs of the validated blocks
    */
-  public QbftBlockValidatorAdaptor(
-      final BlockValidator blockValidator, final ProtocolContext protocolContext) {
+  QbftBlockValidatorAdaptor(
+      final BlockValidator blockValidator,
+      final ProtocolContext protocolContext,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final ValidatedBlockCache validatedBlocks) {
     this.blockValidator = blockValidator;
     this.protocolContext = protocolContext;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+    this.validatedBlocks = validatedBlocks;
   }
 
   @Override
   public ValidationResult validateBlock(final QbftBlock block) {
+    // the block is processed with its on-chain hash, which the world state it produces is kept
+    // under and which is shared by the sealed block imported once the proposal is committed
+    final Block besuBlock = AdaptorUtil.toBesuBlock(block);
+    final Block onchainBlock =
+        new Block(
+            BlockHeaderBuilder.fromHeader(besuBlock.getHeader())
+                .blockHeaderFunctions(blockHeaderFunctions)
+                .buildBlockHeader(),
+            besuBlock.getBody());
     final BlockProcessingResult blockProcessingResult =
         blockValidator.validateAndProcessBlock(
             protocolContext,
-            AdaptorUtil.toBesuBlock(block),
+            onchainBlock,
             HeaderValidationMode.LIGHT,
             HeaderValidationMode.FULL,
             false);
+    if (blockProcessingResult.isSuccessful()) {
+      blockProcessingResult
+          .getYield()
+          .ifPresent(outputs -> validatedBlocks.put(onchainBlock.getHash(), outputs));
+    }
     return new ValidationResult(
         blockProcessingResult.isSuccessful(), blockProcessingResult.errorMessage);
   }
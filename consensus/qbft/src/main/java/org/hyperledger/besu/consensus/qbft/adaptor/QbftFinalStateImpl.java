@@ -22,6 +22,7 @@ import org.hyperledger.besu.consensus.common.bft.blockcreation.ProposerSelector;
 import org.hyperledger.besu.consensus.common.bft.network.ValidatorMulticaster;
 import org.hyperledger.besu.consensus.common.validator.ValidatorProvider;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockCreatorFactory;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockHeader;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftFinalState;
 import org.hyperledger.besu.cryptoservices.NodeKey;
 import org.hyperledger.besu.datatypes.Address;
@@ -166,6 +167,14 @@ public class QbftFinalStateImpl implements QbftFinalState {
     return getProposerForRound(roundIdentifier).equals(localAddress);
   }
 
+  @Override
+  public boolean isLocalNodeProposerForRound(
+      final ConsensusRoundIdentifier roundIdentifier, final QbftBlockHeader parentHeader) {
+    return proposerSelector
+        .selectProposerForRound(roundIdentifier, AdaptorUtil.toBesuBlockHeader(parentHeader))
+        .equals(localAddress);
+  }
+
   /**
    * Gets proposer for round.
    *
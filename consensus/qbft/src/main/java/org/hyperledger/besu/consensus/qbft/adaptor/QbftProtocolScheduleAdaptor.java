@@ -29,6 +29,7 @@ public class QbftProtocolScheduleAdaptor implements QbftProtocolSchedule {
 
   private final ProtocolSchedule besuProtocolSchedule;
   private final ProtocolContext context;
+  private final ValidatedBlockCache validatedBlocks = new ValidatedBlockCache();
 
   /**
    * Constructs a new Qbft protocol schedule.
@@ -44,14 +45,22 @@ public class QbftProtocolScheduleAdaptor implements QbftProtocolSchedule {
 
   @Override
   public QbftBlockImporter getBlockImporter(final QbftBlockHeader header) {
+    final ProtocolSpec protocolSpec = getProtocolSpecByBlockHeader(header);
     return new QbftBlockImporterAdaptor(
-        getProtocolSpecByBlockHeader(header).getBlockImporter(), context);
+        protocolSpec.getBlockImporter(),
+        context,
+        protocolSpec.getBlockHeaderValidator(),
+        validatedBlocks);
   }
 
   @Override
   public QbftBlockValidator getBlockValidator(final QbftBlockHeader header) {
+    final ProtocolSpec protocolSpec = getProtocolSpecByBlockHeader(header);
     return new QbftBlockValidatorAdaptor(
-        getProtocolSpecByBlockHeader(header).getBlockValidator(), context);
+        protocolSpec.getBlockValidator(),
+        context,
+        protocolSpec.getBlockHeaderFunctions(),
+        validatedBlocks);
   }
 
   private ProtocolSpec getProtocolSpecByBlockHeader(final QbftBlockHeader header) {
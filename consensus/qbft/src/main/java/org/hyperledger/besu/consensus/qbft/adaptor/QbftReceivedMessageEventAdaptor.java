@@ -16,13 +16,17 @@ package org.hyperledger.besu.consensus.qbft.adaptor;
 
 import org.hyperledger.besu.consensus.common.bft.events.BftEvents;
 import org.hyperledger.besu.consensus.common.bft.events.BftReceivedMessageEvent;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftMessage;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftReceivedMessageEvent;
 
+import java.util.Optional;
+
 /** Adaptor class to convert {@link BftReceivedMessageEvent} to {@link QbftReceivedMessageEvent}. */
 public class QbftReceivedMessageEventAdaptor implements QbftReceivedMessageEvent {
 
   private final QbftMessage qbftMessage;
+  private final Optional<BftMessage<?>> decodedMessage;
 
   /**
    * Create a new instance of the adaptor.
@@ -31,6 +35,7 @@ public class QbftReceivedMessageEventAdaptor implements QbftReceivedMessageEvent
    */
   public QbftReceivedMessageEventAdaptor(final BftReceivedMessageEvent bftReceivedMessageEvent) {
     this.qbftMessage = new QbftMessageAdaptor(bftReceivedMessageEvent.getMessage());
+    this.decodedMessage = bftReceivedMessageEvent.getDecodedMessage();
   }
 
   @Override
@@ -38,6 +43,11 @@ public class QbftReceivedMessageEventAdaptor implements QbftReceivedMessageEvent
     return qbftMessage;
   }
 
+  @Override
+  public Optional<BftMessage<?>> getDecodedMessage() {
+    return decodedMessage;
+  }
+
   @Override
   public BftEvents.Type getType() {
     return BftEvents.Type.MESSAGE;
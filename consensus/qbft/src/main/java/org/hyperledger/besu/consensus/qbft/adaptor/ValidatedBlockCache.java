@@ -0,0 +1,58 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft.adaptor;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * The outputs of the proposed blocks processed while they were validated, keyed by their on-chain
+ * hash, so a block can be imported once committed without processing its transactions again.
+ *
+ * <p>The world state of a validated block is not held here, it is persisted by the processing of
+ * the block under its hash and the importer checks it is still available before using the outputs.
+ */
+class ValidatedBlockCache {
+  // enough for the proposals of the rounds of a height
+  private static final int MAX_BLOCKS = 16;
+
+  private final Cache<Hash, ValidatedBlock> blocks =
+      CacheBuilder.newBuilder().maximumSize(MAX_BLOCKS).build();
+
+  /**
+   * The outputs of a validated block.
+   *
+   * @param receipts the receipts of the transactions of the block
+   * @param blockAccessList the block access list generated while processing the block
+   */
+  record ValidatedBlock(
+      List<TransactionReceipt> receipts, Optional<BlockAccessList> blockAccessList) {}
+
+  void put(final Hash blockHash, final BlockProcessingOutputs outputs) {
+    blocks.put(blockHash, new ValidatedBlock(outputs.getReceipts(), outputs.getBlockAccessList()));
+  }
+
+  Optional<ValidatedBlock> remove(final Hash blockHash) {
+    return Optional.ofNullable(blocks.asMap().remove(blockHash));
+  }
+}
@@ -18,15 +18,28 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.mainnet.BlockImportResult.BlockImportStatus.ALREADY_IMPORTED;
 import static org.hyperledger.besu.ethereum.mainnet.BlockImportResult.BlockImportStatus.IMPORTED;
 import static org.hyperledger.besu.ethereum.mainnet.BlockImportResult.BlockImportStatus.NOT_IMPORTED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlock;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.BlockImporter;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.BlockHeaderValidator;
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+
+import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,6 +50,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class QbftBlockImporterAdaptorTest {
   @Mock private BlockImporter blockImporter;
   @Mock private ProtocolContext protocolContext;
+  @Mock private BlockHeaderValidator blockHeaderValidator;
+  @Mock private MutableBlockchain blockchain;
+  @Mock private WorldStateArchive worldStateArchive;
+  private final ValidatedBlockCache validatedBlocks = new ValidatedBlockCache();
   private final Block besuBlock = new BlockDataGenerator().block();
   private final QbftBlock block = new QbftBlockAdaptor(besuBlock);
 
@@ -46,7 +63,8 @@ class QbftBlockImporterAdaptorTest {
         .thenReturn(new BlockImportResult(IMPORTED));
 
     QbftBlockImporterAdaptor qbftBlockImporter =
-        new QbftBlockImporterAdaptor(blockImporter, protocolContext);
+        new QbftBlockImporterAdaptor(
+            blockImporter, protocolContext, blockHeaderValidator, validatedBlocks);
     assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(true);
   }
 
@@ -56,7 +74,8 @@ class QbftBlockImporterAdaptorTest {
         .thenReturn(new BlockImportResult(ALREADY_IMPORTED));
 
     QbftBlockImporterAdaptor qbftBlockImporter =
-        new QbftBlockImporterAdaptor(blockImporter, protocolContext);
+        new QbftBlockImporterAdaptor(
+            blockImporter, protocolContext, blockHeaderValidator, validatedBlocks);
     assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(true);
   }
 
@@ -66,7 +85,52 @@ class QbftBlockImporterAdaptorTest {
         .thenReturn(new BlockImportResult(NOT_IMPORTED));
 
     QbftBlockImporterAdaptor qbftBlockImporter =
-        new QbftBlockImporterAdaptor(blockImporter, protocolContext);
+        new QbftBlockImporterAdaptor(
+            blockImporter, protocolContext, blockHeaderValidator, validatedBlocks);
     assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(false);
   }
+
+  @Test
+  void importsValidatedBlockWithoutProcessingItAgain() {
+    final List<TransactionReceipt> receipts = List.of(mock(TransactionReceipt.class));
+    validatedBlocks.put(
+        besuBlock.getHash(), new BlockProcessingOutputs(mock(MutableWorldState.class), receipts));
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateArchive);
+    when(worldStateArchive.isWorldStateAvailable(
+            besuBlock.getHeader().getStateRoot(), besuBlock.getHash()))
+        .thenReturn(true);
+    when(blockHeaderValidator.validateHeader(
+            besuBlock.getHeader(), protocolContext, HeaderValidationMode.FULL))
+        .thenReturn(true);
+
+    QbftBlockImporterAdaptor qbftBlockImporter =
+        new QbftBlockImporterAdaptor(
+            blockImporter, protocolContext, blockHeaderValidator, validatedBlocks);
+    assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(true);
+
+    verify(blockchain).appendBlock(besuBlock, receipts, Optional.empty());
+    verify(worldStateArchive).getWorldState(any());
+    verify(blockImporter, never()).importBlock(any(), any(), any());
+  }
+
+  @Test
+  void processesValidatedBlockAgainWhenItsWorldStateIsNoLongerAvailable() {
+    validatedBlocks.put(
+        besuBlock.getHash(), new BlockProcessingOutputs(mock(MutableWorldState.class), List.of()));
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateArchive);
+    when(worldStateArchive.isWorldStateAvailable(
+            besuBlock.getHeader().getStateRoot(), besuBlock.getHash()))
+        .thenReturn(false);
+    when(blockImporter.importBlock(protocolContext, besuBlock, HeaderValidationMode.FULL))
+        .thenReturn(new BlockImportResult(IMPORTED));
+
+    QbftBlockImporterAdaptor qbftBlockImporter =
+        new QbftBlockImporterAdaptor(
+            blockImporter, protocolContext, blockHeaderValidator, validatedBlocks);
+    assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(true);
+
+    verify(blockchain, never()).appendBlock(any(), any(), any());
+  }
 }
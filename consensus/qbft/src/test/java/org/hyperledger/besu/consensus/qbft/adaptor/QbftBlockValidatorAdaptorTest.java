@@ -15,15 +15,24 @@
 package org.hyperledger.besu.consensus.qbft.adaptor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockValidator;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.BlockValidator;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -35,22 +44,21 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class QbftBlockValidatorAdaptorTest {
   @Mock private BlockValidator blockValidator;
   @Mock private ProtocolContext protocolContext;
-  @Mock private Block besuBlock;
-  @Mock private QbftBlockAdaptor qbftBlock;
+  private final Block besuBlock = new BlockDataGenerator().block();
+  private final QbftBlockAdaptor qbftBlock = new QbftBlockAdaptor(besuBlock);
+  private final ValidatedBlockCache validatedBlocks = new ValidatedBlockCache();
 
   @Test
   void validateSuccessfullyWhenBesuValidatorSuccessful() {
-    when(qbftBlock.getBesuBlock()).thenReturn(besuBlock);
     when(blockValidator.validateAndProcessBlock(
-            protocolContext,
-            besuBlock,
-            HeaderValidationMode.LIGHT,
-            HeaderValidationMode.FULL,
-            false))
+            eq(protocolContext),
+            argThat(block -> block.getHash().equals(besuBlock.getHash())),
+            eq(HeaderValidationMode.LIGHT),
+            eq(HeaderValidationMode.FULL),
+            eq(false)))
         .thenReturn(new BlockProcessingResult(Optional.empty()));
 
-    QbftBlockValidatorAdaptor qbftBlockValidator =
-        new QbftBlockValidatorAdaptor(blockValidator, protocolContext);
+    QbftBlockValidatorAdaptor qbftBlockValidator = createValidator();
     QbftBlockValidator.ValidationResult validationResult =
         qbftBlockValidator.validateBlock(qbftBlock);
     assertThat(validationResult.success()).isTrue();
@@ -59,20 +67,43 @@ class QbftBlockValidatorAdaptorTest {
 
   @Test
   void validateFailsWhenBesuValidatorFails() {
-    when(qbftBlock.getBesuBlock()).thenReturn(besuBlock);
     when(blockValidator.validateAndProcessBlock(
-            protocolContext,
-            besuBlock,
-            HeaderValidationMode.LIGHT,
-            HeaderValidationMode.FULL,
-            false))
+            eq(protocolContext),
+            argThat(block -> block.getHash().equals(besuBlock.getHash())),
+            eq(HeaderValidationMode.LIGHT),
+            eq(HeaderValidationMode.FULL),
+            eq(false)))
         .thenReturn(new BlockProcessingResult("failed"));
 
-    QbftBlockValidatorAdaptor qbftBlockValidator =
-        new QbftBlockValidatorAdaptor(blockValidator, protocolContext);
+    QbftBlockValidatorAdaptor qbftBlockValidator = createValidator();
     QbftBlockValidator.ValidationResult validationResult =
         qbftBlockValidator.validateBlock(qbftBlock);
     assertThat(validationResult.success()).isFalse();
     assertThat(validationResult.errorMessage()).contains("failed");
+    assertThat(validatedBlocks.remove(besuBlock.getHash())).isEmpty();
+  }
+
+  @Test
+  void keepsOutputsOfValidatedBlockUnderItsOnchainHash() {
+    final List<TransactionReceipt> receipts = List.of(mock(TransactionReceipt.class));
+    final BlockProcessingOutputs outputs =
+        new BlockProcessingOutputs(mock(MutableWorldState.class), receipts);
+    when(blockValidator.validateAndProcessBlock(
+            eq(protocolContext),
+            argThat(block -> block.getHash().equals(besuBlock.getHash())),
+            eq(HeaderValidationMode.LIGHT),
+            eq(HeaderValidationMode.FULL),
+            eq(false)))
+        .thenReturn(new BlockProcessingResult(Optional.of(outputs)));
+
+    createValidator().validateBlock(qbftBlock);
+
+    assertThat(validatedBlocks.remove(besuBlock.getHash()))
+        .hasValueSatisfying(validated -> assertThat(validated.receipts()).isEqualTo(receipts));
+  }
+
+  private QbftBlockValidatorAdaptor createValidator() {
+    return new QbftBlockValidatorAdaptor(
+        blockValidator, protocolContext, new MainnetBlockHeaderFunctions(), validatedBlocks);
   }
 }
@@ -31,8 +31,10 @@ import org.apache.tuweni.bytes.Bytes32;
 public abstract class Hash {
   private Hash() {}
 
-  private static final Supplier<MessageDigest> KECCAK256_SUPPLIER =
-      Suppliers.memoize(() -> messageDigest(KECCAK256_ALG));
+  // keccak256 is hashed by the millions per block, so each thread reuses its own digest rather
+  // than cloning a shared prototype for every call
+  private static final ThreadLocal<MessageDigest> KECCAK256_DIGEST =
+      ThreadLocal.withInitial(() -> messageDigest(KECCAK256_ALG));
   private static final Supplier<MessageDigest> SHA256_SUPPLIER =
       Suppliers.memoize(() -> messageDigest(SHA256_ALG));
   private static final Supplier<MessageDigest> RIPEMD160_SUPPLIER =
@@ -83,7 +85,15 @@ public abstract class Hash {
    * @return A digest.
    */
   public static Bytes32 keccak256(final Bytes input) {
-    return Bytes32.wrap(digestUsingAlgorithm(input, KECCAK256_SUPPLIER));
+    final MessageDigest digest = KECCAK256_DIGEST.get();
+    try {
+      input.update(digest);
+      return Bytes32.wrap(digest.digest());
+    } catch (final RuntimeException e) {
+      // never leave partial input in the digest of this thread
+      digest.reset();
+      throw e;
+    }
   }
 
   /**
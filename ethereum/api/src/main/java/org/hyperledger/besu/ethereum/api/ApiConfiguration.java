@@ -77,6 +77,17 @@ public abstract class ApiConfiguration {
     return 0.015d;
   }
 
+  /**
+   * Returns the number of gas limits probed concurrently by each round of the eth_estimateGas
+   * search. A value of 1 performs a sequential binary search. Default value is 1.
+   *
+   * @return the number of concurrent simulations per eth_estimateGas search round
+   */
+  @Value.Default
+  public int getEstimateGasParallelism() {
+    return 1;
+  }
+
   /**
    * Returns the maximum gas price. Default value is 500 GWei.
    *
@@ -157,4 +168,16 @@ public abstract class ApiConfiguration {
   public Long getMaxTraceFilterRange() {
     return 1000L;
   }
+
+  /**
+   * Returns the number of blocks of a trace_filter range that are traced concurrently, each on top
+   * of the world state of its own parent. A value of 1 traces the range sequentially. Default value
+   * is 1.
+   *
+   * @return the number of blocks traced concurrently by trace_filter
+   */
+  @Value.Default
+  public int getTraceFilterParallelism() {
+    return 1;
+  }
 }
@@ -130,20 +130,34 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
                               block);
 
                       Pipeline<TransactionTrace> traceBlockPipeline =
-                          createPipelineFrom(
-                                  "getTransactions",
-                                  transactionSource,
-                                  4,
-                                  outputCounter,
-                                  false,
-                                  "debug_trace_block")
-                              .thenProcess("executeTransaction", executeTransactionStep)
-                              .thenProcessAsyncOrdered(
-                                  "debugTraceTransactionStep",
-                                  DebugTraceTransactionStepFactory.createAsync(
-                                      traceOptions.tracerType()),
-                                  4)
-                              .andFinishWith("collect_results", tracesList::add);
+                          DebugTraceTransactionStepFactory.usesCallTracer(
+                                  traceOptions.tracerType())
+                              ? createPipelineFrom(
+                                      "getTransactions",
+                                      transactionSource,
+                                      4,
+                                      outputCounter,
+                                      false,
+                                      "debug_trace_block")
+                                  .thenProcess(
+                                      "executeTransactionWithCallTracer",
+                                      new ExecuteTransactionWithCallTracerStep(
+                                          executeTransactionStep))
+                                  .andFinishWith("collect_results", tracesList::add)
+                              : createPipelineFrom(
+                                      "getTransactions",
+                                      transactionSource,
+                                      4,
+                                      outputCounter,
+                                      false,
+                                      "debug_trace_block")
+                                  .thenProcess("executeTransaction", executeTransactionStep)
+                                  .thenProcessAsyncOrdered(
+                                      "debugTraceTransactionStep",
+                                      DebugTraceTransactionStepFactory.createAsync(
+                                          traceOptions.tracerType()),
+                                      4)
+                                  .andFinishWith("collect_results", tracesList::add);
 
                       try {
                         ethScheduler.startPipeline(traceBlockPipeline).get();
@@ -0,0 +1,64 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter.JsonRpcParameterException;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.EvmProfileResult;
+import org.hyperledger.besu.evm.profiling.EvmProfiler;
+
+import java.util.Optional;
+
+/**
+ * Returns the profile of the EVM execution over the recent window, by opcode, by precompile and by
+ * contract code hash. The optional boolean parameter enables or disables the profiler first.
+ */
+public class DebugEvmProfile implements JsonRpcMethod {
+
+  private final EvmProfiler profiler;
+
+  public DebugEvmProfile() {
+    this(EvmProfiler.getInstance());
+  }
+
+  DebugEvmProfile(final EvmProfiler profiler) {
+    this.profiler = profiler;
+  }
+
+  @Override
+  public String getName() {
+    return RpcMethod.DEBUG_EVM_PROFILE.getMethodName();
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequestContext requestContext) {
+    final Optional<Boolean> enabled;
+    try {
+      enabled = requestContext.getOptionalParameter(0, Boolean.class);
+    } catch (final JsonRpcParameterException e) {
+      throw new InvalidJsonRpcParameters(
+          "Invalid enabled boolean parameter (index 0)", RpcErrorType.INVALID_PARAMS, e);
+    }
+    enabled.ifPresent(profiler::setEnabled);
+    return new JsonRpcSuccessResponse(
+        requestContext.getRequest().getId(),
+        new EvmProfileResult(profiler.isEnabled(), profiler.recentProfile()));
+  }
+}
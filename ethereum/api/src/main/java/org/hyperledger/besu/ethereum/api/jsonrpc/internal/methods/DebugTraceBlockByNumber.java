@@ -137,20 +137,34 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
                               block);
 
                       Pipeline<TransactionTrace> traceBlockPipeline =
-                          createPipelineFrom(
-                                  "getTransactions",
-                                  transactionSource,
-                                  4,
-                                  outputCounter,
-                                  false,
-                                  "debug_trace_block_by_number")
-                              .thenProcess("executeTransaction", executeTransactionStep)
-                              .thenProcessAsyncOrdered(
-                                  "debugTraceTransactionStep",
-                                  DebugTraceTransactionStepFactory.createAsync(
-                                      traceOptions.tracerType()),
-                                  4)
-                              .andFinishWith("collect_results", tracesList::add);
+                          DebugTraceTransactionStepFactory.usesCallTracer(
+                                  traceOptions.tracerType())
+                              ? createPipelineFrom(
+                                      "getTransactions",
+                                      transactionSource,
+                                      4,
+                                      outputCounter,
+                                      false,
+                                      "debug_trace_block_by_number")
+                                  .thenProcess(
+                                      "executeTransactionWithCallTracer",
+                                      new ExecuteTransactionWithCallTracerStep(
+                                          executeTransactionStep))
+                                  .andFinishWith("collect_results", tracesList::add)
+                              : createPipelineFrom(
+                                      "getTransactions",
+                                      transactionSource,
+                                      4,
+                                      outputCounter,
+                                      false,
+                                      "debug_trace_block_by_number")
+                                  .thenProcess("executeTransaction", executeTransactionStep)
+                                  .thenProcessAsyncOrdered(
+                                      "debugTraceTransactionStep",
+                                      DebugTraceTransactionStepFactory.createAsync(
+                                          traceOptions.tracerType()),
+                                      4)
+                                  .andFinishWith("collect_results", tracesList::add);
 
                       try {
                         ethScheduler.startPipeline(traceBlockPipeline).get();
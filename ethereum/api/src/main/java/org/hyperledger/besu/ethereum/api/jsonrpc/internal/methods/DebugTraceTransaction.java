@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionT
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.CallTracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
@@ -96,6 +97,21 @@ public class DebugTraceTransaction implements JsonRpcMethod {
       final TraceOptions traceOptions) {
     final Hash blockHash = transactionWithMetadata.getBlockHash().get();
 
+    if (DebugTraceTransactionStepFactory.usesCallTracer(traceOptions.tracerType())) {
+      final CallTracer callTracer = new CallTracer();
+      return Tracer.processTracing(
+              blockchain,
+              blockHash,
+              mutableWorldState ->
+                  transactionTracer
+                      .traceTransaction(mutableWorldState, blockHash, hash, callTracer)
+                      .map(
+                          transactionTrace ->
+                              new DebugTraceTransactionResult(
+                                  transactionTrace, callTracer.getResult(transactionTrace))))
+          .orElse(null);
+    }
+
     final DebugOperationTracer execTracer =
         new DebugOperationTracer(traceOptions.opCodeTracerConfig(), true);
 
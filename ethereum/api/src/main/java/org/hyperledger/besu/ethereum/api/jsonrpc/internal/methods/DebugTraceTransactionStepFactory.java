@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.CallTracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.CallTracerResultConverter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.OpCodeLoggerTracerResult;
@@ -37,6 +38,17 @@ public class DebugTraceTransactionStepFactory {
   // feature flag to enable non-default tracers
   public static boolean enableExtraTracers = false;
 
+  /**
+   * Returns whether transactions traced with the specified tracer type are executed with a
+   * dedicated {@link CallTracer} rather than converted from their opcode trace frames.
+   *
+   * @param tracerType the type of tracer requested
+   * @return true if the tracer type is served by a {@link CallTracer}
+   */
+  public static boolean usesCallTracer(final TracerType tracerType) {
+    return tracerType == TracerType.CALL_TRACER && enableExtraTracers;
+  }
+
   /**
    * Creates a function that processes a {@link TransactionTrace} and returns a {@link
    * DebugTraceTransactionResult} with the appropriate tracer result based on the specified tracer
@@ -22,13 +22,18 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.Quantity;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.transaction.CallParameter;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import com.google.common.base.Throwables;
+import com.google.common.primitives.Longs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,13 +44,18 @@ public class EthEstimateGas extends AbstractEstimateGas {
   // which means keep looping until the estimate is exact (previous behavior)
   protected double estimateGasToleranceRatio;
   private static final long CALL_STIPEND = 2_300L;
+  private final int parallelism;
+  private final EthScheduler ethScheduler;
 
   public EthEstimateGas(
       final BlockchainQueries blockchainQueries,
       final TransactionSimulator transactionSimulator,
-      final ApiConfiguration apiConfiguration) {
+      final ApiConfiguration apiConfiguration,
+      final EthScheduler ethScheduler) {
     super(blockchainQueries, transactionSimulator);
     this.estimateGasToleranceRatio = apiConfiguration.getEstimateGasToleranceRatio();
+    this.parallelism = apiConfiguration.getEstimateGasParallelism();
+    this.ethScheduler = ethScheduler;
   }
 
   @Override
@@ -83,11 +93,26 @@ public class EthEstimateGas extends AbstractEstimateGas {
     }
 
     final var result = maybeResult.get();
-    long high = gasLimitUpperBound;
-    long mid;
+    final long low = result.result().getEstimateGasUsedByTransaction() - 1;
+    final long optimisticGasLimit = processEstimateGas(result);
+
+    final long estimate =
+        parallelism > 1
+            ? searchInParallel(
+                callParams, simulationFunction, low, optimisticGasLimit, gasLimitUpperBound)
+            : search(callParams, simulationFunction, low, optimisticGasLimit, gasLimitUpperBound);
+    return Quantity.create(estimate);
+  }
 
-    long low = result.result().getEstimateGasUsedByTransaction() - 1;
-    var optimisticGasLimit = processEstimateGas(result);
+  private long search(
+      final CallParameter callParams,
+      final TransactionSimulationFunction simulationFunction,
+      final long lowerBound,
+      final long optimisticGasLimit,
+      final long upperBound) {
+    long low = lowerBound;
+    long high = upperBound;
+    long mid;
 
     final var optimisticResult =
         simulationFunction.simulate(
@@ -101,8 +126,7 @@ public class EthEstimateGas extends AbstractEstimateGas {
 
     while (low + 1 < high) {
       // check if we are close enough
-      if (estimateGasToleranceRatio > 0
-          && (double) (high - low) / high < estimateGasToleranceRatio) {
+      if (isWithinTolerance(low, high)) {
         break;
       }
       mid = (low + high) / 2;
@@ -117,7 +141,92 @@ public class EthEstimateGas extends AbstractEstimateGas {
       }
     }
 
-    return Quantity.create(high);
+    return high;
+  }
+
+  /**
+   * Searches the gas limit with a k-ary search, simulating up to {@code parallelism} gas limits
+   * concurrently in each round, each simulation on its own copy of the world state. Every round
+   * divides the search interval by {@code parallelism + 1} instead of 2.
+   */
+  private long searchInParallel(
+      final CallParameter callParams,
+      final TransactionSimulationFunction simulationFunction,
+      final long lowerBound,
+      final long optimisticGasLimit,
+      final long upperBound) {
+    long low = lowerBound;
+    long high = upperBound;
+
+    // the optimistic estimate is likely to succeed, probe it along with the gas limits above it
+    long[] gasLimits =
+        optimisticGasLimit > low && optimisticGasLimit < high
+            ? Longs.concat(
+                new long[] {optimisticGasLimit}, probes(optimisticGasLimit, high, parallelism - 1))
+            : probes(low, high, parallelism);
+
+    while (gasLimits.length > 0) {
+      final boolean[] successful = simulateConcurrently(callParams, simulationFunction, gasLimits);
+      // gas limits are in increasing order: the first success is the new upper bound, and the
+      // failures before it raise the lower bound
+      for (int i = 0; i < gasLimits.length; i++) {
+        if (successful[i]) {
+          high = gasLimits[i];
+          break;
+        }
+        low = gasLimits[i];
+      }
+      gasLimits = isWithinTolerance(low, high) ? new long[0] : probes(low, high, parallelism);
+    }
+
+    return high;
+  }
+
+  private boolean[] simulateConcurrently(
+      final CallParameter callParams,
+      final TransactionSimulationFunction simulationFunction,
+      final long[] gasLimits) {
+    @SuppressWarnings("unchecked")
+    final CompletableFuture<Boolean>[] simulations = new CompletableFuture[gasLimits.length];
+    for (int i = 0; i < gasLimits.length; i++) {
+      final CallParameter probe = overrideGasLimit(callParams, gasLimits[i]);
+      simulations[i] =
+          ethScheduler.scheduleComputationTask(
+              () ->
+                  simulationFunction
+                      .simulate(probe, OperationTracer.NO_TRACING)
+                      .map(TransactionSimulatorResult::isSuccessful)
+                      .orElse(false));
+    }
+    try {
+      CompletableFuture.allOf(simulations).join();
+    } catch (final CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+    final boolean[] successful = new boolean[gasLimits.length];
+    for (int i = 0; i < gasLimits.length; i++) {
+      successful[i] = simulations[i].join();
+    }
+    return successful;
+  }
+
+  /**
+   * Returns up to {@code count} gas limits evenly spread in increasing order strictly between
+   * {@code low} and {@code high}.
+   */
+  private static long[] probes(final long low, final long high, final int count) {
+    final int probeCount = (int) Math.max(0, Math.min(count, high - low - 1));
+    final long[] gasLimits = new long[probeCount];
+    for (int i = 0; i < probeCount; i++) {
+      gasLimits[i] = low + (high - low) * (i + 1) / (probeCount + 1);
+    }
+    return gasLimits;
+  }
+
+  private boolean isWithinTolerance(final long low, final long high) {
+    return estimateGasToleranceRatio > 0
+        && (double) (high - low) / high < estimateGasToleranceRatio;
   }
 
   private Optional<JsonRpcErrorResponse> validateSimulationResult(
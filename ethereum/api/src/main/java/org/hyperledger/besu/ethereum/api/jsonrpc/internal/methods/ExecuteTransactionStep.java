@@ -22,11 +22,13 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionT
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.tracing.TraceFrame;
 
 import java.util.List;
@@ -66,6 +68,25 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
     this(chainUpdater, transactionProcessor, blockchain, tracer, protocolSpec, null);
   }
 
+  /**
+   * Creates a step that only processes transactions with the tracer given to {@link
+   * #processTransaction(Block, Transaction, OperationTracer)}, without capturing trace frames.
+   *
+   * @param chainUpdater the updater chaining the world state of the processed transactions
+   * @param transactionProcessor the transaction processor of the block
+   * @param blockchain the blockchain
+   * @param protocolSpec the protocol spec of the block
+   * @param block the block of the transactions, or null to take it from each transaction trace
+   */
+  public ExecuteTransactionStep(
+      final TraceBlock.ChainUpdater chainUpdater,
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final ProtocolSpec protocolSpec,
+      final Block block) {
+    this(chainUpdater, transactionProcessor, blockchain, null, protocolSpec, block);
+  }
+
   @Override
   public TransactionTrace apply(final TransactionTrace transactionTrace) {
     Block block = this.block;
@@ -84,27 +105,7 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
     TransactionProcessingResult result = null;
     // If it is not a reward Block trace
     if (transactionTrace.getTransaction() != null) {
-      BlockHeader header = block.getHeader();
-      final Optional<BlockHeader> maybeParentHeader =
-          blockchain.getBlockHeader(header.getParentHash());
-      final Wei blobGasPrice =
-          protocolSpec
-              .getFeeMarket()
-              .blobGasPricePerGas(
-                  maybeParentHeader
-                      .map(parent -> calculateExcessBlobGasForParent(protocolSpec, parent))
-                      .orElse(BlobGas.ZERO));
-      final BlockHashLookup blockHashLookup =
-          protocolSpec.getPreExecutionProcessor().createBlockHashLookup(blockchain, header);
-      result =
-          transactionProcessor.processTransaction(
-              chainUpdater.getNextUpdater(),
-              header,
-              transactionTrace.getTransaction(),
-              header.getCoinbase(),
-              tracer,
-              blockHashLookup,
-              blobGasPrice);
+      result = processTransaction(block, transactionTrace.getTransaction(), tracer);
 
       traceFrames = tracer.copyTraceFrames();
       tracer.reset();
@@ -112,4 +113,36 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
     return new TransactionTrace(
         transactionTrace.getTransaction(), result, traceFrames, transactionTrace.getBlock());
   }
+
+  /**
+   * Processes a transaction of the block on top of the state left by the previously processed one.
+   *
+   * @param block the block of the transaction
+   * @param transaction the transaction to process
+   * @param operationTracer the tracer to process the transaction with
+   * @return the result of processing the transaction
+   */
+  public TransactionProcessingResult processTransaction(
+      final Block block, final Transaction transaction, final OperationTracer operationTracer) {
+    final BlockHeader header = block.getHeader();
+    final Optional<BlockHeader> maybeParentHeader =
+        blockchain.getBlockHeader(header.getParentHash());
+    final Wei blobGasPrice =
+        protocolSpec
+            .getFeeMarket()
+            .blobGasPricePerGas(
+                maybeParentHeader
+                    .map(parent -> calculateExcessBlobGasForParent(protocolSpec, parent))
+                    .orElse(BlobGas.ZERO));
+    final BlockHashLookup blockHashLookup =
+        protocolSpec.getPreExecutionProcessor().createBlockHashLookup(blockchain, header);
+    return transactionProcessor.processTransaction(
+        chainUpdater.getNextUpdater(),
+        header,
+        transaction,
+        header.getCoinbase(),
+        operationTracer,
+        blockHashLookup,
+        blobGasPrice);
+  }
 }
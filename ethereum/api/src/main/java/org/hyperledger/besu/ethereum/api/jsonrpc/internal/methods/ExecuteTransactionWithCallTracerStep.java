@@ -0,0 +1,56 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.CallTracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Executes the transactions of a block with a {@link CallTracer}, producing their callTracer
+ * results without capturing a trace frame per opcode.
+ */
+public class ExecuteTransactionWithCallTracerStep
+    implements Function<TransactionTrace, DebugTraceTransactionResult> {
+
+  private final ExecuteTransactionStep executeTransactionStep;
+
+  public ExecuteTransactionWithCallTracerStep(final ExecuteTransactionStep executeTransactionStep) {
+    this.executeTransactionStep = executeTransactionStep;
+  }
+
+  @Override
+  public DebugTraceTransactionResult apply(final TransactionTrace transactionTrace) {
+    final Block block =
+        transactionTrace
+            .getBlock()
+            .orElseThrow(
+                () ->
+                    new RuntimeException("Expecting block to be in transactionTrace but was empty"));
+    final CallTracer callTracer = new CallTracer();
+    final TransactionProcessingResult result =
+        executeTransactionStep.processTransaction(
+            block, transactionTrace.getTransaction(), callTracer);
+    final TransactionTrace executedTrace =
+        new TransactionTrace(
+            transactionTrace.getTransaction(), result, List.of(), transactionTrace.getBlock());
+    return new DebugTraceTransactionResult(executedTrace, callTracer.getResult(executedTrace));
+  }
+}
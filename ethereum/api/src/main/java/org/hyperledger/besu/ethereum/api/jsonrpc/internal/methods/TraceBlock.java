@@ -35,9 +35,6 @@ import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
-import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
-import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder;
-import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -127,24 +124,16 @@ public class TraceBlock extends AbstractBlockParameterMethod {
               final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
 
               TransactionSource transactionSource = new TransactionSource(block);
-              DebugOperationTracer debugOperationTracer =
-                  new DebugOperationTracer(
-                      OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
-                          .traceStorage(false)
-                          .traceMemory(false)
-                          .traceStack(true)
-                          .build(),
-                      false);
               ExecuteTransactionStep executeTransactionStep =
                   new ExecuteTransactionStep(
                       chainUpdater,
                       transactionProcessor,
                       getBlockchainQueries().getBlockchain(),
-                      debugOperationTracer,
                       protocolSpec,
                       block);
               TraceFlatTransactionStep traceFlatTransactionStep =
-                  new TraceFlatTransactionStep(protocolSchedule, block, filterParameter);
+                  new TraceFlatTransactionStep(
+                      protocolSchedule, executeTransactionStep, block, filterParameter);
               BuildArrayNodeCompleterStep buildArrayNodeStep =
                   new BuildArrayNodeCompleterStep(resultArrayNode);
               Pipeline<TransactionTrace> traceBlockPipeline =
@@ -155,8 +144,7 @@ public class TraceBlock extends AbstractBlockParameterMethod {
                           outputCounter,
                           false,
                           "trace_block_transactions")
-                      .thenProcess("executeTransaction", executeTransactionStep)
-                      .thenProcessAsyncOrdered("traceFlatTransaction", traceFlatTransactionStep, 4)
+                      .thenProcess("traceFlatTransaction", traceFlatTransactionStep)
                       .andFinishWith(
                           "buildArrayNode",
                           traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
@@ -40,9 +40,6 @@ import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
-import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
-import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder;
-import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
@@ -51,10 +48,11 @@ import org.hyperledger.besu.services.pipeline.Pipeline;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -68,16 +66,19 @@ import org.slf4j.LoggerFactory;
 public class TraceFilter extends TraceBlock {
   private static final Logger LOG = LoggerFactory.getLogger(TraceFilter.class);
   private final Long maxRange;
+  private final int parallelism;
   private final LabelledMetric<Counter> outputCounter;
 
   public TraceFilter(
       final ProtocolSchedule protocolSchedule,
       final BlockchainQueries blockchainQueries,
       final Long maxRange,
+      final int parallelism,
       final MetricsSystem metricsSystem,
       final EthScheduler ethScheduler) {
     super(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler);
     this.maxRange = maxRange;
+    this.parallelism = parallelism;
     this.outputCounter =
         metricsSystem.createLabelledCounter(
             BesuMetricCategory.BLOCKCHAIN,
@@ -124,11 +125,113 @@ public class TraceFilter extends TraceBlock {
     if (fromBlock > toBlock)
       return new JsonRpcSuccessResponse(
           requestContext.getRequest().getId(), resultArrayNode.getArrayNode());
+    else if (parallelism > 1)
+      return traceFilterInParallel(
+          requestContext, filterParameter, fromBlock, toBlock, resultArrayNode);
     else
       return traceFilterWithPipeline(
           requestContext, filterParameter, fromBlock, toBlock, resultArrayNode);
   }
 
+  /**
+   * Traces the blocks of the range independently, each on top of the world state of its own parent,
+   * so that up to {@code parallelism} blocks are executed concurrently on the computation executor.
+   * Traces are added to the result in block order, and no more blocks are scheduled once the result
+   * is full.
+   */
+  private JsonRpcResponse traceFilterInParallel(
+      final JsonRpcRequestContext requestContext,
+      final FilterParameter filterParameter,
+      final long fromBlock,
+      final long toBlock,
+      final ArrayNodeWrapper resultArrayNode) {
+    final Iterator<Long> blockNumbers =
+        new Iterator<>() {
+          private long nextBlockNumber = Math.max(fromBlock, BlockHeader.GENESIS_BLOCK_NUMBER + 1);
+
+          @Override
+          public boolean hasNext() {
+            return nextBlockNumber <= toBlock && !resultArrayNode.isFull();
+          }
+
+          @Override
+          public Long next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            return nextBlockNumber++;
+          }
+        };
+
+    final Pipeline<Long> traceFilterPipeline =
+        createPipelineFrom(
+                "getBlockNumbers",
+                blockNumbers,
+                parallelism,
+                outputCounter,
+                false,
+                "trace_filter_blocks")
+            .thenProcessAsyncOrdered(
+                "traceBlock",
+                blockNumber ->
+                    ethScheduler.scheduleComputationTask(
+                        () -> traceBlockInIsolation(blockNumber, filterParameter)),
+                parallelism)
+            .andFinishWith(
+                "buildArrayNode", traces -> traces.forEachOrdered(resultArrayNode::addPOJO));
+
+    try {
+      ethScheduler.startPipeline(traceFilterPipeline).get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+    return new JsonRpcSuccessResponse(
+        requestContext.getRequest().getId(), resultArrayNode.getArrayNode());
+  }
+
+  private Stream<FlatTrace> traceBlockInIsolation(
+      final long blockNumber, final FilterParameter filterParameter) {
+    final Optional<Block> maybeBlock =
+        getBlockchainQueries().getBlockchain().getBlockByNumber(blockNumber);
+    if (maybeBlock.isEmpty()) {
+      return Stream.empty();
+    }
+    final Block block = maybeBlock.get();
+    final BlockHeader header = block.getHeader();
+    return Tracer.processTracing(
+            getBlockchainQueries(),
+            Optional.of(header),
+            traceableState -> {
+              final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
+              final ExecuteTransactionStep executeTransactionStep =
+                  new ExecuteTransactionStep(
+                      new ChainUpdater(traceableState),
+                      protocolSpec.getTransactionProcessor(),
+                      getBlockchainQueries().getBlockchain(),
+                      protocolSpec,
+                      block);
+              final TraceFlatTransactionStep traceFlatTransactionStep =
+                  new TraceFlatTransactionStep(
+                      protocolSchedule,
+                      executeTransactionStep,
+                      block,
+                      Optional.of(filterParameter));
+
+              // the traces are collected before the world state of the parent is closed
+              final List<FlatTrace> traces = new ArrayList<>();
+              for (final Transaction transaction : block.getBody().getTransactions()) {
+                traceFlatTransactionStep
+                    .apply(new TransactionTrace(transaction, Optional.of(block)))
+                    .forEachOrdered(traces::add);
+              }
+              traceFlatTransactionStep
+                  .apply(new TransactionTrace(Optional.of(block)))
+                  .forEachOrdered(traces::add);
+              return Optional.of(traces.stream());
+            })
+        .orElse(Stream.empty());
+  }
+
   private JsonRpcResponse traceFilterWithPipeline(
       final JsonRpcRequestContext requestContext,
       final FilterParameter filterParameter,
@@ -163,26 +266,20 @@ public class TraceFilter extends TraceBlock {
                   final MainnetTransactionProcessor transactionProcessor =
                       protocolSpec.getTransactionProcessor();
                   final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
-                  DebugOperationTracer debugOperationTracer =
-                      new DebugOperationTracer(
-                          OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
-                              .traceStorage(false)
-                              .traceMemory(false)
-                              .traceStack(true)
-                              .build(),
-                          false);
                   ExecuteTransactionStep executeTransactionStep =
                       new ExecuteTransactionStep(
                           chainUpdater,
                           transactionProcessor,
                           getBlockchainQueries().getBlockchain(),
-                          debugOperationTracer,
-                          protocolSpec);
+                          protocolSpec,
+                          null);
 
-                  Function<TransactionTrace, CompletableFuture<Stream<FlatTrace>>>
-                      traceFlatTransactionStep =
-                          new TraceFlatTransactionStep(
-                              protocolSchedule, null, Optional.of(filterParameter));
+                  Function<TransactionTrace, Stream<FlatTrace>> traceFlatTransactionStep =
+                      new TraceFlatTransactionStep(
+                          protocolSchedule,
+                          executeTransactionStep,
+                          null,
+                          Optional.of(filterParameter));
 
                   BuildArrayNodeCompleterStep buildArrayNodeStep =
                       new BuildArrayNodeCompleterStep(resultArrayNode);
@@ -194,9 +291,7 @@ public class TraceFilter extends TraceBlock {
                               outputCounter,
                               false,
                               "trace_block_transactions")
-                          .thenProcess("executeTransaction", executeTransactionStep)
-                          .thenProcessAsyncOrdered(
-                              "traceFlatTransaction", traceFlatTransactionStep, 4)
+                          .thenProcess("traceFlatTransaction", traceFlatTransactionStep)
                           .andFinishWith(
                               "buildArrayNode",
                               traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
@@ -17,70 +17,80 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.Trace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatCallTracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTraceGenerator;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.RewardTraceGenerator;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
-public class TraceFlatTransactionStep
-    implements Function<TransactionTrace, CompletableFuture<Stream<FlatTrace>>> {
+/**
+ * Executes the transactions of a block with a {@link FlatCallTracer}, producing their flat traces
+ * without capturing a trace frame per opcode. A transaction trace without transaction produces the
+ * reward traces of its block.
+ */
+public class TraceFlatTransactionStep implements Function<TransactionTrace, Stream<FlatTrace>> {
 
   private final ProtocolSchedule protocolSchedule;
+  private final ExecuteTransactionStep executeTransactionStep;
   private final Block block;
   private final Optional<FilterParameter> filterParameter;
 
   public TraceFlatTransactionStep(
       final ProtocolSchedule protocolSchedule,
+      final ExecuteTransactionStep executeTransactionStep,
       final Block block,
       final Optional<FilterParameter> filterParameter) {
     this.protocolSchedule = protocolSchedule;
+    this.executeTransactionStep = executeTransactionStep;
     this.block = block;
     this.filterParameter = filterParameter;
   }
 
   @Override
-  public CompletableFuture<Stream<FlatTrace>> apply(final TransactionTrace transactionTrace) {
-    Stream<Trace> traceStream = null;
+  public Stream<FlatTrace> apply(final TransactionTrace transactionTrace) {
+    final Stream<FlatTrace> traceStream;
     Block block = this.block;
     if (block == null) block = transactionTrace.getBlock().get();
     if (transactionTrace.getTransaction() == null) {
-      traceStream = RewardTraceGenerator.generateFromBlock(protocolSchedule, block);
-    } else {
       traceStream =
-          FlatTraceGenerator.generateFromTransactionTraceAndBlock(
-              protocolSchedule, transactionTrace, block);
+          RewardTraceGenerator.generateFromBlock(protocolSchedule, block)
+              .map(FlatTrace.class::cast);
+    } else {
+      final FlatCallTracer flatCallTracer =
+          new FlatCallTracer(
+              transactionTrace.getTransaction(),
+              protocolSchedule.getByBlockHeader(block.getHeader()).getGasCalculator());
+      final TransactionProcessingResult result =
+          executeTransactionStep.processTransaction(
+              block, transactionTrace.getTransaction(), flatCallTracer);
+      traceStream = flatCallTracer.getTraces(result, block);
     }
     if (filterParameter.isPresent()) {
       final List<Address> fromAddress = filterParameter.get().getFromAddress();
       final List<Address> toAddress = filterParameter.get().getToAddress();
-      return CompletableFuture.completedFuture(
-          traceStream
-              .map(FlatTrace.class::cast)
-              .filter(
-                  trace ->
-                      fromAddress.isEmpty()
-                          || Optional.ofNullable(trace.getAction().getFrom())
-                              .map(Address::fromHexString)
-                              .map(fromAddress::contains)
-                              .orElse(false))
-              .filter(
-                  trace ->
-                      toAddress.isEmpty()
-                          || Optional.ofNullable(trace.getAction().getTo())
-                              .map(Address::fromHexString)
-                              .map(toAddress::contains)
-                              .orElse(false)));
-
+      return traceStream
+          .filter(
+              trace ->
+                  fromAddress.isEmpty()
+                      || Optional.ofNullable(trace.getAction().getFrom())
+                          .map(Address::fromHexString)
+                          .map(fromAddress::contains)
+                          .orElse(false))
+          .filter(
+              trace ->
+                  toAddress.isEmpty()
+                      || Optional.ofNullable(trace.getAction().getTo())
+                          .map(Address::fromHexString)
+                          .map(toAddress::contains)
+                          .orElse(false));
     } else {
-      return CompletableFuture.completedFuture(traceStream.map(FlatTrace.class::cast));
+      return traceStream;
     }
   }
 }
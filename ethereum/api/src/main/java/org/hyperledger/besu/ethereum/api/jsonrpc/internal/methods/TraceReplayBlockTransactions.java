@@ -144,42 +144,71 @@ public class TraceReplayBlockTransactions extends AbstractBlockParameterMethod {
               final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
 
               final TransactionSource transactionSource = new TransactionSource(block);
-              final DebugOperationTracer debugOperationTracer =
-                  new DebugOperationTracer(
-                      OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
-                          .traceStorage(false)
-                          .traceMemory(false)
-                          .traceStack(true)
-                          .build(),
-                      false);
-              final ExecuteTransactionStep executeTransactionStep =
-                  new ExecuteTransactionStep(
-                      chainUpdater,
-                      transactionProcessor,
-                      getBlockchainQueries().getBlockchain(),
-                      debugOperationTracer,
-                      protocolSpec,
-                      block);
-
-              final Function<TransactionTrace, CompletableFuture<TraceReplayResult>>
-                  traceReplayTransactionStep =
-                      new TraceReplayTransactionStep(protocolSchedule, block, traceTypes);
-
               final BuildArrayNodeCompleterStep buildArrayNodeStep =
                   new BuildArrayNodeCompleterStep(resultArrayNode);
 
-              final Pipeline<TransactionTrace> traceBlockPipeline =
-                  createPipelineFrom(
-                          "getTransactions",
-                          transactionSource,
-                          4,
-                          outputCounter,
-                          false,
-                          "trace_replay_block_transactions")
-                      .thenProcess("executeTransaction", executeTransactionStep)
-                      .thenProcessAsyncOrdered(
-                          "traceReplayTransaction", traceReplayTransactionStep, 4)
-                      .andFinishWith("buildArrayNode", buildArrayNodeStep::accept);
+              final Pipeline<TransactionTrace> traceBlockPipeline;
+              if (!traceTypes.contains(TraceTypeParameter.TraceType.STATE_DIFF)
+                  && !traceTypes.contains(TraceTypeParameter.TraceType.VM_TRACE)) {
+                // the flat traces don't need a trace frame per opcode
+                final ExecuteTransactionStep executeTransactionStep =
+                    new ExecuteTransactionStep(
+                        chainUpdater,
+                        transactionProcessor,
+                        getBlockchainQueries().getBlockchain(),
+                        protocolSpec,
+                        block);
+                traceBlockPipeline =
+                    createPipelineFrom(
+                            "getTransactions",
+                            transactionSource,
+                            4,
+                            outputCounter,
+                            false,
+                            "trace_replay_block_transactions")
+                        .thenProcess(
+                            "traceReplayFlatTransaction",
+                            new TraceReplayFlatTransactionStep(
+                                protocolSchedule,
+                                executeTransactionStep,
+                                block,
+                                traceTypes.contains(TraceTypeParameter.TraceType.TRACE)))
+                        .andFinishWith("buildArrayNode", buildArrayNodeStep::accept);
+              } else {
+                final DebugOperationTracer debugOperationTracer =
+                    new DebugOperationTracer(
+                        OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
+                            .traceStorage(false)
+                            .traceMemory(false)
+                            .traceStack(true)
+                            .build(),
+                        false);
+                final ExecuteTransactionStep executeTransactionStep =
+                    new ExecuteTransactionStep(
+                        chainUpdater,
+                        transactionProcessor,
+                        getBlockchainQueries().getBlockchain(),
+                        debugOperationTracer,
+                        protocolSpec,
+                        block);
+
+                final Function<TransactionTrace, CompletableFuture<TraceReplayResult>>
+                    traceReplayTransactionStep =
+                        new TraceReplayTransactionStep(protocolSchedule, block, traceTypes);
+
+                traceBlockPipeline =
+                    createPipelineFrom(
+                            "getTransactions",
+                            transactionSource,
+                            4,
+                            outputCounter,
+                            false,
+                            "trace_replay_block_transactions")
+                        .thenProcess("executeTransaction", executeTransactionStep)
+                        .thenProcessAsyncOrdered(
+                            "traceReplayTransaction", traceReplayTransactionStep, 4)
+                        .andFinishWith("buildArrayNode", buildArrayNodeStep::accept);
+              }
               try {
                 ethScheduler.startPipeline(traceBlockPipeline).get();
               } catch (final InterruptedException | ExecutionException e) {
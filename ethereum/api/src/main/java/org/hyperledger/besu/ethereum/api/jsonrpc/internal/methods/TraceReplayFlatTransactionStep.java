@@ -0,0 +1,77 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.TraceReplayResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatCallTracer;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.function.Function;
+
+/**
+ * Replays the transactions of a block for trace_replayBlockTransactions when neither vmTrace nor
+ * stateDiff is requested, tracing them with a {@link FlatCallTracer} when the trace is requested
+ * and without tracer otherwise.
+ */
+public class TraceReplayFlatTransactionStep
+    implements Function<TransactionTrace, TraceReplayResult> {
+
+  private final ProtocolSchedule protocolSchedule;
+  private final ExecuteTransactionStep executeTransactionStep;
+  private final Block block;
+  private final boolean traceRequested;
+
+  public TraceReplayFlatTransactionStep(
+      final ProtocolSchedule protocolSchedule,
+      final ExecuteTransactionStep executeTransactionStep,
+      final Block block,
+      final boolean traceRequested) {
+    this.protocolSchedule = protocolSchedule;
+    this.executeTransactionStep = executeTransactionStep;
+    this.block = block;
+    this.traceRequested = traceRequested;
+  }
+
+  @Override
+  public TraceReplayResult apply(final TransactionTrace transactionTrace) {
+    final Transaction transaction = transactionTrace.getTransaction();
+    final FlatCallTracer flatCallTracer =
+        traceRequested
+            ? new FlatCallTracer(
+                transaction,
+                protocolSchedule.getByBlockHeader(block.getHeader()).getGasCalculator())
+            : null;
+    final OperationTracer operationTracer =
+        flatCallTracer != null ? flatCallTracer : OperationTracer.NO_TRACING;
+    final TransactionProcessingResult result =
+        executeTransactionStep.processTransaction(block, transaction, operationTracer);
+
+    final TraceReplayResult.Builder builder = TraceReplayResult.builder();
+    result
+        .getRevertReason()
+        .ifPresent(revertReason -> builder.revertReason(revertReason.toHexString()));
+    builder.output(result.getOutput().toString());
+    builder.transactionHash(transaction.getHash().toHexString());
+    if (flatCallTracer != null) {
+      flatCallTracer.getTraces(result).forEachOrdered(builder::addTrace);
+    }
+    return builder.build();
+  }
+}
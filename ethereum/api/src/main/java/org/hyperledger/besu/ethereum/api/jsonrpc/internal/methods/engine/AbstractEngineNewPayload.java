@@ -28,6 +28,7 @@ import org.hyperledger.besu.consensus.merge.blockcreation.MergeMiningCoordinator
 import org.hyperledger.besu.datatypes.BlobGas;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.RequestType;
+import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
@@ -50,10 +51,12 @@ import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.Request;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.Util;
 import org.hyperledger.besu.ethereum.core.Withdrawal;
 import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
 import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.eth.transactions.SenderRecovery;
 import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
@@ -61,6 +64,7 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -71,6 +75,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -239,13 +244,24 @@ public abstract class AbstractEngineNewPayload extends ExecutionEngineJsonRpcMet
     }
 
     final List<Transaction> transactions;
+    final CompletableFuture<Hash> transactionsRoot;
+    final CompletableFuture<Void> senderRecovery;
     try {
+      final List<Bytes> encodedTransactions =
+          blockParam.getTransactions().stream().map(Bytes::fromHexString).toList();
+      // the root is built from the payload bytes while the transactions are decoded
+      final CompletableFuture<Hash> encodedTransactionsRoot =
+          encodedTransactionsRoot(encodedTransactions);
       transactions =
-          blockParam.getTransactions().stream()
-              .map(Bytes::fromHexString)
+          encodedTransactions.stream()
               .map(in -> TransactionDecoder.decodeOpaqueBytes(in, EncodingContext.BLOCK_BODY))
               .toList();
-      precomputeSenders(transactions);
+      senderRecovery =
+          SenderRecovery.recoverSenders(mergeCoordinator.getEthScheduler(), transactions);
+      transactionsRoot =
+          isCanonicallyEncoded(transactions, encodedTransactions)
+              ? encodedTransactionsRoot
+              : CompletableFuture.completedFuture(BodyValidation.transactionsRoot(transactions));
     } catch (final RLPException | IllegalArgumentException e) {
       return respondWithInvalid(
           reqId,
@@ -270,7 +286,7 @@ public abstract class AbstractEngineNewPayload extends ExecutionEngineJsonRpcMet
             OMMERS_HASH_CONSTANT,
             blockParam.getFeeRecipient(),
             blockParam.getStateRoot(),
-            BodyValidation.transactionsRoot(transactions),
+            transactionsRoot.join(),
             blockParam.getReceiptsRoot(),
             blockParam.getLogsBloom(),
             Difficulty.ZERO,
@@ -370,7 +386,8 @@ public abstract class AbstractEngineNewPayload extends ExecutionEngineJsonRpcMet
       return respondWith(reqId, blockParam, null, ACCEPTED);
     }
 
-    // execute block and return result response
+    // execute block and return result response, once the senders are known
+    senderRecovery.join();
     final long startTimeNs = System.nanoTime();
     final BlockProcessingResult executionResult = mergeCoordinator.rememberBlock(block);
     if (executionResult.isSuccessful()) {
@@ -404,45 +421,38 @@ public abstract class AbstractEngineNewPayload extends ExecutionEngineJsonRpcMet
     }
   }
 
-  private void precomputeSenders(final List<Transaction> transactions) {
-    transactions.forEach(
-        transaction -> {
-          mergeCoordinator
-              .getEthScheduler()
-              .scheduleTxWorkerTask(
-                  () -> {
-                    final var sender = transaction.getSender();
-                    LOG.atTrace()
-                        .setMessage("The sender for transaction {} is calculated : {}")
-                        .addArgument(transaction::getHash)
-                        .addArgument(sender)
-                        .log();
-                  });
-          if (transaction.getType().supportsDelegateCode()) {
-            precomputeAuthorities(transaction);
-          }
-        });
+  /**
+   * Builds the transactions root from the opaque payload bytes on a computation worker, so it runs
+   * concurrently with the decoding of the same transactions.
+   */
+  @VisibleForTesting
+  CompletableFuture<Hash> encodedTransactionsRoot(final List<Bytes> encodedTransactions) {
+    if (encodedTransactions.isEmpty()) {
+      return CompletableFuture.completedFuture(Hash.EMPTY_TRIE_HASH);
+    }
+    return mergeCoordinator
+        .getEthScheduler()
+        .scheduleComputationTask(() -> Util.getRootFromListOfBytes(encodedTransactions));
   }
 
-  private void precomputeAuthorities(final Transaction transaction) {
-    final var codeDelegations = transaction.getCodeDelegationList().get();
-    int index = 0;
-    for (final var codeDelegation : codeDelegations) {
-      final var constIndex = index++;
-      mergeCoordinator
-          .getEthScheduler()
-          .scheduleTxWorkerTask(
-              () -> {
-                final var authority = codeDelegation.authorizer();
-                LOG.atTrace()
-                    .setMessage(
-                        "The code delegation authority at index {} for transaction {} is calculated : {}")
-                    .addArgument(constIndex)
-                    .addArgument(transaction::getHash)
-                    .addArgument(authority)
-                    .log();
-              });
+  /**
+   * Checks that each transaction was decoded from exactly its payload bytes, in which case the
+   * transactions root can be built from the payload bytes without re-encoding the transactions.
+   * Anything else, like trailing bytes, falls back to the root of the re-encoded transactions so
+   * the block hash is verified exactly as before.
+   */
+  @VisibleForTesting
+  static boolean isCanonicallyEncoded(
+      final List<Transaction> transactions, final List<Bytes> encodedTransactions) {
+    for (int i = 0; i < transactions.size(); i++) {
+      final Bytes encoded = encodedTransactions.get(i);
+      final int typePrefixSize =
+          transactions.get(i).getType() == TransactionType.FRONTIER ? 0 : 1;
+      if (typePrefixSize + RLP.calculateSize(encoded.slice(typePrefixSize)) != encoded.size()) {
+        return false;
+      }
     }
+    return true;
   }
 
   JsonRpcResponse respondWith(
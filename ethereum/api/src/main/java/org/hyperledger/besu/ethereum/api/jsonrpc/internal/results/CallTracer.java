@@ -0,0 +1,302 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hyperledger.besu.evm.internal.Words.clampedToLong;
+import static org.hyperledger.besu.evm.internal.Words.toAddress;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.frame.SoftFailureReason;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An {@link OperationTracer} that builds the callTracer result of a transaction directly from the
+ * entry and exit of its message frames.
+ *
+ * <p>Unlike {@link CallTracerResultConverter}, which rebuilds the call hierarchy from a trace frame
+ * captured for every executed opcode, this tracer does no per-opcode work besides reading the
+ * operands of SELFDESTRUCT and of the call and create operations, so tracing a transaction costs
+ * little more than executing it. A tracer instance traces a single transaction.
+ *
+ * <p>Like Geth, calls and creations that fail before their frame is created, for lack of balance or
+ * beyond the maximum call depth, are reported with their error and no gas used. Exceptional halts
+ * are reported as {@code execution reverted}, as {@link CallTracerResultConverter} does.
+ *
+ * <p>Only the callTracer of the debug_trace* methods uses this tracer. The flat traces of
+ * trace_block, trace_filter and trace_replayBlockTransactions are built by {@link
+ * org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatCallTracer}.
+ */
+public class CallTracer implements OperationTracer {
+  private static final int CREATE_OPCODE = 0xf0;
+  private static final int CALL_OPCODE = 0xf1;
+  private static final int CALLCODE_OPCODE = 0xf2;
+  private static final int DELEGATECALL_OPCODE = 0xf4;
+  private static final int CREATE2_OPCODE = 0xf5;
+  private static final int STATICCALL_OPCODE = 0xfa;
+  private static final int SELFDESTRUCT_OPCODE = 0xff;
+  private static final int MAX_CALL_DEPTH = 1024;
+
+  private final Deque<Call> callStack = new ArrayDeque<>();
+  private final CallTracerResult.Builder topLevelCalls = CallTracerResult.builder();
+  private Address selfDestructBeneficiary;
+  private Wei selfDestructBalance;
+  private PendingCall pendingCall;
+
+  /** Default constructor. */
+  public CallTracer() {}
+
+  @Override
+  public void traceContextEnter(final MessageFrame frame) {
+    final Call parent = callStack.peek();
+    if (parent == null) {
+      // the top level call is described by the transaction itself, see getResult
+      callStack.push(new Call(topLevelCalls, frame, frame.getRemainingGas()));
+      return;
+    }
+    final String type = parent.frame().getCurrentOperation().getName();
+    final Bytes input =
+        frame.getType() == MessageFrame.Type.CONTRACT_CREATION
+            ? frame.getCode().getBytes()
+            : frame.getInputData();
+    final CallTracerResult.Builder builder =
+        CallTracerResult.builder()
+            .type(type)
+            .from(parent.frame().getRecipientAddress().toHexString())
+            .to(frame.getContractAddress().toHexString())
+            .gas(frame.getRemainingGas())
+            .input(input.toHexString());
+    // STATICCALL and DELEGATECALL don't transfer value, omit the field to match Geth
+    if (!"STATICCALL".equals(type) && !"DELEGATECALL".equals(type)) {
+      builder.value(frame.getValue().toShortHexString());
+    }
+    callStack.push(new Call(builder, frame, frame.getRemainingGas()));
+  }
+
+  @Override
+  public void traceContextExit(final MessageFrame frame) {
+    final Call call = callStack.pop();
+    final Call parent = callStack.peek();
+    if (parent == null) {
+      return;
+    }
+    final CallTracerResult.Builder builder = call.builder();
+    builder.gasUsed(call.gas() - frame.getRemainingGas());
+    if (!frame.getOutputData().isEmpty()) {
+      builder.output(frame.getOutputData().toHexString());
+    }
+    final Optional<ExceptionalHaltReason> haltReason = frame.getExceptionalHaltReason();
+    if (haltReason.isPresent() || frame.getState() == MessageFrame.State.COMPLETED_FAILED) {
+      builder.error("execution reverted");
+      frame
+          .getRevertReason()
+          .map(CallTracerResultConverter::decodeRevertReason)
+          .ifPresent(builder::revertReason);
+    }
+    parent.builder().addCall(builder.build());
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    final int opcode = frame.getCurrentOperation().getOpcode();
+    if (opcode == SELFDESTRUCT_OPCODE && frame.stackSize() > 0) {
+      selfDestructBeneficiary = toAddress(frame.getStackItem(0));
+      final Account originator = frame.getWorldUpdater().get(frame.getRecipientAddress());
+      selfDestructBalance = originator == null ? Wei.ZERO : originator.getBalance();
+    } else {
+      pendingCall = PendingCall.of(frame, opcode);
+    }
+  }
+
+  @Override
+  public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
+    if (pendingCall != null) {
+      final PendingCall call = pendingCall;
+      pendingCall = null;
+      if (frame.getExceptionalHaltReason().isEmpty() && !callStack.isEmpty()) {
+        call.failureReason(frame, operationResult)
+            .ifPresent(
+                reason ->
+                    callStack
+                        .peek()
+                        .builder()
+                        .addCall(call.toFailedCall(frame, operationResult, reason)));
+      }
+      return;
+    }
+    if (selfDestructBeneficiary == null) {
+      return;
+    }
+    if (operationResult.getHaltReason() == null && !callStack.isEmpty()) {
+      callStack
+          .peek()
+          .builder()
+          .addCall(
+              CallTracerResult.builder()
+                  .type("SELFDESTRUCT")
+                  .from(frame.getRecipientAddress().toHexString())
+                  .to(selfDestructBeneficiary.toHexString())
+                  .value(selfDestructBalance.toShortHexString())
+                  .gas(0)
+                  .gasUsed(0)
+                  .input(Bytes.EMPTY.toHexString())
+                  .build());
+    }
+    selfDestructBeneficiary = null;
+    selfDestructBalance = null;
+  }
+
+  /**
+   * Returns the call tracer result of the traced transaction.
+   *
+   * @param transactionTrace the trace of the transaction, holding its processing result
+   * @return the call hierarchy of the transaction
+   */
+  public CallTracerResult getResult(final TransactionTrace transactionTrace) {
+    checkNotNull(transactionTrace.getTransaction(), "CallTracer requires non-null Transaction");
+    checkNotNull(transactionTrace.getResult(), "CallTracer requires non-null Result");
+    final CallTracerResult.Builder rootBuilder =
+        CallTracerResultConverter.initializeRootBuilder(transactionTrace.getTransaction());
+    CallTracerResultConverter.finalizeRoot(rootBuilder, transactionTrace);
+    final List<CallTracerResult> calls = topLevelCalls.build().getCalls();
+    if (calls != null && !calls.isEmpty()) {
+      rootBuilder.calls(calls);
+    }
+    return rootBuilder.build();
+  }
+
+  private record Call(CallTracerResult.Builder builder, MessageFrame frame, long gas) {}
+
+  /**
+   * The operands of a call or create operation, read before it executes as they are popped from the
+   * stack once it did, to report the call if it fails without creating a child frame.
+   */
+  private record PendingCall(
+      int opcode,
+      Address to,
+      Wei value,
+      long inputOffset,
+      long inputLength,
+      long stackGas,
+      long gasBefore) {
+
+    private static PendingCall of(final MessageFrame frame, final int opcode) {
+      return switch (opcode) {
+        case CALL_OPCODE, CALLCODE_OPCODE ->
+            frame.stackSize() < 7
+                ? null
+                : new PendingCall(
+                    opcode,
+                    toAddress(frame.getStackItem(1)),
+                    Wei.wrap(frame.getStackItem(2)),
+                    clampedToLong(frame.getStackItem(3)),
+                    clampedToLong(frame.getStackItem(4)),
+                    clampedToLong(frame.getStackItem(0)),
+                    frame.getRemainingGas());
+        case DELEGATECALL_OPCODE, STATICCALL_OPCODE ->
+            frame.stackSize() < 6
+                ? null
+                : new PendingCall(
+                    opcode,
+                    toAddress(frame.getStackItem(1)),
+                    null,
+                    clampedToLong(frame.getStackItem(2)),
+                    clampedToLong(frame.getStackItem(3)),
+                    clampedToLong(frame.getStackItem(0)),
+                    frame.getRemainingGas());
+        case CREATE_OPCODE, CREATE2_OPCODE ->
+            frame.stackSize() < (opcode == CREATE_OPCODE ? 3 : 4)
+                ? null
+                : new PendingCall(
+                    opcode,
+                    null,
+                    Wei.wrap(frame.getStackItem(0)),
+                    clampedToLong(frame.getStackItem(1)),
+                    clampedToLong(frame.getStackItem(2)),
+                    0,
+                    frame.getRemainingGas());
+        default -> null;
+      };
+    }
+
+    private boolean isCreate() {
+      return opcode == CREATE_OPCODE || opcode == CREATE2_OPCODE;
+    }
+
+    /** Returns why the operation failed without creating a child frame, if it did. */
+    private Optional<SoftFailureReason> failureReason(
+        final MessageFrame frame, final OperationResult operationResult) {
+      if (!isCreate()) {
+        return operationResult.getSoftFailureReason();
+      }
+      // a failed creation pushes zero without a reason, tell the reasons Geth reports apart
+      if (frame.getState() == MessageFrame.State.CODE_SUSPENDED) {
+        return Optional.empty();
+      }
+      if (frame.getDepth() >= MAX_CALL_DEPTH) {
+        return Optional.of(SoftFailureReason.LEGACY_MAX_CALL_DEPTH);
+      }
+      final Account creator = frame.getWorldUpdater().get(frame.getRecipientAddress());
+      if (value.compareTo(creator == null ? Wei.ZERO : creator.getBalance()) > 0) {
+        return Optional.of(SoftFailureReason.LEGACY_INSUFFICIENT_BALANCE);
+      }
+      return Optional.empty();
+    }
+
+    private CallTracerResult toFailedCall(
+        final MessageFrame frame,
+        final OperationResult operationResult,
+        final SoftFailureReason reason) {
+      final long cost = operationResult.getGasCost();
+      final long available = gasBefore - cost;
+      final long gas;
+      if (isCreate()) {
+        gas = available - available / 64;
+      } else {
+        // the gas left by the failed call exceeds the gas before it by the value transfer stipend
+        final long stipend = frame.getRemainingGas() - gasBefore + cost;
+        gas = Math.min(available - available / 64, stackGas) + stipend;
+      }
+      final CallTracerResult.Builder builder =
+          CallTracerResult.builder()
+              .type(frame.getCurrentOperation().getName())
+              .from(frame.getRecipientAddress().toHexString())
+              .gas(gas)
+              .gasUsed(0)
+              .input(frame.shadowReadMemory(inputOffset, inputLength).toHexString())
+              .error(reason.getDescription());
+      if (to != null) {
+        builder.to(to.toHexString());
+      }
+      if (value != null) {
+        builder.value(value.toShortHexString());
+      }
+      return builder.build();
+    }
+  }
+}
@@ -198,7 +198,7 @@ public class CallTracerResultConverter {
    * @param reason The raw revert reason bytes
    * @return A human-readable revert reason string
    */
-  private static String decodeRevertReason(final Bytes reason) {
+  static String decodeRevertReason(final Bytes reason) {
     // Check for empty reason
     if (reason == null || reason.isEmpty()) {
       return null;
@@ -293,7 +293,7 @@ public class CallTracerResultConverter {
     }
   }
 
-  private static void finalizeRoot(
+  static void finalizeRoot(
       final CallTracerResult.Builder rootBuilder, final TransactionTrace trace) {
     final TransactionProcessingResult result = trace.getResult();
     final Transaction tx = trace.getTransaction();
@@ -339,7 +339,7 @@ public class CallTracerResultConverter {
         .input(inputData.toHexString());
   }
 
-  private static CallTracerResult.Builder initializeRootBuilder(final Transaction tx) {
+  static CallTracerResult.Builder initializeRootBuilder(final Transaction tx) {
     return CallTracerResult.builder()
         .type(tx.isContractCreation() ? "CREATE" : "CALL")
         .from(tx.getSender().toHexString())
@@ -0,0 +1,121 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.evm.code.OpcodeInfo;
+import org.hyperledger.besu.evm.profiling.EvmProfile;
+import org.hyperledger.besu.evm.profiling.EvmProfiler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({"enabled", "samplingInterval", "opcodes", "precompiles", "contracts"})
+public class EvmProfileResult {
+  private static final int MAX_CONTRACTS = 100;
+  private static final Comparator<Entry> BY_NANOS =
+      Comparator.comparingLong(Entry::getNanos).reversed();
+
+  private final boolean enabled;
+  private final List<Entry> opcodes = new ArrayList<>();
+  private final List<Entry> precompiles;
+  private final List<Entry> contracts;
+
+  public EvmProfileResult(final boolean enabled, final EvmProfile profile) {
+    this.enabled = enabled;
+    for (int opcode = 0; opcode < 256; opcode++) {
+      final EvmProfile.Usage usage = profile.opcode(opcode);
+      if (usage.count() > 0) {
+        opcodes.add(new Entry(opcodeName(opcode), usage));
+      }
+    }
+    opcodes.sort(BY_NANOS);
+    this.precompiles = entries(profile.precompiles(), Function.identity(), Integer.MAX_VALUE);
+    this.contracts = entries(profile.contracts(), Object::toString, MAX_CONTRACTS);
+  }
+
+  private static String opcodeName(final int opcode) {
+    final String name = OpcodeInfo.getLegacyOpcode(opcode).name();
+    return name.equals("-") ? String.format("0x%02x", opcode) : name;
+  }
+
+  private static <K> List<Entry> entries(
+      final Map<K, EvmProfile.Usage> usages, final Function<K, String> name, final int limit) {
+    return usages.entrySet().stream()
+        .map(usage -> new Entry(name.apply(usage.getKey()), usage.getValue()))
+        .sorted(BY_NANOS)
+        .limit(limit)
+        .toList();
+  }
+
+  @JsonGetter
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @JsonGetter
+  public int getSamplingInterval() {
+    return EvmProfiler.SAMPLING_INTERVAL;
+  }
+
+  @JsonGetter
+  public List<Entry> getOpcodes() {
+    return opcodes;
+  }
+
+  @JsonGetter
+  public List<Entry> getPrecompiles() {
+    return precompiles;
+  }
+
+  /** The contracts, by code hash, which took the most time, up to 100 of them. */
+  @JsonGetter
+  public List<Entry> getContracts() {
+    return contracts;
+  }
+
+  @JsonPropertyOrder({"name", "count", "nanos"})
+  public static class Entry {
+    private final String name;
+    private final long count;
+    private final long nanos;
+
+    Entry(final String name, final EvmProfile.Usage usage) {
+      this.name = name;
+      this.count = usage.count();
+      this.nanos = usage.nanos();
+    }
+
+    @JsonGetter
+    public String getName() {
+      return name;
+    }
+
+    @JsonGetter
+    public long getCount() {
+      return count;
+    }
+
+    @JsonGetter
+    public long getNanos() {
+      return nanos;
+    }
+  }
+}
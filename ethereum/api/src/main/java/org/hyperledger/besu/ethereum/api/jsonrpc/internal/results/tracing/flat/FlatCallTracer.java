@@ -0,0 +1,628 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat;
+
+import static org.hyperledger.besu.evm.internal.Words.toAddress;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.Quantity;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.TracingUtils;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.operation.InvalidOperation;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.evm.operation.ReturnOperation;
+import org.hyperledger.besu.evm.operation.RevertOperation;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An {@link OperationTracer} that builds the flat traces of a transaction, as returned by the
+ * trace_* methods, while the transaction executes.
+ *
+ * <p>{@link FlatTraceGenerator} builds the same traces from a trace frame captured for every
+ * executed opcode by a {@code DebugOperationTracer}, including a copy of the stack. This tracer
+ * follows the same frame sequence but only keeps the operations the flat traces are made of: the
+ * call, create, return, revert and SELFDESTRUCT operations, and any operation that halts. The
+ * operands it needs are read from the stack before the operation executes. An operation is only
+ * applied to the traces once the next one executed, as a precompile or a failed contract creation
+ * may still amend it, so the traces are identical to the ones of the generator.
+ *
+ * <p>Only the trace part of the trace_* methods uses this tracer, vmTrace and stateDiff still
+ * need the frames of a {@code DebugOperationTracer}. A tracer instance traces a single
+ * transaction.
+ */
+public class FlatCallTracer implements OperationTracer {
+  private static final int NO_OPCODE = -1;
+  private static final int STOP_OPCODE = 0x00;
+  private static final int CALLDATALOAD_OPCODE = 0x35;
+  private static final int CREATE_OPCODE = 0xf0;
+  private static final int CALL_OPCODE = 0xf1;
+  private static final int CALLCODE_OPCODE = 0xf2;
+  private static final int RETURN_OPCODE = 0xf3;
+  private static final int DELEGATECALL_OPCODE = 0xf4;
+  private static final int CREATE2_OPCODE = 0xf5;
+  private static final int STATICCALL_OPCODE = 0xfa;
+  private static final int REVERT_OPCODE = 0xfd;
+  private static final int SELFDESTRUCT_OPCODE = 0xff;
+  private static final int EIP_150_DIVISOR = 64;
+  private static final String ZERO_ADDRESS_STRING = Address.ZERO.toHexString();
+
+  private final Transaction transaction;
+  private final long callStipend;
+  private final Optional<String> smartContractAddress;
+  private final FlatTrace.Builder rootBuilder;
+  private final FlatTrace.Context rootContext;
+  private final List<FlatTrace.Builder> flatTraces = new ArrayList<>();
+  private final Deque<FlatTrace.Context> tracesContexts = new ArrayDeque<>();
+  private FlatTrace.Context currentContext;
+  private long cumulativeGasCost;
+
+  // the operation that executed last, unless it is a RETURN, and the RETURNs executed since
+  private Step lastNonReturnStep;
+  private final List<Step> pendingReturnSteps = new ArrayList<>();
+  private final Step uninterestingStep = new Step();
+  private Step stepAwaitingNextFrame;
+
+  private boolean firstFrameRecorded;
+  private int firstFrameDepth;
+  private long firstFrameGasRemaining;
+  private Step rootReturnStep;
+  // whether the first REVERT or RETURN executed at a depth, after the first frame, is a REVERT
+  private final Map<Integer, Boolean> revertedByDepth = new HashMap<>();
+  private final List<PendingRevert> pendingReverts = new ArrayList<>();
+  private boolean create2Executed;
+
+  private long gasRemaining;
+  private Address operandAddress;
+
+  /**
+   * Creates a tracer for a transaction.
+   *
+   * @param transaction the transaction to trace
+   * @param gasCalculator the gas calculator of the block of the transaction
+   */
+  public FlatCallTracer(final Transaction transaction, final GasCalculator gasCalculator) {
+    this.transaction = transaction;
+    this.callStipend = gasCalculator.getAdditionalCallStipend();
+    this.smartContractAddress =
+        transaction
+            .getInit()
+            .map(__ -> Address.contractAddress(transaction.getSender(), transaction.getNonce()))
+            .map(Address::toHexString);
+    final Action.Builder actionBuilder =
+        Action.builder()
+            .from(transaction.getSender().toHexString())
+            .value(Quantity.create(transaction.getValue()));
+    this.rootBuilder = FlatTrace.builder().resultBuilder(Result.builder());
+    transaction.getInit().map(Bytes::toHexString).ifPresent(actionBuilder::init);
+    if (transaction.getTo().isPresent()) {
+      final Bytes payload = transaction.getPayload();
+      actionBuilder
+          .to(transaction.getTo().get().toHexString())
+          .callType("call")
+          .input(payload == null ? "0x" : payload.toHexString());
+    } else {
+      rootBuilder.type("create").getResultBuilder().address(smartContractAddress.orElse(null));
+    }
+    this.rootContext = new FlatTrace.Context(rootBuilder.actionBuilder(actionBuilder));
+    currentContext = rootContext;
+    tracesContexts.addLast(rootContext);
+    flatTraces.add(rootBuilder);
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    gasRemaining = frame.getRemainingGas();
+    if (stepAwaitingNextFrame != null) {
+      stepAwaitingNextFrame.nextFrame =
+          new NextFrame(
+              frame.getDepth(),
+              gasRemaining,
+              frame.getInputData(),
+              frame.getApparentValue(),
+              frame.getRecipientAddress());
+      stepAwaitingNextFrame = null;
+    }
+    operandAddress = null;
+    switch (flatOpcode(frame.getCurrentOperation())) {
+      case CALL_OPCODE, CALLCODE_OPCODE, DELEGATECALL_OPCODE, STATICCALL_OPCODE -> {
+        if (frame.stackSize() > 1) {
+          operandAddress = toAddress(frame.getStackItem(1));
+        }
+      }
+      case SELFDESTRUCT_OPCODE -> {
+        if (frame.stackSize() > 0) {
+          operandAddress = toAddress(frame.getStackItem(0));
+        }
+      }
+      default -> {}
+    }
+  }
+
+  @Override
+  public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
+    final Operation operation = frame.getCurrentOperation();
+    final int opcode = flatOpcode(operation);
+    final int depth = frame.getDepth();
+    if (!firstFrameRecorded) {
+      recordFirstFrame(depth, gasRemaining, 0L);
+    } else if (operation.getOpcode() == RevertOperation.OPCODE
+        || operation.getOpcode() == ReturnOperation.OPCODE) {
+      revertedByDepth.putIfAbsent(depth, operation.getOpcode() == RevertOperation.OPCODE);
+    }
+    if (opcode == CREATE2_OPCODE) {
+      create2Executed = true;
+    }
+    final ExceptionalHaltReason haltReason =
+        operationResult.getHaltReason() != null
+            ? operationResult.getHaltReason()
+            : frame.getExceptionalHaltReason().orElse(null);
+
+    final Step step;
+    if (opcode == NO_OPCODE || opcode == CALLDATALOAD_OPCODE) {
+      flushSteps();
+      step = uninterestingStep;
+    } else if (opcode == RETURN_OPCODE) {
+      step = new Step();
+      pendingReturnSteps.add(step);
+    } else {
+      flushSteps();
+      step = new Step();
+    }
+    step.opcode = opcode;
+    step.depth = depth;
+    step.gasRemaining = gasRemaining;
+    step.gasCost = operationResult.getGasCost();
+    step.precompiledGasCost = 0L;
+    step.value = frame.getApparentValue();
+    step.haltReason = haltReason;
+    switch (opcode) {
+      case CALL_OPCODE, CALLCODE_OPCODE, DELEGATECALL_OPCODE, STATICCALL_OPCODE -> {
+        step.address = operandAddress;
+        stepAwaitingNextFrame = step;
+      }
+      case CREATE_OPCODE, CREATE2_OPCODE -> {
+        step.code = frame.getMessageFrameStack().peek().getCode();
+        stepAwaitingNextFrame = step;
+      }
+      case RETURN_OPCODE, STOP_OPCODE -> {
+        step.code = frame.getMessageFrameStack().peek().getCode();
+        step.outputData = frame.getOutputData();
+        step.gasRefund = frame.getGasRefund();
+      }
+      case SELFDESTRUCT_OPCODE -> {
+        step.address = operandAddress;
+        step.recipient = frame.getRecipientAddress();
+        step.refund =
+            operandAddress == null
+                ? Wei.ZERO
+                : frame.getRefunds().getOrDefault(operandAddress, Wei.ZERO);
+      }
+      default -> {}
+    }
+    if (opcode != RETURN_OPCODE) {
+      lastNonReturnStep = step;
+    }
+  }
+
+  @Override
+  public void tracePrecompileCall(
+      final MessageFrame frame, final long gasRequirement, final Bytes output) {
+    if (!firstFrameRecorded) {
+      // the transaction calls a precompile, it is traced as a single frame without operation
+      recordFirstFrame(frame.getDepth(), frame.getRemainingGas(), gasRequirement);
+      rootBuilder.getResultBuilder().gasUsed("0x" + Long.toHexString(gasRequirement));
+      final Step step = new Step();
+      step.opcode = NO_OPCODE;
+      step.depth = frame.getDepth();
+      step.gasRemaining = frame.getRemainingGas();
+      step.precompiledGasCost = gasRequirement;
+      step.value = frame.getValue();
+      lastNonReturnStep = step;
+    } else if (lastNonReturnStep != null) {
+      // the precompile is accounted to the operation that called it
+      lastNonReturnStep.precompiledGasCost = gasRequirement;
+      lastNonReturnStep.haltReason = frame.getExceptionalHaltReason().orElse(null);
+    }
+  }
+
+  @Override
+  public void traceAccountCreationResult(
+      final MessageFrame frame, final Optional<ExceptionalHaltReason> haltReason) {
+    if (haltReason.isEmpty()) {
+      return;
+    }
+    if (firstFrameRecorded) {
+      if (lastNonReturnStep != null) {
+        lastNonReturnStep.haltReason = haltReason.get();
+      }
+      return;
+    }
+    // the creation failed before executing any operation
+    recordFirstFrame(frame.getDepth(), frame.getRemainingGas(), 0L);
+    final Step step = new Step();
+    step.opcode = NO_OPCODE;
+    step.depth = frame.getDepth();
+    step.gasRemaining = frame.getRemainingGas();
+    step.value = frame.getValue();
+    step.haltReason = haltReason.get();
+    lastNonReturnStep = step;
+  }
+
+  /**
+   * Returns the flat traces of the traced transaction, as returned by
+   * trace_replayBlockTransactions.
+   *
+   * @param result the result of processing the transaction
+   * @return the flat traces of the transaction
+   */
+  public Stream<FlatTrace> getTraces(final TransactionProcessingResult result) {
+    return getTraces(result, this::addContractCreationMethod);
+  }
+
+  /**
+   * Returns the flat traces of the traced transaction along with the block and transaction they
+   * belong to, as returned by trace_block and trace_filter.
+   *
+   * @param result the result of processing the transaction
+   * @param block the block of the transaction
+   * @return the flat traces of the transaction
+   */
+  public Stream<FlatTrace> getTraces(final TransactionProcessingResult result, final Block block) {
+    final String blockHash = block.getHash().toHexString();
+    final long blockNumber = block.getHeader().getNumber();
+    final int transactionPosition = block.getBody().getTransactions().indexOf(transaction);
+    final String transactionHash = transaction.getHash().toHexString();
+    return getTraces(
+        result,
+        builder -> {
+          builder
+              .blockHash(blockHash)
+              .blockNumber(blockNumber)
+              .transactionPosition(transactionPosition)
+              .transactionHash(transactionHash);
+          addContractCreationMethod(builder);
+        });
+  }
+
+  private Stream<FlatTrace> getTraces(
+      final TransactionProcessingResult result, final Consumer<FlatTrace.Builder> consumer) {
+    flushSteps();
+    final Result.Builder rootResultBuilder = rootBuilder.getResultBuilder();
+    if (rootReturnStep != null) {
+      // the gas used by the transaction is only known once the refunds are applied
+      final long gasRemainingAfterProcessed = result.getGasRemaining();
+      final long gasRefund =
+          gasRemainingAfterProcessed > rootReturnStep.gasRemaining
+              ? gasRemainingAfterProcessed - rootReturnStep.gasRemaining
+              : rootReturnStep.gasRefund;
+      rootContext.setGasUsed(firstFrameGasRemaining - gasRemainingAfterProcessed + gasRefund);
+    }
+    if (transaction.getInit().isPresent() && rootResultBuilder.getCode() == null) {
+      rootResultBuilder.code(result.getOutput().toString());
+    }
+    result.getRevertReason().ifPresent(r -> rootBuilder.revertReason(r.toHexString()));
+    if (transaction.getTo().isPresent()
+        && firstFrameRecorded
+        && Boolean.TRUE.equals(revertedByDepth.get(firstFrameDepth))
+        && rootBuilder.getError().isEmpty()) {
+      rootBuilder.error(Optional.of("Reverted"));
+    }
+    for (final PendingRevert pendingRevert : pendingReverts) {
+      if (Boolean.TRUE.equals(revertedByDepth.get(pendingRevert.depth()))
+          && pendingRevert.builder().getError().isEmpty()) {
+        pendingRevert.builder().error(Optional.of("Reverted"));
+      }
+    }
+    return flatTraces.stream().peek(consumer).map(FlatTrace.Builder::build);
+  }
+
+  private void recordFirstFrame(final int depth, final long gas, final long precompiledGasCost) {
+    firstFrameRecorded = true;
+    firstFrameDepth = depth;
+    firstFrameGasRemaining = gas;
+    rootBuilder.getActionBuilder().gas("0x" + Long.toHexString(gas + precompiledGasCost));
+  }
+
+  private void addContractCreationMethod(final FlatTrace.Builder builder) {
+    if ("create".equals(builder.getType())) {
+      builder.getActionBuilder().creationMethod(create2Executed ? "create2" : "create");
+    }
+  }
+
+  private void flushSteps() {
+    if (lastNonReturnStep != null) {
+      applyStep(lastNonReturnStep);
+      lastNonReturnStep = null;
+    }
+    for (final Step step : pendingReturnSteps) {
+      applyStep(step);
+    }
+    pendingReturnSteps.clear();
+  }
+
+  private void applyStep(final Step step) {
+    if (currentContext == null) {
+      return;
+    }
+    cumulativeGasCost += step.gasCost + step.precompiledGasCost;
+    switch (step.opcode) {
+      case CALL_OPCODE, CALLCODE_OPCODE, DELEGATECALL_OPCODE, STATICCALL_OPCODE ->
+          currentContext = handleCall(step);
+      case CALLDATALOAD_OPCODE -> handleCallDataLoad(step);
+      case RETURN_OPCODE, STOP_OPCODE -> currentContext = handleReturn(step);
+      case SELFDESTRUCT_OPCODE -> {
+        // a SELFDESTRUCT that halts doesn't create a trace
+        if (step.haltReason == null) {
+          currentContext = handleSelfDestruct(step);
+        }
+      }
+      case CREATE_OPCODE, CREATE2_OPCODE -> {
+        if (step.haltReason == null || step.depth == 0) {
+          currentContext = handleCreateOperation(step);
+        }
+      }
+      case REVERT_OPCODE -> currentContext = handleRevert();
+      default -> {}
+    }
+    if (step.haltReason != null) {
+      currentContext = handleHalt(step);
+    }
+  }
+
+  private FlatTrace.Context handleCall(final Step step) {
+    final FlatTrace.Context lastContext = tracesContexts.peekLast();
+    final NextFrame nextFrame = step.nextFrame;
+    if (nextFrame == null || step.depth >= nextFrame.depth()) {
+      // don't log calls to calls that don't execute, such as insufficient value and precompiles
+      return lastContext;
+    }
+    final FlatTrace.Builder subTraceBuilder =
+        FlatTrace.builder()
+            .traceAddress(FlatTraceGenerator.calculateTraceAddress(tracesContexts))
+            .resultBuilder(Result.builder());
+    final Action.Builder subTraceActionBuilder =
+        Action.builder()
+            .from(FlatTraceGenerator.calculateCallingAddress(lastContext))
+            .input(nextFrame.inputData().toHexString())
+            .gas("0x" + Long.toHexString(nextFrame.gasRemaining()))
+            .callType(callType(step.opcode))
+            .value(Quantity.create(step.value));
+    if (step.address != null) {
+      subTraceActionBuilder.to(step.address.toString());
+    }
+    pendingReverts.add(new PendingRevert(subTraceBuilder, nextFrame.depth()));
+
+    final FlatTrace.Context context =
+        new FlatTrace.Context(subTraceBuilder.actionBuilder(subTraceActionBuilder));
+    context.decGasUsed(cumulativeGasCost);
+    tracesContexts.addLast(context);
+    flatTraces.add(context.getBuilder());
+    return context;
+  }
+
+  private FlatTrace.Context handleReturn(final Step step) {
+    final FlatTrace.Builder traceFrameBuilder = currentContext.getBuilder();
+    final Result.Builder resultBuilder = traceFrameBuilder.getResultBuilder();
+    final Action.Builder actionBuilder = traceFrameBuilder.getActionBuilder();
+    actionBuilder.value(Quantity.create(step.value));
+
+    if (tracesContexts.size() == 1) {
+      rootReturnStep = step;
+    } else {
+      currentContext.setGasUsed(Long.decode(actionBuilder.getGas()) - step.gasRemaining);
+      if (step.opcode == STOP_OPCODE && resultBuilder.isGasUsedEmpty()) {
+        tracesContexts.stream()
+            .filter(
+                context ->
+                    !tracesContexts.getFirst().equals(context)
+                        && !tracesContexts.getLast().equals(context))
+            .forEach(context -> context.decGasUsed(callStipend));
+      }
+    }
+
+    if (resultBuilder.getCode() == null) {
+      resultBuilder.output(step.outputData.toHexString());
+    }
+
+    // set value for contract creation TXes, CREATE, and CREATE2
+    if (actionBuilder.getCallType() == null && step.code != null) {
+      actionBuilder.init(step.code.getBytes().toHexString());
+      resultBuilder.code(step.outputData.toHexString());
+      if (currentContext.isCreateOp()) {
+        // this is from a CREATE/CREATE2, so add code deposit cost.
+        currentContext.incGasUsed(step.outputData.size() * 200L);
+      }
+    }
+    return popContext();
+  }
+
+  private FlatTrace.Context handleSelfDestruct(final Step step) {
+    final Action.Builder actionBuilder = currentContext.getBuilder().getActionBuilder();
+    currentContext.setGasUsed(
+        Long.decode(actionBuilder.getGas()) - step.gasRemaining + step.gasCost);
+
+    final FlatTrace.Builder subTraceBuilder =
+        FlatTrace.builder()
+            .type("suicide")
+            .traceAddress(FlatTraceGenerator.calculateTraceAddress(tracesContexts));
+    final Action.Builder callingAction = tracesContexts.peekLast().getBuilder().getActionBuilder();
+    subTraceBuilder.actionBuilder(
+        Action.builder()
+            .address(
+                FlatTraceGenerator.getActionAddress(
+                    callingAction, step.recipient.toHexString()))
+            .refundAddress(step.address.toString())
+            .balance(TracingUtils.weiAsHex(step.refund)));
+    flatTraces.add(subTraceBuilder);
+
+    tracesContexts.removeLast().getBuilder().incSubTraces();
+    final FlatTrace.Context nextContext = tracesContexts.peekLast();
+    if (nextContext != null) {
+      nextContext.getBuilder().incSubTraces();
+    }
+    return nextContext;
+  }
+
+  private FlatTrace.Context handleCreateOperation(final Step step) {
+    final NextFrame nextFrame = step.nextFrame;
+    final FlatTrace.Builder subTraceBuilder =
+        FlatTrace.builder()
+            .type("create")
+            .traceAddress(FlatTraceGenerator.calculateTraceAddress(tracesContexts))
+            .resultBuilder(Result.builder());
+    final Action.Builder subTraceActionBuilder =
+        Action.builder()
+            .from(
+                smartContractAddress.orElse(
+                    FlatTraceGenerator.calculateCallingAddress(tracesContexts.peekLast())))
+            .gas("0x" + Long.toHexString(computeCreateGas(step)))
+            .value(Quantity.create(nextFrame == null ? Wei.ZERO : nextFrame.value()));
+    if (step.code != null) {
+      subTraceActionBuilder.init(step.code.getBytes().toHexString());
+    }
+
+    final FlatTrace.Context context =
+        new FlatTrace.Context(subTraceBuilder.actionBuilder(subTraceActionBuilder));
+    context
+        .getBuilder()
+        .getResultBuilder()
+        .address(nextFrame == null ? ZERO_ADDRESS_STRING : nextFrame.recipient().toHexString());
+    context.setCreateOp(true);
+    context.decGasUsed(cumulativeGasCost);
+    tracesContexts.addLast(context);
+    flatTraces.add(context.getBuilder());
+    return context;
+  }
+
+  private FlatTrace.Context handleHalt(final Step step) {
+    final FlatTrace.Builder traceFrameBuilder =
+        currentContext == null
+            ? flatTraces.get(flatTraces.size() - 1)
+            : currentContext.getBuilder();
+    traceFrameBuilder.error(Optional.of(FlatTraceGenerator.haltDescription(step.haltReason)));
+    if (currentContext == null) {
+      return null;
+    }
+    traceFrameBuilder.getActionBuilder().value(Quantity.create(step.value));
+    return popContext();
+  }
+
+  private FlatTrace.Context handleRevert() {
+    currentContext.getBuilder().error(Optional.of("Reverted"));
+    return popContext();
+  }
+
+  private void handleCallDataLoad(final Step step) {
+    currentContext
+        .getBuilder()
+        .getActionBuilder()
+        .value(step.value.isZero() ? "0x0" : step.value.toShortHexString());
+  }
+
+  private FlatTrace.Context popContext() {
+    tracesContexts.removeLast();
+    final FlatTrace.Context nextContext = tracesContexts.peekLast();
+    if (nextContext != null) {
+      nextContext.getBuilder().incSubTraces();
+    }
+    return nextContext;
+  }
+
+  private static long computeCreateGas(final Step step) {
+    if (step.gasCost != 0 && step.gasRemaining >= step.gasCost) {
+      final long gasRemaining = step.gasRemaining - step.gasCost;
+      return gasRemaining - Math.floorDiv(gasRemaining, EIP_150_DIVISOR);
+    }
+    return step.nextFrame == null ? 0L : step.nextFrame.gasRemaining();
+  }
+
+  private static String callType(final int opcode) {
+    return switch (opcode) {
+      case CALL_OPCODE -> "call";
+      case CALLCODE_OPCODE -> "callcode";
+      case DELEGATECALL_OPCODE -> "delegatecall";
+      default -> "staticcall";
+    };
+  }
+
+  /**
+   * Returns the opcode of an operation the flat traces are built from, or {@code NO_OPCODE} for
+   * other operations, including the invalid operations defined for these opcodes by earlier forks.
+   */
+  private static int flatOpcode(final Operation operation) {
+    final int opcode = operation.getOpcode();
+    return switch (opcode) {
+      case STOP_OPCODE,
+              CALLDATALOAD_OPCODE,
+              CREATE_OPCODE,
+              CALL_OPCODE,
+              CALLCODE_OPCODE,
+              RETURN_OPCODE,
+              DELEGATECALL_OPCODE,
+              CREATE2_OPCODE,
+              STATICCALL_OPCODE,
+              REVERT_OPCODE,
+              SELFDESTRUCT_OPCODE ->
+          operation instanceof InvalidOperation ? NO_OPCODE : opcode;
+      default -> NO_OPCODE;
+    };
+  }
+
+  /** An executed operation, holding what the flat traces need of its trace frame. */
+  private static final class Step {
+    private int opcode;
+    private int depth;
+    private long gasRemaining;
+    private long gasCost;
+    private long precompiledGasCost;
+    private Wei value;
+    private ExceptionalHaltReason haltReason;
+    // the callee of a call, or the beneficiary of a SELFDESTRUCT
+    private Address address;
+    private Address recipient;
+    private Wei refund;
+    private Code code;
+    private Bytes outputData;
+    private long gasRefund;
+    private NextFrame nextFrame;
+  }
+
+  /** The frame of the operation executed after a call or create operation. */
+  private record NextFrame(
+      int depth, long gasRemaining, Bytes inputData, Wei value, Address recipient) {}
+
+  /** A call reported as reverted if the first frame to end at the depth of its callee reverted. */
+  private record PendingRevert(FlatTrace.Builder builder, int depth) {}
+}
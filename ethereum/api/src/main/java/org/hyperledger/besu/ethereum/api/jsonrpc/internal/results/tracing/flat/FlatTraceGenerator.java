@@ -418,7 +418,7 @@ public class FlatTraceGenerator {
     return nextContext;
   }
 
-  private static String getActionAddress(
+  static String getActionAddress(
       final Action.Builder callingAction, final String recipient) {
     if (callingAction.getCallType() != null) {
       return callingAction.getCallType().equals("call")
@@ -492,18 +492,7 @@ public class FlatTraceGenerator {
       traceFrameBuilder = currentContext.getBuilder();
     }
     traceFrameBuilder.error(
-        traceFrame
-            .getExceptionalHaltReason()
-            .map(
-                exceptionalHaltReason -> {
-                  if (exceptionalHaltReason
-                      .name()
-                      .equals(ExceptionalHaltReason.INVALID_OPERATION.name())) {
-                    return ExceptionalHaltReason.INVALID_OPERATION.getDescription();
-                  } else {
-                    return exceptionalHaltReason.getDescription();
-                  }
-                }));
+        traceFrame.getExceptionalHaltReason().map(FlatTraceGenerator::haltDescription));
     if (currentContext != null) {
       final Action.Builder actionBuilder = traceFrameBuilder.getActionBuilder();
       actionBuilder.value(Quantity.create(traceFrame.getValue()));
@@ -517,6 +506,14 @@ public class FlatTraceGenerator {
     return currentContext;
   }
 
+  static String haltDescription(final ExceptionalHaltReason exceptionalHaltReason) {
+    if (exceptionalHaltReason.name().equals(ExceptionalHaltReason.INVALID_OPERATION.name())) {
+      return ExceptionalHaltReason.INVALID_OPERATION.getDescription();
+    } else {
+      return exceptionalHaltReason.getDescription();
+    }
+  }
+
   private static FlatTrace.Context handleRevert(
       final Deque<FlatTrace.Context> tracesContexts, final FlatTrace.Context currentContext) {
     currentContext.getBuilder().error(Optional.of("Reverted"));
@@ -558,7 +555,7 @@ public class FlatTraceGenerator {
     return false;
   }
 
-  private static String calculateCallingAddress(final FlatTrace.Context lastContext) {
+  static String calculateCallingAddress(final FlatTrace.Context lastContext) {
     final FlatTrace.Builder lastContextBuilder = lastContext.getBuilder();
     final Action.Builder lastActionBuilder = lastContextBuilder.getActionBuilder();
     if (lastActionBuilder.getCallType() == null) {
@@ -621,7 +618,7 @@ public class FlatTraceGenerator {
     return nextTraceFrame.map(TraceFrame::getGasRemaining).orElse(0L);
   }
 
-  private static List<Integer> calculateTraceAddress(final Deque<FlatTrace.Context> contexts) {
+  static List<Integer> calculateTraceAddress(final Deque<FlatTrace.Context> contexts) {
     return contexts.stream()
         .map(context -> context.getBuilder().getSubtraces())
         .collect(Collectors.toList());
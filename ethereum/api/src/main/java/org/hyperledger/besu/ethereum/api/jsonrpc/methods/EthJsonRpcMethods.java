@@ -70,6 +70,7 @@ import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
 import org.hyperledger.besu.ethereum.core.Synchronizer;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.BalConfiguration;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
@@ -98,6 +99,7 @@ public class EthJsonRpcMethods extends ApiGroupJsonRpcMethods {
   private final GenesisConfigOptions genesisConfigOptions;
   private final TransactionSimulator transactionSimulator;
   private final MetricsSystem metricsSystem;
+  private final EthScheduler ethScheduler;
 
   public EthJsonRpcMethods(
       final BlockchainQueries blockchainQueries,
@@ -112,7 +114,8 @@ public class EthJsonRpcMethods extends ApiGroupJsonRpcMethods {
       final BalConfiguration balConfiguration,
       final GenesisConfigOptions genesisConfigOptions,
       final TransactionSimulator transactionSimulator,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final EthScheduler ethScheduler) {
     this.blockchainQueries = blockchainQueries;
     this.synchronizer = synchronizer;
     this.protocolSchedule = protocolSchedule;
@@ -126,6 +129,7 @@ public class EthJsonRpcMethods extends ApiGroupJsonRpcMethods {
     this.genesisConfigOptions = genesisConfigOptions;
     this.transactionSimulator = transactionSimulator;
     this.metricsSystem = metricsSystem;
+    this.ethScheduler = ethScheduler;
   }
 
   @Override
@@ -170,7 +174,8 @@ public class EthJsonRpcMethods extends ApiGroupJsonRpcMethods {
             new EthGetStorageAt(blockchainQueries),
             new EthSendRawTransaction(transactionPool),
             new EthSendTransaction(),
-            new EthEstimateGas(blockchainQueries, transactionSimulator, apiConfiguration),
+            new EthEstimateGas(
+                blockchainQueries, transactionSimulator, apiConfiguration, ethScheduler),
             new EthCreateAccessList(blockchainQueries, transactionSimulator),
             new EthMining(miningCoordinator),
             new EthCoinbase(miningCoordinator),
@@ -140,7 +140,8 @@ public class JsonRpcMethodsFactory {
                   balConfiguration,
                   genesisConfigOptions,
                   transactionSimulator,
-                  metricsSystem),
+                  metricsSystem,
+                  ethScheduler),
               new NetJsonRpcMethods(
                   p2pNetwork,
                   networkId,
@@ -25,6 +25,8 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,8 +34,12 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.eventbus.Message;
@@ -159,6 +165,23 @@ public class SubscriptionManager extends AbstractVerticle {
     }
   }
 
+  /**
+   * Sends the same message to several subscriptions, serializing it only once.
+   *
+   * @param subscriptionIds the ids of the subscriptions to send the message to
+   * @param msg the message to send
+   */
+  public void sendMessage(final Collection<Long> subscriptionIds, final JsonRpcResult msg) {
+    final SerializedResult serializedMsg;
+    try {
+      serializedMsg = new SerializedResult(jsonObjectMapper.writeValueAsString(msg));
+    } catch (JsonProcessingException e) {
+      LOG.error("Error streaming websocket JSON-RPC response", e);
+      return;
+    }
+    subscriptionIds.forEach(subscriptionId -> sendMessage(subscriptionId, serializedMsg));
+  }
+
   public <T> void notifySubscribersOnWorkerThread(
       final SubscriptionType subscriptionType,
       final Class<T> clazz,
@@ -175,4 +198,23 @@ public class SubscriptionManager extends AbstractVerticle {
           }
         });
   }
+
+  /** A result already serialized, that is written as is in the response to each subscription. */
+  private record SerializedResult(String json) implements JsonRpcResult, JsonSerializable {
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers)
+        throws IOException {
+      gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(
+        final JsonGenerator gen,
+        final SerializerProvider serializers,
+        final TypeSerializer typeSerializer)
+        throws IOException {
+      serialize(gen, serializers);
+    }
+  }
 }
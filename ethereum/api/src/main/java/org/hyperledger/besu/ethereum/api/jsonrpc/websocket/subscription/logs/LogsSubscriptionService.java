@@ -16,14 +16,18 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.LogResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.Subscription;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.SubscriptionManager;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
+import org.hyperledger.besu.ethereum.api.query.LogsQueryIndex;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 
-import java.util.function.Consumer;
+import java.util.List;
 
-public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
+public class LogsSubscriptionService implements BlockAddedObserver {
 
   private final SubscriptionManager subscriptionManager;
 
@@ -32,26 +36,41 @@ public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
   }
 
   @Override
-  public void accept(final LogWithMetadata logWithMetadata) {
-    subscriptionManager.subscriptionsOfType(SubscriptionType.LOGS, LogsSubscription.class).stream()
-        .filter(
-            logsSubscription -> {
-              final FilterParameter filterParameter = logsSubscription.getFilterParameter();
-              final long blockNumber = logWithMetadata.getBlockNumber();
-              return filterParameter
-                          .getFromBlock()
-                          .getNumber()
-                          .orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
-                      <= blockNumber
-                  && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE) >= blockNumber
-                  && filterParameter.getLogsQuery().matches(logWithMetadata);
-            })
-        .forEach(logsSubscription -> sendLogToSubscription(logWithMetadata, logsSubscription));
+  public void onBlockAdded(final BlockAddedEvent event) {
+    final List<LogWithMetadata> logsWithMetadata = event.getLogsWithMetadata();
+    if (logsWithMetadata.isEmpty()) {
+      return;
+    }
+    final List<LogsSubscription> subscriptions =
+        subscriptionManager.subscriptionsOfType(SubscriptionType.LOGS, LogsSubscription.class);
+    if (subscriptions.isEmpty()) {
+      return;
+    }
+
+    // index the subscriptions once per block, so each log is only matched against the
+    // subscriptions that could match it, and serialized once for all of them
+    final LogsQueryIndex<LogsSubscription> index =
+        new LogsQueryIndex<>(
+            subscriptions, subscription -> subscription.getFilterParameter().getLogsQuery());
+    for (final LogWithMetadata logWithMetadata : logsWithMetadata) {
+      final List<Long> subscriptionIds =
+          index.matching(logWithMetadata).stream()
+              .filter(
+                  subscription ->
+                      isInBlockRange(
+                          subscription.getFilterParameter(), logWithMetadata.getBlockNumber()))
+              .map(Subscription::getSubscriptionId)
+              .toList();
+      if (!subscriptionIds.isEmpty()) {
+        subscriptionManager.sendMessage(subscriptionIds, new LogResult(logWithMetadata));
+      }
+    }
   }
 
-  private void sendLogToSubscription(
-      final LogWithMetadata logWithMetadata, final LogsSubscription subscription) {
-    subscriptionManager.sendMessage(
-        subscription.getSubscriptionId(), new LogResult(logWithMetadata));
+  private static boolean isInBlockRange(
+      final FilterParameter filterParameter, final long blockNumber) {
+    return filterParameter.getFromBlock().getNumber().orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
+            <= blockNumber
+        && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE) >= blockNumber;
   }
 }
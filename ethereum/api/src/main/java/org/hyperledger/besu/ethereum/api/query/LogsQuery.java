@@ -75,6 +75,14 @@ public class LogsQuery {
             .collect(toUnmodifiableList());
   }
 
+  List<Address> getAddresses() {
+    return addresses;
+  }
+
+  List<List<LogTopic>> getTopics() {
+    return topics;
+  }
+
   public boolean couldMatch(final LogsBloomFilter bloom) {
     return (addressBlooms.isEmpty() || addressBlooms.stream().anyMatch(bloom::couldContain))
         && (topicsBlooms.isEmpty()
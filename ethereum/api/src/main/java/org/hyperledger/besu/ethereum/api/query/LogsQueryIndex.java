@@ -0,0 +1,90 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index of the logs queries of a set of entries, such as filters or subscriptions, by the address
+ * and first topic they require, so matching a log only evaluates the queries that could match it.
+ *
+ * <p>A query that requires addresses is indexed by them, otherwise a query that requires first
+ * topics is indexed by them, and the queries requiring neither are evaluated for every log.
+ *
+ * @param <T> the type of the indexed entries
+ */
+public class LogsQueryIndex<T> {
+
+  private final Function<T, LogsQuery> queryOf;
+  private final Map<Address, List<T>> byAddress = new HashMap<>();
+  private final Map<LogTopic, List<T>> byFirstTopic = new HashMap<>();
+  private final List<T> unindexed = new ArrayList<>();
+
+  public LogsQueryIndex(final Collection<T> entries, final Function<T, LogsQuery> queryOf) {
+    this.queryOf = queryOf;
+    entries.forEach(this::index);
+  }
+
+  private void index(final T entry) {
+    final LogsQuery query = queryOf.apply(entry);
+    if (!query.getAddresses().isEmpty()) {
+      new LinkedHashSet<>(query.getAddresses())
+          .forEach(
+              address -> byAddress.computeIfAbsent(address, __ -> new ArrayList<>()).add(entry));
+    } else if (!query.getTopics().isEmpty()
+        && !query.getTopics().get(0).isEmpty()
+        && !query.getTopics().get(0).contains(null)) {
+      new LinkedHashSet<>(query.getTopics().get(0))
+          .forEach(
+              topic -> byFirstTopic.computeIfAbsent(topic, __ -> new ArrayList<>()).add(entry));
+    } else {
+      unindexed.add(entry);
+    }
+  }
+
+  /**
+   * Returns the entries whose query matches the log.
+   *
+   * @param log the log to match
+   * @return the matching entries
+   */
+  public List<T> matching(final Log log) {
+    final List<T> matching = new ArrayList<>();
+    addMatching(byAddress.getOrDefault(log.getLogger(), List.of()), log, matching);
+    if (!log.getTopics().isEmpty()) {
+      addMatching(byFirstTopic.getOrDefault(log.getTopics().get(0), List.of()), log, matching);
+    }
+    addMatching(unindexed, log, matching);
+    return matching;
+  }
+
+  private void addMatching(final List<T> candidates, final Log log, final List<T> matching) {
+    for (final T candidate : candidates) {
+      if (queryOf.apply(candidate).matches(log)) {
+        matching.add(candidate);
+      }
+    }
+  }
+}
@@ -139,6 +139,10 @@ public abstract class AbstractJsonRpcHttpServiceTest {
     return ImmutableApiConfiguration.builder().gasCap(0L).build();
   }
 
+  protected ApiConfiguration createRpcMethodsApiConfiguration() {
+    return ImmutableApiConfiguration.builder().build();
+  }
+
   protected Map<String, JsonRpcMethod> getRpcMethods(
       final JsonRpcConfiguration config, final BlockchainSetupUtil blockchainSetupUtil) {
     final ProtocolContext protocolContext = mock(ProtocolContext.class);
@@ -216,7 +220,7 @@ public abstract class AbstractJsonRpcHttpServiceTest {
             folder,
             mock(EthPeers.class),
             syncVertx,
-            ImmutableApiConfiguration.builder().build(),
+            createRpcMethodsApiConfiguration(),
             BalConfiguration.DEFAULT,
             Optional.empty(),
             transactionSimulator,
@@ -0,0 +1,100 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.EvmProfileResult;
+import org.hyperledger.besu.evm.profiling.EvmProfile;
+import org.hyperledger.besu.evm.profiling.EvmProfiler;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DebugEvmProfileTest {
+  private static final int SSTORE = 0x55;
+
+  private final EvmProfiler profiler = mock(EvmProfiler.class);
+  private final EvmProfile profile = mock(EvmProfile.class);
+  private final DebugEvmProfile method = new DebugEvmProfile(profiler);
+
+  @BeforeEach
+  public void setUp() {
+    when(profiler.recentProfile()).thenReturn(profile);
+    when(profile.opcode(anyInt())).thenReturn(new EvmProfile.Usage(0, 0));
+  }
+
+  @Test
+  public void shouldHaveCorrectName() {
+    assertThat(method.getName()).isEqualTo("debug_evmProfile");
+  }
+
+  @Test
+  public void shouldEnableProfilerWhenRequested() {
+    method.response(request(true));
+
+    verify(profiler).setEnabled(true);
+  }
+
+  @Test
+  public void shouldLeaveProfilerUnchangedWithoutParameter() {
+    method.response(request());
+
+    verify(profiler, never()).setEnabled(true);
+    verify(profiler, never()).setEnabled(false);
+  }
+
+  @Test
+  public void shouldReturnRecentProfile() {
+    when(profiler.isEnabled()).thenReturn(true);
+    when(profile.opcode(SSTORE)).thenReturn(new EvmProfile.Usage(2, 300));
+    when(profile.precompiles()).thenReturn(Map.of("SHA256", new EvmProfile.Usage(1, 50)));
+    when(profile.contracts()).thenReturn(Map.of(Hash.ZERO, new EvmProfile.Usage(1, 400)));
+
+    final JsonRpcSuccessResponse response = (JsonRpcSuccessResponse) method.response(request());
+
+    final EvmProfileResult result = (EvmProfileResult) response.getResult();
+    assertThat(result.isEnabled()).isTrue();
+    assertThat(result.getOpcodes())
+        .singleElement()
+        .satisfies(
+            opcode -> {
+              assertThat(opcode.getName()).isEqualTo("SSTORE");
+              assertThat(opcode.getCount()).isEqualTo(2);
+              assertThat(opcode.getNanos()).isEqualTo(300);
+            });
+    assertThat(result.getPrecompiles())
+        .singleElement()
+        .satisfies(precompile -> assertThat(precompile.getName()).isEqualTo("SHA256"));
+    assertThat(result.getContracts())
+        .singleElement()
+        .satisfies(contract -> assertThat(contract.getName()).isEqualTo(Hash.ZERO.toString()));
+  }
+
+  private static JsonRpcRequestContext request(final Object... params) {
+    return new JsonRpcRequestContext(new JsonRpcRequest("2.0", "debug_evmProfile", params));
+  }
+}
@@ -48,6 +48,7 @@ import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
 
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -56,6 +57,8 @@ import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -105,7 +108,10 @@ public class EthEstimateGasTest {
 
     method =
         new EthEstimateGas(
-            blockchainQueries, transactionSimulator, ImmutableApiConfiguration.builder().build());
+            blockchainQueries,
+            transactionSimulator,
+            ImmutableApiConfiguration.builder().build(),
+            new DeterministicEthScheduler());
   }
 
   @Test
@@ -496,6 +502,42 @@ public class EthEstimateGasTest {
     assertThat(method.response(request)).usingRecursiveComparison().isEqualTo(expectedResponse);
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 4, 16})
+  public void shouldFindExactGasLimitWhateverTheSearchParallelism(final int parallelism) {
+    final long requiredGasLimit = 50_000L;
+    method =
+        new EthEstimateGas(
+            blockchainQueries,
+            transactionSimulator,
+            ImmutableApiConfiguration.builder()
+                .estimateGasToleranceRatio(0.0)
+                .estimateGasParallelism(parallelism)
+                .build(),
+            new DeterministicEthScheduler());
+    final TransactionProcessingResult processingResult = mock(TransactionProcessingResult.class);
+    when(processingResult.getEstimateGasUsedByTransaction()).thenReturn(45_000L);
+    when(processingResult.getRevertReason()).thenReturn(Optional.empty());
+    when(transactionSimulator.processOnPending(any(), any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final CallParameter callParameter = invocation.getArgument(0);
+              final TransactionSimulatorResult simulatorResult =
+                  mock(TransactionSimulatorResult.class);
+              when(simulatorResult.result()).thenReturn(processingResult);
+              when(simulatorResult.isSuccessful())
+                  .thenReturn(callParameter.getGas().getAsLong() >= requiredGasLimit);
+              return Optional.of(simulatorResult);
+            });
+
+    final JsonRpcRequestContext request = ethEstimateGasRequest(eip1559TransactionCallParameter());
+
+    final JsonRpcResponse expectedResponse =
+        new JsonRpcSuccessResponse(null, Quantity.create(requiredGasLimit));
+
+    assertThat(method.response(request)).usingRecursiveComparison().isEqualTo(expectedResponse);
+  }
+
   @Test
   public void shouldUseTxGasLimitCapWhenLessThatBlockGasLimit() {
     when(blockchainQueries.getTransactionGasLimitCap(any())).thenReturn(TX_GAS_LIMIT_CAP);
@@ -75,6 +75,7 @@ public class TraceFilterTest {
             protocolSchedule,
             blockchainQueries,
             maxFilterRange,
+            1,
             new NoOpMetricsSystem(),
             new DeterministicEthScheduler());
 
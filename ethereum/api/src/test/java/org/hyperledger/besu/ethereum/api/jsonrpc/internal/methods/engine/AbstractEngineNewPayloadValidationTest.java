@@ -15,28 +15,41 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.engine;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.consensus.merge.blockcreation.MergeMiningCoordinator;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.datatypes.BlobGas;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.VersionedHash;
+import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
 
 import java.util.List;
 import java.util.Optional;
 
 import io.vertx.core.Vertx;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -61,6 +74,7 @@ public class AbstractEngineNewPayloadValidationTest {
     final ProtocolSchedule protocolSchedule = mock(ProtocolSchedule.class);
     final ProtocolContext protocolContext = mock(ProtocolContext.class);
     final MergeMiningCoordinator mergeCoordinator = mock(MergeMiningCoordinator.class);
+    lenient().when(mergeCoordinator.getEthScheduler()).thenReturn(new DeterministicEthScheduler());
     final EthPeers ethPeers = mock(EthPeers.class);
     final EngineCallListener engineCallListener = mock(EngineCallListener.class);
     final MetricsSystem metricsSystem = new NoOpMetricsSystem();
@@ -247,6 +261,78 @@ public class AbstractEngineNewPayloadValidationTest {
     assertThat(result.getErrorMessage()).isNotNull();
   }
 
+  @Test
+  void encodedTransactionsRoot_matchesRootOfDecodedTransactions() {
+    final List<Bytes> encodedTransactions =
+        createTransactions().stream()
+            .map(tx -> TransactionEncoder.encodeOpaqueBytes(tx, EncodingContext.BLOCK_BODY))
+            .toList();
+    final List<Transaction> decodedTransactions = decode(encodedTransactions);
+
+    assertThat(
+            AbstractEngineNewPayload.isCanonicallyEncoded(decodedTransactions, encodedTransactions))
+        .isTrue();
+    assertThat(method.encodedTransactionsRoot(encodedTransactions).join())
+        .isEqualTo(BodyValidation.transactionsRoot(decodedTransactions));
+  }
+
+  @Test
+  void encodedTransactionsRoot_emptyPayload_returnsEmptyTrieHash() {
+    assertThat(method.encodedTransactionsRoot(List.of()).join())
+        .isEqualTo(Hash.EMPTY_TRIE_HASH)
+        .isEqualTo(BodyValidation.transactionsRoot(List.of()));
+  }
+
+  @Test
+  void isCanonicallyEncoded_trailingBytes_fallsBackToReencodedRoot() {
+    final List<Transaction> transactions = createTransactions();
+    final List<Bytes> paddedTransactions =
+        transactions.stream()
+            .map(tx -> TransactionEncoder.encodeOpaqueBytes(tx, EncodingContext.BLOCK_BODY))
+            .map(encoded -> Bytes.concatenate(encoded, Bytes.of(0)))
+            .toList();
+
+    assertThat(AbstractEngineNewPayload.isCanonicallyEncoded(transactions, paddedTransactions))
+        .isFalse();
+    // the root of the raw bytes would not be the root of the transactions of the block
+    assertThat(method.encodedTransactionsRoot(paddedTransactions).join())
+        .isNotEqualTo(BodyValidation.transactionsRoot(transactions));
+  }
+
+  @Test
+  void isCanonicallyEncoded_singleTrailingTransaction_returnsFalse() {
+    final List<Transaction> transactions = createTransactions();
+    final List<Bytes> encodedTransactions =
+        transactions.stream()
+            .map(tx -> TransactionEncoder.encodeOpaqueBytes(tx, EncodingContext.BLOCK_BODY))
+            .toList();
+    final List<Bytes> oneNonCanonical =
+        List.of(
+            encodedTransactions.get(0),
+            Bytes.concatenate(encodedTransactions.get(1), Bytes.fromHexString("0x80")));
+
+    assertThat(AbstractEngineNewPayload.isCanonicallyEncoded(transactions, oneNonCanonical))
+        .isFalse();
+  }
+
+  private static List<Transaction> createTransactions() {
+    final KeyPair keys = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+    return List.of(
+        new TransactionTestFixture().nonce(0).createTransaction(keys),
+        new TransactionTestFixture()
+            .type(TransactionType.EIP1559)
+            .nonce(1)
+            .maxFeePerGas(Optional.of(Wei.of(15)))
+            .maxPriorityFeePerGas(Optional.of(Wei.of(1)))
+            .createTransaction(keys));
+  }
+
+  private static List<Transaction> decode(final List<Bytes> encodedTransactions) {
+    return encodedTransactions.stream()
+        .map(in -> TransactionDecoder.decodeOpaqueBytes(in, EncodingContext.BLOCK_BODY))
+        .toList();
+  }
+
   private Optional<BlobGas> invokeValidateExcessBlobGas(
       final BlockHeader header, final BlockHeader parent, final ProtocolSpec spec) {
     return method.validateExcessBlobGas(header, parent, spec);
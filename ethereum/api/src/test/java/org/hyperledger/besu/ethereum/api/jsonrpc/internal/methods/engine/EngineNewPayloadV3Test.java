@@ -58,6 +58,7 @@ import org.hyperledger.besu.ethereum.mainnet.ScheduledProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.evm.gascalculator.CancunGasCalculator;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
 
 import java.math.BigInteger;
 import java.util.List;
@@ -293,6 +294,7 @@ public class EngineNewPayloadV3Test extends EngineNewPayloadV2Test {
             createTransactionWithBlobs(), EncodingContext.POOLED_TRANSACTION);
 
     List<String> transactions = List.of(transactionWithBlobsBytes.toString());
+    when(mergeCoordinator.getEthScheduler()).thenReturn(new DeterministicEthScheduler());
 
     BlockHeader mockHeader =
         setupValidPayload(
@@ -0,0 +1,329 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withStateRootAndBlockHashAndUpdateNodeHead;
+
+import org.hyperledger.besu.config.GenesisConfig;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatCallTracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTraceGenerator;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder;
+import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Executes transactions and compares the result of the {@link CallTracer} with the result that
+ * {@link CallTracerResultConverter} rebuilds from the trace frames of the same execution, and the
+ * traces of the {@link FlatCallTracer} with the ones {@link FlatTraceGenerator} generates from
+ * them.
+ */
+public class CallTracerExecutionTest {
+  // returns the word 42
+  private static final Address RETURNER =
+      Address.fromHexString("0x00000000000000000000000000000000000000b0");
+  // reverts with the word 1
+  private static final Address REVERTER =
+      Address.fromHexString("0x00000000000000000000000000000000000000b1");
+  // halts on the INVALID opcode
+  private static final Address HALTER =
+      Address.fromHexString("0x00000000000000000000000000000000000000b2");
+  // calls RETURNER and returns its output
+  private static final Address FORWARDER =
+      Address.fromHexString("0x00000000000000000000000000000000000000b3");
+  // calls FORWARDER, then REVERTER
+  private static final Address NESTED_CALLER =
+      Address.fromHexString("0x00000000000000000000000000000000000000b4");
+  // calls HALTER
+  private static final Address HALTER_CALLER =
+      Address.fromHexString("0x00000000000000000000000000000000000000b5");
+  // calls RETURNER with a value of 1 wei it does not have
+  private static final Address POOR_CALLER =
+      Address.fromHexString("0x00000000000000000000000000000000000000b6");
+
+  // stores the call input 0x12345678 in memory at 0x1c
+  private static final String STORE_INPUT = "6312345678600052";
+
+  private final KeyPair keyPair = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private Block genesisBlock;
+  private BlockHeader genesisHeader;
+  private ProtocolSchedule protocolSchedule;
+  private ProtocolSpec protocolSpec;
+  private MutableWorldState worldState;
+  private MainnetTransactionProcessor transactionProcessor;
+  private BlockHashLookup blockHashLookup;
+
+  @BeforeEach
+  public void setUp() {
+    final ExecutionContextTestFixture fixture =
+        ExecutionContextTestFixture.builder(GenesisConfig.fromConfig(genesis())).build();
+    genesisBlock = fixture.getGenesis();
+    genesisHeader = genesisBlock.getHeader();
+    worldState =
+        fixture
+            .getStateArchive()
+            .getWorldState(
+                withStateRootAndBlockHashAndUpdateNodeHead(
+                    genesisHeader.getStateRoot(), genesisHeader.getHash()))
+            .orElseThrow();
+    protocolSchedule = fixture.getProtocolSchedule();
+    protocolSpec = protocolSchedule.getByBlockHeader(genesisHeader);
+    transactionProcessor = protocolSpec.getTransactionProcessor();
+    blockHashLookup =
+        protocolSpec
+            .getPreExecutionProcessor()
+            .createBlockHashLookup(fixture.getBlockchain(), genesisHeader);
+  }
+
+  @Test
+  public void nestedAndRevertedCallsMatchTheFrameBasedResult() {
+    final Transaction transaction = transaction(NESTED_CALLER);
+
+    final CallTracerResult result = callTracerResult(transaction);
+
+    assertThat(result).usingRecursiveComparison().isEqualTo(convertedResult(transaction));
+    assertThat(result.getCalls()).hasSize(2);
+    assertThat(result.getCalls().get(0).getCalls()).hasSize(1);
+    assertThat(result.getCalls().get(0).getCalls().get(0).getOutput())
+        .isEqualTo("0x" + "00".repeat(31) + "2a");
+    assertThat(result.getCalls().get(1).getError()).isEqualTo("execution reverted");
+  }
+
+  @Test
+  public void returningTransactionMatchesTheFrameBasedResult() {
+    final Transaction transaction = transaction(RETURNER);
+
+    assertThat(callTracerResult(transaction))
+        .usingRecursiveComparison()
+        .isEqualTo(convertedResult(transaction));
+  }
+
+  @Test
+  public void revertingTransactionMatchesTheFrameBasedResult() {
+    final Transaction transaction = transaction(REVERTER);
+
+    final CallTracerResult result = callTracerResult(transaction);
+
+    assertThat(result).usingRecursiveComparison().isEqualTo(convertedResult(transaction));
+    assertThat(result.getError()).isEqualTo("execution reverted");
+  }
+
+  @Test
+  public void haltingTransactionMatchesTheFrameBasedResult() {
+    final Transaction transaction = transaction(HALTER);
+
+    final CallTracerResult result = callTracerResult(transaction);
+
+    assertThat(result).usingRecursiveComparison().isEqualTo(convertedResult(transaction));
+    assertThat(result.getError()).isEqualTo("execution reverted");
+  }
+
+  @Test
+  public void haltedCallUsesAllItsGas() {
+    // the frame based result misses the halt of a nested call, which has no exit opcode
+    final CallTracerResult result = callTracerResult(transaction(HALTER_CALLER));
+
+    assertThat(result.getCalls()).hasSize(1);
+    final CallTracerResult halted = result.getCalls().get(0);
+    assertThat(halted.getTo()).isEqualTo(HALTER.toHexString());
+    assertThat(halted.getError()).isEqualTo("execution reverted");
+    assertThat(halted.getGasUsed()).isEqualTo(halted.getGas());
+  }
+
+  @Test
+  public void callFailingWithoutFrameIsReported() {
+    final CallTracerResult result = callTracerResult(transaction(POOR_CALLER));
+
+    assertThat(result.getCalls()).hasSize(1);
+    final CallTracerResult failed = result.getCalls().get(0);
+    assertThat(failed.getType()).isEqualTo("CALL");
+    assertThat(failed.getFrom()).isEqualTo(POOR_CALLER.toHexString());
+    assertThat(failed.getTo()).isEqualTo(RETURNER.toHexString());
+    assertThat(failed.getValue()).isEqualTo("0x1");
+    assertThat(failed.getInput()).isEqualTo("0x12345678");
+    assertThat(failed.getError()).isEqualTo("insufficient balance for transfer");
+    assertThat(failed.getGasUsed()).isEqualTo("0x0");
+  }
+
+  @ParameterizedTest
+  @MethodSource("tracedAccounts")
+  public void flatTracesMatchTheFrameBasedTraces(final Address to) {
+    final Transaction transaction = transaction(to);
+
+    final FlatCallTracer tracer = new FlatCallTracer(transaction, protocolSpec.getGasCalculator());
+    final List<FlatTrace> traces = tracer.getTraces(process(transaction, tracer)).toList();
+
+    final TransactionTrace transactionTrace = debugTrace(transaction);
+    assertThat(traces)
+        .usingRecursiveComparison()
+        .isEqualTo(
+            FlatTraceGenerator.generateFromTransactionTrace(
+                    protocolSchedule, transactionTrace, genesisBlock, new AtomicInteger())
+                .toList());
+  }
+
+  @ParameterizedTest
+  @MethodSource("tracedAccounts")
+  public void flatTracesWithBlockMatchTheFrameBasedTraces(final Address to) {
+    final Transaction transaction = transaction(to);
+
+    final FlatCallTracer tracer = new FlatCallTracer(transaction, protocolSpec.getGasCalculator());
+    final List<FlatTrace> traces =
+        tracer.getTraces(process(transaction, tracer), genesisBlock).toList();
+
+    final TransactionTrace transactionTrace = debugTrace(transaction);
+    assertThat(traces)
+        .usingRecursiveComparison()
+        .isEqualTo(
+            FlatTraceGenerator.generateFromTransactionTraceAndBlock(
+                    protocolSchedule, transactionTrace, genesisBlock)
+                .toList());
+  }
+
+  @Test
+  public void flatTracesOfNestedCallsReportTheRevertedCall() {
+    final Transaction transaction = transaction(NESTED_CALLER);
+
+    final FlatCallTracer tracer = new FlatCallTracer(transaction, protocolSpec.getGasCalculator());
+    final List<FlatTrace> traces = tracer.getTraces(process(transaction, tracer)).toList();
+
+    assertThat(traces).hasSize(4);
+    assertThat(traces.get(2).getTraceAddress()).containsExactly(0, 0);
+    assertThat(traces.get(3).getAction().getTo()).isEqualTo(REVERTER.toHexString());
+    assertThat(traces.get(3).getError()).isEqualTo("Reverted");
+  }
+
+  private static Stream<Address> tracedAccounts() {
+    return Stream.of(
+        RETURNER, REVERTER, HALTER, FORWARDER, NESTED_CALLER, HALTER_CALLER, POOR_CALLER);
+  }
+
+  private Transaction transaction(final Address to) {
+    return Transaction.builder()
+        .type(TransactionType.FRONTIER)
+        .gasLimit(1_000_000)
+        .gasPrice(Wei.ZERO)
+        .nonce(0)
+        .to(to)
+        .payload(Bytes.EMPTY)
+        .value(Wei.ZERO)
+        .signAndBuild(keyPair);
+  }
+
+  private CallTracerResult callTracerResult(final Transaction transaction) {
+    final CallTracer tracer = new CallTracer();
+    final TransactionProcessingResult result = process(transaction, tracer);
+    return tracer.getResult(new TransactionTrace(transaction, result, List.of()));
+  }
+
+  private CallTracerResult convertedResult(final Transaction transaction) {
+    return CallTracerResultConverter.convert(debugTrace(transaction));
+  }
+
+  private TransactionTrace debugTrace(final Transaction transaction) {
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(
+            OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
+                .traceMemory(true)
+                .traceStack(true)
+                .build(),
+            false);
+    final TransactionProcessingResult result = process(transaction, tracer);
+    return new TransactionTrace(transaction, result, tracer.getTraceFrames());
+  }
+
+  // executes on a fresh updater of the genesis state, so each execution sees the same state
+  private TransactionProcessingResult process(
+      final Transaction transaction, final OperationTracer tracer) {
+    return transactionProcessor.processTransaction(
+        worldState.updater(),
+        genesisHeader,
+        transaction,
+        genesisHeader.getCoinbase(),
+        tracer,
+        blockHashLookup,
+        Wei.ZERO);
+  }
+
+  private static String genesis() {
+    return """
+        {
+          "config": {"petersburgBlock": 0},
+          "coinbase": "0x0000000000000000000000000000000000000000",
+          "difficulty": "0x1",
+          "extraData": "",
+          "gasLimit": "0x2fefd8",
+          "nonce": "0x0",
+          "mixhash": "0x0000000000000000000000000000000000000000000000000000000000000000",
+          "parentHash": "0x0000000000000000000000000000000000000000000000000000000000000000",
+          "timestamp": "0x0",
+          "alloc": {
+            %s
+          }
+        }
+        """
+        .formatted(
+            String.join(
+                ", ",
+                account(RETURNER, "602a60005260206000f3"),
+                account(REVERTER, "600160005260206000fd"),
+                account(HALTER, "fe"),
+                account(FORWARDER, STORE_INPUT + call(RETURNER, "00") + "60206020f3"),
+                account(
+                    NESTED_CALLER,
+                    STORE_INPUT + call(FORWARDER, "00") + call(REVERTER, "00") + "00"),
+                account(HALTER_CALLER, STORE_INPUT + call(HALTER, "00") + "00"),
+                account(POOR_CALLER, STORE_INPUT + call(RETURNER, "01") + "00")));
+  }
+
+  // calls the address with the value, passing the input stored by STORE_INPUT and all the gas,
+  // storing the output at 0x20, then pops the success flag
+  private static String call(final Address to, final String value) {
+    return "60206020" + "6004601c" + "60" + value + "73" + to.toUnprefixedHexString() + "5af150";
+  }
+
+  private static String account(final Address address, final String code) {
+    return "\"%s\": {\"balance\": \"0x0\", \"code\": \"0x%s\"}"
+        .formatted(address.toUnprefixedHexString(), code);
+  }
+}
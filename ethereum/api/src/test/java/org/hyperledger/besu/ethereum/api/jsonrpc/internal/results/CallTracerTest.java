@@ -0,0 +1,160 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class CallTracerTest {
+  private static final Address SENDER = Address.fromHexString("0x01");
+  private static final Address CONTRACT = Address.fromHexString("0x02");
+  private static final Address CALLEE = Address.fromHexString("0x03");
+
+  private final CallTracer tracer = new CallTracer();
+
+  @Test
+  public void buildsNestedCallsFromContextEntryAndExit() {
+    final MessageFrame root = frame(MessageFrame.Type.MESSAGE_CALL, CONTRACT, 100_000L);
+    final MessageFrame child = frame(MessageFrame.Type.MESSAGE_CALL, CALLEE, 30_000L);
+    final MessageFrame grandChild = frame(MessageFrame.Type.MESSAGE_CALL, CONTRACT, 10_000L);
+    currentOperation(root, "CALL");
+    currentOperation(child, "STATICCALL");
+    when(child.getInputData()).thenReturn(Bytes.fromHexString("0x1234"));
+    when(child.getValue()).thenReturn(Wei.of(5));
+
+    tracer.traceContextEnter(root);
+    tracer.traceContextEnter(child);
+    tracer.traceContextEnter(grandChild);
+    exit(grandChild, 4_000L, MessageFrame.State.COMPLETED_SUCCESS);
+    when(child.getOutputData()).thenReturn(Bytes.fromHexString("0xbeef"));
+    exit(child, 12_000L, MessageFrame.State.COMPLETED_SUCCESS);
+    exit(root, 50_000L, MessageFrame.State.COMPLETED_SUCCESS);
+
+    final CallTracerResult result = tracer.getResult(transactionTrace(true));
+
+    assertThat(result.getType()).isEqualTo("CALL");
+    assertThat(result.getFrom()).isEqualTo(SENDER.toHexString());
+    assertThat(result.getTo()).isEqualTo(CONTRACT.toHexString());
+    assertThat(result.getCalls()).hasSize(1);
+
+    final CallTracerResult call = result.getCalls().get(0);
+    assertThat(call.getType()).isEqualTo("CALL");
+    assertThat(call.getFrom()).isEqualTo(CONTRACT.toHexString());
+    assertThat(call.getTo()).isEqualTo(CALLEE.toHexString());
+    assertThat(call.getValue()).isEqualTo("0x5");
+    assertThat(call.getInput()).isEqualTo("0x1234");
+    assertThat(call.getOutput()).isEqualTo("0xbeef");
+    assertThat(call.getGasUsed()).isEqualTo("0x4650"); // 30000 - 12000
+    assertThat(call.getCalls()).hasSize(1);
+
+    final CallTracerResult staticCall = call.getCalls().get(0);
+    assertThat(staticCall.getType()).isEqualTo("STATICCALL");
+    assertThat(staticCall.getFrom()).isEqualTo(CALLEE.toHexString());
+    assertThat(staticCall.getValue()).isNull();
+    assertThat(staticCall.getGasUsed()).isEqualTo("0x1770"); // 10000 - 4000
+  }
+
+  @Test
+  public void reportsRevertsAndExceptionalHalts() {
+    final MessageFrame root = frame(MessageFrame.Type.MESSAGE_CALL, CONTRACT, 100_000L);
+    final MessageFrame reverted = frame(MessageFrame.Type.MESSAGE_CALL, CALLEE, 30_000L);
+    final MessageFrame halted = frame(MessageFrame.Type.MESSAGE_CALL, CALLEE, 30_000L);
+    currentOperation(root, "CALL");
+
+    tracer.traceContextEnter(root);
+    tracer.traceContextEnter(reverted);
+    exit(reverted, 20_000L, MessageFrame.State.COMPLETED_FAILED);
+    tracer.traceContextEnter(halted);
+    when(halted.getExceptionalHaltReason())
+        .thenReturn(Optional.of(ExceptionalHaltReason.INVALID_OPERATION));
+    exit(halted, 0L, MessageFrame.State.COMPLETED_FAILED);
+    exit(root, 10_000L, MessageFrame.State.COMPLETED_SUCCESS);
+
+    final List<CallTracerResult> calls = tracer.getResult(transactionTrace(true)).getCalls();
+
+    assertThat(calls).hasSize(2);
+    assertThat(calls.get(0).getError()).isEqualTo("execution reverted");
+    assertThat(calls.get(1).getError()).isEqualTo("execution reverted");
+    assertThat(calls.get(1).getGasUsed()).isEqualTo("0x7530"); // all the gas
+  }
+
+  @Test
+  public void transactionWithoutExecutionHasNoCalls() {
+    final CallTracerResult result = tracer.getResult(transactionTrace(false));
+
+    assertThat(result.getCalls()).isNull();
+    assertThat(result.getError()).isEqualTo("execution reverted");
+  }
+
+  private static MessageFrame frame(
+      final MessageFrame.Type type, final Address address, final long gas) {
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getType()).thenReturn(type);
+    when(frame.getRecipientAddress()).thenReturn(address);
+    when(frame.getContractAddress()).thenReturn(address);
+    when(frame.getRemainingGas()).thenReturn(gas);
+    when(frame.getInputData()).thenReturn(Bytes.EMPTY);
+    when(frame.getValue()).thenReturn(Wei.ZERO);
+    when(frame.getOutputData()).thenReturn(Bytes.EMPTY);
+    when(frame.getExceptionalHaltReason()).thenReturn(Optional.empty());
+    when(frame.getRevertReason()).thenReturn(Optional.empty());
+    return frame;
+  }
+
+  private static void currentOperation(final MessageFrame frame, final String name) {
+    final Operation operation = mock(Operation.class);
+    when(operation.getName()).thenReturn(name);
+    when(frame.getCurrentOperation()).thenReturn(operation);
+  }
+
+  private void exit(
+      final MessageFrame frame, final long remainingGas, final MessageFrame.State state) {
+    when(frame.getRemainingGas()).thenReturn(remainingGas);
+    when(frame.getState()).thenReturn(state);
+    tracer.traceContextExit(frame);
+  }
+
+  private static TransactionTrace transactionTrace(final boolean successful) {
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.isContractCreation()).thenReturn(false);
+    when(transaction.getSender()).thenReturn(SENDER);
+    when(transaction.getTo()).thenReturn(Optional.of(CONTRACT));
+    when(transaction.getValue()).thenReturn(Wei.ZERO);
+    when(transaction.getGasLimit()).thenReturn(121_000L);
+    when(transaction.getPayload()).thenReturn(Bytes.EMPTY);
+    final TransactionProcessingResult result = mock(TransactionProcessingResult.class);
+    when(result.getGasRemaining()).thenReturn(50_000L);
+    when(result.isSuccessful()).thenReturn(successful);
+    when(result.getOutput()).thenReturn(Bytes.EMPTY);
+    when(result.getRevertReason()).thenReturn(Optional.empty());
+    return new TransactionTrace(transaction, result, List.of());
+  }
+}
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
@@ -23,9 +24,15 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.response.SubscriptionResponse;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.Json;
 import io.vertx.junit5.VertxExtension;
@@ -82,6 +89,47 @@ public class SubscriptionManagerSendMessageTest {
     testContext.awaitCompletion(VERTX_AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
   }
 
+  @Test
+  public void shouldSendSameMessageToSeveralSubscriptions() throws Exception {
+    final String connectionId = UUID.randomUUID().toString();
+    final Long subscriptionId1 =
+        subscriptionManager.subscribe(
+            new SubscribeRequest(SubscriptionType.SYNCING, null, null, connectionId));
+    final Long subscriptionId2 =
+        subscriptionManager.subscribe(
+            new SubscribeRequest(SubscriptionType.SYNCING, null, null, connectionId));
+
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new Jdk8Module());
+    final JsonRpcResult result = new TestResult();
+    final Set<String> expectedResponses =
+        Set.of(
+            objectMapper.writeValueAsString(
+                new SubscriptionResponse(
+                    subscriptionManager.getSubscriptionById(subscriptionId1), result)),
+            objectMapper.writeValueAsString(
+                new SubscriptionResponse(
+                    subscriptionManager.getSubscriptionById(subscriptionId2), result)));
+    final Set<String> receivedResponses = ConcurrentHashMap.newKeySet();
+
+    vertx
+        .eventBus()
+        .<String>consumer(connectionId)
+        .handler(
+            msg -> {
+              receivedResponses.add(msg.body());
+              if (receivedResponses.size() == expectedResponses.size()) {
+                testContext.verify(
+                    () -> assertEquals(expectedResponses, Set.copyOf(receivedResponses)));
+                testContext.completeNow();
+              }
+            })
+        .completionHandler(
+            v ->
+                subscriptionManager.sendMessage(List.of(subscriptionId1, subscriptionId2), result));
+
+    assertTrue(testContext.awaitCompletion(VERTX_AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+  }
+
   @Test
   public void shouldNotSendMessageOnTheConnectionIdEventBusAddressForAbsentSubscription()
       throws InterruptedException {
@@ -102,4 +150,12 @@ public class SubscriptionManagerSendMessageTest {
 
     testContext.awaitCompletion(VERTX_AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
   }
+
+  private static class TestResult implements JsonRpcResult {
+
+    @JsonGetter("value")
+    public String getValue() {
+      return "0x1";
+    }
+  }
 }
@@ -72,7 +72,7 @@ public class LogsSubscriptionServiceTest {
   @BeforeEach
   public void before() {
     logsSubscriptionService = new LogsSubscriptionService(subscriptionManager);
-    blockchain.observeLogs(logsSubscriptionService);
+    blockchain.observeBlockAdded(logsSubscriptionService);
   }
 
   @Test
@@ -91,7 +91,8 @@ public class LogsSubscriptionServiceTest {
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager).sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+    verify(subscriptionManager)
+        .sendMessage(eq(List.of(subscription.getSubscriptionId())), captor.capture());
 
     final List<LogResult> logResults = captor.getAllValues();
 
@@ -126,7 +127,7 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(2))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessage(eq(List.of(subscription.getSubscriptionId())), captor.capture());
 
     final List<LogResult> logResults = captor.getAllValues();
 
@@ -171,7 +172,7 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(3))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessage(eq(List.of(subscription.getSubscriptionId())), captor.capture());
 
     final List<LogResult> logResults = captor.getAllValues();
 
@@ -209,7 +210,7 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(targetBlocks.size() * txCount))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessage(eq(List.of(subscription.getSubscriptionId())), captor.capture());
     final List<LogResult> logResults = captor.getAllValues();
 
     // Verify all logs are emitted
@@ -250,17 +251,47 @@ public class LogsSubscriptionServiceTest {
     registerSubscriptions(subscriptions);
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
-    for (LogsSubscription subscription : subscriptions) {
-      final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-      verify(subscriptionManager)
-          .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+    // the log is sent once to all the subscriptions
+    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
+    verify(subscriptionManager)
+        .sendMessage(
+            eq(subscriptions.stream().map(LogsSubscription::getSubscriptionId).toList()),
+            captor.capture());
 
-      final List<LogResult> logResults = captor.getAllValues();
+    final List<LogResult> logResults = captor.getAllValues();
 
-      assertThat(logResults).hasSize(1);
-      final LogResult result = logResults.get(0);
-      assertLogResultMatches(result, block, receipts, txIndex, logIndex, 3, false);
-    }
+    assertThat(logResults).hasSize(1);
+    final LogResult result = logResults.get(0);
+    assertLogResultMatches(result, block, receipts, txIndex, logIndex, 3, false);
+  }
+
+  @Test
+  public void subscriptionsByAddressAndByTopicForSingleMatchingLog() {
+    final BlockWithReceipts blockWithReceipts = generateBlock(2, 2, 2);
+    final Block block = blockWithReceipts.getBlock();
+    final List<TransactionReceipt> receipts = blockWithReceipts.getReceipts();
+
+    final int txIndex = 1;
+    final int logIndex = 1;
+    final Log targetLog = receipts.get(txIndex).getLogsList().get(logIndex);
+
+    final LogsSubscription addressSubscription = createSubscription(targetLog.getLogger());
+    final LogsSubscription topicSubscription =
+        createSubscription(Collections.emptyList(), List.of(List.of(targetLog.getTopics().get(0))));
+    final LogsSubscription otherTopicSubscription =
+        createSubscription(Collections.emptyList(), List.of(List.of(targetLog.getTopics().get(1))));
+    registerSubscriptions(addressSubscription, topicSubscription, otherTopicSubscription);
+    blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
+
+    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
+    verify(subscriptionManager)
+        .sendMessage(
+            eq(
+                List.of(
+                    addressSubscription.getSubscriptionId(),
+                    topicSubscription.getSubscriptionId())),
+            captor.capture());
+    assertLogResultMatches(captor.getValue(), block, receipts, txIndex, logIndex, 3, false);
   }
 
   @Test
@@ -274,7 +305,7 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(0))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessage(eq(List.of(subscription.getSubscriptionId())), captor.capture());
   }
 
   @Test
@@ -288,7 +319,7 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(0))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessage(eq(List.of(subscription.getSubscriptionId())), captor.capture());
   }
 
   private void assertLogResultMatches(
@@ -0,0 +1,73 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class LogsQueryIndexTest {
+
+  private static final Address FIRST_ADDRESS = Address.fromHexString("0x1");
+  private static final Address SECOND_ADDRESS = Address.fromHexString("0x2");
+  private static final LogTopic FIRST_TOPIC = LogTopic.fromHexString("01".repeat(32));
+  private static final LogTopic SECOND_TOPIC = LogTopic.fromHexString("02".repeat(32));
+
+  @Test
+  public void returnsOnlyTheMatchingQueries() {
+    final LogsQuery byAddress = new LogsQuery(List.of(FIRST_ADDRESS, FIRST_ADDRESS), null);
+    final LogsQuery byAddressAndTopic =
+        new LogsQuery(List.of(FIRST_ADDRESS), List.of(List.of(SECOND_TOPIC)));
+    final LogsQuery byFirstTopic = new LogsQuery(null, List.of(List.of(FIRST_TOPIC)));
+    final LogsQuery bySecondTopic = new LogsQuery(null, List.of(List.of(), List.of(FIRST_TOPIC)));
+    final LogsQuery byAnyFirstTopic =
+        new LogsQuery(null, List.of(Arrays.asList(SECOND_TOPIC, null)));
+    final LogsQuery all = new LogsQuery(null, null);
+    final LogsQueryIndex<LogsQuery> index =
+        new LogsQueryIndex<>(
+            List.of(
+                byAddress, byAddressAndTopic, byFirstTopic, bySecondTopic, byAnyFirstTopic, all),
+            Function.identity());
+
+    assertThat(index.matching(new Log(FIRST_ADDRESS, Bytes.EMPTY, List.of(FIRST_TOPIC))))
+        .containsExactly(byAddress, byFirstTopic, byAnyFirstTopic, all);
+    assertThat(index.matching(new Log(FIRST_ADDRESS, Bytes.EMPTY, List.of(SECOND_TOPIC))))
+        .containsExactly(byAddress, byAddressAndTopic, byAnyFirstTopic, all);
+    assertThat(
+            index.matching(
+                new Log(SECOND_ADDRESS, Bytes.EMPTY, List.of(SECOND_TOPIC, FIRST_TOPIC))))
+        .containsExactly(bySecondTopic, byAnyFirstTopic, all);
+    assertThat(index.matching(new Log(SECOND_ADDRESS, Bytes.EMPTY, List.of())))
+        .containsExactly(all);
+  }
+
+  @Test
+  public void returnsNothingWithoutQueries() {
+    final LogsQueryIndex<LogsQuery> index = new LogsQueryIndex<>(List.of(), Function.identity());
+
+    assertThat(index.matching(new Log(FIRST_ADDRESS, Bytes.EMPTY, singletonList(FIRST_TOPIC))))
+        .isEmpty();
+  }
+}
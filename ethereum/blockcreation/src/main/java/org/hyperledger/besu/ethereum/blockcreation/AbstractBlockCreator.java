@@ -55,10 +55,12 @@ import org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator;
 import org.hyperledger.besu.ethereum.mainnet.requests.RequestProcessingContext;
 import org.hyperledger.besu.ethereum.mainnet.requests.RequestProcessorCoordinator;
 import org.hyperledger.besu.ethereum.mainnet.systemcall.BlockProcessingContext;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
 import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.securitymodule.SecurityModuleException;
+import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelector;
 import org.hyperledger.besu.plugin.services.txselection.SelectorsStateManager;
 
@@ -191,6 +193,44 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final long timestamp,
       final boolean rewardCoinbase,
       final BlockHeader parentHeader) {
+    return createBlock(
+        maybeTransactions,
+        maybeOmmers,
+        maybeWithdrawals,
+        maybePrevRandao,
+        maybeParentBeaconBlockRoot,
+        timestamp,
+        rewardCoinbase,
+        parentHeader,
+        false);
+  }
+
+  /**
+   * Create a block, and when requested and its transaction selection can be resumed, a {@link
+   * BlockCreationCheckpoint} to later append other pending transactions to it with {@link
+   * #resumeBlock(BlockCreationCheckpoint)}.
+   *
+   * @param maybeTransactions the transactions to include, otherwise they are selected from the pool
+   * @param maybeOmmers the ommers to include
+   * @param maybeWithdrawals the withdrawals to process
+   * @param maybePrevRandao the prev randao of the block
+   * @param maybeParentBeaconBlockRoot the root hash of the parent beacon block
+   * @param timestamp the timestamp of the block
+   * @param rewardCoinbase whether to pay the block reward to the coinbase
+   * @param parentHeader the header of the parent block
+   * @param withCheckpoint whether to take a checkpoint of the transaction selection
+   * @return the block creation result, with the checkpoint if one was taken
+   */
+  public BlockCreationResult createBlock(
+      final Optional<List<Transaction>> maybeTransactions,
+      final Optional<List<BlockHeader>> maybeOmmers,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final Optional<Bytes32> maybePrevRandao,
+      final Optional<Bytes32> maybeParentBeaconBlockRoot,
+      final long timestamp,
+      final boolean rewardCoinbase,
+      final BlockHeader parentHeader,
+      final boolean withCheckpoint) {
 
     final var timings = new BlockCreationTiming();
 
@@ -239,7 +279,8 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
               newProtocolSpec,
               newProtocolSpec
                   .getPreExecutionProcessor()
-                  .createBlockHashLookup(protocolContext.getBlockchain(), processableBlockHeader),
+                  .createBlockHashLookup(
+                      protocolContext.getBlockchain(), processableBlockHeader, parentHeader),
               operationTracer,
               blockAccessListBuilder);
       newProtocolSpec
@@ -261,97 +302,161 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       transactionResults.logSelectionStats();
       timings.register("txsSelection");
 
-      final Optional<AccessLocationTracker> postExecutionAccessLocationTracker =
-          blockAccessListBuilder.map(
-              b ->
-                  BlockAccessListBuilder.createPostExecutionAccessLocationTracker(
-                      transactionResults.getSelectedTransactions().size()));
-
-      final Optional<WithdrawalsProcessor> maybeWithdrawalsProcessor =
-          newProtocolSpec.getWithdrawalsProcessor();
-
-      final boolean withdrawalsCanBeProcessed =
-          maybeWithdrawalsProcessor.isPresent() && maybeWithdrawals.isPresent();
-      if (withdrawalsCanBeProcessed) {
-        maybeWithdrawalsProcessor
-            .get()
-            .processWithdrawals(
-                maybeWithdrawals.get(),
-                disposableWorldState.updater(),
-                postExecutionAccessLocationTracker,
-                blockAccessListBuilder);
+      final BlockTransactionSelector currSelector = selector;
+      final Optional<BlockCreationCheckpoint> checkpoint =
+          withCheckpoint && currSelector.isResumable()
+              ? Optional.of(
+                  new BlockCreationCheckpoint(
+                      currSelector,
+                      transactionResults,
+                      forkWorldState(disposableWorldState, parentHeader),
+                      processableBlockHeader,
+                      newProtocolSpec,
+                      miningBeneficiary,
+                      operationTracer,
+                      ommers,
+                      maybeWithdrawals,
+                      rewardCoinbase,
+                      parentHeader))
+              : Optional.empty();
+      try {
+        return assembleBlock(
+            blockProcessingContext,
+            operationTracer,
+            transactionResults,
+            miningBeneficiary,
+            ommers,
+            maybeWithdrawals,
+            rewardCoinbase,
+            parentHeader,
+            timings,
+            checkpoint);
+      } catch (final RuntimeException ex) {
+        checkpoint.ifPresent(BlockCreationCheckpoint::close);
+        throw ex;
       }
+    } catch (final SecurityModuleException ex) {
+      throw new IllegalStateException("Failed to create block signature", ex);
+    } catch (final CancellationException | StorageException ex) {
+      throw ex;
+    } catch (final Exception ex) {
+      throw new IllegalStateException(
+          "Block creation failed unexpectedly. Will restart on next block added to chain.", ex);
+    }
+  }
 
-      // EIP-7685: process EL requests
-      final Optional<RequestProcessorCoordinator> requestProcessor =
-          newProtocolSpec.getRequestProcessorCoordinator();
-      RequestProcessingContext requestProcessingContext =
-          new RequestProcessingContext(blockProcessingContext, transactionResults.getReceipts());
-
-      Optional<List<Request>> maybeRequests =
-          requestProcessor.map(
-              processor ->
-                  processor.process(requestProcessingContext, postExecutionAccessLocationTracker));
-
-      postExecutionAccessLocationTracker.ifPresent(
-          tracker ->
-              blockAccessListBuilder.ifPresent(
-                  builder -> builder.apply(tracker, disposableWorldState.updater().updater())));
+  /**
+   * Resume the transaction selection of a block created with a checkpoint, to append the pending
+   * transactions that arrived since then, and assemble the block again. Only the appended
+   * transactions are executed, on the world state of the checkpoint, that is consumed unless there
+   * is nothing to append.
+   *
+   * <p>When an appended transaction would displace one that is already in the block, see {@link
+   * BlockTransactionSelector#resumeTransactionListForBlock}, the block is created again from the
+   * parent state.
+   *
+   * @param checkpoint the checkpoint of the block to resume
+   * @return the block with the appended transactions and its own checkpoint, if it can be resumed
+   *     again, or empty if there was nothing to append, in which case the same checkpoint can be
+   *     resumed later
+   */
+  public Optional<BlockCreationResult> resumeBlock(final BlockCreationCheckpoint checkpoint) {
+    if (isCancelled.get()) {
+      checkpoint.close();
+      throw new CancellationException("Block creation cancelled");
+    }
+    final var timings = new BlockCreationTiming();
+    final BlockTransactionSelector resumedSelector = checkpoint.getSelector();
+    selector = resumedSelector;
+    final TransactionSelectionResults previousResults = checkpoint.getTransactionSelectionResults();
+
+    final Optional<TransactionSelectionResults> maybeResults;
+    try {
+      maybeResults =
+          resumedSelector.resumeTransactionListForBlock(
+              checkpoint.getWorldState(), previousResults);
+    } catch (final RuntimeException ex) {
+      checkpoint.close();
+      throw ex;
+    }
+    timings.register("txsSelection");
+
+    if (maybeResults.isEmpty()) {
+      checkpoint.close();
+      final ProcessableBlockHeader processableBlockHeader = checkpoint.getProcessableBlockHeader();
+      return Optional.of(
+          createBlock(
+              Optional.empty(),
+              Optional.of(checkpoint.getOmmers()),
+              checkpoint.getMaybeWithdrawals(),
+              processableBlockHeader.getPrevRandao(),
+              processableBlockHeader.getParentBeaconBlockRoot(),
+              processableBlockHeader.getTimestamp(),
+              checkpoint.isRewardCoinbase(),
+              checkpoint.getParentHeader(),
+              true));
+    }
 
-      if (rewardCoinbase
-          && !rewardBeneficiary(
-              disposableWorldState,
+    final TransactionSelectionResults transactionResults = maybeResults.get();
+    final boolean resumable = resumedSelector.isResumable();
+    if (resumable
+        && transactionResults.getSelectedTransactions().size()
+            == previousResults.getSelectedTransactions().size()) {
+      // the world state of the checkpoint is untouched, so it can be resumed again
+      return Optional.empty();
+    }
+    transactionResults.logSelectionStats();
+
+    try (checkpoint) {
+      final MutableWorldState worldState = checkpoint.getWorldState();
+      final ProcessableBlockHeader processableBlockHeader = checkpoint.getProcessableBlockHeader();
+      final ProtocolSpec protocolSpec = checkpoint.getProtocolSpec();
+      final BlockHeader parentHeader = checkpoint.getParentHeader();
+      final BlockProcessingContext blockProcessingContext =
+          new BlockProcessingContext(
               processableBlockHeader,
-              ommers,
-              miningBeneficiary,
-              newProtocolSpec.getBlockReward(),
-              newProtocolSpec.isSkipZeroBlockRewards(),
-              newProtocolSpec)) {
-        LOG.trace("Failed to apply mining reward, exiting.");
-        throw new RuntimeException("Failed to apply mining reward.");
-      }
-
-      final GasUsage usage =
-          computeExcessBlobGas(transactionResults, newProtocolSpec, parentHeader);
-
-      BlockHeaderBuilder builder =
-          BlockHeaderBuilder.create()
-              .populateFrom(processableBlockHeader)
-              .ommersHash(BodyValidation.ommersHash(ommers))
-              .stateRoot(disposableWorldState.rootHash())
-              .transactionsRoot(
-                  BodyValidation.transactionsRoot(transactionResults.getSelectedTransactions()))
-              .receiptsRoot(BodyValidation.receiptsRoot(transactionResults.getReceipts()))
-              .logsBloom(BodyValidation.logsBloom(transactionResults.getReceipts()))
-              .gasUsed(transactionResults.getCumulativeGasUsed())
-              .extraData(extraDataCalculator.get(parentHeader))
-              .withdrawalsRoot(
-                  withdrawalsCanBeProcessed
-                      ? BodyValidation.withdrawalsRoot(maybeWithdrawals.get())
-                      : null)
-              .requestsHash(maybeRequests.map(BodyValidation::requestsHash).orElse(null));
-
-      final Optional<BlockAccessList> blockAccessList =
-          blockAccessListBuilder.map(BlockAccessListBuilder::build);
-      blockAccessList.ifPresent(b -> builder.balHash(BodyValidation.balHash(b)));
-      if (usage != null) {
-        builder.blobGasUsed(usage.used.toLong()).excessBlobGas(usage.excessBlobGas);
+              worldState,
+              protocolSpec,
+              protocolSpec
+                  .getPreExecutionProcessor()
+                  .createBlockHashLookup(
+                      protocolContext.getBlockchain(), processableBlockHeader, parentHeader),
+              checkpoint.getOperationTracer(),
+              Optional.empty());
+
+      final Optional<BlockCreationCheckpoint> nextCheckpoint =
+          resumable
+              ? Optional.of(
+                  new BlockCreationCheckpoint(
+                      resumedSelector,
+                      transactionResults,
+                      forkWorldState(worldState, parentHeader),
+                      processableBlockHeader,
+                      protocolSpec,
+                      checkpoint.getMiningBeneficiary(),
+                      checkpoint.getOperationTracer(),
+                      checkpoint.getOmmers(),
+                      checkpoint.getMaybeWithdrawals(),
+                      checkpoint.isRewardCoinbase(),
+                      parentHeader))
+              : Optional.empty();
+      try {
+        return Optional.of(
+            assembleBlock(
+                blockProcessingContext,
+                checkpoint.getOperationTracer(),
+                transactionResults,
+                checkpoint.getMiningBeneficiary(),
+                checkpoint.getOmmers(),
+                checkpoint.getMaybeWithdrawals(),
+                checkpoint.isRewardCoinbase(),
+                parentHeader,
+                timings,
+                nextCheckpoint));
+      } catch (final RuntimeException ex) {
+        nextCheckpoint.ifPresent(BlockCreationCheckpoint::close);
+        throw ex;
       }
-
-      final SealableBlockHeader sealableBlockHeader = builder.buildSealableBlockHeader();
-
-      final BlockHeader blockHeader = createFinalBlockHeader(sealableBlockHeader);
-
-      final Optional<List<Withdrawal>> withdrawals =
-          withdrawalsCanBeProcessed ? maybeWithdrawals : Optional.empty();
-      final BlockBody blockBody =
-          new BlockBody(
-              transactionResults.getSelectedTransactions(), ommers, withdrawals, blockAccessList);
-      final Block block = new Block(blockHeader, blockBody);
-
-      operationTracer.traceEndBlock(blockHeader, blockBody);
-      timings.register("blockAssembled");
-      return new BlockCreationResult(block, transactionResults, timings);
     } catch (final SecurityModuleException ex) {
       throw new IllegalStateException("Failed to create block signature", ex);
     } catch (final CancellationException | StorageException ex) {
@@ -362,6 +467,128 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     }
   }
 
+  /**
+   * Copy the changes made so far to a world state to a new world state at the parent block, so they
+   * are not affected by the changes made to assemble the block.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private MutableWorldState forkWorldState(
+      final MutableWorldState worldState, final BlockHeader parentHeader) {
+    final MutableWorldState fork = duplicateWorldStateAtParent(parentHeader);
+    ((PathBasedWorldStateUpdateAccumulator) fork.updater())
+        .importStateChangesFromSource((PathBasedWorldStateUpdateAccumulator) worldState.updater());
+    return fork;
+  }
+
+  private BlockCreationResult assembleBlock(
+      final BlockProcessingContext blockProcessingContext,
+      final BlockAwareOperationTracer operationTracer,
+      final TransactionSelectionResults transactionResults,
+      final Address miningBeneficiary,
+      final List<BlockHeader> ommers,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final boolean rewardCoinbase,
+      final BlockHeader parentHeader,
+      final BlockCreationTiming timings,
+      final Optional<BlockCreationCheckpoint> checkpoint) {
+    final MutableWorldState disposableWorldState = blockProcessingContext.getWorldState();
+    final ProcessableBlockHeader processableBlockHeader = blockProcessingContext.getBlockHeader();
+    final ProtocolSpec newProtocolSpec = blockProcessingContext.getProtocolSpec();
+    final Optional<BlockAccessListBuilder> blockAccessListBuilder =
+        blockProcessingContext.getBlockAccessListBuilder();
+
+    final Optional<AccessLocationTracker> postExecutionAccessLocationTracker =
+        blockAccessListBuilder.map(
+            b ->
+                BlockAccessListBuilder.createPostExecutionAccessLocationTracker(
+                    transactionResults.getSelectedTransactions().size()));
+
+    final Optional<WithdrawalsProcessor> maybeWithdrawalsProcessor =
+        newProtocolSpec.getWithdrawalsProcessor();
+
+    final boolean withdrawalsCanBeProcessed =
+        maybeWithdrawalsProcessor.isPresent() && maybeWithdrawals.isPresent();
+    if (withdrawalsCanBeProcessed) {
+      maybeWithdrawalsProcessor
+          .get()
+          .processWithdrawals(
+              maybeWithdrawals.get(),
+              disposableWorldState.updater(),
+              postExecutionAccessLocationTracker,
+              blockAccessListBuilder);
+    }
+
+    // EIP-7685: process EL requests
+    final Optional<RequestProcessorCoordinator> requestProcessor =
+        newProtocolSpec.getRequestProcessorCoordinator();
+    RequestProcessingContext requestProcessingContext =
+        new RequestProcessingContext(blockProcessingContext, transactionResults.getReceipts());
+
+    Optional<List<Request>> maybeRequests =
+        requestProcessor.map(
+            processor ->
+                processor.process(requestProcessingContext, postExecutionAccessLocationTracker));
+
+    postExecutionAccessLocationTracker.ifPresent(
+        tracker ->
+            blockAccessListBuilder.ifPresent(
+                builder -> builder.apply(tracker, disposableWorldState.updater().updater())));
+
+    if (rewardCoinbase
+        && !rewardBeneficiary(
+            disposableWorldState,
+            processableBlockHeader,
+            ommers,
+            miningBeneficiary,
+            newProtocolSpec.getBlockReward(),
+            newProtocolSpec.isSkipZeroBlockRewards(),
+            newProtocolSpec)) {
+      LOG.trace("Failed to apply mining reward, exiting.");
+      throw new RuntimeException("Failed to apply mining reward.");
+    }
+
+    final GasUsage usage = computeExcessBlobGas(transactionResults, newProtocolSpec, parentHeader);
+
+    BlockHeaderBuilder builder =
+        BlockHeaderBuilder.create()
+            .populateFrom(processableBlockHeader)
+            .ommersHash(BodyValidation.ommersHash(ommers))
+            .stateRoot(disposableWorldState.rootHash())
+            .transactionsRoot(
+                BodyValidation.transactionsRoot(transactionResults.getSelectedTransactions()))
+            .receiptsRoot(BodyValidation.receiptsRoot(transactionResults.getReceipts()))
+            .logsBloom(BodyValidation.logsBloom(transactionResults.getReceipts()))
+            .gasUsed(transactionResults.getCumulativeGasUsed())
+            .extraData(extraDataCalculator.get(parentHeader))
+            .withdrawalsRoot(
+                withdrawalsCanBeProcessed
+                    ? BodyValidation.withdrawalsRoot(maybeWithdrawals.get())
+                    : null)
+            .requestsHash(maybeRequests.map(BodyValidation::requestsHash).orElse(null));
+
+    final Optional<BlockAccessList> blockAccessList =
+        blockAccessListBuilder.map(BlockAccessListBuilder::build);
+    blockAccessList.ifPresent(b -> builder.balHash(BodyValidation.balHash(b)));
+    if (usage != null) {
+      builder.blobGasUsed(usage.used.toLong()).excessBlobGas(usage.excessBlobGas);
+    }
+
+    final SealableBlockHeader sealableBlockHeader = builder.buildSealableBlockHeader();
+
+    final BlockHeader blockHeader = createFinalBlockHeader(sealableBlockHeader);
+
+    final Optional<List<Withdrawal>> withdrawals =
+        withdrawalsCanBeProcessed ? maybeWithdrawals : Optional.empty();
+    final BlockBody blockBody =
+        new BlockBody(
+            transactionResults.getSelectedTransactions(), ommers, withdrawals, blockAccessList);
+    final Block block = new Block(blockHeader, blockBody);
+
+    operationTracer.traceEndBlock(blockHeader, blockBody);
+    timings.register("blockAssembled");
+    return new BlockCreationResult(block, transactionResults, timings, checkpoint);
+  }
+
   record GasUsage(BlobGas excessBlobGas, BlobGas used) {}
 
   private GasUsage computeExcessBlobGas(
@@ -413,8 +640,10 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
             transactionProcessor,
             protocolContext.getBlockchain(),
             disposableWorldState,
+            protocolContext.getWorldStateArchive(),
             transactionPool,
             processableBlockHeader,
+            parentHeader,
             transactionReceiptFactory,
             miningBeneficiary,
             blobGasPrice,
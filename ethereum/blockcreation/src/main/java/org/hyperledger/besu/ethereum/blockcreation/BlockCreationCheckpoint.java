@@ -0,0 +1,144 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.BlockTransactionSelector;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSelectionResults;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Withdrawal;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The state of a block creation right after its transaction selection, before the block is
+ * finalized, that {@link AbstractBlockCreator#resumeBlock(BlockCreationCheckpoint)} uses to append
+ * the pending transactions that arrive later to the same block.
+ *
+ * <p>It owns a fork of the world state with the changes of the selected transactions, taken before
+ * the withdrawals, the requests and the rewards are applied, so it must be closed when it is not
+ * going to be resumed. Closing it more than once has no effect.
+ */
+public class BlockCreationCheckpoint implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockCreationCheckpoint.class);
+
+  private final BlockTransactionSelector selector;
+  private final TransactionSelectionResults transactionSelectionResults;
+  private final MutableWorldState worldState;
+  private final ProcessableBlockHeader processableBlockHeader;
+  private final ProtocolSpec protocolSpec;
+  private final Address miningBeneficiary;
+  private final BlockAwareOperationTracer operationTracer;
+  private final List<BlockHeader> ommers;
+  private final Optional<List<Withdrawal>> maybeWithdrawals;
+  private final boolean rewardCoinbase;
+  private final BlockHeader parentHeader;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  BlockCreationCheckpoint(
+      final BlockTransactionSelector selector,
+      final TransactionSelectionResults transactionSelectionResults,
+      final MutableWorldState worldState,
+      final ProcessableBlockHeader processableBlockHeader,
+      final ProtocolSpec protocolSpec,
+      final Address miningBeneficiary,
+      final BlockAwareOperationTracer operationTracer,
+      final List<BlockHeader> ommers,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final boolean rewardCoinbase,
+      final BlockHeader parentHeader) {
+    this.selector = selector;
+    this.transactionSelectionResults = transactionSelectionResults;
+    this.worldState = worldState;
+    this.processableBlockHeader = processableBlockHeader;
+    this.protocolSpec = protocolSpec;
+    this.miningBeneficiary = miningBeneficiary;
+    this.operationTracer = operationTracer;
+    this.ommers = ommers;
+    this.maybeWithdrawals = maybeWithdrawals;
+    this.rewardCoinbase = rewardCoinbase;
+    this.parentHeader = parentHeader;
+  }
+
+  /**
+   * The results of the transaction selection of the block this checkpoint was taken from.
+   *
+   * @return the transaction selection results
+   */
+  public TransactionSelectionResults getTransactionSelectionResults() {
+    return transactionSelectionResults;
+  }
+
+  BlockTransactionSelector getSelector() {
+    return selector;
+  }
+
+  MutableWorldState getWorldState() {
+    return worldState;
+  }
+
+  ProcessableBlockHeader getProcessableBlockHeader() {
+    return processableBlockHeader;
+  }
+
+  ProtocolSpec getProtocolSpec() {
+    return protocolSpec;
+  }
+
+  Address getMiningBeneficiary() {
+    return miningBeneficiary;
+  }
+
+  BlockAwareOperationTracer getOperationTracer() {
+    return operationTracer;
+  }
+
+  List<BlockHeader> getOmmers() {
+    return ommers;
+  }
+
+  Optional<List<Withdrawal>> getMaybeWithdrawals() {
+    return maybeWithdrawals;
+  }
+
+  boolean isRewardCoinbase() {
+    return rewardCoinbase;
+  }
+
+  BlockHeader getParentHeader() {
+    return parentHeader;
+  }
+
+  @Override
+  public void close() {
+    if (closed.getAndSet(true)) {
+      return;
+    }
+    try {
+      worldState.close();
+    } catch (final Exception e) {
+      LOG.debug("Failed to close the world state of the block creation checkpoint", e);
+    }
+  }
+}
@@ -27,14 +27,24 @@ public interface BlockCreator {
     private final Block block;
     private final TransactionSelectionResults transactionSelectionResults;
     private final BlockCreationTiming blockCreationTiming;
+    private final Optional<BlockCreationCheckpoint> checkpoint;
 
     public BlockCreationResult(
         final Block block,
         final TransactionSelectionResults transactionSelectionResults,
         final BlockCreationTiming timings) {
+      this(block, transactionSelectionResults, timings, Optional.empty());
+    }
+
+    public BlockCreationResult(
+        final Block block,
+        final TransactionSelectionResults transactionSelectionResults,
+        final BlockCreationTiming timings,
+        final Optional<BlockCreationCheckpoint> checkpoint) {
       this.block = block;
       this.transactionSelectionResults = transactionSelectionResults;
       this.blockCreationTiming = timings;
+      this.checkpoint = checkpoint;
     }
 
     public Block getBlock() {
@@ -48,6 +58,16 @@ public interface BlockCreator {
     public BlockCreationTiming getBlockCreationTimings() {
       return blockCreationTiming;
     }
+
+    /**
+     * The checkpoint to append later pending transactions to this block, present only when it was
+     * requested and the transaction selection can be resumed.
+     *
+     * @return the checkpoint of the transaction selection of this block, if any
+     */
+    public Optional<BlockCreationCheckpoint> getCheckpoint() {
+      return checkpoint;
+    }
   }
 
   BlockCreationResult createBlock(final long timestamp, final BlockHeader parentHeader);
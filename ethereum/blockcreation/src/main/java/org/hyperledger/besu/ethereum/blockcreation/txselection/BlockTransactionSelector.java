@@ -14,6 +14,10 @@
  */
 package org.hyperledger.besu.ethereum.blockcreation.txselection;
 
+import static com.google.common.base.Preconditions.checkState;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOBS_FULL;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_FULL;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_OCCUPANCY_ABOVE_THRESHOLD;
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_SELECTION_TIMEOUT;
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_SELECTION_TIMEOUT_INVALID_TX;
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.INTERNAL_ERROR;
@@ -22,9 +26,13 @@ import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.PLUGIN
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.PLUGIN_SELECTION_TIMEOUT_INVALID_TX;
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECTED;
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECTION_CANCELLED;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.TOO_LARGE_FOR_REMAINING_BLOCK_SIZE;
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.TX_EVALUATION_TOO_LONG;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.TX_TOO_LARGE_FOR_REMAINING_BLOB_GAS;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.TX_TOO_LARGE_FOR_REMAINING_GAS;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.AbstractTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlobPriceTransactionSelector;
@@ -36,6 +44,7 @@ import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.PriceTr
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.ProcessingResultTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.SkipSenderTransactionSelector;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
@@ -43,6 +52,7 @@ import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
@@ -51,7 +61,11 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
@@ -63,8 +77,13 @@ import org.hyperledger.besu.plugin.services.txselection.SelectorsStateManager;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -75,6 +94,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,19 +117,30 @@ import org.slf4j.LoggerFactory;
  * </ul>
  *
  * Once "used" this class must be discarded and another created. This class contains state which is
- * not cleared between executions of buildTransactionListForBlock().
+ * not cleared between executions of buildTransactionListForBlock(). The only exception is {@link
+ * #resumeTransactionListForBlock}, that continues a previous selection of the same block.
  */
 @SuppressWarnings("unchecked")
 public class BlockTransactionSelector implements BlockTransactionSelectionService {
   private static final Logger LOG = LoggerFactory.getLogger(BlockTransactionSelector.class);
   private static final long CANCELLATION_GRACE_TIME_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  // the results of the selectors when a candidate does not fit in the remaining space of the block
+  private static final Set<TransactionSelectionResult> BLOCK_CAPACITY_RESULTS =
+      Set.of(
+          BLOCK_FULL,
+          BLOBS_FULL,
+          BLOCK_OCCUPANCY_ABOVE_THRESHOLD,
+          TX_TOO_LARGE_FOR_REMAINING_GAS,
+          TX_TOO_LARGE_FOR_REMAINING_BLOB_GAS,
+          TOO_LARGE_FOR_REMAINING_BLOCK_SIZE);
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
   private final MainnetTransactionProcessor transactionProcessor;
   private final Blockchain blockchain;
-  private final MutableWorldState worldState;
+  private final BlockHeader parentHeader;
+  private MutableWorldState worldState;
   private final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory;
   private final BlockSelectionContext blockSelectionContext;
-  private final TransactionSelectionResults transactionSelectionResults =
+  private TransactionSelectionResults transactionSelectionResults =
       new TransactionSelectionResults();
   private final List<AbstractTransactionSelector> transactionSelectors;
   private final SelectorsStateManager selectorsStateManager;
@@ -121,6 +152,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   private final long blockTxsSelectionMaxTimeNanos;
   private final long pluginTxsSelectionMaxTimeNanos;
   private final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder;
+  private final Optional<TransactionPreEvaluator> maybeTransactionPreEvaluator;
   private WorldUpdater blockWorldStateUpdater;
   private WorldUpdater txWorldStateUpdater;
   private volatile TransactionEvaluationContext currTxEvaluationContext;
@@ -129,14 +161,17 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   private volatile TransactionSelectionResult validTxSelectionTimeoutResult;
   private volatile TransactionSelectionResult invalidTxSelectionTimeoutResult;
   private volatile FutureTask<Void> currTxSelectionTask;
+  private volatile PreviousSelection previousSelection;
 
   public BlockTransactionSelector(
       final MiningConfiguration miningConfiguration,
       final MainnetTransactionProcessor transactionProcessor,
       final Blockchain blockchain,
       final MutableWorldState worldState,
+      final WorldStateArchive worldStateArchive,
       final TransactionPool transactionPool,
       final ProcessableBlockHeader processableBlockHeader,
+      final BlockHeader parentHeader,
       final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory,
       final Address miningBeneficiary,
       final Wei blobGasPrice,
@@ -147,6 +182,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder) {
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
+    this.parentHeader = parentHeader;
     this.worldState = worldState;
     this.transactionReceiptFactory = transactionReceiptFactory;
     this.ethScheduler = ethScheduler;
@@ -173,6 +209,33 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     this.pluginTxsSelectionMaxTimeNanos =
         miningConfiguration.getPluginTxsSelectionMaxTime(blockTxsSelectionMaxTime).toNanos();
     this.maybeBlockAccessListBuilder = maybeBlockAccessListBuilder;
+    this.maybeTransactionPreEvaluator =
+        createTransactionPreEvaluator(
+            miningConfiguration.getUnstable().getTxsSelectionPreEvaluationWindow(),
+            worldStateArchive);
+  }
+
+  private Optional<TransactionPreEvaluator> createTransactionPreEvaluator(
+      final int window, final WorldStateArchive worldStateArchive) {
+    // pre-evaluated transactions are not traced, and can only be reused on top of a path based
+    // world state, that tracks what each transaction read
+    if (window == 0
+        || !(worldState instanceof PathBasedWorldState)
+        || maybeBlockAccessListBuilder.isPresent()
+        || pluginTransactionSelector.getOperationTracer() != BlockAwareOperationTracer.NO_TRACING) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new TransactionPreEvaluator(
+            transactionProcessor,
+            worldStateArchive,
+            parentHeader,
+            blockSelectionContext.pendingBlockHeader(),
+            blockSelectionContext.miningBeneficiary(),
+            blockSelectionContext.blobGasPrice(),
+            this::createBlockHashLookup,
+            ethScheduler,
+            window));
   }
 
   private List<AbstractTransactionSelector> createTransactionSelectors(
@@ -206,6 +269,67 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     return transactionSelectionResults;
   }
 
+  /**
+   * Whether the selection that just completed can be continued with {@link
+   * #resumeTransactionListForBlock}. This is only possible when it was not cut short by a timeout
+   * or a cancellation, no plugin takes part in the selection, since its state could not be kept,
+   * and no block access list is built. The world state must be a path based one, to fork it with
+   * the changes of the selected transactions.
+   *
+   * @return true if the selection can be resumed
+   */
+  public boolean isResumable() {
+    return worldState instanceof PathBasedWorldState
+        && maybeBlockAccessListBuilder.isEmpty()
+        && pluginTransactionSelector == PluginTransactionSelector.ACCEPT_ALL
+        && !isTimeout.get()
+        && !isCancelled.get();
+  }
+
+  /**
+   * Resumes a previous selection of this selector, to append the pending transactions that arrived
+   * since then to the same block. The transactions already selected are kept in place and not
+   * executed again, and the new candidates from the pool are executed on top of a fork of the world
+   * state at the end of the previous selection.
+   *
+   * <p>A candidate that ranks before some of the already selected transactions, but does not fit in
+   * the remaining space of the block, would take the place of one of them if the block was selected
+   * again from the parent state, like a candidate replacing one of them. In these cases the earlier
+   * transactions cannot be kept, so the resumed selection stops and returns empty, and the block
+   * must be selected again from the parent state with a new selector.
+   *
+   * @param forkedWorldState a fork of the world state at the end of the previous selection
+   * @param previousResults the results of the previous selection
+   * @return the results with the appended transactions, or empty if some already selected
+   *     transaction is displaced
+   */
+  public Optional<TransactionSelectionResults> resumeTransactionListForBlock(
+      final MutableWorldState forkedWorldState, final TransactionSelectionResults previousResults) {
+    checkState(isResumable(), "The previous transaction selection cannot be resumed");
+    worldState = forkedWorldState;
+    blockWorldStateUpdater = worldState.updater();
+    txWorldStateUpdater = blockWorldStateUpdater.updater();
+    // the lists of the previous results are also the ones of the block built from them
+    transactionSelectionResults = previousResults.copy();
+    currentTxnLocation.set(previousResults.getSelectedTransactions().size());
+    final PreviousSelection resumed = new PreviousSelection(previousResults);
+    previousSelection = resumed;
+    try {
+      timeLimitedSelection();
+    } finally {
+      previousSelection = null;
+    }
+    if (resumed.isDisplaced()) {
+      LOG.debug("A selected transaction is displaced, the resumed selection is discarded");
+      return Optional.empty();
+    }
+    LOG.atTrace()
+        .setMessage("Resumed transaction selection result {}")
+        .addArgument(transactionSelectionResults::toTraceLog)
+        .log();
+    return Optional.of(transactionSelectionResults);
+  }
+
   public void cancel() {
     isCancelled.set(true);
     if (currTxSelectionTask != null) {
@@ -219,7 +343,10 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
 
     selectorsStateManager.blockSelectionStarted();
 
-    pluginTimeLimitedSelection(startTime);
+    // the plugin only selects its transactions at the start of the block, not when it is resumed
+    if (previousSelection == null) {
+      pluginTimeLimitedSelection(startTime);
+    }
 
     final long elapsedPluginTxsSelectionTime = System.nanoTime() - startTime;
     final long remainingSelectionTime =
@@ -252,7 +379,13 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
                   .addArgument(() -> nanosToMillis(remainingSelectionTime))
                   .addArgument(blockSelectionContext.transactionPool()::logStats)
                   .log();
-              blockSelectionContext.transactionPool().selectTransactions(this::evaluateTransaction);
+              try {
+                blockSelectionContext
+                    .transactionPool()
+                    .selectTransactions(createPoolTransactionSelector());
+              } finally {
+                maybeTransactionPreEvaluator.ifPresent(TransactionPreEvaluator::stop);
+              }
             },
             null);
     ethScheduler.scheduleBlockCreationTask(
@@ -442,12 +575,77 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   public TransactionSelectionResults evaluateTransactions(final List<Transaction> transactions) {
     selectorsStateManager.blockSelectionStarted();
 
-    transactions.forEach(
-        transaction -> evaluateTransaction(new PendingTransaction.Local.Priority(transaction)));
+    final List<PendingTransaction> pendingTransactions =
+        transactions.stream()
+            .<PendingTransaction>map(PendingTransaction.Local.Priority::new)
+            .toList();
+    maybeTransactionPreEvaluator.ifPresent(
+        preEvaluator -> preEvaluator.candidatesReady(pendingTransactions.iterator()));
+    try {
+      pendingTransactions.forEach(this::evaluateTransaction);
+    } finally {
+      maybeTransactionPreEvaluator.ifPresent(TransactionPreEvaluator::stop);
+    }
 
     return transactionSelectionResults;
   }
 
+  private PendingTransactions.TransactionSelector createPoolTransactionSelector() {
+    if (maybeTransactionPreEvaluator.isEmpty()) {
+      return this::evaluatePoolTransaction;
+    }
+    final TransactionPreEvaluator preEvaluator = maybeTransactionPreEvaluator.get();
+    return new PendingTransactions.TransactionSelector() {
+      @Override
+      public TransactionSelectionResult evaluateTransaction(
+          final PendingTransaction pendingTransaction) {
+        return evaluatePoolTransaction(pendingTransaction);
+      }
+
+      @Override
+      public void candidatesReady(final Iterator<PendingTransaction> candidates) {
+        final PreviousSelection resumed = previousSelection;
+        preEvaluator.candidatesReady(
+            resumed == null
+                ? candidates
+                : Iterators.filter(candidates, candidate -> !resumed.contains(candidate)));
+      }
+    };
+  }
+
+  private TransactionSelectionResult evaluatePoolTransaction(
+      final PendingTransaction pendingTransaction) {
+    final PreviousSelection resumed = previousSelection;
+    if (resumed == null) {
+      return evaluateTransaction(pendingTransaction);
+    }
+
+    if (resumed.contains(pendingTransaction)) {
+      // already in the block
+      resumed.encountered(pendingTransaction);
+      return SELECTED;
+    }
+    if (resumed.isReplacedBy(pendingTransaction)) {
+      LOG.atTrace()
+          .setMessage("Pending transaction {} replaces a selected one")
+          .addArgument(pendingTransaction::toTraceLog)
+          .log();
+      return resumed.displace();
+    }
+
+    final TransactionSelectionResult evaluationResult = evaluateTransaction(pendingTransaction);
+    if (!evaluationResult.selected()
+        && resumed.hasNotEncounteredAll()
+        && BLOCK_CAPACITY_RESULTS.contains(evaluationResult)) {
+      LOG.atTrace()
+          .setMessage("Pending transaction {} ranks before a selected one, but does not fit")
+          .addArgument(pendingTransaction::toTraceLog)
+          .log();
+      return resumed.displace();
+    }
+    return evaluationResult;
+  }
+
   private TransactionSelectionResult evaluateTransaction(
       final PendingTransaction pendingTransaction) {
 
@@ -613,10 +811,21 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
    * @return The result of the transaction processing.
    */
   private TransactionProcessingResult processTransaction(final Transaction transaction) {
-    final BlockHashLookup blockHashLookup =
-        blockSelectionContext
-            .preExecutionProcessor()
-            .createBlockHashLookup(blockchain, blockSelectionContext.pendingBlockHeader());
+    if (maybeTransactionPreEvaluator.isPresent()) {
+      final TransactionPreEvaluator preEvaluator = maybeTransactionPreEvaluator.get();
+      final PathBasedWorldStateUpdateAccumulator<?> blockAccumulator =
+          (PathBasedWorldStateUpdateAccumulator<?>) blockWorldStateUpdater;
+      final Optional<ParallelizedTransactionContext> maybePreEvaluated =
+          preEvaluator.take(transaction, blockAccumulator);
+      if (maybePreEvaluated.isPresent()) {
+        // the changes of the pre-evaluation are added to the block on commit, in place of the
+        // changes of the transaction world state updater, that is left empty
+        selectedTxPendingActions.add(
+            () -> preEvaluator.apply(maybePreEvaluated.get(), blockAccumulator));
+        return maybePreEvaluated.get().transactionProcessingResult();
+      }
+    }
+    final BlockHashLookup blockHashLookup = createBlockHashLookup();
     final Optional<AccessLocationTracker> transactionLocationTracker =
         maybeBlockAccessListBuilder.map(
             b ->
@@ -636,6 +845,13 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     return result;
   }
 
+  private BlockHashLookup createBlockHashLookup() {
+    return blockSelectionContext
+        .preExecutionProcessor()
+        .createBlockHashLookup(
+            blockchain, blockSelectionContext.pendingBlockHeader(), parentHeader);
+  }
+
   /**
    * Handles a selected transaction by committing the world state updates, creating a transaction
    * receipt, updating the TransactionSelectionResults with the selected transaction, and notifying
@@ -819,4 +1035,57 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   private long nanosToMillis(final long nanos) {
     return TimeUnit.NANOSECONDS.toMillis(nanos);
   }
+
+  /**
+   * The transactions selected by a previous selection, while it is resumed. The pool returns the
+   * candidates in order, so a candidate that comes before some of them would have been selected
+   * before them, if the block was selected again from the parent state.
+   */
+  private static final class PreviousSelection {
+    private final Map<SenderNonce, Hash> selectedBySenderNonce = new HashMap<>();
+    private final Set<Hash> notEncountered = new HashSet<>();
+    private volatile boolean displaced = false;
+
+    private PreviousSelection(final TransactionSelectionResults previousResults) {
+      for (final Transaction transaction : previousResults.getSelectedTransactions()) {
+        selectedBySenderNonce.put(
+            new SenderNonce(transaction.getSender(), transaction.getNonce()),
+            transaction.getHash());
+        notEncountered.add(transaction.getHash());
+      }
+    }
+
+    private boolean contains(final PendingTransaction pendingTransaction) {
+      final Hash selected = selectedBySenderNonce.get(key(pendingTransaction));
+      return pendingTransaction.getHash().equals(selected);
+    }
+
+    private boolean isReplacedBy(final PendingTransaction pendingTransaction) {
+      return selectedBySenderNonce.containsKey(key(pendingTransaction));
+    }
+
+    private void encountered(final PendingTransaction pendingTransaction) {
+      notEncountered.remove(pendingTransaction.getHash());
+    }
+
+    private boolean hasNotEncounteredAll() {
+      return !notEncountered.isEmpty();
+    }
+
+    private TransactionSelectionResult displace() {
+      displaced = true;
+      // stop the selection, without penalizing the candidate
+      return SELECTION_CANCELLED;
+    }
+
+    private boolean isDisplaced() {
+      return displaced;
+    }
+
+    private static SenderNonce key(final PendingTransaction pendingTransaction) {
+      return new SenderNonce(pendingTransaction.getSender(), pendingTransaction.getNonce());
+    }
+
+    private record SenderNonce(Address sender, long nonce) {}
+  }
 }
@@ -0,0 +1,307 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.TransactionCollisionDetector;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Speculatively executes the upcoming candidates of a block transaction selection on worker
+ * threads, while the selection is still evaluating the preceding ones.
+ *
+ * <p>Each candidate is executed against its own copy of the parent world state, so its accumulator
+ * records every account and storage slot it read or wrote. When the selection reaches a
+ * pre-evaluated candidate, the speculative result is reused only if none of them was modified by
+ * the transactions already added to the block, which is checked with the same {@link
+ * TransactionCollisionDetector} used by the parallel block import. Otherwise, or if the
+ * pre-evaluation of the candidate has not started yet, the candidate is executed as usual.
+ *
+ * <p>Only successful and invalid results are reused, like for the parallel block import, reverted
+ * and failed candidates are always executed again.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+class TransactionPreEvaluator {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionPreEvaluator.class);
+
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final WorldStateArchive worldStateArchive;
+  private final BlockHeader parentHeader;
+  private final ProcessableBlockHeader pendingBlockHeader;
+  private final Address miningBeneficiary;
+  private final Wei blobGasPrice;
+  private final Supplier<BlockHashLookup> blockHashLookupSupplier;
+  private final EthScheduler ethScheduler;
+  private final int window;
+  private final TransactionCollisionDetector transactionCollisionDetector;
+  private final Deque<PreEvaluation> preEvaluations = new ArrayDeque<>();
+  private Iterator<PendingTransaction> upcomingCandidates = Collections.emptyIterator();
+  private int reusedCount;
+  private int replayedCount;
+
+  TransactionPreEvaluator(
+      final MainnetTransactionProcessor transactionProcessor,
+      final WorldStateArchive worldStateArchive,
+      final BlockHeader parentHeader,
+      final ProcessableBlockHeader pendingBlockHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final Supplier<BlockHashLookup> blockHashLookupSupplier,
+      final EthScheduler ethScheduler,
+      final int window) {
+    this.transactionProcessor = transactionProcessor;
+    this.worldStateArchive = worldStateArchive;
+    this.parentHeader = parentHeader;
+    this.pendingBlockHeader = pendingBlockHeader;
+    this.miningBeneficiary = miningBeneficiary;
+    this.blobGasPrice = blobGasPrice;
+    this.blockHashLookupSupplier = blockHashLookupSupplier;
+    this.ethScheduler = ethScheduler;
+    this.window = window;
+    this.transactionCollisionDetector = new TransactionCollisionDetector();
+  }
+
+  /**
+   * Starts the pre-evaluation of the first candidates of the selection.
+   *
+   * @param candidates the candidates in the order they are going to be evaluated
+   */
+  void candidatesReady(final Iterator<PendingTransaction> candidates) {
+    cancelAll();
+    upcomingCandidates = candidates;
+    scheduleUpcoming();
+  }
+
+  /**
+   * Returns the pre-evaluation of a transaction if it can be reused on top of the changes already
+   * in the block, waiting for it to complete if it is in progress. In any case, the pre-evaluation
+   * of the following candidates is started.
+   *
+   * @param transaction the transaction the selection is evaluating
+   * @param blockAccumulator the accumulator of the changes already in the block
+   * @return the reusable pre-evaluation of the transaction, or empty if it must be executed
+   */
+  Optional<ParallelizedTransactionContext> take(
+      final Transaction transaction,
+      final PathBasedWorldStateUpdateAccumulator<?> blockAccumulator) {
+    final PreEvaluation preEvaluation = pollPreEvaluation(transaction);
+    scheduleUpcoming();
+    if (preEvaluation == null || preEvaluation.claim()) {
+      // the worker did not start it, so it is faster to execute it right away
+      return Optional.empty();
+    }
+
+    final Optional<ParallelizedTransactionContext> maybeContext = preEvaluation.await();
+    if (maybeContext.isEmpty()) {
+      return Optional.empty();
+    }
+    final ParallelizedTransactionContext context = maybeContext.get();
+    final TransactionProcessingResult result = context.transactionProcessingResult();
+    if ((result.isSuccessful() || result.isInvalid())
+        && !transactionCollisionDetector.hasCollision(
+            transaction, miningBeneficiary, context, blockAccumulator)) {
+      reusedCount++;
+      return maybeContext;
+    }
+    // keep what was read from the database, to speed up the execution of the transaction
+    ((PathBasedWorldStateUpdateAccumulator) blockAccumulator)
+        .importPriorStateFromSource(context.transactionAccumulator());
+    replayedCount++;
+    return Optional.empty();
+  }
+
+  /**
+   * Adds the changes of a reused pre-evaluation to the block, including the reward of the mining
+   * beneficiary that was left out of the pre-evaluation.
+   *
+   * @param context the pre-evaluation returned by {@link #take}
+   * @param blockAccumulator the accumulator of the changes already in the block
+   */
+  void apply(
+      final ParallelizedTransactionContext context,
+      final PathBasedWorldStateUpdateAccumulator<?> blockAccumulator) {
+    final Wei reward = context.miningBeneficiaryReward();
+    if (!reward.isZero() || !transactionProcessor.getClearEmptyAccounts()) {
+      blockAccumulator.getOrCreate(miningBeneficiary).incrementBalance(reward);
+    }
+    ((PathBasedWorldStateUpdateAccumulator) blockAccumulator)
+        .importStateChangesFromSource(context.transactionAccumulator());
+  }
+
+  /** Cancels the pre-evaluations that have not started yet, once the selection is over. */
+  void stop() {
+    cancelAll();
+    upcomingCandidates = Collections.emptyIterator();
+    LOG.atDebug()
+        .setMessage("Transaction pre-evaluation results reused {}, replayed {}")
+        .addArgument(reusedCount)
+        .addArgument(replayedCount)
+        .log();
+  }
+
+  private PreEvaluation pollPreEvaluation(final Transaction transaction) {
+    if (preEvaluations.stream().noneMatch(p -> p.isFor(transaction))) {
+      return null;
+    }
+    // candidates before this one are not going to be evaluated anymore
+    PreEvaluation preEvaluation = preEvaluations.poll();
+    while (!preEvaluation.isFor(transaction)) {
+      preEvaluation.claim();
+      preEvaluation = preEvaluations.poll();
+    }
+    return preEvaluation;
+  }
+
+  private void scheduleUpcoming() {
+    while (preEvaluations.size() < window && upcomingCandidates.hasNext()) {
+      final Transaction transaction = upcomingCandidates.next().getTransaction();
+      final PreEvaluation preEvaluation = new PreEvaluation(transaction);
+      preEvaluations.add(preEvaluation);
+      preEvaluation.result =
+          ethScheduler.scheduleComputationTask(
+              () -> preEvaluation.claim() ? preEvaluate(transaction) : Optional.empty());
+    }
+  }
+
+  private void cancelAll() {
+    preEvaluations.forEach(PreEvaluation::claim);
+    preEvaluations.clear();
+  }
+
+  private Optional<ParallelizedTransactionContext> preEvaluate(final Transaction transaction) {
+    try (final MutableWorldState worldState =
+        worldStateArchive
+            .getWorldState(withBlockHeaderAndNoUpdateNodeHead(parentHeader))
+            .orElse(null)) {
+      if (!(worldState instanceof BonsaiWorldState bonsaiWorldState)) {
+        return Optional.empty();
+      }
+      bonsaiWorldState.disableCacheMerkleTrieLoader();
+      final ParallelizedTransactionContext.Builder contextBuilder =
+          new ParallelizedTransactionContext.Builder();
+      final PathBasedWorldStateUpdateAccumulator<?> accumulator =
+          (PathBasedWorldStateUpdateAccumulator<?>) bonsaiWorldState.updater();
+      final WorldUpdater transactionUpdater = accumulator.updater();
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              transactionUpdater,
+              pendingBlockHeader,
+              transaction.detachedCopy(),
+              miningBeneficiary,
+              new OperationTracer() {
+                @Override
+                public void traceBeforeRewardTransaction(
+                    final WorldView worldView,
+                    final org.hyperledger.besu.datatypes.Transaction tx,
+                    final Wei miningReward) {
+                  // as for the parallel block import, only a transaction that used the mining
+                  // beneficiary before its reward conflicts with the others on it
+                  if (transactionCollisionDetector
+                      .getAddressesTouchedByTransaction(transaction, Optional.of(accumulator))
+                      .contains(miningBeneficiary)) {
+                    contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
+                  }
+                  contextBuilder.miningBeneficiaryReward(miningReward);
+                }
+              },
+              blockHashLookupSupplier.get(),
+              TransactionValidationParams.mining(),
+              blobGasPrice,
+              Optional.empty());
+      transactionUpdater.commit();
+      accumulator.commit();
+
+      final ParallelizedTransactionContext context =
+          contextBuilder
+              .transactionAccumulator(bonsaiWorldState.getAccumulator())
+              .transactionProcessingResult(result)
+              .build();
+      if (!context.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+        // the reward is added when the result is applied to the block
+        accumulator.getAccountsToUpdate().remove(miningBeneficiary);
+      }
+      return Optional.of(context);
+    } catch (final Exception e) {
+      LOG.atTrace()
+          .setMessage("Pre-evaluation of transaction {} failed")
+          .addArgument(transaction::getHash)
+          .setCause(e)
+          .log();
+      return Optional.empty();
+    }
+  }
+
+  private static final class PreEvaluation {
+    private final Transaction transaction;
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+    private CompletableFuture<Optional<ParallelizedTransactionContext>> result;
+
+    private PreEvaluation(final Transaction transaction) {
+      this.transaction = transaction;
+    }
+
+    private boolean isFor(final Transaction other) {
+      return transaction.getHash().equals(other.getHash());
+    }
+
+    /** Returns true to the first caller only, either the worker or the selection. */
+    private boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    private Optional<ParallelizedTransactionContext> await() {
+      try {
+        return result.get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return Optional.empty();
+      } catch (final ExecutionException e) {
+        return Optional.empty();
+      }
+    }
+  }
+}
@@ -58,6 +58,8 @@ public class TransactionSelectionResults {
         .add(transaction);
     receipts.add(receipt);
     cumulativeGasUsed += gasUsed;
+    // a resumed selection could select a transaction it did not select before
+    notSelectedTransactions.remove(transaction);
     LOG.atTrace()
         .setMessage("New selected transaction {}, total transactions {}, cumulative gas used {}")
         .addArgument(transaction::toTraceLog)
@@ -91,6 +93,23 @@ public class TransactionSelectionResults {
     return Map.copyOf(notSelectedTransactions);
   }
 
+  /**
+   * Copy these results, so a resumed selection can append to them without changing the lists of the
+   * block that was already built from them.
+   *
+   * @return a copy of these results
+   */
+  TransactionSelectionResults copy() {
+    final TransactionSelectionResults copy = new TransactionSelectionResults();
+    copy.selectedTransactions.addAll(selectedTransactions);
+    transactionsByType.forEach(
+        (type, txs) -> copy.transactionsByType.put(type, new ArrayList<>(txs)));
+    copy.receipts.addAll(receipts);
+    copy.notSelectedTransactions.putAll(notSelectedTransactions);
+    copy.cumulativeGasUsed = cumulativeGasUsed;
+    return copy;
+  }
+
   public void logSelectionStats() {
     if (LOG.isDebugEnabled()) {
       final var notSelectedTxs = getNotSelectedTransactions();
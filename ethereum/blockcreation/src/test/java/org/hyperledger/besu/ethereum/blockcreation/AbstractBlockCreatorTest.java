@@ -409,7 +409,87 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
     return createBlockCreator(protocolSpecAdapters);
   }
 
-  record CreateOn(AbstractBlockCreator blockCreator, BlockHeader parentHeader) {}
+  @Test
+  public void resumedBlockAppendsOnlyTheNewPendingTransactions() {
+    final CreateOn miningOn = blockCreatorWithBlobGasSupport();
+    final AbstractBlockCreator blockCreator = miningOn.blockCreator;
+    final Transaction first = transfer(accounts.get(1), Wei.of(5000));
+    assertThat(miningOn.transactionPool.addTransactionViaApi(first).isValid()).isTrue();
+
+    final BlockCreationResult createdResult = createResumableBlock(miningOn);
+    assertThat(createdResult.getBlock().getBody().getTransactions()).containsExactly(first);
+    assertThat(createdResult.getCheckpoint()).isPresent();
+    final BlockCreationCheckpoint checkpoint = createdResult.getCheckpoint().get();
+
+    // no new pending transaction, so the same checkpoint can be resumed later
+    assertThat(blockCreator.resumeBlock(checkpoint)).isEmpty();
+
+    final Transaction second = transfer(accounts.get(2), Wei.of(5000));
+    assertThat(miningOn.transactionPool.addTransactionViaApi(second).isValid()).isTrue();
+
+    final BlockCreationResult resumedResult = blockCreator.resumeBlock(checkpoint).orElseThrow();
+    assertThat(resumedResult.getBlock().getBody().getTransactions()).containsExactly(first, second);
+    assertThat(resumedResult.getTransactionSelectionResults().getReceipts()).hasSize(2);
+    assertThat(resumedResult.getCheckpoint()).isPresent();
+    resumedResult.getCheckpoint().get().close();
+
+    // the same block is created from the parent state
+    final BlockCreationResult recreatedResult = createResumableBlock(miningOn);
+    assertThat(resumedResult.getBlock()).isEqualTo(recreatedResult.getBlock());
+    recreatedResult.getCheckpoint().ifPresent(BlockCreationCheckpoint::close);
+  }
+
+  @Test
+  public void resumedBlockIsCreatedAgainWhenASelectedTransactionIsReplaced() {
+    final CreateOn miningOn = blockCreatorWithBlobGasSupport();
+    final AbstractBlockCreator blockCreator = miningOn.blockCreator;
+    final Transaction replaced = transfer(accounts.get(1), Wei.of(5000));
+    assertThat(miningOn.transactionPool.addTransactionViaApi(replaced).isValid()).isTrue();
+
+    final BlockCreationResult createdResult = createResumableBlock(miningOn);
+    assertThat(createdResult.getBlock().getBody().getTransactions()).containsExactly(replaced);
+
+    final Transaction replacement = transfer(accounts.get(1), Wei.of(10000));
+    assertThat(miningOn.transactionPool.addTransactionViaApi(replacement).isValid()).isTrue();
+
+    final BlockCreationResult resumedResult =
+        blockCreator.resumeBlock(createdResult.getCheckpoint().orElseThrow()).orElseThrow();
+    assertThat(resumedResult.getBlock().getBody().getTransactions()).containsExactly(replacement);
+    assertThat(resumedResult.getCheckpoint()).isPresent();
+    resumedResult.getCheckpoint().get().close();
+  }
+
+  private BlockCreationResult createResumableBlock(final CreateOn miningOn) {
+    return miningOn.blockCreator.createBlock(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        1L,
+        false,
+        miningOn.parentHeader,
+        true);
+  }
+
+  private Transaction transfer(final GenesisAccount sender, final Wei gasPrice) {
+    final KeyPair keyPair =
+        SIGNATURE_ALGORITHM
+            .get()
+            .createKeyPair(SECPPrivateKey.create(sender.privateKey(), "ECDSA"));
+    return new TransactionTestFixture()
+        .sender(sender.address())
+        .to(Optional.of(accounts.get(0).address()))
+        .gasLimit(21_000L)
+        .gasPrice(gasPrice)
+        .nonce(sender.nonce())
+        .createTransaction(keyPair);
+  }
+
+  record CreateOn(
+      AbstractBlockCreator blockCreator,
+      BlockHeader parentHeader,
+      TransactionPool transactionPool) {}
 
   private CreateOn createBlockCreator(final ProtocolSpecAdapters protocolSpecAdapters) {
 
@@ -477,7 +557,8 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
             executionContextTestFixture.getProtocolContext(),
             executionContextTestFixture.getProtocolSchedule(),
             ethScheduler),
-        parentHeader);
+        parentHeader,
+        transactionPool);
   }
 
   static class TestBlockCreator extends AbstractBlockCreator {
@@ -1588,8 +1588,10 @@ public abstract class AbstractBlockTransactionSelectorTest {
             transactionProcessor,
             blockchain,
             worldState,
+            protocolContext.getWorldStateArchive(),
             transactionPool,
             blockHeader,
+            blockchain.getChainHeadHeader(),
             protocolSchedule.getByBlockHeader(blockHeader).getTransactionReceiptFactory(),
             miningBeneficiary,
             blobGasPrice,
@@ -0,0 +1,196 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.WorldStateConfig.createStatefulConfigWithTrie;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.CodeCache;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.NoOpBonsaiCachedWorldStorageManager;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.NoopBonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.NoOpTrieLogManager;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionPreEvaluatorTest {
+  private static final Address MINING_BENEFICIARY = Address.fromHexString("0x1");
+
+  private final MainnetTransactionProcessor transactionProcessor =
+      mock(MainnetTransactionProcessor.class);
+  private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
+  private final TransactionTestFixture transactionFixture = new TransactionTestFixture();
+  private BonsaiWorldStateKeyValueStorage worldStateStorage;
+  private PathBasedWorldStateUpdateAccumulator<?> blockAccumulator;
+
+  @BeforeEach
+  public void setUp() {
+    worldStateStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    when(worldStateArchive.getWorldState(any()))
+        .thenAnswer(invocation -> Optional.of(createWorldState()));
+    blockAccumulator = (PathBasedWorldStateUpdateAccumulator<?>) createWorldState().updater();
+
+    when(transactionProcessor.getClearEmptyAccounts()).thenReturn(true);
+    // each transaction credits its sender, so it reads and writes the sender account
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final WorldUpdater updater = invocation.getArgument(0);
+              final Transaction transaction = invocation.getArgument(2);
+              updater.getOrCreate(transaction.getSender()).incrementBalance(Wei.ONE);
+              return TransactionProcessingResult.successful(
+                  Collections.emptyList(),
+                  0,
+                  0,
+                  Bytes.EMPTY,
+                  Optional.empty(),
+                  ValidationResult.valid());
+            });
+  }
+
+  @Test
+  public void reusesPreEvaluationThatDoesNotConflictWithTheBlock() {
+    final Transaction transaction1 = createTransaction();
+    final Transaction transaction2 = createTransaction();
+    final TransactionPreEvaluator preEvaluator = createPreEvaluator(2);
+    preEvaluator.candidatesReady(candidates(transaction1, transaction2));
+
+    // an unrelated account changed in the block does not prevent the reuse
+    blockAccumulator.getOrCreate(Address.fromHexString("0x2")).incrementBalance(Wei.ONE);
+    blockAccumulator.commit();
+
+    final Optional<ParallelizedTransactionContext> preEvaluated =
+        preEvaluator.take(transaction1, blockAccumulator);
+    assertThat(preEvaluated).isPresent();
+    preEvaluator.apply(preEvaluated.get(), blockAccumulator);
+    blockAccumulator.commit();
+
+    assertThat(blockAccumulator.get(transaction1.getSender()).getBalance()).isEqualTo(Wei.ONE);
+    verify(transactionProcessor, times(2))
+        .processTransaction(any(), any(), any(), any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void doesNotReusePreEvaluationThatReadsAccountChangedByTheBlock() {
+    final Transaction transaction = createTransaction();
+    final TransactionPreEvaluator preEvaluator = createPreEvaluator(2);
+    preEvaluator.candidatesReady(candidates(transaction));
+
+    blockAccumulator.getOrCreate(transaction.getSender()).incrementBalance(Wei.of(5));
+    blockAccumulator.commit();
+
+    assertThat(preEvaluator.take(transaction, blockAccumulator)).isEmpty();
+  }
+
+  @Test
+  public void preEvaluatesOnlyTheCandidatesWithinTheWindow() {
+    final Transaction transaction1 = createTransaction();
+    final Transaction transaction2 = createTransaction();
+    final Transaction transaction3 = createTransaction();
+    final TransactionPreEvaluator preEvaluator = createPreEvaluator(1);
+    preEvaluator.candidatesReady(candidates(transaction1, transaction2, transaction3));
+    verify(transactionProcessor, times(1))
+        .processTransaction(any(), any(), any(), any(), any(), any(), any(), any(), any());
+
+    assertThat(preEvaluator.take(transaction1, blockAccumulator)).isPresent();
+    verify(transactionProcessor, times(2))
+        .processTransaction(any(), any(), any(), any(), any(), any(), any(), any(), any());
+
+    // a transaction that is not among the candidates is not pre-evaluated
+    assertThat(preEvaluator.take(createTransaction(), blockAccumulator)).isEmpty();
+    assertThat(preEvaluator.take(transaction2, blockAccumulator)).isPresent();
+
+    preEvaluator.stop();
+    assertThat(preEvaluator.take(transaction3, blockAccumulator)).isEmpty();
+  }
+
+  private TransactionPreEvaluator createPreEvaluator(final int window) {
+    final BlockHeader parentHeader = mock(BlockHeader.class);
+    when(parentHeader.getStateRoot()).thenReturn(Hash.EMPTY_TRIE_HASH);
+    return new TransactionPreEvaluator(
+        transactionProcessor,
+        worldStateArchive,
+        parentHeader,
+        mock(ProcessableBlockHeader.class),
+        MINING_BENEFICIARY,
+        Wei.ZERO,
+        () -> (__, ___) -> Hash.EMPTY,
+        new DeterministicEthScheduler(),
+        window);
+  }
+
+  private BonsaiWorldState createWorldState() {
+    return new BonsaiWorldState(
+        worldStateStorage,
+        new NoopBonsaiCachedMerkleTrieLoader(),
+        new NoOpBonsaiCachedWorldStorageManager(
+            worldStateStorage, EvmConfiguration.DEFAULT, new CodeCache()),
+        new NoOpTrieLogManager(),
+        EvmConfiguration.DEFAULT,
+        createStatefulConfigWithTrie(),
+        new CodeCache());
+  }
+
+  private Transaction createTransaction() {
+    return transactionFixture.createTransaction(
+        SignatureAlgorithmFactory.getInstance().generateKeyPair());
+  }
+
+  private static Iterator<PendingTransaction> candidates(
+      final Transaction... transactions) {
+    return Stream.of(transactions)
+        .<PendingTransaction>map(PendingTransaction.Local.Priority::new)
+        .iterator();
+  }
+}
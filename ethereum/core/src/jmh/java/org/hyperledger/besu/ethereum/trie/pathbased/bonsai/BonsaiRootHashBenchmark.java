@@ -0,0 +1,126 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the state root calculation of a {@link BonsaiWorldState} over a synthetic accumulator,
+ * as performed at the end of every imported block. The base state is persisted once per trial, and
+ * each invocation computes the root of a fresh set of account and storage updates on top of it.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BonsaiRootHashBenchmark {
+  private static final int BASE_SLOTS_PER_ACCOUNT = 4;
+  private static final int PERSIST_BATCH_SIZE = 10_000;
+
+  @Param({"10000", "100000"})
+  public int baseAccounts;
+
+  @Param({"50", "500"})
+  public int touchedAccounts;
+
+  @Param({"0", "10"})
+  public int slotsPerTouchedAccount;
+
+  private final Random random = new Random(1);
+  private BonsaiWorldState worldState;
+  private Address[] addresses;
+
+  @Setup(Level.Trial)
+  public void createBaseState() {
+    final MutableBlockchain blockchain =
+        InMemoryKeyValueStorageProvider.createInMemoryBlockchain(
+            new BlockDataGenerator().genesisBlock());
+    final BonsaiWorldStateProvider archive =
+        InMemoryKeyValueStorageProvider.createBonsaiInMemoryWorldStateArchive(blockchain);
+    worldState = (BonsaiWorldState) archive.getWorldState();
+
+    addresses = new Address[baseAccounts];
+    for (int i = 0; i < baseAccounts; i++) {
+      addresses[i] = Address.extract(Hash.hash(Bytes.ofUnsignedInt(i)));
+    }
+    for (int start = 0; start < baseAccounts; start += PERSIST_BATCH_SIZE) {
+      final WorldUpdater updater = worldState.updater();
+      for (int i = start; i < Math.min(start + PERSIST_BATCH_SIZE, baseAccounts); i++) {
+        final MutableAccount account = updater.createAccount(addresses[i], 1, Wei.of(i + 1));
+        for (int slot = 0; slot < BASE_SLOTS_PER_ACCOUNT; slot++) {
+          account.setStorageValue(UInt256.valueOf(slot), randomStorageValue());
+        }
+      }
+      updater.commit();
+      worldState.persist(null);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void updateAccounts() {
+    worldState.getAccumulator().reset();
+    final WorldUpdater updater = worldState.updater();
+    for (int i = 0; i < touchedAccounts; i++) {
+      final MutableAccount account = updater.getAccount(addresses[random.nextInt(baseAccounts)]);
+      account.incrementBalance(Wei.ONE);
+      for (int slot = 0; slot < slotsPerTouchedAccount; slot++) {
+        account.setStorageValue(
+            UInt256.valueOf(random.nextInt(BASE_SLOTS_PER_ACCOUNT * 2)), randomStorageValue());
+      }
+    }
+    updater.commit();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    worldState.close();
+  }
+
+  @Benchmark
+  public Hash rootHash() {
+    return worldState.frontierRootHash();
+  }
+
+  private UInt256 randomStorageValue() {
+    return UInt256.valueOf(random.nextLong() & Long.MAX_VALUE);
+  }
+}
@@ -260,6 +260,15 @@ public class BlockHeader extends SealableBlockHeader
     return hash.get();
   }
 
+  /**
+   * Returns the RLP encoding this header was decoded from, if it was decoded from one.
+   *
+   * @return the RLP encoding of the header when it was decoded
+   */
+  public Optional<Bytes> getRawRlp() {
+    return rawRlp;
+  }
+
   /**
    * Write an RLP representation.
    *
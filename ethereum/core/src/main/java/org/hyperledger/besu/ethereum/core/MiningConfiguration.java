@@ -394,5 +394,27 @@ public abstract class MiningConfiguration {
     default long getPosBlockFinalizationTimeoutMs() {
       return DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
     }
+
+    /**
+     * The number of upcoming candidate transactions that are speculatively executed on worker
+     * threads while the block transaction selection evaluates the current one, 0 disables it.
+     *
+     * @return the number of candidates executed ahead of the selection
+     */
+    @Value.Default
+    default int getTxsSelectionPreEvaluationWindow() {
+      return 0;
+    }
+
+    /**
+     * Whether each repetition of a PoS block creation appends the new pending transactions to the
+     * best block so far, executing only them, instead of creating the block again.
+     *
+     * @return true if the PoS block creation is incremental
+     */
+    @Value.Default
+    default boolean isPosBlockCreationIncremental() {
+      return false;
+    }
   }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core.encoding;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A transaction kept in its block body encoding, whose fields are only decoded when {@link
+ * #decode()} is called.
+ *
+ * <p>The hash of a transaction is the hash of its encoding, so it is available without decoding
+ * any field, which is all that is needed to recognize a transaction that was already received.
+ */
+public final class EncodedTransaction {
+  private final Bytes rlp;
+  private Hash hash;
+
+  private EncodedTransaction(final Bytes rlp) {
+    this.rlp = rlp;
+  }
+
+  /**
+   * Reads the next transaction of the input, in the block body encoding, without decoding it.
+   *
+   * @param input the RLP input to read from
+   * @return the encoded transaction
+   */
+  public static EncodedTransaction readFrom(final RLPInput input) {
+    return new EncodedTransaction(input.readAsRlp().raw());
+  }
+
+  /**
+   * Returns the hash of the transaction, computed from its encoding.
+   *
+   * @return the transaction hash
+   */
+  public Hash getHash() {
+    if (hash == null) {
+      // a legacy transaction is a list, a typed transaction is a string wrapping its opaque bytes
+      final RLPInput input = RLP.input(rlp);
+      hash = Hash.hash(input.nextIsList() ? rlp : input.readBytes());
+    }
+    return hash;
+  }
+
+  /**
+   * Decodes all the fields of the transaction.
+   *
+   * @return the decoded transaction
+   */
+  public Transaction decode() {
+    return TransactionDecoder.decodeRLP(RLP.input(rlp), EncodingContext.BLOCK_BODY);
+  }
+}
@@ -91,7 +91,10 @@ public class TransactionEncoder {
       final Transaction transaction, final EncodingContext encodingContext) {
     final TransactionType transactionType = getTransactionType(transaction);
     if (TransactionType.FRONTIER.equals(transactionType)) {
-      return RLP.encode(rlpOutput -> FrontierTransactionEncoder.encode(transaction, rlpOutput));
+      // a decoded legacy transaction keeps its encoding, which is its canonical encoding
+      return transaction
+          .getRawRlp()
+          .orElseGet(() -> RLP.encode(out -> FrontierTransactionEncoder.encode(transaction, out)));
     } else {
       final Encoder encoder = getEncoder(transactionType, encodingContext);
       final BytesValueRLPOutput out = new BytesValueRLPOutput();
@@ -36,6 +36,9 @@ import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessListFactory;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.PartialBlockAccessView;
+import org.hyperledger.besu.ethereum.mainnet.profiling.BlockImportPhase;
+import org.hyperledger.besu.ethereum.mainnet.profiling.BlockImportProfile;
+import org.hyperledger.besu.ethereum.mainnet.profiling.BlockImportProfiler;
 import org.hyperledger.besu.ethereum.mainnet.requests.RequestProcessingContext;
 import org.hyperledger.besu.ethereum.mainnet.requests.RequestProcessorCoordinator;
 import org.hyperledger.besu.ethereum.mainnet.staterootcommitter.StateRootCommitter;
@@ -88,6 +91,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
   protected final MiningBeneficiaryCalculator miningBeneficiaryCalculator;
   private BlockImportTracerProvider blockImportTracerProvider = null;
+  private BlockImportProfiler blockImportProfiler = null;
 
   protected AbstractBlockProcessor(
       final MainnetTransactionProcessor transactionProcessor,
@@ -127,6 +131,16 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     return blockImportTracerProvider.getBlockImportTracer(header);
   }
 
+  private BlockImportProfiler getBlockImportProfiler(final ProtocolContext protocolContext) {
+    if (blockImportProfiler == null) {
+      // fetch from context once, and keep.
+      blockImportProfiler =
+          BlockImportProfiler.create(
+              Optional.ofNullable(protocolContext.getPluginServiceManager()));
+    }
+    return blockImportProfiler;
+  }
+
   /**
    * Processes the block with no privateMetadata and no preprocessor.
    *
@@ -192,6 +206,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     Optional<BlockAccessListBuilder> blockAccessListBuilder =
         maybeBalFactory.map(BlockAccessListFactory::newBlockAccessListBuilder);
 
+    final BlockImportProfile profile = getBlockImportProfiler(protocolContext).start(blockHeader);
     try {
       final Optional<AccessLocationTracker> preExecutionAccessLocationTracker =
           blockAccessListBuilder.map(
@@ -234,6 +249,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
       boolean parallelizedTxFound = false;
       int nbParallelTx = 0;
 
+      profile.enterPhase(BlockImportPhase.TRANSACTIONS);
       for (int i = 0; i < transactions.size(); i++) {
         final WorldUpdater blockUpdater = worldState.updater();
         final Transaction transaction = transactions.get(i);
@@ -247,6 +263,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
         final Optional<AccessLocationTracker> transactionLocationTracker =
             createTransactionAccessLocationTracker(blockAccessListBuilder, i);
+        final long transactionStartNanos = System.nanoTime();
         TransactionProcessingResult transactionProcessingResult =
             getTransactionProcessingResult(
                 preProcessingContext,
@@ -282,7 +299,11 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
         blockUpdater.commit();
         blockUpdater.markTransactionBoundary();
 
-        currentGasUsed += transaction.getGasLimit() - transactionProcessingResult.getGasRemaining();
+        final long transactionGasUsed =
+            transaction.getGasLimit() - transactionProcessingResult.getGasRemaining();
+        currentGasUsed += transactionGasUsed;
+        profile.transactionProcessed(
+            transaction, transactionGasUsed, System.nanoTime() - transactionStartNanos);
         final var optionalVersionedHashes = transaction.getVersionedHashes();
         if (optionalVersionedHashes.isPresent()) {
           final var versionedHashes = optionalVersionedHashes.get();
@@ -302,6 +323,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
           nbParallelTx++;
         }
       }
+      profile.enterPhase(BlockImportPhase.POST_EXECUTION);
       final var optionalHeaderBlobGasUsed = blockHeader.getBlobGasUsed();
       if (optionalHeaderBlobGasUsed.isPresent()) {
         final long headerBlobGasUsed = optionalHeaderBlobGasUsed.get();
@@ -432,6 +454,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
       LOG.trace("traceEndBlock for {}", blockHeader.getNumber());
       blockTracer.traceEndBlock(blockHeader, blockBody);
 
+      profile.enterPhase(BlockImportPhase.STATE_ROOT);
       try {
         worldState.persist(blockHeader, stateRootCommitter);
       } catch (MerkleTrieException e) {
@@ -454,6 +477,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
         return new BlockProcessingResult(Optional.empty(), e);
       }
 
+      profile.completed();
       return new BlockProcessingResult(
           Optional.of(
               new BlockProcessingOutputs(
@@ -461,6 +485,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
           parallelizedTxFound ? Optional.of(nbParallelTx) : Optional.empty());
     } finally {
       stateRootCommitter.cancel();
+      profile.close();
     }
   }
 
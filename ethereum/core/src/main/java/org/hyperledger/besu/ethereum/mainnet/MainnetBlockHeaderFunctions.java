@@ -31,7 +31,8 @@ public class MainnetBlockHeaderFunctions implements BlockHeaderFunctions {
   }
 
   public static Hash createHash(final BlockHeader header) {
-    final Bytes rlp = RLP.encode(header::writeTo);
+    // a decoded header is hashed from the encoding it was decoded from
+    final Bytes rlp = header.getRawRlp().orElseGet(() -> RLP.encode(header::writeTo));
     return Hash.hash(rlp);
   }
 
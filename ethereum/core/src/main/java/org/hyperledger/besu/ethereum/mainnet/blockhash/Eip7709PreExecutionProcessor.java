@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.mainnet.blockhash;
 
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.vm.Eip7709BlockHashLookup;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
@@ -31,4 +32,12 @@ public class Eip7709PreExecutionProcessor extends PraguePreExecutionProcessor {
       final Blockchain blockchain, final ProcessableBlockHeader blockHeader) {
     return new Eip7709BlockHashLookup(historyStorageAddress);
   }
+
+  @Override
+  public BlockHashLookup createBlockHashLookup(
+      final Blockchain blockchain,
+      final ProcessableBlockHeader blockHeader,
+      final BlockHeader parentHeader) {
+    return createBlockHashLookup(blockchain, blockHeader);
+  }
 }
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.mainnet.blockhash;
 
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker;
 import org.hyperledger.besu.ethereum.mainnet.systemcall.BlockProcessingContext;
@@ -48,4 +49,12 @@ public class FrontierPreExecutionProcessor implements PreExecutionProcessor {
       final Blockchain blockchain, final ProcessableBlockHeader blockHeader) {
     return new BlockchainBasedBlockHashLookup(blockHeader, blockchain);
   }
+
+  @Override
+  public BlockHashLookup createBlockHashLookup(
+      final Blockchain blockchain,
+      final ProcessableBlockHeader blockHeader,
+      final BlockHeader parentHeader) {
+    return new BlockchainBasedBlockHashLookup(blockHeader, parentHeader, blockchain);
+  }
 }
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.mainnet.blockhash;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.mainnet.systemcall.BlockContextProcessor;
 import org.hyperledger.besu.ethereum.mainnet.systemcall.BlockProcessingContext;
@@ -34,6 +35,22 @@ public interface PreExecutionProcessor extends BlockContextProcessor<Void, Block
 
   BlockHashLookup createBlockHashLookup(Blockchain blockchain, ProcessableBlockHeader blockHeader);
 
+  /**
+   * Creates a BlockHashLookup for a block created on top of the given parent, which does not have
+   * to be imported yet.
+   *
+   * @param blockchain the blockchain holding the ancestors of the parent
+   * @param blockHeader the header of the block being created
+   * @param parentHeader the header of the parent of the block being created
+   * @return the BlockHashLookup
+   */
+  default BlockHashLookup createBlockHashLookup(
+      final Blockchain blockchain,
+      final ProcessableBlockHeader blockHeader,
+      final BlockHeader parentHeader) {
+    return createBlockHashLookup(blockchain, blockHeader);
+  }
+
   default Optional<Address> getHistoryContract() {
     return Optional.empty();
   }
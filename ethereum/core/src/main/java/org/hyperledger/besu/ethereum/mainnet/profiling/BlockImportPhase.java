@@ -0,0 +1,46 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.profiling;
+
+/** The phases of the processing of a block, in the order they are entered. */
+public enum BlockImportPhase {
+  /** The system calls and the preparation of the transactions. */
+  PRE_EXECUTION("pre_execution"),
+  /** The execution of the transactions, including the state they read. */
+  TRANSACTIONS("transactions"),
+  /** The withdrawals, requests, rewards and block access list. */
+  POST_EXECUTION("post_execution"),
+  /** The computation of the state root and the update of the trie nodes. */
+  STATE_ROOT("state_root"),
+  /** The write of the trie log of the block. */
+  TRIE_LOG("trie_log"),
+  /** The commit of the world state to the storage. */
+  COMMIT("commit");
+
+  private final String label;
+
+  BlockImportPhase(final String label) {
+    this.label = label;
+  }
+
+  /**
+   * Gets the label of the phase in metrics and reports.
+   *
+   * @return the label
+   */
+  public String getLabel() {
+    return label;
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A JFR event covering a phase of the processing of a block. */
+@Name("org.hyperledger.besu.BlockImportPhase")
+@Label("Block Import Phase")
+@Description("A phase of the processing of a block")
+@Category({"Besu", "Block Import"})
+@StackTrace(false)
+class BlockImportPhaseEvent extends Event {
+  @Label("Block Number")
+  long blockNumber;
+
+  @Label("Block Hash")
+  String blockHash;
+
+  @Label("Phase")
+  String phase;
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.profiling;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The breakdown of the processing of a block into its phases, and of its transactions by the
+ * contract they call. It is recorded by the thread processing the block, which is also the current
+ * thread of the profile, so the code processing the block deeper down can enter a phase without
+ * the profile being passed along.
+ *
+ * <p>Recording costs a couple of clock reads per phase and per transaction. Each phase is also
+ * emitted as a JFR event, which is only committed when a recording enables it.
+ */
+public class BlockImportProfile implements AutoCloseable {
+  private static final ThreadLocal<BlockImportProfile> CURRENT = new ThreadLocal<>();
+
+  private final BlockImportProfiler profiler;
+  private final BlockHeader blockHeader;
+  private final long startNanos;
+  private final long[] phaseNanos = new long[BlockImportPhase.values().length];
+  private final boolean[] enteredPhases = new boolean[BlockImportPhase.values().length];
+  private final Map<Address, ContractProfile> contracts = new HashMap<>();
+
+  private BlockImportPhase phase;
+  private long phaseStartNanos;
+  private BlockImportPhaseEvent phaseEvent;
+  private long endNanos;
+  private boolean completed = false;
+
+  BlockImportProfile(final BlockImportProfiler profiler, final BlockHeader blockHeader) {
+    this.profiler = profiler;
+    this.blockHeader = blockHeader;
+    this.startNanos = System.nanoTime();
+    enterPhase(BlockImportPhase.PRE_EXECUTION, startNanos);
+    CURRENT.set(this);
+  }
+
+  /**
+   * Enters the given phase in the profile of the block processed by the current thread, if any.
+   *
+   * @param phase the phase
+   */
+  public static void enterCurrentPhase(final BlockImportPhase phase) {
+    final BlockImportProfile profile = CURRENT.get();
+    if (profile != null) {
+      profile.enterPhase(phase);
+    }
+  }
+
+  /**
+   * Ends the current phase and enters the given one.
+   *
+   * @param phase the phase
+   */
+  public void enterPhase(final BlockImportPhase phase) {
+    enterPhase(phase, System.nanoTime());
+  }
+
+  /**
+   * Records a processed transaction against the contract it called or created.
+   *
+   * @param transaction the transaction
+   * @param gasUsed the gas used by the transaction
+   * @param durationNanos the processing time of the transaction
+   */
+  public void transactionProcessed(
+      final Transaction transaction, final long gasUsed, final long durationNanos) {
+    final Address contract =
+        transaction.getTo().or(transaction::contractAddress).orElse(Address.ZERO);
+    final ContractProfile profile =
+        contracts.computeIfAbsent(contract, __ -> new ContractProfile(contract));
+    profile.transactions++;
+    profile.gasUsed += gasUsed;
+    profile.durationNanos += durationNanos;
+  }
+
+  /** Marks the block as successfully processed, so its profile is recorded when closed. */
+  public void completed() {
+    completed = true;
+  }
+
+  /**
+   * Ends the last phase, and records the profile if the block was successfully processed.
+   * Processing a block which fails is not representative of the import of the blocks.
+   */
+  @Override
+  public void close() {
+    endNanos = System.nanoTime();
+    endPhase(endNanos);
+    CURRENT.remove();
+    if (completed) {
+      profiler.record(this);
+    }
+  }
+
+  BlockHeader getBlockHeader() {
+    return blockHeader;
+  }
+
+  long getDurationNanos() {
+    return endNanos - startNanos;
+  }
+
+  boolean isPhaseEntered(final BlockImportPhase phase) {
+    return enteredPhases[phase.ordinal()];
+  }
+
+  long getPhaseNanos(final BlockImportPhase phase) {
+    return phaseNanos[phase.ordinal()];
+  }
+
+  Collection<ContractProfile> getContracts() {
+    return contracts.values();
+  }
+
+  private void enterPhase(final BlockImportPhase phase, final long nowNanos) {
+    endPhase(nowNanos);
+    this.phase = phase;
+    this.phaseStartNanos = nowNanos;
+    enteredPhases[phase.ordinal()] = true;
+    this.phaseEvent = new BlockImportPhaseEvent();
+    phaseEvent.begin();
+  }
+
+  private void endPhase(final long nowNanos) {
+    if (phase == null) {
+      return;
+    }
+    phaseNanos[phase.ordinal()] += nowNanos - phaseStartNanos;
+    phaseEvent.end();
+    if (phaseEvent.shouldCommit()) {
+      phaseEvent.blockNumber = blockHeader.getNumber();
+      phaseEvent.blockHash = blockHeader.getHash().toHexString();
+      phaseEvent.phase = phase.getLabel();
+      phaseEvent.commit();
+    }
+    phase = null;
+    phaseEvent = null;
+  }
+
+  /** The transactions of a block calling or creating a contract. */
+  static final class ContractProfile {
+    private final Address address;
+    private int transactions;
+    private long gasUsed;
+    private long durationNanos;
+
+    private ContractProfile(final Address address) {
+      this.address = address;
+    }
+
+    Address getAddress() {
+      return address;
+    }
+
+    int getTransactions() {
+      return transactions;
+    }
+
+    long getGasUsed() {
+      return gasUsed;
+    }
+
+    long getDurationNanos() {
+      return durationNanos;
+    }
+  }
+}
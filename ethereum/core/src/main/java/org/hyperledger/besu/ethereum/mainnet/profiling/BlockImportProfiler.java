@@ -0,0 +1,225 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.profiling;
+
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.mainnet.profiling.BlockImportProfile.ContractProfile;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.ServiceManager;
+import org.hyperledger.besu.plugin.services.BesuConfiguration;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the profiles of the processed blocks: the duration of each phase is observed in a
+ * histogram, and a block whose processing exceeds the slow block threshold is reported in a JSON
+ * file, with the contracts its transactions spent the most gas and time in.
+ *
+ * <p>Slow block reports are disabled unless a threshold is set with the {@code
+ * besu.debug.slowBlockThresholdMs} system property or the {@code BESU_SLOW_BLOCK_THRESHOLD_MS}
+ * environment variable. They are written to the {@value #REPORT_DIRECTORY} directory of the data
+ * path.
+ */
+public class BlockImportProfiler {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockImportProfiler.class);
+
+  /** The name of the directory of the slow block reports in the data path. */
+  public static final String REPORT_DIRECTORY = "slow-blocks";
+
+  private static final String THRESHOLD_PROPERTY = "besu.debug.slowBlockThresholdMs";
+  private static final String THRESHOLD_ENV = "BESU_SLOW_BLOCK_THRESHOLD_MS";
+  private static final int TOP_CONTRACTS = 10;
+  private static final double[] PHASE_DURATION_BUCKETS = {
+    0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+  };
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+  private static final ObjectWriter REPORT_WRITER =
+      new ObjectMapper().writerWithDefaultPrettyPrinter();
+
+  private final Map<BlockImportPhase, Histogram> phaseDurations =
+      new EnumMap<>(BlockImportPhase.class);
+  private final OptionalLong slowBlockThresholdNanos;
+  private final Optional<Path> reportDirectory;
+
+  /**
+   * Instantiates a new Block import profiler.
+   *
+   * @param metricsSystem the metrics system of the phase durations
+   * @param slowBlockThresholdNanos the processing time above which a block is reported, if any
+   * @param reportDirectory the directory of the slow block reports, if any
+   */
+  public BlockImportProfiler(
+      final MetricsSystem metricsSystem,
+      final OptionalLong slowBlockThresholdNanos,
+      final Optional<Path> reportDirectory) {
+    final LabelledMetric<Histogram> histogram =
+        metricsSystem.createLabelledHistogram(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "phase_duration_seconds",
+            "Time spent in each phase of the processing of a block",
+            PHASE_DURATION_BUCKETS,
+            "phase");
+    for (final BlockImportPhase phase : BlockImportPhase.values()) {
+      phaseDurations.put(phase, histogram.labels(phase.getLabel()));
+    }
+    this.slowBlockThresholdNanos = slowBlockThresholdNanos;
+    this.reportDirectory = reportDirectory;
+  }
+
+  /**
+   * Creates a profiler recording to the metrics system and the data path of the given services,
+   * with the slow block threshold of the system property or environment variable.
+   *
+   * @param serviceManager the services of the node, if any
+   * @return the profiler
+   */
+  public static BlockImportProfiler create(final Optional<ServiceManager> serviceManager) {
+    final MetricsSystem metricsSystem =
+        serviceManager
+            .flatMap(services -> services.getService(MetricsSystem.class))
+            .orElseGet(NoOpMetricsSystem::new);
+    final Optional<Path> reportDirectory =
+        serviceManager
+            .flatMap(services -> services.getService(BesuConfiguration.class))
+            .map(configuration -> configuration.getDataPath().resolve(REPORT_DIRECTORY));
+    return new BlockImportProfiler(metricsSystem, slowBlockThreshold(), reportDirectory);
+  }
+
+  private static OptionalLong slowBlockThreshold() {
+    final String threshold =
+        Optional.ofNullable(System.getProperty(THRESHOLD_PROPERTY))
+            .orElseGet(() -> System.getenv(THRESHOLD_ENV));
+    if (threshold == null) {
+      return OptionalLong.empty();
+    }
+    try {
+      return OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(Long.parseLong(threshold.trim())));
+    } catch (final NumberFormatException e) {
+      LOG.warn("Ignoring invalid slow block threshold {}", threshold);
+      return OptionalLong.empty();
+    }
+  }
+
+  /**
+   * Starts the profile of a block, which is the current profile of the calling thread until it is
+   * closed.
+   *
+   * @param blockHeader the header of the processed block
+   * @return the profile
+   */
+  public BlockImportProfile start(final BlockHeader blockHeader) {
+    return new BlockImportProfile(this, blockHeader);
+  }
+
+  void record(final BlockImportProfile profile) {
+    for (final BlockImportPhase phase : BlockImportPhase.values()) {
+      if (profile.isPhaseEntered(phase)) {
+        phaseDurations.get(phase).observe(profile.getPhaseNanos(phase) / NANOS_PER_SECOND);
+      }
+    }
+    if (slowBlockThresholdNanos.isPresent()
+        && reportDirectory.isPresent()
+        && profile.getDurationNanos() >= slowBlockThresholdNanos.getAsLong()) {
+      writeReport(profile, reportDirectory.get());
+    }
+  }
+
+  private void writeReport(final BlockImportProfile profile, final Path directory) {
+    final BlockHeader header = profile.getBlockHeader();
+    final Path reportFile =
+        directory.resolve("block-" + header.getNumber() + "-" + header.getHash() + ".json");
+    try {
+      Files.createDirectories(directory);
+      REPORT_WRITER.writeValue(reportFile.toFile(), SlowBlockReport.of(profile));
+      LOG.info(
+          "Block #{} ({}) took {} ms to process, report written to {}",
+          header.getNumber(),
+          header.getHash(),
+          TimeUnit.NANOSECONDS.toMillis(profile.getDurationNanos()),
+          reportFile);
+    } catch (final IOException e) {
+      LOG.warn("Failed to write slow block report {}: {}", reportFile, e.getMessage());
+    }
+  }
+
+  record SlowBlockReport(
+      long number,
+      String hash,
+      long gasUsed,
+      int transactions,
+      double durationMs,
+      Map<String, Double> phasesMs,
+      List<ContractReport> topContractsByGas,
+      List<ContractReport> topContractsByTime) {
+
+    static SlowBlockReport of(final BlockImportProfile profile) {
+      final BlockHeader header = profile.getBlockHeader();
+      final Map<String, Double> phasesMs = new LinkedHashMap<>();
+      Arrays.stream(BlockImportPhase.values())
+          .forEach(phase -> phasesMs.put(phase.getLabel(), millis(profile.getPhaseNanos(phase))));
+      return new SlowBlockReport(
+          header.getNumber(),
+          header.getHash().toHexString(),
+          header.getGasUsed(),
+          profile.getContracts().stream().mapToInt(ContractProfile::getTransactions).sum(),
+          millis(profile.getDurationNanos()),
+          phasesMs,
+          topContracts(profile, ContractProfile::getGasUsed),
+          topContracts(profile, ContractProfile::getDurationNanos));
+    }
+
+    private static List<ContractReport> topContracts(
+        final BlockImportProfile profile, final ToLongFunction<ContractProfile> metric) {
+      return profile.getContracts().stream()
+          .sorted(Comparator.comparingLong(metric).reversed())
+          .limit(TOP_CONTRACTS)
+          .map(
+              contract ->
+                  new ContractReport(
+                      contract.getAddress().toHexString(),
+                      contract.getTransactions(),
+                      contract.getGasUsed(),
+                      millis(contract.getDurationNanos())))
+          .toList();
+    }
+
+    private static double millis(final long nanos) {
+      return nanos / 1_000_000.0;
+    }
+  }
+
+  record ContractReport(String address, int transactions, long gasUsed, double durationMs) {}
+}
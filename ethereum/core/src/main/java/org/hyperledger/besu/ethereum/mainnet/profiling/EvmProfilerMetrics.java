@@ -0,0 +1,93 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.profiling;
+
+import org.hyperledger.besu.evm.code.OpcodeInfo;
+import org.hyperledger.besu.evm.profiling.EvmProfiler;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the cumulative profile of the {@link EvmProfiler} as metrics, by opcode and by
+ * precompile. The contracts are only reported by the debug_evmProfile RPC, as their code hashes
+ * would be too many labels. The metrics stay at zero while the profiler is disabled. A precompile
+ * is labelled once it is executed, whichever the fork that introduced it.
+ */
+public final class EvmProfilerMetrics {
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private EvmProfilerMetrics() {}
+
+  /**
+   * Registers the metrics of the EVM profiler.
+   *
+   * @param metricsSystem the metrics system
+   */
+  public static void register(final MetricsSystem metricsSystem) {
+    register(metricsSystem, EvmProfiler.getInstance());
+  }
+
+  static void register(final MetricsSystem metricsSystem, final EvmProfiler profiler) {
+    final LabelledSuppliedMetric opcodeExecutions =
+        metricsSystem.createLabelledSuppliedCounter(
+            BesuMetricCategory.EVM,
+            "opcode_executions_total",
+            "Number of executions of each opcode while the EVM profiler is enabled",
+            "opcode");
+    final LabelledSuppliedMetric opcodeSeconds =
+        metricsSystem.createLabelledSuppliedCounter(
+            BesuMetricCategory.EVM,
+            "opcode_seconds_total",
+            "Estimated time spent executing each opcode while the EVM profiler is enabled",
+            "opcode");
+    final Set<String> opcodeNames = new HashSet<>();
+    for (int i = 0; i < 256; i++) {
+      final int opcode = i;
+      final String name = OpcodeInfo.getLegacyOpcode(opcode).name();
+      if (!name.equals("-") && opcodeNames.add(name)) {
+        opcodeExecutions.labels(() -> profiler.opcodeCount(opcode), name);
+        opcodeSeconds.labels(() -> profiler.opcodeNanos(opcode) / NANOS_PER_SECOND, name);
+      }
+    }
+
+    final LabelledSuppliedMetric precompileExecutions =
+        metricsSystem.createLabelledSuppliedCounter(
+            BesuMetricCategory.EVM,
+            "precompile_executions_total",
+            "Number of executions of each precompile while the EVM profiler is enabled",
+            "precompile");
+    final LabelledSuppliedMetric precompileSeconds =
+        metricsSystem.createLabelledSuppliedCounter(
+            BesuMetricCategory.EVM,
+            "precompile_seconds_total",
+            "Time spent executing each precompile while the EVM profiler is enabled",
+            "precompile");
+    final Set<String> precompileNames = ConcurrentHashMap.newKeySet();
+    profiler.observePrecompiles(
+        name -> {
+          if (precompileNames.add(name)) {
+            precompileExecutions.labels(() -> profiler.precompileUsage(name).count(), name);
+            precompileSeconds.labels(
+                () -> profiler.precompileUsage(name).nanos() / NANOS_PER_SECOND, name);
+          }
+        });
+  }
+}
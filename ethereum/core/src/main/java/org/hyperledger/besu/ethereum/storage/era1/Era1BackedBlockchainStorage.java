@@ -0,0 +1,178 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.era1;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptDecoder;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.util.era1.MappedEra1File.Era1BlockEntries;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link BlockchainStorage} that falls back to an archive of era1 files for the bodies and
+ * receipts of historical blocks that are no longer present in the underlying storage, for example
+ * after pruning pre-merge block data.
+ *
+ * <p>The era1 tier is read-only: every write goes to the underlying storage. Headers, block hashes
+ * and transaction locations are always served by the underlying storage, which is also used to
+ * resolve the number of a requested block before looking it up in the archive.
+ */
+public class Era1BackedBlockchainStorage implements BlockchainStorage {
+  private static final Logger LOG = LoggerFactory.getLogger(Era1BackedBlockchainStorage.class);
+  private static final int DEFAULT_DECODED_BLOCK_CACHE_SIZE = 256;
+
+  private final BlockchainStorage delegate;
+  private final Era1HistoryArchive archive;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+  private final long lastArchivedBlockNumber;
+  private final Cache<Hash, ArchivedBlock> decodedBlocks;
+
+  /**
+   * Instantiates a new era1 backed blockchain storage.
+   *
+   * @param delegate the underlying storage
+   * @param archive the archive of era1 files
+   * @param blockHeaderFunctions the block header functions used to decode archived blocks
+   */
+  public Era1BackedBlockchainStorage(
+      final BlockchainStorage delegate,
+      final Era1HistoryArchive archive,
+      final BlockHeaderFunctions blockHeaderFunctions) {
+    this(delegate, archive, blockHeaderFunctions, DEFAULT_DECODED_BLOCK_CACHE_SIZE);
+  }
+
+  Era1BackedBlockchainStorage(
+      final BlockchainStorage delegate,
+      final Era1HistoryArchive archive,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final int decodedBlockCacheSize) {
+    this.delegate = delegate;
+    this.archive = archive;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+    this.lastArchivedBlockNumber = archive.getLastBlockNumber().orElse(-1L);
+    this.decodedBlocks = Caffeine.newBuilder().maximumSize(decodedBlockCacheSize).build();
+  }
+
+  @Override
+  public Optional<Hash> getChainHead() {
+    return delegate.getChainHead();
+  }
+
+  @Override
+  public Collection<Hash> getForkHeads() {
+    return delegate.getForkHeads();
+  }
+
+  @Override
+  public Optional<Hash> getFinalized() {
+    return delegate.getFinalized();
+  }
+
+  @Override
+  public Optional<Hash> getSafeBlock() {
+    return delegate.getSafeBlock();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
+    return delegate.getBlockHeader(blockHash);
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHash) {
+    return delegate
+        .getBlockBody(blockHash)
+        .or(() -> getArchivedBlock(blockHash).map(ArchivedBlock::body));
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
+    return delegate
+        .getTransactionReceipts(blockHash)
+        .or(() -> getArchivedBlock(blockHash).map(ArchivedBlock::receipts));
+  }
+
+  @Override
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    return delegate.getBlockHash(blockNumber);
+  }
+
+  @Override
+  public Optional<Difficulty> getTotalDifficulty(final Hash blockHash) {
+    return delegate.getTotalDifficulty(blockHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return delegate.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public Updater updater() {
+    return delegate.updater();
+  }
+
+  private Optional<ArchivedBlock> getArchivedBlock(final Hash blockHash) {
+    final ArchivedBlock cached = decodedBlocks.getIfPresent(blockHash);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    final Optional<ArchivedBlock> archivedBlock =
+        delegate
+            .getBlockHeader(blockHash)
+            .filter(header -> header.getNumber() <= lastArchivedBlockNumber)
+            .flatMap(header -> archive.getBlock(header.getNumber()))
+            .map(this::decode)
+            .filter(block -> isRequestedBlock(block, blockHash));
+    archivedBlock.ifPresent(block -> decodedBlocks.put(blockHash, block));
+    return archivedBlock;
+  }
+
+  private ArchivedBlock decode(final Era1BlockEntries entries) {
+    final BlockHeader header =
+        BlockHeader.readFrom(RLP.input(entries.header()), blockHeaderFunctions);
+    final BlockBody body =
+        BlockBody.readWrappedBodyFrom(RLP.input(entries.body()), blockHeaderFunctions, true);
+    final List<TransactionReceipt> receipts =
+        RLP.input(entries.receipts()).readList(in -> TransactionReceiptDecoder.readFrom(in, false));
+    return new ArchivedBlock(header.getHash(), body, receipts);
+  }
+
+  private static boolean isRequestedBlock(final ArchivedBlock block, final Hash blockHash) {
+    if (!block.hash().equals(blockHash)) {
+      // the archive holds a different chain than the one in storage for this height
+      LOG.debug("Archived block {} does not match requested block {}", block.hash(), blockHash);
+      return false;
+    }
+    return true;
+  }
+
+  private record ArchivedBlock(Hash hash, BlockBody body, List<TransactionReceipt> receipts) {}
+}
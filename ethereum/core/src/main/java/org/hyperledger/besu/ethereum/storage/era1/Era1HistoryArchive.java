@@ -0,0 +1,125 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.era1;
+
+import org.hyperledger.besu.util.era1.MappedEra1File;
+import org.hyperledger.besu.util.era1.MappedEra1File.Era1BlockEntries;
+import org.hyperledger.besu.util.snappy.SnappyFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-memory index over a directory of era1 files, as written by the era1 block exporter, mapping
+ * block numbers to the memory-mapped file holding them.
+ */
+public class Era1HistoryArchive implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(Era1HistoryArchive.class);
+  private static final String ERA1_FILE_EXTENSION = ".era1";
+
+  private final NavigableMap<Long, MappedEra1File> filesByStartingBlock;
+
+  Era1HistoryArchive(final NavigableMap<Long, MappedEra1File> filesByStartingBlock) {
+    this.filesByStartingBlock = filesByStartingBlock;
+  }
+
+  /**
+   * Maps every era1 file of the supplied directory and indexes them by block number.
+   *
+   * @param directory the directory containing the era1 files
+   * @return the archive
+   * @throws IOException if the directory cannot be listed or a file cannot be mapped
+   */
+  public static Era1HistoryArchive open(final Path directory) throws IOException {
+    final SnappyFactory snappyFactory = new SnappyFactory();
+    final NavigableMap<Long, MappedEra1File> filesByStartingBlock = new TreeMap<>();
+    final List<Path> era1Files;
+    try (final Stream<Path> files = Files.list(directory)) {
+      era1Files =
+          files
+              .filter(file -> file.getFileName().toString().endsWith(ERA1_FILE_EXTENSION))
+              .toList();
+    }
+    try {
+      for (final Path file : era1Files) {
+        final MappedEra1File era1File = MappedEra1File.open(file, snappyFactory);
+        final MappedEra1File previous =
+            filesByStartingBlock.put(era1File.getStartingBlockNumber(), era1File);
+        if (previous != null) {
+          LOG.warn(
+              "Ignoring era1 file {} covering the same blocks as {}",
+              previous.getPath(),
+              era1File.getPath());
+          previous.close();
+        }
+      }
+    } catch (final IOException | RuntimeException e) {
+      for (final MappedEra1File era1File : filesByStartingBlock.values()) {
+        era1File.close();
+      }
+      throw e;
+    }
+    final Era1HistoryArchive archive = new Era1HistoryArchive(filesByStartingBlock);
+    LOG.info(
+        "Indexed {} era1 files in {} covering blocks up to {}",
+        filesByStartingBlock.size(),
+        directory,
+        archive.getLastBlockNumber().map(String::valueOf).orElse("none"));
+    return archive;
+  }
+
+  /**
+   * Gets the number of the last block stored in the archive
+   *
+   * @return the last block number, or empty if the archive holds no blocks
+   */
+  public Optional<Long> getLastBlockNumber() {
+    return Optional.ofNullable(filesByStartingBlock.lastEntry())
+        .map(Map.Entry::getValue)
+        .filter(file -> file.getBlockCount() > 0)
+        .map(file -> file.getStartingBlockNumber() + file.getBlockCount() - 1);
+  }
+
+  /**
+   * Locates the still compressed entries of a block in the archive.
+   *
+   * @param blockNumber the block number
+   * @return the entries of the block, or empty if no file in the archive holds it
+   */
+  public Optional<Era1BlockEntries> getBlock(final long blockNumber) {
+    return Optional.ofNullable(filesByStartingBlock.floorEntry(blockNumber))
+        .map(Map.Entry::getValue)
+        .filter(file -> file.containsBlock(blockNumber))
+        .map(file -> file.getBlock(blockNumber));
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (final MappedEra1File era1File : filesByStartingBlock.values()) {
+      era1File.close();
+    }
+  }
+}
@@ -16,9 +16,12 @@ package org.hyperledger.besu.ethereum.storage.keyvalue;
 
 import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
 import org.hyperledger.besu.ethereum.chain.VariablesStorage;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.era1.Era1BackedBlockchainStorage;
+import org.hyperledger.besu.ethereum.storage.era1.Era1HistoryArchive;
 import org.hyperledger.besu.ethereum.trie.forest.storage.ForestWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
@@ -32,6 +35,8 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageAdapter;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +55,7 @@ public class KeyValueStorageProvider implements StorageProvider {
   protected final Map<List<SegmentIdentifier>, SegmentedKeyValueStorage> storageInstances =
       new HashMap<>();
   private final ObservableMetricsSystem metricsSystem;
+  private final List<Era1HistoryArchive> era1Archives = new ArrayList<>();
 
   public KeyValueStorageProvider(
       final Function<List<SegmentIdentifier>, SegmentedKeyValueStorage> segmentedStorageCreator,
@@ -71,11 +77,25 @@ public class KeyValueStorageProvider implements StorageProvider {
       final ProtocolSchedule protocolSchedule,
       final VariablesStorage variablesStorage,
       final DataStorageConfiguration dataStorageConfiguration) {
-    return new KeyValueStoragePrefixedKeyBlockchainStorage(
-        getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.BLOCKCHAIN),
-        variablesStorage,
-        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule),
-        dataStorageConfiguration.getReceiptCompactionEnabled());
+    final BlockHeaderFunctions blockHeaderFunctions =
+        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
+    final BlockchainStorage blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.BLOCKCHAIN),
+            variablesStorage,
+            blockHeaderFunctions,
+            dataStorageConfiguration.getReceiptCompactionEnabled());
+    if (dataStorageConfiguration.getEra1HistoryDirectory().isEmpty()) {
+      return blockchainStorage;
+    }
+    try {
+      final Era1HistoryArchive archive =
+          Era1HistoryArchive.open(dataStorageConfiguration.getEra1HistoryDirectory().get());
+      era1Archives.add(archive);
+      return new Era1BackedBlockchainStorage(blockchainStorage, archive, blockHeaderFunctions);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to open era1 history archive", e);
+    }
   }
 
   @Override
@@ -132,5 +152,8 @@ public class KeyValueStorageProvider implements StorageProvider {
                     .log();
               }
             });
+    for (final Era1HistoryArchive archive : era1Archives) {
+      archive.close();
+    }
   }
 }
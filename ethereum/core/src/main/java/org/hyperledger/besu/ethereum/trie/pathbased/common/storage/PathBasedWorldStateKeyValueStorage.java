@@ -154,6 +154,16 @@ public abstract class PathBasedWorldStateKeyValueStorage
         .streamAccountFlatDatabase(composedWorldStateStorage, startKeyHash, takeWhile);
   }
 
+  /**
+   * Streams the flat accounts in key order from the start key hash, without collecting them.
+   *
+   * @param startKeyHash the first key hash of the stream
+   * @return the stream of accounts, which must be closed by the caller
+   */
+  public Stream<Pair<Bytes32, Bytes>> streamFlatAccounts(final Bytes startKeyHash) {
+    return getFlatDbStrategy().streamAccountFlatDatabase(composedWorldStateStorage, startKeyHash);
+  }
+
   public NavigableMap<Bytes32, Bytes> streamFlatStorages(
       final Hash accountHash, final Bytes startKeyHash, final Bytes32 endKeyHash, final long max) {
     return getFlatDbStrategy()
@@ -169,6 +179,20 @@ public abstract class PathBasedWorldStateKeyValueStorage
         .streamStorageFlatDatabase(composedWorldStateStorage, accountHash, startKeyHash, takeWhile);
   }
 
+  /**
+   * Streams the flat storage slots of an account in key order from the start key hash, without
+   * collecting them.
+   *
+   * @param accountHash the hash of the account
+   * @param startKeyHash the first key hash of the stream
+   * @return the stream of RLP encoded slots, which must be closed by the caller
+   */
+  public Stream<Pair<Bytes32, Bytes>> streamFlatStorages(
+      final Hash accountHash, final Bytes startKeyHash) {
+    return getFlatDbStrategy()
+        .streamStorageFlatDatabase(composedWorldStateStorage, accountHash, startKeyHash);
+  }
+
   public boolean isWorldStateAvailable(final Bytes32 rootHash, final Hash blockHash) {
     return composedWorldStateStorage
         .get(TRIE_BRANCH_STORAGE, WORLD_ROOT_HASH_KEY)
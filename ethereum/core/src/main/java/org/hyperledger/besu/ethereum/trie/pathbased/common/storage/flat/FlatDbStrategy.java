@@ -209,6 +209,21 @@ public abstract class FlatDbStrategy {
             .takeWhile(takeWhile));
   }
 
+  /** streams accounts in key order from a start key, the stream must be closed by the caller. */
+  public Stream<Pair<Bytes32, Bytes>> streamAccountFlatDatabase(
+      final SegmentedKeyValueStorage storage, final Bytes startKeyHash) {
+    return accountsToPairStream(storage, startKeyHash);
+  }
+
+  /**
+   * streams RLP encoded storage values in key order from a start key, the stream must be closed by
+   * the caller.
+   */
+  public Stream<Pair<Bytes32, Bytes>> streamStorageFlatDatabase(
+      final SegmentedKeyValueStorage storage, final Hash accountHash, final Bytes startKeyHash) {
+    return storageToPairStream(storage, accountHash, startKeyHash, RLP::encodeValue);
+  }
+
   protected abstract Stream<Pair<Bytes32, Bytes>> storageToPairStream(
       final SegmentedKeyValueStorage storage,
       final Hash accountHash,
@@ -24,6 +24,8 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.mainnet.profiling.BlockImportPhase;
+import org.hyperledger.besu.ethereum.mainnet.profiling.BlockImportProfile;
 import org.hyperledger.besu.ethereum.mainnet.staterootcommitter.StateRootCommitter;
 import org.hyperledger.besu.ethereum.trie.common.StateRootMismatchException;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.StorageSubscriber;
@@ -260,8 +262,10 @@ public abstract class PathBasedWorldState
     } finally {
       if (success) {
         // commit the trielog transaction ahead of the state, in case of an abnormal shutdown:
+        BlockImportProfile.enterCurrentPhase(BlockImportPhase.TRIE_LOG);
         saveTrieLog.run();
         // commit only the composed worldstate, as trielog transaction is already complete:
+        BlockImportProfile.enterCurrentPhase(BlockImportPhase.COMMIT);
         stateUpdater.commitComposedOnly();
         if (!isStorageFrozen) {
           // optionally save the committed worldstate state in the cache
@@ -0,0 +1,123 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.util;
+
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Iterates over the raw RLP encoded blocks of a file of concatenated blocks, without decoding them.
+ *
+ * <p>The file is memory-mapped in windows, and every returned {@link Bytes} is a zero-copy slice
+ * over the mapping, so decoding can be deferred and spread across threads by the caller. Use
+ * {@link RawBlockIterator#decodeBlock} to turn a slice into a block.
+ */
+public final class MappedRawBlockIterator implements Iterator<Bytes>, Closeable {
+  private static final long DEFAULT_WINDOW_SIZE = 1L << 28;
+  // the longest possible RLP list prefix: one byte plus up to 8 bytes of length
+  private static final int MAX_RLP_PREFIX_SIZE = 9;
+
+  private final FileChannel fileChannel;
+  private final long fileSize;
+  private final long windowSize;
+
+  private MappedByteBuffer window;
+  private long windowStart;
+  private long position;
+
+  MappedRawBlockIterator(final Path file, final long windowSize) throws IOException {
+    this.fileChannel = FileChannel.open(file);
+    this.fileSize = fileChannel.size();
+    this.windowSize = Math.min(windowSize, Integer.MAX_VALUE);
+    this.position = 0;
+    mapWindow(0, this.windowSize);
+  }
+
+  /**
+   * Instantiates a new iterator over the blocks of the given file.
+   *
+   * @param file the file containing concatenated RLP encoded blocks
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public MappedRawBlockIterator(final Path file) throws IOException {
+    this(file, DEFAULT_WINDOW_SIZE);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return position < fileSize;
+  }
+
+  @Override
+  public Bytes next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more blocks in found in the file.");
+    }
+    try {
+      if (position + Math.min(MAX_RLP_PREFIX_SIZE, fileSize - position) > windowEnd()) {
+        mapWindow(position, windowSize);
+      }
+      int offset = (int) (position - windowStart);
+      final int length =
+          RLP.calculateSize(Bytes.wrapByteBuffer(window, offset, window.limit() - offset));
+      if (position + length > fileSize) {
+        throw new IllegalStateException(
+            "Truncated block at file offset " + position + " expected " + length + " bytes");
+      }
+      if (position + length > windowEnd()) {
+        mapWindow(position, Math.max(windowSize, length));
+        offset = 0;
+      }
+      final Bytes rlpBytes = Bytes.wrapByteBuffer(window, offset, length);
+      position += length;
+      return rlpBytes;
+    } catch (final IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Gets the offset in the file of the next block to be returned.
+   *
+   * @return the file offset of the next block
+   */
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    fileChannel.close();
+  }
+
+  private long windowEnd() {
+    return windowStart + window.limit();
+  }
+
+  private void mapWindow(final long start, final long size) throws IOException {
+    windowStart = start;
+    window =
+        fileChannel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, fileSize - start));
+  }
+}
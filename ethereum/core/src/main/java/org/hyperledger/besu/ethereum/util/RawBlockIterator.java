@@ -94,11 +94,7 @@ public final class RawBlockIterator implements Iterator<Block>, Closeable {
       }
 
       final Bytes rlpBytes = Bytes.wrap(Bytes.wrapByteBuffer(readBuffer, 0, length).toArray());
-      final RLPInput rlp = new BytesValueRLPInput(rlpBytes, false);
-      rlp.enterList();
-      final BlockHeader header = BlockHeader.readFrom(rlp, blockHeaderFunctions);
-      final BlockBody body = BlockBody.readFrom(rlp, blockHeaderFunctions);
-      next = new Block(header, body);
+      next = decodeBlock(rlpBytes, blockHeaderFunctions);
       readBuffer.position(length);
       readBuffer.compact();
       readBuffer.position(initial - length);
@@ -107,6 +103,22 @@ public final class RawBlockIterator implements Iterator<Block>, Closeable {
     }
   }
 
+  /**
+   * Decodes a single RLP encoded block as stored in a file of concatenated blocks.
+   *
+   * @param rlpBytes the RLP encoding of the block
+   * @param blockHeaderFunctions the block header functions used to decode headers
+   * @return the decoded block
+   */
+  public static Block decodeBlock(
+      final Bytes rlpBytes, final BlockHeaderFunctions blockHeaderFunctions) {
+    final RLPInput rlp = new BytesValueRLPInput(rlpBytes, false);
+    rlp.enterList();
+    final BlockHeader header = BlockHeader.readFrom(rlp, blockHeaderFunctions);
+    final BlockBody body = BlockBody.readFrom(rlp, blockHeaderFunctions);
+    return new Block(header, body);
+  }
+
   private void fillReadBuffer() throws IOException {
     fileChannel.read(readBuffer);
   }
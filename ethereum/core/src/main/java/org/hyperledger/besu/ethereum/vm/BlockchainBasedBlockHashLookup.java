@@ -18,6 +18,7 @@ import static org.hyperledger.besu.datatypes.Hash.ZERO;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -46,6 +47,23 @@ public class BlockchainBasedBlockHashLookup implements BlockHashLookup {
     hashByNumber.put(currentBlock.getNumber() - 1, currentBlock.getParentHash());
   }
 
+  /**
+   * Creates a lookup following the chain from the given parent of the current block, which does
+   * not have to be imported yet, as when a block is created on top of a block that is still
+   * collecting its seals.
+   *
+   * @param currentBlock the block being processed
+   * @param parentHeader the header of the parent of the block being processed
+   * @param blockchain the blockchain holding the ancestors of the parent
+   */
+  public BlockchainBasedBlockHashLookup(
+      final ProcessableBlockHeader currentBlock,
+      final BlockHeader parentHeader,
+      final Blockchain blockchain) {
+    this(parentHeader, blockchain);
+    hashByNumber.put(currentBlock.getNumber() - 1, currentBlock.getParentHash());
+  }
+
   @Override
   public Hash apply(final MessageFrame frame, final Long blockNumber) {
     final Hash cachedHash = hashByNumber.get(blockNumber);
@@ -17,6 +17,9 @@ package org.hyperledger.besu.ethereum.worldstate;
 import org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 import org.immutables.value.Value;
 
 @Value.Immutable
@@ -70,4 +73,6 @@ public interface DataStorageConfiguration {
   default boolean getHistoryExpiryPruneEnabled() {
     return DEFAULT_HISTORY_EXPIRY_PRUNE_ENABLED;
   }
+
+  Optional<Path> getEra1HistoryDirectory();
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core.encoding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class EncodedTransactionTest {
+  private final BlockDataGenerator generator = new BlockDataGenerator();
+
+  @ParameterizedTest
+  @EnumSource(value = TransactionType.class, names = {"FRONTIER", "ACCESS_LIST", "EIP1559"})
+  void hashMatchesDecodedTransaction(final TransactionType transactionType) {
+    final Transaction transaction = generator.transaction(transactionType);
+    final EncodedTransaction encoded = EncodedTransaction.readFrom(RLP.input(encode(transaction)));
+
+    assertThat(encoded.getHash()).isEqualTo(transaction.getHash());
+    final Transaction decoded = encoded.decode();
+    assertThat(decoded).isEqualTo(transaction);
+    assertThat(decoded.getHash()).isEqualTo(transaction.getHash());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = TransactionType.class, names = {"FRONTIER", "EIP1559"})
+  void decodedTransactionIsEncodedAsReceived(final TransactionType transactionType) {
+    final Bytes rlp = encode(generator.transaction(transactionType));
+    final Transaction decoded = EncodedTransaction.readFrom(RLP.input(rlp)).decode();
+
+    assertThat(encode(decoded)).isEqualTo(rlp);
+    assertThat(decoded.getRawRlp()).isPresent();
+  }
+
+  private static Bytes encode(final Transaction transaction) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    TransactionEncoder.encodeRLP(transaction, out, EncodingContext.BLOCK_BODY);
+    return out.encoded();
+  }
+}
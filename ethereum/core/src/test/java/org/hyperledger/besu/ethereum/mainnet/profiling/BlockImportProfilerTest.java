@@ -0,0 +1,134 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.Observation;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BlockImportProfilerTest {
+  private static final Address CONTRACT_A = Address.fromHexString("0xaa");
+  private static final Address CONTRACT_B = Address.fromHexString("0xbb");
+
+  @TempDir private Path reportDirectory;
+
+  private final BlockHeader blockHeader = new BlockHeaderTestFixture().number(7).buildHeader();
+
+  @Test
+  public void slowBlockIsReportedWithItsTopContracts() throws IOException {
+    final BlockImportProfiler profiler =
+        new BlockImportProfiler(
+            new NoOpMetricsSystem(), OptionalLong.of(0), Optional.of(reportDirectory));
+
+    try (final BlockImportProfile profile = profiler.start(blockHeader)) {
+      profile.enterPhase(BlockImportPhase.TRANSACTIONS);
+      profile.transactionProcessed(transactionTo(CONTRACT_A), 100, 10_000_000);
+      profile.transactionProcessed(transactionTo(CONTRACT_B), 300, 5_000_000);
+      profile.transactionProcessed(transactionTo(CONTRACT_A), 50, 1_000_000);
+      BlockImportProfile.enterCurrentPhase(BlockImportPhase.STATE_ROOT);
+      profile.completed();
+    }
+
+    final JsonNode report =
+        new ObjectMapper()
+            .readTree(
+                reportDirectory
+                    .resolve("block-7-" + blockHeader.getHash() + ".json")
+                    .toFile());
+    assertThat(report.get("number").asLong()).isEqualTo(7);
+    assertThat(report.get("transactions").asInt()).isEqualTo(3);
+    assertThat(report.get("phasesMs").fieldNames())
+        .toIterable()
+        .containsExactly(
+            "pre_execution", "transactions", "post_execution", "state_root", "trie_log", "commit");
+    final JsonNode topByGas = report.get("topContractsByGas");
+    assertThat(topByGas.get(0).get("address").asText()).isEqualTo(CONTRACT_B.toHexString());
+    assertThat(topByGas.get(1).get("gasUsed").asLong()).isEqualTo(150);
+    final JsonNode topByTime = report.get("topContractsByTime");
+    assertThat(topByTime.get(0).get("address").asText()).isEqualTo(CONTRACT_A.toHexString());
+    assertThat(topByTime.get(0).get("transactions").asInt()).isEqualTo(2);
+    assertThat(topByTime.get(0).get("durationMs").asDouble()).isEqualTo(11.0);
+  }
+
+  @Test
+  public void failedBlockIsNotRecorded() {
+    final BlockImportProfiler profiler =
+        new BlockImportProfiler(
+            new NoOpMetricsSystem(), OptionalLong.of(0), Optional.of(reportDirectory));
+
+    try (final BlockImportProfile profile = profiler.start(blockHeader)) {
+      profile.transactionProcessed(transactionTo(CONTRACT_A), 100, 1_000);
+    }
+
+    assertThat(reportDirectory).isEmptyDirectory();
+  }
+
+  @Test
+  public void phaseDurationsAreObserved() {
+    final PrometheusMetricsSystem metricsSystem =
+        new PrometheusMetricsSystem(Set.of(BesuMetricCategory.BLOCK_PROCESSING), true);
+    final BlockImportProfiler profiler =
+        new BlockImportProfiler(metricsSystem, OptionalLong.empty(), Optional.empty());
+
+    try (final BlockImportProfile profile = profiler.start(blockHeader)) {
+      profile.enterPhase(BlockImportPhase.TRANSACTIONS);
+      BlockImportProfile.enterCurrentPhase(BlockImportPhase.COMMIT);
+      profile.completed();
+    }
+    // the profile is no longer current once closed
+    BlockImportProfile.enterCurrentPhase(BlockImportPhase.TRIE_LOG);
+
+    final List<List<String>> counted =
+        metricsSystem
+            .streamObservations(BesuMetricCategory.BLOCK_PROCESSING)
+            .filter(observation -> observation.labels().contains("count"))
+            .filter(observation -> ((Number) observation.value()).longValue() > 0)
+            .map(Observation::labels)
+            .toList();
+    assertThat(counted)
+        .containsExactlyInAnyOrder(
+            List.of("pre_execution", "count"),
+            List.of("transactions", "count"),
+            List.of("commit", "count"));
+    metricsSystem.shutdown();
+  }
+
+  private Transaction transactionTo(final Address contract) {
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getTo()).thenReturn(Optional.of(contract));
+    return transaction;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.era1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncoder;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncodingConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.util.era1.MappedEra1File.Era1BlockEntries;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class Era1BackedBlockchainStorageTest {
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final BlockHeaderFunctions blockHeaderFunctions = new MainnetBlockHeaderFunctions();
+  private final BlockchainStorage delegate = mock(BlockchainStorage.class);
+  private final Era1HistoryArchive archive = mock(Era1HistoryArchive.class);
+
+  private Block block;
+  private List<TransactionReceipt> receipts;
+
+  @BeforeEach
+  public void setUp() {
+    block = gen.block(BlockDataGenerator.BlockOptions.create().setBlockNumber(10));
+    receipts = gen.receipts(block);
+    when(delegate.getBlockHeader(block.getHash())).thenReturn(Optional.of(block.getHeader()));
+    when(delegate.getBlockBody(block.getHash())).thenReturn(Optional.empty());
+    when(delegate.getTransactionReceipts(block.getHash())).thenReturn(Optional.empty());
+    when(archive.getLastBlockNumber()).thenReturn(Optional.of(100L));
+  }
+
+  @Test
+  public void servesPrunedBodiesAndReceiptsFromArchive() {
+    archiveBlock(block);
+    final Era1BackedBlockchainStorage storage = createStorage();
+
+    assertThat(storage.getBlockBody(block.getHash())).contains(block.getBody());
+    assertThat(storage.getTransactionReceipts(block.getHash())).contains(receipts);
+    // the second lookup is served by the decoded block cache
+    verify(archive, times(1)).getBlock(block.getHeader().getNumber());
+  }
+
+  @Test
+  public void prefersUnderlyingStorage() {
+    archiveBlock(block);
+    when(delegate.getBlockBody(block.getHash())).thenReturn(Optional.of(block.getBody()));
+    when(delegate.getTransactionReceipts(block.getHash())).thenReturn(Optional.of(receipts));
+    final Era1BackedBlockchainStorage storage = createStorage();
+
+    assertThat(storage.getBlockBody(block.getHash())).contains(block.getBody());
+    assertThat(storage.getTransactionReceipts(block.getHash())).contains(receipts);
+    verify(archive, never()).getBlock(anyLong());
+  }
+
+  @Test
+  public void ignoresArchivedBlockFromAnotherChain() {
+    archiveBlock(gen.block(BlockDataGenerator.BlockOptions.create().setBlockNumber(10)));
+    final Era1BackedBlockchainStorage storage = createStorage();
+
+    assertThat(storage.getBlockBody(block.getHash())).isEmpty();
+    assertThat(storage.getTransactionReceipts(block.getHash())).isEmpty();
+  }
+
+  @Test
+  public void doesNotLookUpBlocksAfterArchive() {
+    when(archive.getLastBlockNumber()).thenReturn(Optional.of(9L));
+    final Era1BackedBlockchainStorage storage = createStorage();
+
+    assertThat(storage.getBlockBody(block.getHash())).isEmpty();
+    verify(archive, never()).getBlock(anyLong());
+  }
+
+  @Test
+  public void doesNotLookUpUnknownBlocks() {
+    final Era1BackedBlockchainStorage storage = createStorage();
+
+    assertThat(storage.getBlockBody(gen.hash())).isEmpty();
+    verify(archive, never()).getBlock(anyLong());
+  }
+
+  private Era1BackedBlockchainStorage createStorage() {
+    return new Era1BackedBlockchainStorage(delegate, archive, blockHeaderFunctions, 16);
+  }
+
+  private void archiveBlock(final Block archivedBlock) {
+    final Era1BlockEntries entries = mock(Era1BlockEntries.class);
+    when(entries.header()).thenReturn(RLP.encode(archivedBlock.getHeader()::writeTo));
+    when(entries.body()).thenReturn(RLP.encode(archivedBlock.getBody()::writeWrappedBodyTo));
+    when(entries.receipts())
+        .thenReturn(
+            new TransactionReceiptEncoder()
+                .encode(
+                    archivedBlock.getHash().equals(block.getHash())
+                        ? receipts
+                        : gen.receipts(archivedBlock),
+                    TransactionReceiptEncodingConfiguration.DEFAULT));
+    when(archive.getBlock(archivedBlock.getHeader().getNumber())).thenReturn(Optional.of(entries));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class MappedRawBlockIteratorTest {
+
+  @TempDir private Path tmp;
+  private BlockDataGenerator gen;
+  private final BlockHeaderFunctions blockHeaderFunctions = new MainnetBlockHeaderFunctions();
+
+  @BeforeEach
+  public void setup() {
+    gen = new BlockDataGenerator(1);
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 7, 64, 1024, 1L << 20})
+  public void readsAllBlocksRegardlessOfWindowSize(final long windowSize) throws IOException {
+    final List<Block> blocks = gen.blockSequence(5);
+    final Path blocksFile = writeBlocks(blocks);
+
+    try (final MappedRawBlockIterator iterator =
+        new MappedRawBlockIterator(blocksFile, windowSize)) {
+      for (final Block expectedBlock : blocks) {
+        assertThat(iterator.hasNext()).isTrue();
+        final Bytes rawBlock = iterator.next();
+        assertThat(RawBlockIterator.decodeBlock(rawBlock, blockHeaderFunctions))
+            .isEqualTo(expectedBlock);
+      }
+      assertThat(iterator.hasNext()).isFalse();
+      assertThat(iterator.getPosition()).isEqualTo(Files.size(blocksFile));
+      assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+  }
+
+  @Test
+  public void emptyFileHasNoBlocks() throws IOException {
+    final Path blocksFile = tmp.resolve("empty");
+    Files.write(blocksFile, new byte[0]);
+
+    try (final MappedRawBlockIterator iterator = new MappedRawBlockIterator(blocksFile)) {
+      assertThat(iterator.hasNext()).isFalse();
+    }
+  }
+
+  @Test
+  public void failsOnTruncatedBlock() throws IOException {
+    final byte[] serializedBlock = serializeBlock(gen.block());
+    final Path blocksFile = tmp.resolve("truncated");
+    Files.write(blocksFile, Bytes.wrap(serializedBlock).slice(0, 100).toArrayUnsafe());
+
+    try (final MappedRawBlockIterator iterator = new MappedRawBlockIterator(blocksFile)) {
+      assertThat(iterator.hasNext()).isTrue();
+      assertThatThrownBy(iterator::next).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  private Path writeBlocks(final List<Block> blocks) throws IOException {
+    final Path blocksFile = tmp.resolve("blocks");
+    Bytes encoded = Bytes.EMPTY;
+    for (final Block block : blocks) {
+      encoded = Bytes.concatenate(encoded, Bytes.wrap(serializeBlock(block)));
+    }
+    Files.write(blocksFile, encoded.toArrayUnsafe());
+    return blocksFile;
+  }
+
+  private byte[] serializeBlock(final Block block) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    block.getHeader().writeTo(out);
+    out.writeList(block.getBody().getTransactions(), Transaction::writeTo);
+    out.writeList(block.getBody().getOmmers(), BlockHeader::writeTo);
+    out.endList();
+    return out.encoded().toArray();
+  }
+}
@@ -106,6 +106,19 @@ class BlockchainBasedBlockHashLookupTest {
         .isEqualTo(Hash.ZERO);
   }
 
+  @Test
+  void shouldGetHashesFromParentNotOnchain() {
+    final BlockHeader parentHeader = headers[CURRENT_BLOCK_NUMBER - 1];
+    when(blockchain.getBlockHeader(parentHeader.getHash())).thenReturn(Optional.empty());
+    lookup =
+        new BlockchainBasedBlockHashLookup(
+            createHeader(CURRENT_BLOCK_NUMBER, parentHeader), parentHeader, blockchain);
+
+    assertHashForBlockNumber(CURRENT_BLOCK_NUMBER - 1);
+    assertHashForBlockNumber(CURRENT_BLOCK_NUMBER - 2);
+    assertHashForBlockNumber(MAXIMUM_COMPLETE_BLOCKS_BEHIND);
+  }
+
   @Test
   void shouldCacheBlockHashesWhileIteratingBackToPreviousHeader() {
     assertHashForBlockNumber(CURRENT_BLOCK_NUMBER - 4);
@@ -0,0 +1,94 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.snap;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Cache of the trie nodes read to build the range proofs served by the snap server. It is shared
+ * by all the requests, so the upper nodes of the tries, which are part of every proof, are read
+ * from the storage once instead of once per request.
+ *
+ * <p>The nodes are keyed by their hash, which identifies their content whatever the trie and the
+ * location they are found at, so a node is shared by all the state roots and the storage tries that
+ * contain it. The cache is bounded by the size of the nodes it holds.
+ */
+class ProofNodeCache {
+  private final Cache<Bytes32, Bytes> nodes;
+
+  ProofNodeCache(final long maxSizeInBytes) {
+    this.nodes =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeInBytes)
+            .weigher((Bytes32 hash, Bytes node) -> Bytes32.SIZE + node.size())
+            .build();
+  }
+
+  /**
+   * Returns a proof provider reading the trie nodes of the given storage through this cache.
+   *
+   * @param storage the worldstate storage of the requested state root
+   * @return the proof provider
+   */
+  WorldStateProofProvider proofProvider(final BonsaiWorldStateKeyValueStorage storage) {
+    return new WorldStateProofProvider(new CachingStorageCoordinator(storage));
+  }
+
+  @VisibleForTesting
+  long size() {
+    return nodes.size();
+  }
+
+  private Optional<Bytes> getNode(final Bytes32 nodeHash, final Supplier<Optional<Bytes>> loader) {
+    final Bytes cached = nodes.getIfPresent(nodeHash);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    final Optional<Bytes> node = loader.get();
+    node.ifPresent(value -> nodes.put(nodeHash, value));
+    return node;
+  }
+
+  private class CachingStorageCoordinator extends WorldStateStorageCoordinator {
+
+    private CachingStorageCoordinator(final BonsaiWorldStateKeyValueStorage storage) {
+      super(storage);
+    }
+
+    @Override
+    public Optional<Bytes> getAccountStateTrieNode(final Bytes location, final Bytes32 nodeHash) {
+      return getNode(nodeHash, () -> super.getAccountStateTrieNode(location, nodeHash));
+    }
+
+    @Override
+    public Optional<Bytes> getAccountStorageTrieNode(
+        final Hash accountHash, final Bytes location, final Bytes32 nodeHash) {
+      return getNode(
+          nodeHash, () -> super.getAccountStorageTrieNode(accountHash, location, nodeHash));
+    }
+  }
+}
@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.eth.manager.EthMessage;
 import org.hyperledger.besu.ethereum.eth.manager.EthMessages;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncConfiguration;
 import org.hyperledger.besu.ethereum.p2p.network.ProtocolManager;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
@@ -31,12 +32,16 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.math.BigInteger;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
@@ -44,10 +49,15 @@ import org.slf4j.LoggerFactory;
 
 public class SnapProtocolManager implements ProtocolManager {
   private static final Logger LOG = LoggerFactory.getLogger(SnapProtocolManager.class);
+  // snap requests are served by a few workers, so they do not compete with the block import
+  private static final int SERVER_WORKER_COUNT = 2;
+  // the oldest requests are dropped when the queue is full, the peers have likely given up on them
+  private static final int SERVER_QUEUE_SIZE = 200;
 
   private final List<Capability> supportedCapabilities;
   private final EthPeers ethPeers;
   private final EthMessages snapMessages;
+  private final ExecutorService serverExecutor;
 
   public SnapProtocolManager(
       final WorldStateStorageCoordinator worldStateStorageCoordinator,
@@ -55,10 +65,14 @@ public class SnapProtocolManager implements ProtocolManager {
       final EthPeers ethPeers,
       final EthMessages snapMessages,
       final ProtocolContext protocolContext,
-      final Synchronizer synchronizer) {
+      final Synchronizer synchronizer,
+      final MetricsSystem metricsSystem) {
     this.ethPeers = ethPeers;
     this.snapMessages = snapMessages;
     this.supportedCapabilities = calculateCapabilities();
+    this.serverExecutor =
+        MonitoredExecutors.newBoundedThreadPool(
+            "SnapServer", SERVER_WORKER_COUNT, SERVER_QUEUE_SIZE, metricsSystem);
     new SnapServer(
         snapConfig, snapMessages, worldStateStorageCoordinator, protocolContext, synchronizer);
   }
@@ -81,10 +95,16 @@ public class SnapProtocolManager implements ProtocolManager {
   }
 
   @Override
-  public void stop() {}
+  public void stop() {
+    serverExecutor.shutdownNow();
+  }
 
   @Override
-  public void awaitStop() throws InterruptedException {}
+  public void awaitStop() throws InterruptedException {
+    if (!serverExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("{} server executor did not shutdown cleanly.", getClass().getSimpleName());
+    }
+  }
 
   /**
    * This function is called by the P2P framework when a SNAP message has been received.
@@ -116,7 +136,20 @@ public class SnapProtocolManager implements ProtocolManager {
     // This will handle responses
     ethPeers.dispatchMessage(ethPeer, ethMessage, getSupportedProtocol());
 
-    // This will handle requests
+    // This will handle requests, off the thread that receives the messages
+    try {
+      serverExecutor.execute(() -> serveRequest(cap, ethPeer, ethMessage));
+    } catch (final RejectedExecutionException e) {
+      LOG.atTrace()
+          .setMessage("Dropping snap request {} from {}, the server is stopped")
+          .addArgument(code)
+          .addArgument(ethPeer)
+          .log();
+    }
+  }
+
+  private void serveRequest(
+      final Capability cap, final EthPeer ethPeer, final EthMessage ethMessage) {
     Optional<MessageData> maybeResponseData = Optional.empty();
     try {
       final Map.Entry<BigInteger, MessageData> requestIdAndEthMessage =
@@ -127,7 +160,10 @@ public class SnapProtocolManager implements ProtocolManager {
               .map(responseData -> responseData.wrapMessageData(requestIdAndEthMessage.getKey()));
     } catch (final RLPException e) {
       LOG.debug(
-          "Received malformed message {} , disconnecting: {}", messageData.getData(), ethPeer, e);
+          "Received malformed message {} , disconnecting: {}",
+          ethMessage.getData().getData(),
+          ethPeer,
+          e);
       ethPeer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL_MALFORMED_MESSAGE_RECEIVED);
     }
     maybeResponseData.ifPresent(
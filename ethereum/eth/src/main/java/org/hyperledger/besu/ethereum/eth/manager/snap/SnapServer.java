@@ -29,9 +29,9 @@ import org.hyperledger.besu.ethereum.eth.messages.snap.StorageRangeMessage;
 import org.hyperledger.besu.ethereum.eth.messages.snap.TrieNodesMessage;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncConfiguration;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
-import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiWorldStateProvider;
@@ -49,9 +49,11 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
 import kotlin.Pair;
@@ -71,6 +73,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
   private static final int MAX_RESPONSE_SIZE = 2 * 1024 * 1024;
   private static final int MAX_CODE_LOOKUPS_PER_REQUEST = 1024;
   private static final int MAX_TRIE_LOOKUPS_PER_REQUEST = 1024;
+  private static final long PROOF_NODE_CACHE_SIZE = 32 * 1024 * 1024;
   private static final AccountRangeMessage EMPTY_ACCOUNT_RANGE =
       AccountRangeMessage.create(new HashMap<>(), new ArrayDeque<>());
   private static final StorageRangeMessage EMPTY_STORAGE_RANGE =
@@ -88,6 +91,9 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
   private final WorldStateStorageCoordinator worldStateStorageCoordinator;
   private final Optional<ProtocolContext> protocolContext;
 
+  // trie nodes of the range proofs, shared by the requests for all the recent state roots
+  private final ProofNodeCache proofNodeCache = new ProofNodeCache(PROOF_NODE_CACHE_SIZE);
+
   // whether snap server is enabled
   private final boolean snapServerEnabled;
 
@@ -250,8 +256,11 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     new ExceedingPredicate(
                         new EndKeyExceedsPredicate(endKeyBytes).and(responseSizePredicate));
 
-                NavigableMap<Bytes32, Bytes> accounts =
-                    storage.streamFlatAccounts(range.startKeyHash(), shouldContinuePredicate);
+                // encode the accounts as they are read, until a limit of the response is reached
+                final RangeEncoder accounts = new RangeEncoder(RLPOutput::writeRLPBytes);
+                try (var flatAccounts = storage.streamFlatAccounts(range.startKeyHash())) {
+                  accounts.encode(flatAccounts.takeWhile(shouldContinuePredicate));
+                }
 
                 if (accounts.isEmpty() && shouldContinuePredicate.shouldContinue.get()) {
                   var fromNextHash =
@@ -262,21 +271,22 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                   LOGGER.debug(
                       "found no accounts in range, taking first value starting from {}",
                       asLogHash(fromNextHash));
-                  accounts = storage.streamFlatAccounts(fromNextHash, UInt256.MAX_VALUE, 1L);
+                  accounts.encode(storage.streamFlatAccounts(fromNextHash, UInt256.MAX_VALUE, 1L));
                 }
 
-                final var worldStateProof =
-                    new WorldStateProofProvider(new WorldStateStorageCoordinator(storage));
+                final var worldStateProof = proofNodeCache.proofProvider(storage);
                 final List<Bytes> proof =
                     worldStateProof.getAccountProofRelatedNodes(
                         range.worldStateRootHash(), Hash.wrap(range.startKeyHash()));
 
-                if (!accounts.isEmpty()) {
-                  proof.addAll(
-                      worldStateProof.getAccountProofRelatedNodes(
-                          range.worldStateRootHash(), Hash.wrap(accounts.lastKey())));
-                }
-                var resp = AccountRangeMessage.create(accounts, proof);
+                accounts
+                    .lastKey()
+                    .ifPresent(
+                        lastKey ->
+                            proof.addAll(
+                                worldStateProof.getAccountProofRelatedNodes(
+                                    range.worldStateRootHash(), Hash.wrap(lastKey))));
+                var resp = AccountRangeMessage.create(accounts.encoded(), proof);
                 if (accounts.isEmpty()) {
                   LOGGER.debug(
                       "returned empty account range message for {} to  {}, proof count {}",
@@ -363,18 +373,23 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                       !(startKeyBytes.equals(Hash.ZERO) && endKeyBytes.equals(HASH_LAST));
                 }
 
-                ArrayDeque<NavigableMap<Bytes32, Bytes>> collectedStorages = new ArrayDeque<>();
+                // the slots of each account are encoded as they are read, and the ranges that are
+                // not empty are appended to the response
+                final BytesValueRLPOutput collectedStorages = new BytesValueRLPOutput();
+                collectedStorages.startList();
+                int collectedStoragesCount = 0;
                 List<Bytes> proofNodes = new ArrayList<>();
-                final var worldStateProof =
-                    new WorldStateProofProvider(new WorldStateStorageCoordinator(storage));
+                final var worldStateProof = proofNodeCache.proofProvider(storage);
 
                 for (var forAccountHash : range.hashes()) {
                   var predicate =
                       new ExceedingPredicate(
                           new EndKeyExceedsPredicate(endKeyBytes).and(responsePredicate));
-                  var accountStorages =
-                      storage.streamFlatStorages(
-                          Hash.wrap(forAccountHash), startKeyBytes, predicate);
+                  final RangeEncoder accountStorages = new RangeEncoder(RLPOutput::writeBytes);
+                  try (var flatStorages =
+                      storage.streamFlatStorages(Hash.wrap(forAccountHash), startKeyBytes)) {
+                    accountStorages.encode(flatStorages.takeWhile(predicate));
+                  }
 
                   //// address partial range queries that return empty
                   if (accountStorages.isEmpty() && isPartialRange) {
@@ -382,33 +397,33 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     LOGGER.debug(
                         "found no slots in range, taking first value starting from {}",
                         asLogHash(range.endKeyHash()));
-                    accountStorages =
+                    accountStorages.encode(
                         storage.streamFlatStorages(
-                            Hash.wrap(forAccountHash), range.endKeyHash(), UInt256.MAX_VALUE, 1L);
+                            Hash.wrap(forAccountHash), range.endKeyHash(), UInt256.MAX_VALUE, 1L));
                   }
 
                   // don't send empty storage ranges
                   if (!accountStorages.isEmpty()) {
-                    collectedStorages.add(accountStorages);
+                    collectedStorages.writeRaw(accountStorages.encoded());
+                    collectedStoragesCount++;
                   }
 
                   // if a partial storage range was requested, or we interrupted storage due to
                   // request limits, send proofs:
                   if (isPartialRange || !predicate.shouldGetMore()) {
+                    final Hash storageRoot = getAccountStorageRoot(forAccountHash, storage);
                     // send a proof for the left side range origin
                     proofNodes.addAll(
                         worldStateProof.getStorageProofRelatedNodes(
-                            getAccountStorageRoot(forAccountHash, storage),
-                            forAccountHash,
-                            Hash.wrap(startKeyBytes)));
-                    if (!accountStorages.isEmpty()) {
-                      // send a proof for the last key on the right
-                      proofNodes.addAll(
-                          worldStateProof.getStorageProofRelatedNodes(
-                              getAccountStorageRoot(forAccountHash, storage),
-                              forAccountHash,
-                              Hash.wrap(accountStorages.lastKey())));
-                    }
+                            storageRoot, forAccountHash, Hash.wrap(startKeyBytes)));
+                    // send a proof for the last key on the right
+                    accountStorages
+                        .lastKey()
+                        .ifPresent(
+                            lastKey ->
+                                proofNodes.addAll(
+                                    worldStateProof.getStorageProofRelatedNodes(
+                                        storageRoot, forAccountHash, Hash.wrap(lastKey))));
                   }
 
                   if (!predicate.shouldGetMore()) {
@@ -416,7 +431,8 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                   }
                 }
 
-                var resp = StorageRangeMessage.create(collectedStorages, proofNodes);
+                collectedStorages.endList();
+                var resp = StorageRangeMessage.create(collectedStorages.encoded(), proofNodes);
                 LOGGER.debug(
                     "returned in {} storage {} to {} range {} to {} with {} storages and {} proofs, resp size {} of max {}",
                     stopWatch,
@@ -424,7 +440,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     asLogHash(range.hashes().last()),
                     asLogHash(range.startKeyHash()),
                     asLogHash(range.endKeyHash()),
-                    collectedStorages.size(),
+                    collectedStoragesCount,
                     proofNodes.size(),
                     resp.getSize(),
                     maxResponseBytes);
@@ -587,6 +603,56 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
     }
   }
 
+  /**
+   * Encodes the entries of a flat range into an RLP list as they are read from the storage, so the
+   * range does not need to be collected before the response is built.
+   */
+  static class RangeEncoder {
+    private final BytesValueRLPOutput output = new BytesValueRLPOutput();
+    private final BiConsumer<RLPOutput, Bytes> valueWriter;
+    private Bytes32 lastKey;
+    private int size;
+
+    RangeEncoder(final BiConsumer<RLPOutput, Bytes> valueWriter) {
+      this.valueWriter = valueWriter;
+      output.startList();
+    }
+
+    void encode(final Stream<Pair<Bytes32, Bytes>> entries) {
+      entries.forEachOrdered(entry -> encode(entry.getFirst(), entry.getSecond()));
+    }
+
+    void encode(final NavigableMap<Bytes32, Bytes> entries) {
+      entries.forEach(this::encode);
+    }
+
+    private void encode(final Bytes32 key, final Bytes value) {
+      output.startList();
+      output.writeBytes(key);
+      valueWriter.accept(output, value);
+      output.endList();
+      lastKey = key;
+      size++;
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    int size() {
+      return size;
+    }
+
+    Optional<Bytes32> lastKey() {
+      return Optional.ofNullable(lastKey);
+    }
+
+    Bytes encoded() {
+      output.endList();
+      return output.encoded();
+    }
+  }
+
   /**
    * Predicate that doesn't immediately stop when the delegate predicate returns false, but instead
    * sets a flag to stop after the current element is processed.
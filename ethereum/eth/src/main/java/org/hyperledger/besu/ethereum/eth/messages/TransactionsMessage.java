@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.eth.messages;
 
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodedTransaction;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
@@ -60,4 +61,14 @@ public class TransactionsMessage extends AbstractMessageData {
   public List<Transaction> transactions() {
     return new BytesValueRLPInput(data, false).readList(Transaction::readFrom);
   }
+
+  /**
+   * Returns the transactions of this message without decoding their fields, so that those already
+   * received can be recognized by their hash before paying for their decoding.
+   *
+   * @return the encoded transactions of this message
+   */
+  public List<EncodedTransaction> encodedTransactions() {
+    return new BytesValueRLPInput(data, false).readList(EncodedTransaction::readFrom);
+  }
 }
@@ -79,6 +79,23 @@ public final class AccountRangeMessage extends AbstractSnapMessageData {
     return new AccountRangeMessage(tmp.encoded());
   }
 
+  /**
+   * Creates an account range message from accounts that are already encoded, so a range can be
+   * encoded as it is read from the storage.
+   *
+   * @param encodedAccounts the RLP list of the [hash, account] entries of the range
+   * @param proof the proof nodes of the range
+   * @return the account range message
+   */
+  public static AccountRangeMessage create(final Bytes encodedAccounts, final List<Bytes> proof) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    tmp.writeRaw(encodedAccounts);
+    tmp.writeList(proof, (bytes, rlpOutput) -> rlpOutput.writeBytes(bytes));
+    tmp.endList();
+    return new AccountRangeMessage(tmp.encoded());
+  }
+
   @Override
   protected Bytes wrap(final BigInteger requestId) {
     final AccountRangeData accountData = accountData(false);
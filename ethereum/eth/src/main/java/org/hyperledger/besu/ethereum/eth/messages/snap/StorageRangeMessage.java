@@ -77,6 +77,23 @@ public final class StorageRangeMessage extends AbstractSnapMessageData {
     return new StorageRangeMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a storage range message from slots that are already encoded, so the ranges can be
+   * encoded as they are read from the storage.
+   *
+   * @param encodedSlots the RLP list of the lists of [hash, slot] entries of each account
+   * @param proof the proof nodes of the last range
+   * @return the storage range message
+   */
+  public static StorageRangeMessage create(final Bytes encodedSlots, final List<Bytes> proof) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    tmp.writeRaw(encodedSlots);
+    tmp.writeList(proof, (bytes, rlpOutput) -> rlpOutput.writeBytes(bytes));
+    tmp.endList();
+    return new StorageRangeMessage(tmp.encoded());
+  }
+
   @Override
   protected Bytes wrap(final BigInteger requestId) {
     final SlotRangeData slotsData = slotsData(false);
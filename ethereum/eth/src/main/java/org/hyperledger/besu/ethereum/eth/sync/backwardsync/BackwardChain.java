@@ -30,6 +30,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.slf4j.Logger;
 
 public class BackwardChain {
@@ -37,6 +39,7 @@ public class BackwardChain {
 
   private static final String FIRST_STORED_ANCESTOR_KEY = "firstStoredAncestor";
   private static final String LAST_STORED_PIVOT_KEY = "lastStoredPivot";
+  private static final int MAX_INDEXED_ENTRIES = 10_000;
 
   private final GenericKeyValueStorageFacade<Hash, BlockHeader> headers;
   private final GenericKeyValueStorageFacade<Hash, Block> blocks;
@@ -46,6 +49,15 @@ public class BackwardChain {
   private Optional<BlockHeader> lastStoredPivot;
   private final Queue<Hash> hashesToAppend = new ArrayDeque<>();
 
+  // Bounded in memory index of the chain written during this session, kept in sync with the
+  // storage, so walking the chain does not read back and decode what was just written. The storage
+  // is still the source of truth, used when resuming a session and for the entries evicted from
+  // the index.
+  private final Cache<Hash, Hash> descendantIndex =
+      CacheBuilder.newBuilder().maximumSize(MAX_INDEXED_ENTRIES).build();
+  private final Cache<Hash, BlockHeader> headerIndex =
+      CacheBuilder.newBuilder().maximumSize(MAX_INDEXED_ENTRIES).build();
+
   public BackwardChain(
       final GenericKeyValueStorageFacade<Hash, BlockHeader> headersStorage,
       final GenericKeyValueStorageFacade<Hash, Block> blocksStorage,
@@ -116,7 +128,7 @@ public class BackwardChain {
     Optional<BlockHeader> it = firstStoredAncestor;
     while (it.isPresent() && result.size() < size) {
       result.add(it.get());
-      it = chainStorage.get(it.get().getHash()).flatMap(headers::get);
+      it = getDescendant(it.get().getHash()).flatMap(this::getHeader);
     }
     return result;
   }
@@ -130,12 +142,13 @@ public class BackwardChain {
     if (!alreadyStored) {
       headers.put(blockHeader.getHash(), blockHeader);
     }
+    headerIndex.put(blockHeader.getHash(), blockHeader);
 
     if (firstStoredAncestor.isEmpty()) {
       updateLastStoredPivot(Optional.of(blockHeader));
     } else {
       final BlockHeader firstHeader = firstStoredAncestor.get();
-      chainStorage.put(blockHeader.getHash(), firstHeader.getHash());
+      putDescendant(blockHeader.getHash(), firstHeader.getHash());
       LOG.atDebug()
           .setMessage("Added header {} to backward chain led by pivot {} on height {}")
           .addArgument(blockHeader::toLogString)
@@ -172,10 +185,13 @@ public class BackwardChain {
     if (firstStoredAncestor.isEmpty()) {
       return;
     }
-    headers.drop(firstStoredAncestor.get().getHash());
-    final Optional<Hash> hash = chainStorage.get(firstStoredAncestor.get().getHash());
-    chainStorage.drop(firstStoredAncestor.get().getHash());
-    updateFirstStoredAncestor(hash.flatMap(headers::get));
+    final Hash firstHash = firstStoredAncestor.get().getHash();
+    final Optional<Hash> hash = getDescendant(firstHash);
+    headers.drop(firstHash);
+    headerIndex.invalidate(firstHash);
+    chainStorage.drop(firstHash);
+    descendantIndex.invalidate(firstHash);
+    updateFirstStoredAncestor(hash.flatMap(this::getHeader));
     if (firstStoredAncestor.isEmpty()) {
       updateLastStoredPivot(Optional.empty());
     }
@@ -184,6 +200,7 @@ public class BackwardChain {
   public synchronized void appendTrustedBlock(final Block newPivot) {
     LOG.atDebug().setMessage("Appending trusted block {}").addArgument(newPivot::toLogString).log();
     headers.put(newPivot.getHash(), newPivot.getHeader());
+    headerIndex.put(newPivot.getHash(), newPivot.getHeader());
     blocks.put(newPivot.getHash(), newPivot);
     if (lastStoredPivot.isEmpty()) {
       updateFirstStoredAncestor(Optional.of(newPivot.getHeader()));
@@ -195,7 +212,7 @@ public class BackwardChain {
             .addArgument(lastStoredPivot.get()::toLogString)
             .addArgument(firstStoredAncestor.get()::getNumber)
             .log();
-        chainStorage.put(lastStoredPivot.get().getHash(), newPivot.getHash());
+        putDescendant(lastStoredPivot.get().getHash(), newPivot.getHash());
       } else {
         updateFirstStoredAncestor(Optional.of(newPivot.getHeader()));
         LOG.atDebug()
@@ -220,13 +237,26 @@ public class BackwardChain {
     headers.clear();
     chainStorage.clear();
     sessionDataStorage.clear();
+    descendantIndex.invalidateAll();
+    headerIndex.invalidateAll();
     firstStoredAncestor = Optional.empty();
     lastStoredPivot = Optional.empty();
     hashesToAppend.clear();
   }
 
   public synchronized Optional<Hash> getDescendant(final Hash blockHash) {
-    return chainStorage.get(blockHash);
+    final Hash descendant = descendantIndex.getIfPresent(blockHash);
+    if (descendant != null) {
+      return Optional.of(descendant);
+    }
+    final Optional<Hash> storedDescendant = chainStorage.get(blockHash);
+    storedDescendant.ifPresent(hash -> descendantIndex.put(blockHash, hash));
+    return storedDescendant;
+  }
+
+  private void putDescendant(final Hash blockHash, final Hash descendant) {
+    chainStorage.put(blockHash, descendant);
+    descendantIndex.put(blockHash, descendant);
   }
 
   public synchronized Optional<Block> getBlock(final Hash hash) {
@@ -234,7 +264,13 @@ public class BackwardChain {
   }
 
   public synchronized Optional<BlockHeader> getHeader(final Hash hash) {
-    return headers.get(hash);
+    final BlockHeader header = headerIndex.getIfPresent(hash);
+    if (header != null) {
+      return Optional.of(header);
+    }
+    final Optional<BlockHeader> storedHeader = headers.get(hash);
+    storedHeader.ifPresent(blockHeader -> headerIndex.put(hash, blockHeader));
+    return storedHeader;
   }
 
   public synchronized void addNewHash(final Hash newBlockHash) {
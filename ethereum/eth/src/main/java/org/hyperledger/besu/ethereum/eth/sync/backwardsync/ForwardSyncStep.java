@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerTaskExecutorResult
 import org.hyperledger.besu.ethereum.eth.manager.peertask.task.GetBodiesFromPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.task.AbstractPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.task.RetryingGetBlocksFromPeersTask;
+import org.hyperledger.besu.ethereum.eth.transactions.SenderRecovery;
 
 import java.util.Comparator;
 import java.util.List;
@@ -28,12 +29,15 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ForwardSyncStep {
 
   private static final Logger LOG = LoggerFactory.getLogger(ForwardSyncStep.class);
+  private static final int MAX_PARALLEL_BODY_REQUESTS = 4;
+  private static final int MIN_BLOCKS_PER_REQUEST = 16;
   private final BackwardSyncContext context;
   private final BackwardChain backwardChain;
 
@@ -53,15 +57,38 @@ public class ForwardSyncStep {
     if (blockHeaders.isEmpty()) {
       return CompletableFuture.completedFuture(null);
     } else {
+      final List<List<BlockHeader>> requests = splitRequests(blockHeaders);
       LOG.atDebug()
-          .setMessage("Requesting {} blocks {}->{} ({})")
+          .setMessage("Requesting {} blocks {}->{} ({}) in {} requests")
           .addArgument(blockHeaders::size)
           .addArgument(() -> blockHeaders.getFirst().getNumber())
           .addArgument(() -> blockHeaders.getLast().getNumber())
           .addArgument(() -> blockHeaders.getFirst().getHash().toHexString())
+          .addArgument(requests::size)
           .log();
-      return requestBodies(blockHeaders)
-          .thenApply(this::saveBlocks)
+      // all the requests are sent at once, and their blocks are imported in order as soon as they
+      // arrive, so the later blocks are downloaded and prepared while the earlier ones are imported
+      final List<CompletableFuture<List<Block>>> responses =
+          requests.stream().map(this::requestBodiesAndRecoverSenders).toList();
+      CompletableFuture<Boolean> saved = CompletableFuture.completedFuture(true);
+      for (int i = 0; i < requests.size(); i++) {
+        final int requested = requests.get(i).size();
+        final CompletableFuture<List<Block>> response = responses.get(i);
+        saved =
+            saved.thenCompose(
+                savedAll ->
+                    savedAll
+                        ? response.thenApply(blocks -> saveBlocks(blocks, requested))
+                        : CompletableFuture.completedFuture(false));
+      }
+      return saved
+          .thenAccept(
+              savedAll -> {
+                if (savedAll && blockHeaders.size() == context.getBatchSize()) {
+                  // reset the batch size only if we got a full batch
+                  context.resetBatchSize();
+                }
+              })
           .exceptionally(
               throwable -> {
                 context.halveBatchSize();
@@ -77,6 +104,28 @@ public class ForwardSyncStep {
     }
   }
 
+  private List<List<BlockHeader>> splitRequests(final List<BlockHeader> blockHeaders) {
+    // the requests are spread over the least busy peers, one request per peer at most
+    final int peerCount = context.getEthContext().getEthPeers().peerCount();
+    final int parallelism = Math.max(1, Math.min(peerCount, MAX_PARALLEL_BODY_REQUESTS));
+    final int requestSize =
+        Math.max(MIN_BLOCKS_PER_REQUEST, (blockHeaders.size() + parallelism - 1) / parallelism);
+    return Lists.partition(blockHeaders, requestSize);
+  }
+
+  private CompletableFuture<List<Block>> requestBodiesAndRecoverSenders(
+      final List<BlockHeader> blockHeaders) {
+    return requestBodies(blockHeaders)
+        .thenCompose(
+            blocks ->
+                SenderRecovery.recoverSenders(
+                        context.getEthContext().getScheduler(),
+                        blocks.stream()
+                            .flatMap(block -> block.getBody().getTransactions().stream())
+                            .toList())
+                    .thenApply(unused -> blocks));
+  }
+
   @VisibleForTesting
   protected CompletableFuture<List<Block>> requestBodies(final List<BlockHeader> blockHeaders) {
     CompletableFuture<List<Block>> blocksFuture;
@@ -123,11 +172,11 @@ public class ForwardSyncStep {
   }
 
   @VisibleForTesting
-  protected Void saveBlocks(final List<Block> blocks) {
+  protected boolean saveBlocks(final List<Block> blocks, final int requested) {
     if (blocks.isEmpty()) {
       context.halveBatchSize();
       LOG.debug("No blocks to save, reducing batch size to {}", context.getBatchSize());
-      return null;
+      return false;
     }
 
     for (Block block : blocks) {
@@ -146,16 +195,13 @@ public class ForwardSyncStep {
             .addArgument(block::toLogString)
             .addArgument(context::getBatchSize)
             .log();
-        return null;
+        return false;
       } else {
         context.saveBlock(block);
       }
     }
 
-    if (blocks.size() == context.getBatchSize()) {
-      // reset the batch size only if we got a full batch
-      context.resetBatchSize();
-    }
-    return null;
+    // the blocks of the following requests can only be saved on top of a complete response
+    return blocks.size() == requested;
   }
 }
@@ -146,6 +146,7 @@ public class CheckpointDownloaderFactory extends SnapDownloaderFactory {
             protocolContext,
             worldStateStorageCoordinator,
             snapTaskCollection,
+            fastSyncDataDirectory,
             syncConfig.getSnapSyncConfiguration(),
             syncConfig.getWorldStateRequestParallelism(),
             syncConfig.getWorldStateMaxRequestsWithoutProgress(),
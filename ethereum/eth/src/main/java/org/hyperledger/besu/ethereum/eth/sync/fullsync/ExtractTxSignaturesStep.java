@@ -15,21 +15,27 @@
 package org.hyperledger.besu.ethereum.eth.sync.fullsync;
 
 import org.hyperledger.besu.ethereum.core.Block;
-import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.SenderRecovery;
 
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class ExtractTxSignaturesStep implements Function<List<Block>, Stream<Block>> {
+  private final EthScheduler scheduler;
 
-  @Override
-  public Stream<Block> apply(final List<Block> blocks) {
-    return blocks.stream().map(this::extractSignatures);
+  public ExtractTxSignaturesStep(final EthScheduler scheduler) {
+    this.scheduler = scheduler;
   }
 
-  private Block extractSignatures(final Block block) {
-    block.getBody().getTransactions().forEach(Transaction::getSender);
-    return block;
+  @Override
+  public Stream<Block> apply(final List<Block> blocks) {
+    // the senders of all the blocks of the batch are recovered in parallel
+    SenderRecovery.recoverSenders(
+            scheduler,
+            blocks.stream().flatMap(block -> block.getBody().getTransactions().stream()).toList())
+        .join();
+    return blocks.stream();
   }
 }
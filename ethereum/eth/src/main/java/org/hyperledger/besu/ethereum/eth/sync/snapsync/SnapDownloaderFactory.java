@@ -106,6 +106,7 @@ public class SnapDownloaderFactory extends FastDownloaderFactory {
             protocolContext,
             worldStateStorageCoordinator,
             snapTaskCollection,
+            fastSyncDataDirectory,
             syncConfig.getSnapSyncConfiguration(),
             syncConfig.getWorldStateRequestParallelism(),
             syncConfig.getWorldStateMaxRequestsWithoutProgress(),
@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.eth.sync.snapsync.context.SnapSyncStatePers
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.AccountRangeDataRequest;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.BytecodeRequest;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.SnapDataRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.SnapDataRequestSerializer;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.StorageRangeDataRequest;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.AccountFlatDatabaseHealingRangeRequest;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.StorageFlatDatabaseHealingRangeRequest;
@@ -41,9 +42,12 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 import org.hyperledger.besu.services.tasks.InMemoryTaskQueue;
 import org.hyperledger.besu.services.tasks.InMemoryTasksPriorityQueues;
+import org.hyperledger.besu.services.tasks.SpillingTaskQueue;
+import org.hyperledger.besu.services.tasks.SpillingTasksPriorityQueues;
 import org.hyperledger.besu.services.tasks.Task;
 import org.hyperledger.besu.services.tasks.TaskCollection;
 
+import java.nio.file.Path;
 import java.time.Clock;
 import java.util.Collections;
 import java.util.HashSet;
@@ -63,6 +67,10 @@ import org.slf4j.LoggerFactory;
 public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest> {
 
   private static final Logger LOG = LoggerFactory.getLogger(SnapWorldDownloadState.class);
+  private static final int MAX_CODE_REQUESTS_IN_MEMORY = 100_000;
+  private static final int MAX_TRIE_NODE_REQUESTS_IN_MEMORY = 100_000;
+  private static final String CODE_REQUESTS_FOLDER = "code";
+  private static final String TRIE_NODE_REQUESTS_FOLDER = "trieNodes";
 
   protected final InMemoryTaskQueue<SnapDataRequest> pendingAccountRequests =
       new InMemoryTaskQueue<>();
@@ -70,10 +78,11 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
       new InMemoryTaskQueue<>();
   protected final InMemoryTaskQueue<SnapDataRequest> pendingLargeStorageRequests =
       new InMemoryTaskQueue<>();
-  protected final InMemoryTaskQueue<SnapDataRequest> pendingCodeRequests =
-      new InMemoryTaskQueue<>();
-  protected final InMemoryTasksPriorityQueues<SnapDataRequest> pendingTrieNodeRequests =
-      new InMemoryTasksPriorityQueues<>();
+  // requests spilled to disk hold their healing parent through the serializer
+  private final SnapDataRequestSerializer spilledRequestsSerializer =
+      new SnapDataRequestSerializer();
+  protected final SpillingTaskQueue<SnapDataRequest> pendingCodeRequests;
+  protected final SpillingTasksPriorityQueues<SnapDataRequest> pendingTrieNodeRequests;
 
   protected final InMemoryTasksPriorityQueues<SnapDataRequest>
       pendingAccountFlatDatabaseHealingRequests = new InMemoryTasksPriorityQueues<>();
@@ -102,6 +111,7 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
       final Blockchain blockchain,
       final SnapSyncProcessState snapSyncState,
       final InMemoryTasksPriorityQueues<SnapDataRequest> pendingRequests,
+      final Path spilledRequestsDirectory,
       final int maxRequestsWithoutProgress,
       final long minMillisBeforeStalling,
       final SnapSyncMetricsManager metricsManager,
@@ -115,6 +125,18 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
         minMillisBeforeStalling,
         clock,
         syncDurationMetrics);
+    this.pendingCodeRequests =
+        new SpillingTaskQueue<>(
+            spilledRequestsDirectory.resolve(CODE_REQUESTS_FOLDER),
+            MAX_CODE_REQUESTS_IN_MEMORY,
+            spilledRequestsSerializer::serialize,
+            spilledRequestsSerializer::deserialize);
+    this.pendingTrieNodeRequests =
+        new SpillingTasksPriorityQueues<>(
+            spilledRequestsDirectory.resolve(TRIE_NODE_REQUESTS_FOLDER),
+            MAX_TRIE_NODE_REQUESTS_IN_MEMORY,
+            spilledRequestsSerializer::serialize,
+            spilledRequestsSerializer::deserialize);
     this.snapContext = snapContext;
     this.blockchain = blockchain;
     this.snapSyncState = snapSyncState;
@@ -143,11 +165,21 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
         "snap_world_state_pending_code_requests_current",
         "Number of code pending requests for snap sync world state download",
         pendingCodeRequests::size);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.SYNCHRONIZER,
+        "snap_world_state_spilled_code_requests_current",
+        "Number of code pending requests spilled to disk for snap sync world state download",
+        pendingCodeRequests::spilledSize);
     metricsSystem.createLongGauge(
         BesuMetricCategory.SYNCHRONIZER,
         "snap_world_state_pending_trie_node_requests_current",
         "Number of trie node pending requests for snap sync world state download",
         pendingTrieNodeRequests::size);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.SYNCHRONIZER,
+        "snap_world_state_spilled_trie_node_requests_current",
+        "Number of trie node pending requests spilled to disk for snap sync world state download",
+        pendingTrieNodeRequests::spilledSize);
     syncDurationMetrics.startTimer(
         SyncDurationMetrics.Labels.SNAP_INITIAL_WORLD_STATE_DOWNLOAD_DURATION);
   }
@@ -231,6 +263,7 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
     pendingLargeStorageRequests.clear();
     pendingCodeRequests.clear();
     pendingTrieNodeRequests.clear();
+    spilledRequestsSerializer.clear();
   }
 
   /** Method to start the healing process of the trie */
@@ -270,6 +303,7 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
     // Clear pending trie node and code requests
     pendingTrieNodeRequests.clear();
     pendingCodeRequests.clear();
+    spilledRequestsSerializer.clear();
 
     snapSyncState.setHealTrieStatus(false);
     checkCompletion(snapSyncState.getPivotBlockHeader().orElseThrow());
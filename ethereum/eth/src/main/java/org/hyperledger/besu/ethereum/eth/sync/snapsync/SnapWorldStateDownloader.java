@@ -36,6 +36,7 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 import org.hyperledger.besu.services.tasks.InMemoryTasksPriorityQueues;
 
+import java.nio.file.Path;
 import java.time.Clock;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +55,7 @@ import org.slf4j.LoggerFactory;
 public class SnapWorldStateDownloader implements WorldStateDownloader {
 
   private static final Logger LOG = LoggerFactory.getLogger(SnapWorldStateDownloader.class);
+  private static final String SPILLED_REQUESTS_FOLDER = "snapRequests";
   private final long minMillisBeforeStalling;
   private final Clock clock;
   private final MetricsSystem metricsSystem;
@@ -61,6 +63,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
   private final EthContext ethContext;
   private final SnapSyncStatePersistenceManager snapContext;
   private final InMemoryTasksPriorityQueues<SnapDataRequest> snapTaskCollection;
+  private final Path spilledRequestsDirectory;
   private final SnapSyncConfiguration snapSyncConfiguration;
   private final int maxOutstandingRequests;
   private final int maxNodeRequestsWithoutProgress;
@@ -76,6 +79,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
       final ProtocolContext protocolContext,
       final WorldStateStorageCoordinator worldStateStorageCoordinator,
       final InMemoryTasksPriorityQueues<SnapDataRequest> snapTaskCollection,
+      final Path dataDirectory,
       final SnapSyncConfiguration snapSyncConfiguration,
       final int maxOutstandingRequests,
       final int maxNodeRequestsWithoutProgress,
@@ -88,6 +92,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
     this.worldStateStorageCoordinator = worldStateStorageCoordinator;
     this.snapContext = snapContext;
     this.snapTaskCollection = snapTaskCollection;
+    this.spilledRequestsDirectory = dataDirectory.resolve(SPILLED_REQUESTS_FOLDER);
     this.snapSyncConfiguration = snapSyncConfiguration;
     this.maxOutstandingRequests = maxOutstandingRequests;
     this.maxNodeRequestsWithoutProgress = maxNodeRequestsWithoutProgress;
@@ -148,6 +153,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
               protocolContext.getBlockchain(),
               snapSyncState,
               snapTaskCollection,
+              spilledRequestsDirectory,
               maxNodeRequestsWithoutProgress,
               minMillisBeforeStalling,
               snapsyncMetricsManager,
@@ -22,6 +22,8 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncConfiguration;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncProcessState;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapWorldDownloadState;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
 
@@ -110,6 +112,38 @@ public class BytecodeRequest extends SnapDataRequest {
     this.code = code;
   }
 
+  /**
+   * Returns whether the request can be recreated from its serialized fields, which is the case
+   * until its code is downloaded. Its healing parent, if any, is not part of the serialization.
+   *
+   * @return true if the request can be serialized
+   */
+  public boolean isSerializable() {
+    return code.isEmpty();
+  }
+
+  public Bytes serialize() {
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeByte(getRequestType().getValue());
+          out.writeBytes(getRootHash());
+          out.writeBytes(getAccountHash());
+          out.writeBytes(getCodeHash());
+          out.endList();
+        });
+  }
+
+  public static BytecodeRequest deserialize(final RLPInput in) {
+    in.enterList();
+    in.skipNext(); // skip request type
+    final Hash rootHash = Hash.wrap(in.readBytes32());
+    final Bytes32 accountHash = in.readBytes32();
+    final Bytes32 codeHash = in.readBytes32();
+    in.leaveList();
+    return createBytecodeRequest(accountHash, rootHash, codeHash);
+  }
+
   @Override
   public long getPriority() {
     return 0;
@@ -0,0 +1,157 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync.request;
+
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.AccountTrieNodeHealingRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.StorageTrieNodeHealingRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.TrieNodeHealingRequest;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Serializes the snap requests spilled to disk by the pending requests queues.
+ *
+ * <p>A trie node heal parent is only persisted once all its children are, through the references
+ * its children hold. So the parent of a spilled request stays in memory, registered here under an
+ * id written with the request, and is given back to the request when it is reloaded. A request
+ * that cannot be recreated from its fields, like a request that already holds downloaded data, is
+ * registered the same way and only its id is written.
+ */
+public class SnapDataRequestSerializer {
+
+  private static final int IN_MEMORY = 0;
+  private static final int BYTECODE = 1;
+  private static final int ACCOUNT_TRIE_NODE = 2;
+  private static final int STORAGE_TRIE_NODE = 3;
+
+  private static final long NO_PARENT = 0;
+
+  private final Map<Long, HeldRequest> heldRequests = new HashMap<>();
+  private final Map<SnapDataRequest, Long> heldRequestIds = new IdentityHashMap<>();
+  private long nextId = 1;
+
+  public synchronized Bytes serialize(final SnapDataRequest request) {
+    final int kind = getKind(request);
+    if (kind == IN_MEMORY) {
+      return RLP.encode(
+          out -> {
+            out.startList();
+            out.writeIntScalar(IN_MEMORY);
+            out.writeLongScalar(hold(request));
+            out.endList();
+          });
+    }
+    final long parentId = request.possibleParent.map(this::hold).orElse(NO_PARENT);
+    final Bytes body =
+        switch (kind) {
+          case BYTECODE -> ((BytecodeRequest) request).serialize();
+          case ACCOUNT_TRIE_NODE -> ((AccountTrieNodeHealingRequest) request).serialize();
+          default -> ((StorageTrieNodeHealingRequest) request).serialize();
+        };
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeIntScalar(kind);
+          out.writeLongScalar(parentId);
+          out.writeIntScalar(request.depth);
+          out.writeLong(request.priority);
+          out.writeRLPBytes(body);
+          out.endList();
+        });
+  }
+
+  public synchronized SnapDataRequest deserialize(final Bytes encodedRequest) {
+    final RLPInput in = RLP.input(encodedRequest);
+    in.enterList();
+    final int kind = in.readIntScalar();
+    if (kind == IN_MEMORY) {
+      final SnapDataRequest request = release(in.readLongScalar());
+      in.leaveList();
+      return request;
+    }
+    final long parentId = in.readLongScalar();
+    final int depth = in.readIntScalar();
+    final long priority = in.readLong();
+    final RLPInput body = in.readAsRlp();
+    in.leaveList();
+    final SnapDataRequest request =
+        switch (kind) {
+          case BYTECODE -> BytecodeRequest.deserialize(body);
+          case ACCOUNT_TRIE_NODE -> AccountTrieNodeHealingRequest.deserialize(body);
+          case STORAGE_TRIE_NODE -> StorageTrieNodeHealingRequest.deserialize(body);
+          default -> throw new IllegalStateException("Unexpected spilled request kind " + kind);
+        };
+    if (parentId != NO_PARENT) {
+      // the parent already counts this request among its children
+      request.possibleParent = Optional.of((TrieNodeHealingRequest) release(parentId));
+    }
+    request.depth = depth;
+    request.priority = priority;
+    return request;
+  }
+
+  /** Forgets the requests held for spilled requests, once the spilled requests are deleted. */
+  public synchronized void clear() {
+    heldRequests.clear();
+    heldRequestIds.clear();
+  }
+
+  private static int getKind(final SnapDataRequest request) {
+    if (request instanceof BytecodeRequest bytecodeRequest && bytecodeRequest.isSerializable()) {
+      return BYTECODE;
+    } else if (request instanceof AccountTrieNodeHealingRequest accountRequest
+        && accountRequest.isSerializable()) {
+      return ACCOUNT_TRIE_NODE;
+    } else if (request instanceof StorageTrieNodeHealingRequest storageRequest
+        && storageRequest.isSerializable()) {
+      return STORAGE_TRIE_NODE;
+    }
+    return IN_MEMORY;
+  }
+
+  private long hold(final SnapDataRequest request) {
+    final long id = heldRequestIds.computeIfAbsent(request, key -> nextId++);
+    heldRequests.computeIfAbsent(id, key -> new HeldRequest(request)).references++;
+    return id;
+  }
+
+  private SnapDataRequest release(final long id) {
+    final HeldRequest heldRequest = heldRequests.get(id);
+    if (heldRequest == null) {
+      throw new IllegalStateException("Unknown held request " + id);
+    }
+    if (--heldRequest.references == 0) {
+      heldRequests.remove(id);
+      heldRequestIds.remove(heldRequest.request);
+    }
+    return heldRequest.request;
+  }
+
+  private static class HeldRequest {
+    private final SnapDataRequest request;
+    private int references;
+
+    private HeldRequest(final SnapDataRequest request) {
+      this.request = request;
+    }
+  }
+}
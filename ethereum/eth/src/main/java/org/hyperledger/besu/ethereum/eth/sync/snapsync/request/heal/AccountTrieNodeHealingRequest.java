@@ -23,6 +23,7 @@ import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncProcessState;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapWorldDownloadState;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.SnapDataRequest;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.common.PmtStateTrieAccountValue;
@@ -197,4 +198,35 @@ public class AccountTrieNodeHealingRequest extends TrieNodeHealingRequest {
   public List<Bytes> getTrieNodePath() {
     return List.of(CompactEncoding.encode(getLocation()));
   }
+
+  @Override
+  public boolean isSerializable() {
+    // the root request shares the accounts to heal of the download state
+    return !isRoot() && super.isSerializable();
+  }
+
+  public Bytes serialize() {
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeByte(getRequestType().getValue());
+          out.writeBytes(getNodeHash());
+          out.writeBytes(getRootHash());
+          out.writeBytes(getLocation());
+          out.writeList(
+              inconsistentAccounts, (account, accountOut) -> accountOut.writeBytes(account));
+          out.endList();
+        });
+  }
+
+  public static AccountTrieNodeHealingRequest deserialize(final RLPInput in) {
+    in.enterList();
+    in.skipNext(); // skip request type
+    final Hash nodeHash = Hash.wrap(in.readBytes32());
+    final Hash rootHash = Hash.wrap(in.readBytes32());
+    final Bytes location = in.readBytes();
+    final Set<Bytes> inconsistentAccounts = new HashSet<>(in.readList(RLPInput::readBytes));
+    in.leaveList();
+    return createAccountTrieNodeDataRequest(nodeHash, rootHash, location, inconsistentAccounts);
+  }
 }
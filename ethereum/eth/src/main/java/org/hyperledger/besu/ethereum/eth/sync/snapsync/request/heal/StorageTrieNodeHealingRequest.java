@@ -21,6 +21,8 @@ import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncConfiguration;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncProcessState;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapWorldDownloadState;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.SnapDataRequest;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
@@ -105,4 +107,27 @@ public class StorageTrieNodeHealingRequest extends TrieNodeHealingRequest {
   public List<Bytes> getTrieNodePath() {
     return List.of(accountHash, CompactEncoding.encode(getLocation()));
   }
+
+  public Bytes serialize() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeByte(getRequestType().getValue());
+    out.writeBytes(getNodeHash());
+    out.writeBytes(getAccountHash());
+    out.writeBytes(getRootHash());
+    out.writeBytes(getLocation());
+    out.endList();
+    return out.encoded();
+  }
+
+  public static StorageTrieNodeHealingRequest deserialize(final RLPInput in) {
+    in.enterList();
+    in.skipNext(); // skip request type
+    final Hash nodeHash = Hash.wrap(in.readBytes32());
+    final Hash accountHash = Hash.wrap(in.readBytes32());
+    final Hash rootHash = Hash.wrap(in.readBytes32());
+    final Bytes location = in.readBytes();
+    in.leaveList();
+    return createStorageTrieNodeDataRequest(nodeHash, accountHash, rootHash, location);
+  }
 }
@@ -147,6 +147,17 @@ public abstract class TrieNodeHealingRequest extends SnapDataRequest
     return requiresPersisting.get();
   }
 
+  /**
+   * Returns whether the request can be recreated from its serialized fields, which is the case
+   * until its data is downloaded and while no child waits for it to be persisted. Its healing
+   * parent, if any, is not part of the serialization.
+   *
+   * @return true if the request can be serialized
+   */
+  public boolean isSerializable() {
+    return data.isEmpty() && pendingChildren.get() == 0 && requiresPersisting.get();
+  }
+
   public Bytes32 getNodeHash() {
     return nodeHash;
   }
@@ -23,6 +23,7 @@ import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -77,5 +78,15 @@ public interface PendingTransactions {
   @FunctionalInterface
   interface TransactionSelector {
     TransactionSelectionResult evaluateTransaction(PendingTransaction pendingTransaction);
+
+    /**
+     * Called before the first evaluation with the candidates in the order they are going to be
+     * evaluated, so the selector can prepare the upcoming ones in advance. The selection can stop
+     * before all of them are evaluated, and implementations that do not know their candidates in
+     * advance do not call it.
+     *
+     * @param candidates the candidates in evaluation order
+     */
+    default void candidatesReady(final Iterator<PendingTransaction> candidates) {}
   }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.CodeDelegation;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recovers the senders of transactions, and the authorities of their code delegations, in batches
+ * on the computation workers, ahead of the code that needs them.
+ *
+ * <p>A recovered sender is kept by the transaction itself and in the sender cache of {@link
+ * Transaction}, which is shared by all the copies of a transaction, so a transaction recovered
+ * when received by gossip does not need to be recovered again when it is imported in a block.
+ * Callers wait for the returned future before using the senders, as a sender asked for while its
+ * recovery is still running would be recovered a second time.
+ */
+public final class SenderRecovery {
+  private static final Logger LOG = LoggerFactory.getLogger(SenderRecovery.class);
+  private static final int BATCH_SIZE = 16;
+
+  private SenderRecovery() {}
+
+  /**
+   * Schedules the recovery of the senders of the given transactions. A transaction whose sender
+   * cannot be recovered is skipped, its failure is left to the code that asks for its sender.
+   *
+   * @param scheduler the scheduler whose computation workers run the recovery
+   * @param transactions the transactions whose senders to recover
+   * @return a future completed once all the senders were recovered
+   */
+  public static CompletableFuture<Void> recoverSenders(
+      final EthScheduler scheduler, final List<Transaction> transactions) {
+    if (transactions.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.allOf(
+        Lists.partition(transactions, BATCH_SIZE).stream()
+            .map(
+                batch ->
+                    scheduler.scheduleComputationTask(
+                        () -> {
+                          batch.forEach(SenderRecovery::recoverSender);
+                          return null;
+                        }))
+            .toArray(CompletableFuture[]::new));
+  }
+
+  private static void recoverSender(final Transaction transaction) {
+    try {
+      transaction.getSender();
+      transaction
+          .getCodeDelegationList()
+          .ifPresent(codeDelegations -> codeDelegations.forEach(CodeDelegation::authorizer));
+    } catch (final RuntimeException e) {
+      LOG.atTrace()
+          .setMessage("Failed to recover the sender of transaction {}: {}")
+          .addArgument(transaction::getHash)
+          .addArgument(e::getMessage)
+          .log();
+    }
+  }
+}
@@ -17,17 +17,18 @@ package org.hyperledger.besu.ethereum.eth.transactions;
 import static java.time.Instant.now;
 import static org.hyperledger.besu.ethereum.core.Transaction.toHashList;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodedTransaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,15 +38,18 @@ class TransactionsMessageProcessor {
   static final String METRIC_LABEL = "transactions";
   private final PeerTransactionTracker transactionTracker;
   private final TransactionPool transactionPool;
+  private final EthScheduler scheduler;
 
   private final TransactionPoolMetrics metrics;
 
   public TransactionsMessageProcessor(
       final PeerTransactionTracker transactionTracker,
       final TransactionPool transactionPool,
+      final EthScheduler scheduler,
       final TransactionPoolMetrics metrics) {
     this.transactionTracker = transactionTracker;
     this.transactionPool = transactionPool;
+    this.scheduler = scheduler;
     this.metrics = metrics;
     metrics.initExpiredMessagesCounter(METRIC_LABEL);
   }
@@ -66,10 +70,14 @@ class TransactionsMessageProcessor {
   private void processTransactionsMessage(
       final EthPeer peer, final TransactionsMessage transactionsMessage) {
     try {
-      final List<Transaction> incomingTransactions = transactionsMessage.transactions();
-      final Collection<Transaction> freshTransactions = skipSeenTransactions(incomingTransactions);
+      // only the transactions not seen yet are decoded, the others are recognized by their hash
+      final List<EncodedTransaction> incomingTransactions =
+          transactionsMessage.encodedTransactions();
+      final List<Hash> incomingHashes =
+          incomingTransactions.stream().map(EncodedTransaction::getHash).toList();
+      final List<Transaction> freshTransactions = decodeUnseenTransactions(incomingTransactions);
 
-      transactionTracker.markTransactionsAsSeen(peer, incomingTransactions);
+      transactionTracker.markTransactionHashesAsSeen(peer, incomingHashes);
 
       metrics.incrementAlreadySeenTransactions(
           METRIC_LABEL, incomingTransactions.size() - freshTransactions.size());
@@ -79,11 +87,13 @@ class TransactionsMessageProcessor {
                   + ", fresh transactions {}, fresh list {}")
           .addArgument(peer)
           .addArgument(incomingTransactions::size)
-          .addArgument(() -> toHashList(incomingTransactions))
+          .addArgument(incomingHashes)
           .addArgument(freshTransactions::size)
           .addArgument(() -> toHashList(freshTransactions))
           .log();
 
+      // the senders are recovered in parallel before the pool validates the transactions in order
+      SenderRecovery.recoverSenders(scheduler, freshTransactions).join();
       transactionPool.addRemoteTransactions(freshTransactions);
 
     } catch (final RLPException ex) {
@@ -97,9 +107,11 @@ class TransactionsMessageProcessor {
     }
   }
 
-  private Collection<Transaction> skipSeenTransactions(final List<Transaction> inTransactions) {
+  private List<Transaction> decodeUnseenTransactions(
+      final List<EncodedTransaction> inTransactions) {
     return inTransactions.stream()
         .filter(tx -> !transactionTracker.hasSeenTransaction(tx.getHash()))
-        .collect(Collectors.toUnmodifiableList());
+        .map(EncodedTransaction::decode)
+        .toList();
   }
 }
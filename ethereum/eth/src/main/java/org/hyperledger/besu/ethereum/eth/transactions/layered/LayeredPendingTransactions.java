@@ -278,6 +278,12 @@ public class LayeredPendingTransactions implements PendingTransactions {
       candidateTxsByScore = prioritizedTransactions.getByScore();
     }
 
+    selector.candidatesReady(
+        candidateTxsByScore.values().stream()
+            .flatMap(List::stream)
+            .flatMap(senderTxs -> senderTxs.pendingTransactions().stream())
+            .iterator());
+
     selection:
     for (final var entry : candidateTxsByScore.entrySet()) {
       LOG.trace("Evaluating txs with score {}", entry.getKey());
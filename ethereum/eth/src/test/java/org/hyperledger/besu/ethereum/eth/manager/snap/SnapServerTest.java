@@ -19,6 +19,7 @@ import static org.hyperledger.besu.ethereum.eth.manager.snap.SnapServer.HASH_LAS
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.TRIE_BRANCH_STORAGE;
 import static org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage.WORLD_BLOCK_NUMBER_KEY;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -297,6 +298,24 @@ public class SnapServerTest {
     assertThat(assertIsValidAccountRangeProof(Hash.ZERO, rangeData)).isTrue();
   }
 
+  @ParameterizedTest
+  @MethodSource("flatDbMode")
+  public void assertRangeProofNodesAreServedFromCache(final FlatDbMode flatDbMode) {
+    setup(flatDbMode);
+    insertTestAccounts(acct1, acct2, acct3, acct4);
+    var firstResponse = requestAccountRange(acct2.addressHash, acct3.addressHash);
+
+    // the proof nodes of the same range are not read again from the storage
+    var spiedStorage = spy(inMemoryStorage);
+    doReturn(Optional.of(spiedStorage)).when(spyProvider).apply(any());
+    var secondResponse = requestAccountRange(acct2.addressHash, acct3.addressHash);
+
+    assertThat(secondResponse.getData()).isEqualTo(firstResponse.getData());
+    verify(spiedStorage, never()).getAccountStateTrieNode(any(), any());
+    var rangeData = getAndVerifyAccountRangeData(secondResponse, 2);
+    assertThat(assertIsValidAccountRangeProof(acct2.addressHash, rangeData)).isTrue();
+  }
+
   @ParameterizedTest
   @MethodSource("flatDbMode")
   public void assertLastEmptyRange(final FlatDbMode flatDbMode) {
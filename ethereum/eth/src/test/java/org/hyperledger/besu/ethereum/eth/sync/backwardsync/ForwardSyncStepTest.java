@@ -17,6 +17,8 @@ package org.hyperledger.besu.ethereum.eth.sync.backwardsync;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryBlockchain;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.config.StubGenesisConfigOptions;
@@ -55,6 +57,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import jakarta.validation.constraints.NotNull;
 import org.assertj.core.api.Assertions;
@@ -82,6 +85,7 @@ public class ForwardSyncStepTest {
   @Mock private PeerTaskExecutor peerTaskExecutor;
 
   private MutableBlockchain remoteBlockchain;
+  private EthProtocolManager ethProtocolManager;
   private RespondingEthPeer peer;
 
   private final ProtocolSchedule protocolSchedule =
@@ -142,7 +146,7 @@ public class ForwardSyncStepTest {
     when(context.getProtocolSchedule()).thenReturn(protocolSchedule);
     when(context.getBatchSize()).thenReturn(2);
     when(context.getSynchronizerConfiguration()).thenReturn(syncConfig);
-    EthProtocolManager ethProtocolManager =
+    ethProtocolManager =
         EthProtocolManagerTestBuilder.builder()
             .setSynchronizerConfiguration(syncConfig)
             .setPeerTaskExecutor(peerTaskExecutor)
@@ -263,6 +267,32 @@ public class ForwardSyncStepTest {
         .containsExactlyInAnyOrder(getBlockByNumber(LOCAL_HEIGHT + 1));
   }
 
+  @Test
+  public void shouldSplitBodiesRequestsAcrossPeersAndSaveBlocksInOrder() throws Exception {
+    when(syncConfig.isPeerTaskSystemEnabled()).thenReturn(true);
+    for (int i = 0; i < 3; i++) {
+      EthProtocolManagerTestUtil.createPeer(ethProtocolManager);
+    }
+    when(context.saveBlock(any()))
+        .thenAnswer(
+            invocation -> {
+              final Block block = invocation.getArgument(0);
+              localBlockchain.appendBlock(
+                  block, remoteBlockchain.getTxReceipts(block.getHash()).orElseThrow());
+              return null;
+            });
+    final List<BlockHeader> headers =
+        IntStream.rangeClosed(LOCAL_HEIGHT + 1, REMOTE_HEIGHT)
+            .mapToObj(number -> getBlockByNumber(number).getHeader())
+            .toList();
+    ForwardSyncStep step = new ForwardSyncStep(context, null);
+
+    step.possibleRequestBodies(headers).get();
+
+    verify(peerTaskExecutor, times(2)).execute(any(GetBodiesFromPeerTask.class));
+    assertThat(localBlockchain.getChainHeadBlockNumber()).isEqualTo(REMOTE_HEIGHT);
+  }
+
   private BackwardChain createBackwardChain(final int from, final int until) {
     BackwardChain chain = backwardChainFromBlock(until);
     for (int i = until; i > from; --i) {
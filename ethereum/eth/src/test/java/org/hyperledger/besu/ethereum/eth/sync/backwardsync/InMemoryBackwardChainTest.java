@@ -16,6 +16,10 @@ package org.hyperledger.besu.ethereum.eth.sync.backwardsync;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hyperledger.besu.ethereum.eth.sync.backwardsync.ChainForTestCreator.prepareChain;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -178,4 +182,45 @@ public class InMemoryBackwardChainTest {
     assertThat(pivot).isPresent();
     assertThat(pivot.orElseThrow()).isEqualTo(blocks.get(7));
   }
+
+  @Test
+  public void shouldWalkTheChainWithoutReadingTheStorage() {
+    headersStorage = spy(headersStorage);
+    chainStorage = spy(chainStorage);
+    BackwardChain backwardChain = createChainFromBlock(blocks.get(blocks.size() - 1));
+    backwardChain.prependAncestorsHeader(blocks.get(blocks.size() - 2).getHeader());
+    backwardChain.prependAncestorsHeader(blocks.get(blocks.size() - 3).getHeader());
+
+    assertThat(backwardChain.getFirstNAncestorHeaders(3))
+        .isEqualTo(
+            List.of(
+                blocks.get(blocks.size() - 3).getHeader(),
+                blocks.get(blocks.size() - 2).getHeader(),
+                blocks.get(blocks.size() - 1).getHeader()));
+    assertThat(backwardChain.getDescendant(blocks.get(blocks.size() - 2).getHash()))
+        .contains(blocks.get(blocks.size() - 1).getHash());
+    verify(headersStorage, never()).get(any(Hash.class));
+    verify(chainStorage, never()).get(any(Hash.class));
+  }
+
+  @Test
+  public void shouldReadTheChainFromTheStorageWhenResumed() {
+    BackwardChain backwardChain = createChainFromBlock(blocks.get(blocks.size() - 1));
+    backwardChain.prependAncestorsHeader(blocks.get(blocks.size() - 2).getHeader());
+    backwardChain.prependAncestorsHeader(blocks.get(blocks.size() - 3).getHeader());
+
+    final BackwardChain resumedChain =
+        new BackwardChain(headersStorage, blocksStorage, chainStorage, sessionDataStorage);
+
+    assertThat(resumedChain.getFirstNAncestorHeaders(3))
+        .isEqualTo(
+            List.of(
+                blocks.get(blocks.size() - 3).getHeader(),
+                blocks.get(blocks.size() - 2).getHeader(),
+                blocks.get(blocks.size() - 1).getHeader()));
+    resumedChain.dropFirstHeader();
+    assertThat(resumedChain.getFirstAncestorHeader())
+        .contains(blocks.get(blocks.size() - 2).getHeader());
+    assertThat(headersStorage.get(blocks.get(blocks.size() - 3).getHash())).isEmpty();
+  }
 }
@@ -53,6 +53,7 @@ import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 import org.hyperledger.besu.services.tasks.InMemoryTasksPriorityQueues;
 import org.hyperledger.besu.testutil.TestClock;
 
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
@@ -65,6 +66,7 @@ import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
@@ -97,6 +99,7 @@ public class SnapWorldDownloadStateTest {
   private final EthContext ethContext = mock(EthContext.class);
 
   private final TestClock clock = new TestClock();
+  @TempDir private Path tempDir;
   private SnapWorldDownloadState downloadState;
 
   private CompletableFuture<Void> future;
@@ -134,6 +137,7 @@ public class SnapWorldDownloadStateTest {
             blockchain,
             snapSyncState,
             pendingRequests,
+            tempDir,
             MAX_REQUESTS_WITHOUT_PROGRESS,
             MIN_MILLIS_BEFORE_STALLING,
             metricsManager,
@@ -0,0 +1,54 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+class BytecodeRequestTest {
+
+  private static final Hash ROOT_HASH = Hash.hash(Bytes.of(1));
+  private static final Bytes32 ACCOUNT_HASH = Hash.hash(Bytes.of(2));
+  private static final Bytes32 CODE_HASH = Hash.hash(Bytes.of(3));
+
+  @Test
+  void shouldRecreateSerializedRequest() {
+    final BytecodeRequest request =
+        SnapDataRequest.createBytecodeRequest(ACCOUNT_HASH, ROOT_HASH, CODE_HASH);
+    assertThat(request.isSerializable()).isTrue();
+
+    final BytecodeRequest deserialized =
+        BytecodeRequest.deserialize(RLP.input(request.serialize()));
+
+    assertThat(deserialized.getRootHash()).isEqualTo(ROOT_HASH);
+    assertThat(deserialized.getAccountHash()).isEqualTo(ACCOUNT_HASH);
+    assertThat(deserialized.getCodeHash()).isEqualTo(CODE_HASH);
+    assertThat(deserialized.isResponseReceived()).isFalse();
+  }
+
+  @Test
+  void shouldNotBeSerializableWithCode() {
+    final BytecodeRequest withCode =
+        SnapDataRequest.createBytecodeRequest(ACCOUNT_HASH, ROOT_HASH, CODE_HASH);
+    withCode.setCode(Bytes.of(0x60));
+    assertThat(withCode.isSerializable()).isFalse();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.AccountTrieNodeHealingRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.StorageTrieNodeHealingRequest;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class SnapDataRequestSerializerTest {
+
+  private static final Hash ROOT_HASH = Hash.hash(Bytes.of(1));
+  private static final Hash NODE_HASH = Hash.hash(Bytes.of(2));
+  private static final Hash ACCOUNT_HASH = Hash.hash(Bytes.of(3));
+
+  private final SnapDataRequestSerializer serializer = new SnapDataRequestSerializer();
+
+  @Test
+  void shouldRecreateHealRequestsWithTheirParent() {
+    final AccountTrieNodeHealingRequest root =
+        SnapDataRequest.createAccountTrieNodeDataRequest(ROOT_HASH, Bytes.EMPTY, new HashSet<>());
+    final AccountTrieNodeHealingRequest accountRequest =
+        SnapDataRequest.createAccountTrieNodeDataRequest(
+            NODE_HASH, ROOT_HASH, Bytes.of(1), Set.of(ACCOUNT_HASH));
+    accountRequest.registerParent(root);
+    final StorageTrieNodeHealingRequest storageRequest =
+        SnapDataRequest.createStorageTrieNodeDataRequest(
+            NODE_HASH, ACCOUNT_HASH, ROOT_HASH, Bytes.of(1, 2));
+    storageRequest.registerParent(accountRequest);
+
+    final Bytes encodedAccountRequest = serializer.serialize(accountRequest);
+    final Bytes encodedStorageRequest = serializer.serialize(storageRequest);
+
+    final AccountTrieNodeHealingRequest reloadedAccountRequest =
+        (AccountTrieNodeHealingRequest) serializer.deserialize(encodedAccountRequest);
+    assertThat(reloadedAccountRequest).isNotSameAs(accountRequest);
+    assertThat(reloadedAccountRequest.getNodeHash()).isEqualTo(NODE_HASH);
+    assertThat(reloadedAccountRequest.getRootHash()).isEqualTo(ROOT_HASH);
+    assertThat(reloadedAccountRequest.getLocation()).isEqualTo(Bytes.of(1));
+    assertThat(reloadedAccountRequest.possibleParent).containsSame(root);
+    assertThat(reloadedAccountRequest.getDepth()).isEqualTo(accountRequest.getDepth());
+    assertThat(reloadedAccountRequest.getPriority()).isEqualTo(accountRequest.getPriority());
+
+    final StorageTrieNodeHealingRequest reloadedStorageRequest =
+        (StorageTrieNodeHealingRequest) serializer.deserialize(encodedStorageRequest);
+    assertThat(reloadedStorageRequest.getNodeHash()).isEqualTo(NODE_HASH);
+    assertThat(reloadedStorageRequest.getAccountHash()).isEqualTo(ACCOUNT_HASH);
+    assertThat(reloadedStorageRequest.getRootHash()).isEqualTo(ROOT_HASH);
+    assertThat(reloadedStorageRequest.getLocation()).isEqualTo(Bytes.of(1, 2));
+    assertThat(reloadedStorageRequest.possibleParent).containsSame(accountRequest);
+    assertThat(reloadedStorageRequest.getDepth()).isEqualTo(2);
+    assertThat(reloadedStorageRequest.getPriority()).isEqualTo(storageRequest.getPriority());
+  }
+
+  @Test
+  void shouldKeepRequestsThatCannotBeRecreatedInMemory() {
+    final AccountTrieNodeHealingRequest root =
+        SnapDataRequest.createAccountTrieNodeDataRequest(ROOT_HASH, Bytes.EMPTY, new HashSet<>());
+    final StorageTrieNodeHealingRequest withData =
+        SnapDataRequest.createStorageTrieNodeDataRequest(
+            NODE_HASH, ACCOUNT_HASH, ROOT_HASH, Bytes.of(1));
+    withData.setData(Bytes.of(0x80));
+
+    assertThat(serializer.deserialize(serializer.serialize(root))).isSameAs(root);
+    assertThat(serializer.deserialize(serializer.serialize(withData))).isSameAs(withData);
+  }
+
+  @Test
+  void shouldForgetHeldRequestsOnClear() {
+    final AccountTrieNodeHealingRequest root =
+        SnapDataRequest.createAccountTrieNodeDataRequest(ROOT_HASH, Bytes.EMPTY, new HashSet<>());
+    final Bytes encodedRoot = serializer.serialize(root);
+
+    serializer.clear();
+
+    assertThatThrownBy(() -> serializer.deserialize(encodedRoot))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
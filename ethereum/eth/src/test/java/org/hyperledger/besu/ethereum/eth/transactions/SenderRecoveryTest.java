@@ -0,0 +1,72 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.CodeDelegation;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+public class SenderRecoveryTest {
+  private final DeterministicEthScheduler scheduler = new DeterministicEthScheduler();
+
+  @Test
+  public void recoversSendersOfAllBatches() {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      transactions.add(mock(Transaction.class));
+    }
+
+    final CompletableFuture<Void> recovery = SenderRecovery.recoverSenders(scheduler, transactions);
+
+    assertThat(recovery).isCompleted();
+    transactions.forEach(transaction -> verify(transaction).getSender());
+  }
+
+  @Test
+  public void recoversCodeDelegationAuthorities() {
+    final Transaction transaction = mock(Transaction.class);
+    final CodeDelegation codeDelegation = mock(CodeDelegation.class);
+    when(transaction.getCodeDelegationList()).thenReturn(Optional.of(List.of(codeDelegation)));
+
+    SenderRecovery.recoverSenders(scheduler, List.of(transaction));
+
+    verify(codeDelegation).authorizer();
+  }
+
+  @Test
+  public void invalidSignatureDoesNotPreventRecoveryOfOtherSenders() {
+    final Transaction invalid = mock(Transaction.class);
+    when(invalid.getSender()).thenThrow(new IllegalStateException("Cannot recover public key"));
+    final Transaction valid = mock(Transaction.class);
+
+    final CompletableFuture<Void> recovery =
+        SenderRecovery.recoverSenders(scheduler, List.of(invalid, valid));
+
+    assertThat(recovery).isCompletedWithValue(null);
+    verify(valid).getSender();
+  }
+}
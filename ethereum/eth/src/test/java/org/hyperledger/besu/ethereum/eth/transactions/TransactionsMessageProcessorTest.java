@@ -21,12 +21,14 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
 import org.hyperledger.besu.metrics.StubMetricsSystem;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -55,7 +57,10 @@ public class TransactionsMessageProcessorTest {
 
     messageHandler =
         new TransactionsMessageProcessor(
-            transactionTracker, transactionPool, new TransactionPoolMetrics(metricsSystem));
+            transactionTracker,
+            transactionPool,
+            new DeterministicEthScheduler(),
+            new TransactionPoolMetrics(metricsSystem));
   }
 
   @Test
@@ -67,7 +72,8 @@ public class TransactionsMessageProcessorTest {
         ofMinutes(1));
 
     verify(transactionTracker)
-        .markTransactionsAsSeen(peer1, asList(transaction1, transaction2, transaction3));
+        .markTransactionHashesAsSeen(
+            peer1, asList(transaction1.getHash(), transaction2.getHash(), transaction3.getHash()));
   }
 
   @Test
@@ -80,6 +86,17 @@ public class TransactionsMessageProcessorTest {
     verify(transactionPool).addRemoteTransactions(asList(transaction1, transaction2, transaction3));
   }
 
+  @Test
+  public void shouldNotAddAlreadySeenTransactionsToTransactionPool() {
+    when(transactionTracker.hasSeenTransaction(transaction2.getHash())).thenReturn(true);
+    messageHandler.processTransactionsMessage(
+        peer1,
+        TransactionsMessage.create(asList(transaction1, transaction2, transaction3)),
+        now(),
+        ofMinutes(1));
+    verify(transactionPool).addRemoteTransactions(asList(transaction1, transaction3));
+  }
+
   @Test
   public void shouldNotMarkReceivedExpiredTransactionsAsSeen() {
     messageHandler.processTransactionsMessage(
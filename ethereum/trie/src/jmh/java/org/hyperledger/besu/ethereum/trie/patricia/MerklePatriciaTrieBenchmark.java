@@ -0,0 +1,164 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import org.hyperledger.besu.ethereum.trie.KeyValueMerkleStorage;
+import org.hyperledger.besu.ethereum.trie.MerkleStorage;
+import org.hyperledger.besu.ethereum.trie.MerkleTrie;
+import org.hyperledger.besu.ethereum.trie.Proof;
+import org.hyperledger.besu.ethereum.trie.RangeStorageEntriesCollector;
+import org.hyperledger.besu.ethereum.trie.TrieIterator;
+import org.hyperledger.besu.ethereum.trie.patricia.TrieBenchmarkData.KeyDistribution;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the operations performed on a {@link StoredMerklePatriciaTrie} during block import and
+ * snap serving, over tries of different sizes and key distributions. A trie of a million uniformly
+ * distributed keys is about as deep as a large mainnet storage trie.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MerklePatriciaTrieBenchmark {
+  // roughly the number of accounts touched by a full mainnet block
+  private static final int UPDATES_PER_COMMIT = 200;
+  private static final int RANGE_LIMIT = 128;
+  private static final int RANGE_MAX_BYTES = 512 * 1024;
+  private static final int VALUE_POOL_SIZE = 1024;
+
+  @Param({"ACCOUNTS", "STORAGE_SLOTS", "SEQUENTIAL"})
+  public KeyDistribution distribution;
+
+  @Param({"10000", "1000000"})
+  public int size;
+
+  private final Random random = new Random(1);
+  private MerkleStorage merkleStorage;
+  private Bytes32 rootHash;
+  private Bytes32[] keys;
+  private Bytes[] values;
+  private StoredMerklePatriciaTrie<Bytes32, Bytes> trie;
+
+  @Setup(Level.Trial)
+  public void createTrie() {
+    keys = TrieBenchmarkData.keys(distribution, size, 42);
+    values = new Bytes[VALUE_POOL_SIZE];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = TrieBenchmarkData.value(distribution, random);
+    }
+    merkleStorage = new KeyValueMerkleStorage(new InMemoryKeyValueStorage());
+    final StoredMerklePatriciaTrie<Bytes32, Bytes> initialTrie =
+        loadTrie(MerkleTrie.EMPTY_TRIE_NODE_HASH);
+    for (final Bytes32 key : keys) {
+      initialTrie.put(key, randomValue());
+    }
+    initialTrie.commit(merkleStorage::put);
+    merkleStorage.commit();
+    rootHash = initialTrie.getRootHash();
+  }
+
+  @Setup(Level.Iteration)
+  public void reloadTrie() {
+    // start each iteration from the committed trie, so that updates do not pile up in memory
+    trie = loadTrie(rootHash);
+  }
+
+  @Benchmark
+  public Object get() {
+    return trie.get(randomKey());
+  }
+
+  @Benchmark
+  public Object getFromStorage() {
+    // a freshly loaded trie reads and decodes every node on the path from storage
+    return loadTrie(rootHash).get(randomKey());
+  }
+
+  @Benchmark
+  public Bytes32 putAndRootHash() {
+    trie.put(randomKey(), randomValue());
+    return trie.getRootHash();
+  }
+
+  @Benchmark
+  public Bytes32 removeAndRootHash() {
+    final Bytes32 key = randomKey();
+    trie.remove(key);
+    final Bytes32 hash = trie.getRootHash();
+    trie.put(key, randomValue());
+    return hash;
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Bytes32 commitBlockOfUpdates() {
+    for (int i = 0; i < UPDATES_PER_COMMIT; i++) {
+      trie.put(randomKey(), randomValue());
+    }
+    trie.commit((location, hash, value) -> {});
+    return trie.getRootHash();
+  }
+
+  @Benchmark
+  public Proof<Bytes> proof() {
+    return trie.getValueWithProof(randomKey());
+  }
+
+  @Benchmark
+  public Map<Bytes32, Bytes> rangeCollection() {
+    final Bytes32 startKeyHash = randomKey();
+    final RangeStorageEntriesCollector collector =
+        RangeStorageEntriesCollector.createCollector(
+            startKeyHash, Bytes32.ZERO.not(), RANGE_LIMIT, RANGE_MAX_BYTES);
+    final TrieIterator<Bytes> visitor = RangeStorageEntriesCollector.createVisitor(collector);
+    return trie.entriesFrom(
+        root ->
+            RangeStorageEntriesCollector.collectEntries(collector, visitor, root, startKeyHash));
+  }
+
+  private StoredMerklePatriciaTrie<Bytes32, Bytes> loadTrie(final Bytes32 hash) {
+    return new StoredMerklePatriciaTrie<>(
+        merkleStorage::get, hash, Function.identity(), Function.identity());
+  }
+
+  private Bytes32 randomKey() {
+    return keys[random.nextInt(keys.length)];
+  }
+
+  private Bytes randomValue() {
+    return values[random.nextInt(values.length)];
+  }
+}
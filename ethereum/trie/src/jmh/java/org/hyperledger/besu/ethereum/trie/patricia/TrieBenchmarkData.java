@@ -0,0 +1,103 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** Generates trie keys and values with the shapes found in the mainnet state tries. */
+public final class TrieBenchmarkData {
+
+  private TrieBenchmarkData() {}
+
+  /** The distribution of the keys inserted into a benchmarked trie. */
+  public enum KeyDistribution {
+    /**
+     * Hashes of random addresses with account sized values, as in the account trie. Keys are
+     * uniformly spread, so the trie is as shallow as possible for its size.
+     */
+    ACCOUNTS,
+    /**
+     * Hashes of the sequential slots 0..n with small values, as in the storage trie of a contract
+     * using its first slots densely.
+     */
+    STORAGE_SLOTS,
+    /**
+     * Unhashed sequential keys sharing a long common prefix, producing long extension nodes and
+     * branches at the bottom of the trie. Used by tries keyed by location rather than by hash.
+     */
+    SEQUENTIAL
+  }
+
+  /**
+   * Generates the keys of a trie.
+   *
+   * @param distribution the distribution of the keys
+   * @param count the number of keys
+   * @param seed the random seed
+   * @return the keys
+   */
+  public static Bytes32[] keys(
+      final KeyDistribution distribution, final int count, final long seed) {
+    final Random random = new Random(seed);
+    final Bytes32[] keys = new Bytes32[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] =
+          switch (distribution) {
+            case ACCOUNTS -> Hash.keccak256(Bytes.wrap(randomBytes(random, 20)));
+            case STORAGE_SLOTS -> Hash.keccak256(Bytes32.leftPad(Bytes.ofUnsignedLong(i)));
+            case SEQUENTIAL -> Bytes32.leftPad(Bytes.ofUnsignedLong(i));
+          };
+    }
+    return keys;
+  }
+
+  /**
+   * Generates a value for a trie entry.
+   *
+   * @param distribution the distribution of the keys, which determines the shape of the values
+   * @param random the source of randomness
+   * @return the RLP encoded value
+   */
+  public static Bytes value(final KeyDistribution distribution, final Random random) {
+    return switch (distribution) {
+      case ACCOUNTS ->
+          RLP.encode(
+              out -> {
+                out.startList();
+                out.writeLongScalar(random.nextInt(1_000));
+                out.writeBytes(Bytes.wrap(randomBytes(random, 1 + random.nextInt(12))));
+                out.writeBytes(Bytes32.wrap(randomBytes(random, 32)));
+                out.writeBytes(Bytes32.wrap(randomBytes(random, 32)));
+                out.endList();
+              });
+      case STORAGE_SLOTS, SEQUENTIAL -> {
+        final Bytes slotValue = Bytes.wrap(randomBytes(random, 1 + random.nextInt(32)));
+        yield RLP.encode(out -> out.writeBytes(slotValue));
+      }
+    };
+  }
+
+  private static byte[] randomBytes(final Random random, final int size) {
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
+import org.hyperledger.besu.ethereum.trie.Node;
+import org.hyperledger.besu.ethereum.trie.NodeFactory;
+import org.hyperledger.besu.ethereum.trie.NullNode;
+import org.hyperledger.besu.ethereum.trie.patricia.TrieBenchmarkData.KeyDistribution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the encoding, hashing and decoding of single trie nodes. Children are hashed during
+ * setup, as they are when a branch is rehashed after one of its children changed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrieNodeBenchmark {
+  private static final int RADIX = 16;
+
+  @Param({"2", "16"})
+  public int branchChildren;
+
+  private final NodeFactory<Bytes> nodeFactory = new DefaultNodeFactory<>(Function.identity());
+  private List<Node<Bytes>> children;
+  private Bytes leafPath;
+  private Bytes leafValue;
+  private Bytes encodedBranch;
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(1);
+    final Bytes32[] keys = TrieBenchmarkData.keys(KeyDistribution.ACCOUNTS, RADIX, 1);
+    children = new ArrayList<>(RADIX);
+    for (int i = 0; i < RADIX; i++) {
+      if (i < branchChildren) {
+        final Node<Bytes> leaf =
+            new LeafNode<>(
+                leafPath(keys[i]),
+                TrieBenchmarkData.value(KeyDistribution.ACCOUNTS, random),
+                nodeFactory,
+                Function.identity());
+        leaf.getHash();
+        children.add(leaf);
+      } else {
+        children.add(NullNode.instance());
+      }
+    }
+    leafPath = leafPath(keys[0]);
+    leafValue = TrieBenchmarkData.value(KeyDistribution.ACCOUNTS, random);
+    encodedBranch = branch().getEncodedBytes();
+  }
+
+  @Benchmark
+  public Bytes32 branchHash() {
+    return branch().getHash();
+  }
+
+  @Benchmark
+  public Bytes branchEncoding() {
+    return branch().getEncodedBytes();
+  }
+
+  @Benchmark
+  public Bytes32 leafHash() {
+    return new LeafNode<>(leafPath, leafValue, nodeFactory, Function.identity()).getHash();
+  }
+
+  @Benchmark
+  public Bytes32 keccakOfEncodedBranch() {
+    return Hash.keccak256(encodedBranch);
+  }
+
+  @Benchmark
+  public Node<Bytes> branchDecoding() {
+    return TrieNodeDecoder.decode(Bytes.EMPTY, encodedBranch);
+  }
+
+  private BranchNode<Bytes> branch() {
+    return new BranchNode<>(children, Optional.empty(), nodeFactory, Function.identity());
+  }
+
+  private static Bytes leafPath(final Bytes32 key) {
+    // the first nibble of the key is consumed by the parent branch
+    return CompactEncoding.bytesToPath(key).slice(1);
+  }
+}
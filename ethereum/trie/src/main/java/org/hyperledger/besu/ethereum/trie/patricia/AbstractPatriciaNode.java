@@ -0,0 +1,109 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import static org.hyperledger.besu.crypto.Hash.keccak256;
+
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.trie.Node;
+
+import java.lang.ref.WeakReference;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * The encoding and hashing shared by the nodes of a Merkle Patricia trie.
+ *
+ * <p>The hash and the size of the encoding are kept in plain fields once computed, as they are
+ * small and needed every time a parent node is encoded. The encoding itself can be large and is
+ * only weakly referenced; hashing goes through {@link TrieNodeEncoder} and does not need it.
+ *
+ * @param <V> the type of the values stored in the trie
+ */
+abstract class AbstractPatriciaNode<V> implements Node<V> {
+  private static final int UNKNOWN_SIZE = -1;
+
+  private WeakReference<Bytes> encodedBytes;
+  private Bytes32 hash;
+  private int encodedSize = UNKNOWN_SIZE;
+
+  /**
+   * Writes the RLP encoding of this node.
+   *
+   * @param encoder the encoder to write to
+   */
+  abstract void writeTo(TrieNodeEncoder encoder);
+
+  @Override
+  public Bytes getEncodedBytes() {
+    final Bytes cached = cachedEncoding();
+    if (cached != null) {
+      return cached;
+    }
+    final Bytes encoded = TrieNodeEncoder.encode(this);
+    encodedBytes = new WeakReference<>(encoded);
+    encodedSize = encoded.size();
+    return encoded;
+  }
+
+  @Override
+  public Bytes getEncodedBytesRef() {
+    if (isReferencedByHash()) {
+      return RLP.encodeOne(getHash());
+    } else {
+      return getEncodedBytes();
+    }
+  }
+
+  @Override
+  public boolean isReferencedByHash() {
+    if (encodedSize == UNKNOWN_SIZE) {
+      final Bytes cached = cachedEncoding();
+      encodedSize = cached != null ? cached.size() : TrieNodeEncoder.encodedSize(this);
+    }
+    return encodedSize >= Bytes32.SIZE;
+  }
+
+  @Override
+  public Bytes32 getHash() {
+    if (hash == null) {
+      final Bytes cached = cachedEncoding();
+      hash = cached != null ? keccak256(cached) : TrieNodeEncoder.hash(this);
+    }
+    return hash;
+  }
+
+  Bytes cachedEncoding() {
+    return encodedBytes != null ? encodedBytes.get() : null;
+  }
+
+  Bytes32 cachedHash() {
+    return hash;
+  }
+
+  int cachedEncodedSize() {
+    return encodedSize;
+  }
+
+  void cacheEncodedSize(final int size) {
+    this.encodedSize = size;
+  }
+
+  void cacheHash(final Bytes32 hash, final int size) {
+    this.hash = hash;
+    this.encodedSize = size;
+  }
+}
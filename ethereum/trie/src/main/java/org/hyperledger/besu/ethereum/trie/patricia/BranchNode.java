@@ -14,10 +14,6 @@
  */
 package org.hyperledger.besu.ethereum.trie.patricia;
 
-import static org.hyperledger.besu.crypto.Hash.keccak256;
-
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
-import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.LocationNodeVisitor;
 import org.hyperledger.besu.ethereum.trie.Node;
 import org.hyperledger.besu.ethereum.trie.NodeFactory;
@@ -25,8 +21,6 @@ import org.hyperledger.besu.ethereum.trie.NodeVisitor;
 import org.hyperledger.besu.ethereum.trie.NullNode;
 import org.hyperledger.besu.ethereum.trie.PathNodeVisitor;
 
-import java.lang.ref.SoftReference;
-import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -35,10 +29,9 @@ import java.util.Optional;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.MutableBytes;
 
-public class BranchNode<V> implements Node<V> {
+public class BranchNode<V> extends AbstractPatriciaNode<V> {
 
   @SuppressWarnings("rawtypes")
   protected static final Node NULL_NODE = NullNode.instance();
@@ -48,8 +41,6 @@ public class BranchNode<V> implements Node<V> {
   private final Optional<V> value;
   protected final NodeFactory<V> nodeFactory;
   private final Function<V, Bytes> valueSerializer;
-  protected WeakReference<Bytes> encodedBytes;
-  private SoftReference<Bytes32> hash;
   private boolean dirty = false;
   private boolean needHeal = false;
 
@@ -120,49 +111,17 @@ public class BranchNode<V> implements Node<V> {
   }
 
   @Override
-  public Bytes getEncodedBytes() {
-    if (encodedBytes != null) {
-      final Bytes encoded = encodedBytes.get();
-      if (encoded != null) {
-        return encoded;
-      }
-    }
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
+  void writeTo(final TrieNodeEncoder encoder) {
+    final int listStart = encoder.startList();
     for (int i = 0; i < maxChild(); ++i) {
-      out.writeRaw(children.get(i).getEncodedBytesRef());
+      encoder.writeReference(children.get(i));
     }
     if (value.isPresent()) {
-      out.writeBytes(valueSerializer.apply(value.get()));
+      encoder.writeBytes(valueSerializer.apply(value.get()));
     } else {
-      out.writeNull();
-    }
-    out.endList();
-    final Bytes encoded = out.encoded();
-    encodedBytes = new WeakReference<>(encoded);
-    return encoded;
-  }
-
-  @Override
-  public Bytes getEncodedBytesRef() {
-    if (isReferencedByHash()) {
-      return RLP.encodeOne(getHash());
-    } else {
-      return getEncodedBytes();
-    }
-  }
-
-  @Override
-  public Bytes32 getHash() {
-    if (hash != null) {
-      final Bytes32 hashed = hash.get();
-      if (hashed != null) {
-        return hashed;
-      }
+      encoder.writeNull();
     }
-    final Bytes32 hashed = keccak256(getEncodedBytes());
-    hash = new SoftReference<>(hashed);
-    return hashed;
+    encoder.endList(listStart);
   }
 
   @Override
@@ -14,10 +14,6 @@
  */
 package org.hyperledger.besu.ethereum.trie.patricia;
 
-import static org.hyperledger.besu.crypto.Hash.keccak256;
-
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
-import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.LocationNodeVisitor;
 import org.hyperledger.besu.ethereum.trie.Node;
@@ -25,23 +21,18 @@ import org.hyperledger.besu.ethereum.trie.NodeFactory;
 import org.hyperledger.besu.ethereum.trie.NodeVisitor;
 import org.hyperledger.besu.ethereum.trie.PathNodeVisitor;
 
-import java.lang.ref.SoftReference;
-import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.Bytes32;
 
-public class ExtensionNode<V> implements Node<V> {
+public class ExtensionNode<V> extends AbstractPatriciaNode<V> {
 
   private final Optional<Bytes> location;
   private final Bytes path;
   private final Node<V> child;
   private final NodeFactory<V> nodeFactory;
-  private WeakReference<Bytes> rlp;
-  private SoftReference<Bytes32> hash;
   private boolean dirty = false;
   private boolean needHeal = false;
 
@@ -109,44 +100,11 @@ public class ExtensionNode<V> implements Node<V> {
   }
 
   @Override
-  public Bytes getEncodedBytes() {
-    if (rlp != null) {
-      final Bytes encoded = rlp.get();
-      if (encoded != null) {
-        return encoded;
-      }
-    }
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    out.writeBytes(CompactEncoding.encode(path));
-    out.writeRaw(child.getEncodedBytesRef());
-    out.endList();
-    final Bytes encoded = out.encoded();
-    rlp = new WeakReference<>(encoded);
-    return encoded;
-  }
-
-  @Override
-  public Bytes getEncodedBytesRef() {
-    if (isReferencedByHash()) {
-      return RLP.encodeOne(getHash());
-    } else {
-      return getEncodedBytes();
-    }
-  }
-
-  @Override
-  public Bytes32 getHash() {
-    if (hash != null) {
-      final Bytes32 hashed = hash.get();
-      if (hashed != null) {
-        return hashed;
-      }
-    }
-    final Bytes rlp = getEncodedBytes();
-    final Bytes32 hashed = keccak256(rlp);
-    hash = new SoftReference<>(hashed);
-    return hashed;
+  void writeTo(final TrieNodeEncoder encoder) {
+    final int listStart = encoder.startList();
+    encoder.writeCompactPath(path);
+    encoder.writeReference(child);
+    encoder.endList(listStart);
   }
 
   public Node<V> replaceChild(final Node<V> updatedChild) {
@@ -14,10 +14,6 @@
  */
 package org.hyperledger.besu.ethereum.trie.patricia;
 
-import static org.hyperledger.besu.crypto.Hash.keccak256;
-
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
-import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.LocationNodeVisitor;
 import org.hyperledger.besu.ethereum.trie.Node;
@@ -25,24 +21,19 @@ import org.hyperledger.besu.ethereum.trie.NodeFactory;
 import org.hyperledger.besu.ethereum.trie.NodeVisitor;
 import org.hyperledger.besu.ethereum.trie.PathNodeVisitor;
 
-import java.lang.ref.SoftReference;
-import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.Bytes32;
 
-public class LeafNode<V> implements Node<V> {
+public class LeafNode<V> extends AbstractPatriciaNode<V> {
   private final Optional<Bytes> location;
   private final Bytes path;
   protected final V value;
   private final NodeFactory<V> nodeFactory;
   protected final Function<V, Bytes> valueSerializer;
-  protected WeakReference<Bytes> encodedBytes;
-  private SoftReference<Bytes32> hash;
   private boolean dirty = false;
 
   public LeafNode(
@@ -106,44 +97,11 @@ public class LeafNode<V> implements Node<V> {
   }
 
   @Override
-  public Bytes getEncodedBytes() {
-    if (encodedBytes != null) {
-      final Bytes encoded = encodedBytes.get();
-      if (encoded != null) {
-        return encoded;
-      }
-    }
-
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    out.writeBytes(CompactEncoding.encode(path));
-    out.writeBytes(valueSerializer.apply(value));
-    out.endList();
-    final Bytes encoded = out.encoded();
-    encodedBytes = new WeakReference<>(encoded);
-    return encoded;
-  }
-
-  @Override
-  public Bytes getEncodedBytesRef() {
-    if (isReferencedByHash()) {
-      return RLP.encodeOne(getHash());
-    } else {
-      return getEncodedBytes();
-    }
-  }
-
-  @Override
-  public Bytes32 getHash() {
-    if (hash != null) {
-      final Bytes32 hashed = hash.get();
-      if (hashed != null) {
-        return hashed;
-      }
-    }
-    final Bytes32 hashed = keccak256(getEncodedBytes());
-    hash = new SoftReference<>(hashed);
-    return hashed;
+  void writeTo(final TrieNodeEncoder encoder) {
+    final int listStart = encoder.startList();
+    encoder.writeCompactPath(path);
+    encoder.writeBytes(valueSerializer.apply(value));
+    encoder.endList(listStart);
   }
 
   @Override
@@ -0,0 +1,302 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import static org.hyperledger.besu.crypto.Hash.keccak256;
+
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
+import org.hyperledger.besu.ethereum.trie.Node;
+import org.hyperledger.besu.ethereum.trie.StoredNode;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Encodes trie nodes into a reusable per-thread scratch buffer.
+ *
+ * <p>Children that have not been hashed yet are encoded in place, directly into the encoding of
+ * their parent. Once a child turns out to be referenced by hash, it is hashed straight from the
+ * buffer and its encoding is replaced by the hash reference, so hashing a freshly modified subtree
+ * never materializes the encodings of its nodes.
+ *
+ * <p>The buffer is used as a stack: each encoding starts at the current position and the position
+ * is restored once the encoding has been hashed or copied out, which makes it safe for the hashing
+ * of a node to trigger the hashing of other nodes.
+ */
+final class TrieNodeEncoder {
+  private static final ThreadLocal<TrieNodeEncoder> ENCODERS =
+      ThreadLocal.withInitial(TrieNodeEncoder::new);
+
+  private static final int INITIAL_CAPACITY = 4 * 1024;
+  // large leaf values, such as receipts, should not pin a large buffer to every thread
+  private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+  private static final int MAX_LIST_HEADER_SIZE = 9;
+  private static final int SHORT_LENGTH_LIMIT = 55;
+  private static final int BYTES_SHORT_OFFSET = 0x80;
+  private static final int BYTES_LONG_OFFSET = 0xb7;
+  private static final int LIST_SHORT_OFFSET = 0xc0;
+  private static final int LIST_LONG_OFFSET = 0xf7;
+  private static final int HASH_REFERENCE_PREFIX = BYTES_SHORT_OFFSET + Bytes32.SIZE;
+
+  private byte[] buffer = new byte[INITIAL_CAPACITY];
+  private int position;
+
+  private TrieNodeEncoder() {}
+
+  /**
+   * Encodes a node into a new {@link Bytes}.
+   *
+   * @param node the node to encode
+   * @return the RLP encoding of the node
+   */
+  static Bytes encode(final AbstractPatriciaNode<?> node) {
+    final TrieNodeEncoder encoder = ENCODERS.get();
+    final int start = encoder.position;
+    try {
+      node.writeTo(encoder);
+      return Bytes.wrap(Arrays.copyOfRange(encoder.buffer, start, encoder.position));
+    } finally {
+      encoder.release(start);
+    }
+  }
+
+  /**
+   * Hashes a node without materializing its encoding, recording the size of the encoding on the
+   * node.
+   *
+   * @param node the node to hash
+   * @return the keccak256 hash of the RLP encoding of the node
+   */
+  static Bytes32 hash(final AbstractPatriciaNode<?> node) {
+    final TrieNodeEncoder encoder = ENCODERS.get();
+    final int start = encoder.position;
+    try {
+      node.writeTo(encoder);
+      final int size = encoder.position - start;
+      final Bytes32 hash = keccak256(Bytes.wrap(encoder.buffer, start, size));
+      node.cacheEncodedSize(size);
+      return hash;
+    } finally {
+      encoder.release(start);
+    }
+  }
+
+  /**
+   * Computes the size of the encoding of a node without materializing it.
+   *
+   * @param node the node
+   * @return the size of the RLP encoding of the node
+   */
+  static int encodedSize(final AbstractPatriciaNode<?> node) {
+    final TrieNodeEncoder encoder = ENCODERS.get();
+    final int start = encoder.position;
+    try {
+      node.writeTo(encoder);
+      return encoder.position - start;
+    } finally {
+      encoder.release(start);
+    }
+  }
+
+  /**
+   * Starts an RLP list, reserving room for the largest possible list header.
+   *
+   * @return the position of the list, to be passed to {@link #endList(int)}
+   */
+  int startList() {
+    final int listStart = position;
+    ensureCapacity(MAX_LIST_HEADER_SIZE);
+    position += MAX_LIST_HEADER_SIZE;
+    return listStart;
+  }
+
+  /**
+   * Ends an RLP list, writing its header and moving the payload next to it.
+   *
+   * @param listStart the position returned by {@link #startList()}
+   */
+  void endList(final int listStart) {
+    final int payloadStart = listStart + MAX_LIST_HEADER_SIZE;
+    final int payloadSize = position - payloadStart;
+    final int headerSize = headerSize(payloadSize);
+    if (headerSize < MAX_LIST_HEADER_SIZE) {
+      System.arraycopy(buffer, payloadStart, buffer, listStart + headerSize, payloadSize);
+    }
+    writeHeader(listStart, LIST_SHORT_OFFSET, LIST_LONG_OFFSET, payloadSize);
+    position = listStart + headerSize + payloadSize;
+  }
+
+  /**
+   * Writes an RLP encoded byte string.
+   *
+   * @param value the value to write
+   */
+  void writeBytes(final Bytes value) {
+    final int size = value.size();
+    if (size == 1 && (value.get(0) & 0xff) < BYTES_SHORT_OFFSET) {
+      ensureCapacity(1);
+      buffer[position++] = value.get(0);
+      return;
+    }
+    final int headerSize = headerSize(size);
+    ensureCapacity(headerSize + size);
+    writeHeader(position, BYTES_SHORT_OFFSET, BYTES_LONG_OFFSET, size);
+    position += headerSize;
+    writeRaw(value);
+  }
+
+  /** Writes an RLP encoded empty byte string. */
+  void writeNull() {
+    ensureCapacity(1);
+    buffer[position++] = (byte) BYTES_SHORT_OFFSET;
+  }
+
+  /**
+   * Writes a path in its compact encoding, as an RLP encoded byte string.
+   *
+   * @param path the path to write
+   */
+  void writeCompactPath(final Bytes path) {
+    int nibbles = path.size();
+    final boolean isLeaf = nibbles > 0 && path.get(nibbles - 1) == CompactEncoding.LEAF_TERMINATOR;
+    if (isLeaf) {
+      nibbles--;
+    }
+    final int size = (nibbles + 2) / 2;
+    ensureCapacity(1 + size);
+    // a single byte path is below 0x80 and encodes as itself, longer paths need a short header
+    if (size > 1) {
+      buffer[position++] = (byte) (BYTES_SHORT_OFFSET + size);
+    }
+    int i = 0;
+    if (nibbles % 2 == 1) {
+      buffer[position++] = (byte) ((isLeaf ? 0x30 : 0x10) | nibble(path, i++));
+    } else {
+      buffer[position++] = (byte) (isLeaf ? 0x20 : 0x00);
+    }
+    while (i < nibbles) {
+      final int high = nibble(path, i++);
+      final int low = nibble(path, i++);
+      buffer[position++] = (byte) (high << 4 | low);
+    }
+  }
+
+  /**
+   * Writes a reference to a child node: its hash if the child is referenced by hash, or its
+   * encoding inlined otherwise.
+   *
+   * @param child the child node
+   */
+  void writeReference(final Node<?> child) {
+    if (child instanceof AbstractPatriciaNode<?> node) {
+      writeReference(node);
+    } else if (child instanceof StoredNode<?>) {
+      // stored nodes are always referenced by hash
+      writeHashReference(child.getHash());
+    } else {
+      writeRaw(child.getEncodedBytesRef());
+    }
+  }
+
+  private void writeReference(final AbstractPatriciaNode<?> child) {
+    final Bytes32 cachedHash = child.cachedHash();
+    final int cachedSize = child.cachedEncodedSize();
+    if (cachedHash != null && cachedSize >= Bytes32.SIZE) {
+      writeHashReference(cachedHash);
+      return;
+    }
+    final Bytes cachedEncoding = child.cachedEncoding();
+    if (cachedEncoding != null) {
+      if (cachedEncoding.size() >= Bytes32.SIZE) {
+        writeHashReference(child.getHash());
+      } else {
+        writeRaw(cachedEncoding);
+      }
+      return;
+    }
+    // encode the child in place, and replace it by its hash if it is too large to be inlined
+    final int childStart = position;
+    child.writeTo(this);
+    final int childSize = position - childStart;
+    if (childSize >= Bytes32.SIZE) {
+      final Bytes32 childHash = keccak256(Bytes.wrap(buffer, childStart, childSize));
+      child.cacheHash(childHash, childSize);
+      position = childStart;
+      writeHashReference(childHash);
+    } else {
+      child.cacheEncodedSize(childSize);
+    }
+  }
+
+  private void writeHashReference(final Bytes32 hash) {
+    ensureCapacity(1 + Bytes32.SIZE);
+    buffer[position++] = (byte) HASH_REFERENCE_PREFIX;
+    writeRaw(hash);
+  }
+
+  private void writeRaw(final Bytes bytes) {
+    final int size = bytes.size();
+    ensureCapacity(size);
+    System.arraycopy(bytes.toArrayUnsafe(), 0, buffer, position, size);
+    position += size;
+  }
+
+  private void ensureCapacity(final int size) {
+    if (position + size > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + size));
+    }
+  }
+
+  private void release(final int start) {
+    position = start;
+    if (start == 0 && buffer.length > MAX_RETAINED_CAPACITY) {
+      buffer = new byte[INITIAL_CAPACITY];
+    }
+  }
+
+  private static int nibble(final Bytes path, final int index) {
+    final byte nibble = path.get(index);
+    if ((nibble & 0xf0) != 0) {
+      throw new IllegalArgumentException("Invalid path: contains elements larger than a nibble");
+    }
+    return nibble;
+  }
+
+  private static int headerSize(final int size) {
+    if (size <= SHORT_LENGTH_LIMIT) {
+      return 1;
+    }
+    return 1 + lengthOfLength(size);
+  }
+
+  private static int lengthOfLength(final int size) {
+    return (Integer.SIZE - Integer.numberOfLeadingZeros(size) + 7) / 8;
+  }
+
+  private void writeHeader(
+      final int at, final int shortOffset, final int longOffset, final int size) {
+    if (size <= SHORT_LENGTH_LIMIT) {
+      buffer[at] = (byte) (shortOffset + size);
+      return;
+    }
+    final int lengthOfLength = lengthOfLength(size);
+    buffer[at] = (byte) (longOffset + lengthOfLength);
+    for (int i = lengthOfLength; i > 0; i--) {
+      buffer[at + i] = (byte) (size >>> (8 * (lengthOfLength - i)));
+    }
+  }
+}
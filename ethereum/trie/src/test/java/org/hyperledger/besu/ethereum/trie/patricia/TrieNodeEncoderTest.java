@@ -0,0 +1,179 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.crypto.Hash.keccak256;
+
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
+import org.hyperledger.besu.ethereum.trie.Node;
+import org.hyperledger.besu.ethereum.trie.NodeFactory;
+import org.hyperledger.besu.ethereum.trie.NullNode;
+import org.hyperledger.besu.ethereum.trie.StoredNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TrieNodeEncoderTest {
+  private final NodeFactory<Bytes> nodeFactory = new DefaultNodeFactory<>(Function.identity());
+  private final Random random = new Random(1);
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 31, 55, 56, 300, 70_000})
+  public void leafMatchesReferenceEncoding(final int valueSize) {
+    for (int pathSize = 0; pathSize <= 4; pathSize++) {
+      final LeafNode<Bytes> leaf = leaf(pathSize, valueSize);
+      assertMatchesReference(leaf, referenceEncoding(leaf));
+    }
+  }
+
+  @Test
+  public void extensionMatchesReferenceEncoding() {
+    for (int pathSize = 1; pathSize <= 5; pathSize++) {
+      // both an inlined and a hashed child
+      for (final int valueSize : new int[] {1, 40}) {
+        final ExtensionNode<Bytes> extension =
+            new ExtensionNode<>(nibbles(pathSize), branch(3, valueSize), nodeFactory);
+        assertMatchesReference(extension, referenceEncoding(extension));
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 16})
+  public void branchMatchesReferenceEncoding(final int childCount) {
+    for (final int valueSize : new int[] {1, 8, 40}) {
+      final BranchNode<Bytes> branch = branch(childCount, valueSize);
+      assertMatchesReference(branch, referenceEncoding(branch));
+    }
+  }
+
+  @Test
+  public void branchWithStoredChildMatchesReferenceEncoding() {
+    final List<Node<Bytes>> children = nullChildren();
+    children.set(3, new StoredNode<>(nodeFactory, Bytes.of(3), Bytes32.random(random)));
+    children.set(7, leaf(2, 50));
+    final BranchNode<Bytes> branch =
+        new BranchNode<>(children, Optional.empty(), nodeFactory, Function.identity());
+    assertMatchesReference(branch, referenceEncoding(branch));
+  }
+
+  @Test
+  public void hashingDoesNotMaterializeEncodings() {
+    final BranchNode<Bytes> branch = branch(16, 40);
+    final Bytes32 hash = branch.getHash();
+
+    assertThat(branch.cachedEncoding()).isNull();
+    for (final Node<Bytes> child : branch.getChildren()) {
+      final LeafNode<Bytes> leaf = (LeafNode<Bytes>) child;
+      assertThat(leaf.cachedEncoding()).isNull();
+      assertThat(leaf.cachedHash()).isNotNull();
+    }
+    assertThat(hash).isEqualTo(keccak256(referenceEncoding(branch)));
+  }
+
+  private void assertMatchesReference(
+      final AbstractPatriciaNode<Bytes> node, final Bytes expected) {
+    assertThat(TrieNodeEncoder.encodedSize(node)).isEqualTo(expected.size());
+    assertThat(TrieNodeEncoder.hash(node)).isEqualTo(keccak256(expected));
+    assertThat(node.getEncodedBytes()).isEqualTo(expected);
+    assertThat(node.getHash()).isEqualTo(keccak256(expected));
+    assertThat(node.isReferencedByHash()).isEqualTo(expected.size() >= 32);
+  }
+
+  private LeafNode<Bytes> leaf(final int pathSize, final int valueSize) {
+    final Bytes path =
+        Bytes.concatenate(nibbles(pathSize), Bytes.of(CompactEncoding.LEAF_TERMINATOR));
+    return new LeafNode<>(path, randomBytes(valueSize), nodeFactory, Function.identity());
+  }
+
+  private BranchNode<Bytes> branch(final int childCount, final int valueSize) {
+    final List<Node<Bytes>> children = nullChildren();
+    for (int i = 0; i < childCount; i++) {
+      children.set(i, leaf(i % 3, valueSize));
+    }
+    final Optional<Bytes> value =
+        childCount % 2 == 0 ? Optional.of(randomBytes(valueSize)) : Optional.empty();
+    return new BranchNode<>(children, value, nodeFactory, Function.identity());
+  }
+
+  private static List<Node<Bytes>> nullChildren() {
+    final List<Node<Bytes>> children = new ArrayList<>(16);
+    for (int i = 0; i < 16; i++) {
+      children.add(NullNode.instance());
+    }
+    return children;
+  }
+
+  private Bytes nibbles(final int size) {
+    final byte[] nibbles = new byte[size];
+    for (int i = 0; i < size; i++) {
+      nibbles[i] = (byte) random.nextInt(16);
+    }
+    return Bytes.wrap(nibbles);
+  }
+
+  private Bytes randomBytes(final int size) {
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return Bytes.wrap(bytes);
+  }
+
+  private static Bytes referenceEncoding(final Node<Bytes> node) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    if (node instanceof BranchNode<Bytes> branch) {
+      for (final Node<Bytes> child : branch.getChildren()) {
+        out.writeRaw(referenceOf(child));
+      }
+      if (branch.getValue().isPresent()) {
+        out.writeBytes(branch.getValue().get());
+      } else {
+        out.writeNull();
+      }
+    } else if (node instanceof ExtensionNode<Bytes> extension) {
+      out.writeBytes(CompactEncoding.encode(extension.getPath()));
+      out.writeRaw(referenceOf(extension.getChild()));
+    } else if (node instanceof LeafNode<Bytes> leaf) {
+      out.writeBytes(CompactEncoding.encode(leaf.getPath()));
+      out.writeBytes(leaf.getValue().orElseThrow());
+    }
+    out.endList();
+    return out.encoded();
+  }
+
+  private static Bytes referenceOf(final Node<Bytes> child) {
+    if (child instanceof NullNode || child instanceof StoredNode) {
+      return child.getEncodedBytesRef();
+    }
+    final Bytes encoded = referenceEncoding(child);
+    if (encoded.size() < 32) {
+      return encoded;
+    }
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.writeBytes(keccak256(encoded));
+    return out.encoded();
+  }
+}
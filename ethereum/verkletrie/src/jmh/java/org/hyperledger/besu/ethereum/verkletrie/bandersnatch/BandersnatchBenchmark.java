@@ -0,0 +1,110 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.MutableElement;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the point operations of bandersnatch in extended coordinates, and the multi scalar
+ * multiplications over arbitrary and precomputed bases of the sizes used by the verkle commitments.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BandersnatchBenchmark {
+  private static final BigInteger ORDER =
+      new BigInteger("1cfb69d4ca675f520cce760202687600ff8f87007419047174fd06b52876e7e1", 16);
+
+  @Param({"16", "256"})
+  public int size;
+
+  private final Msm msm = new Msm();
+  private final ExtendedPoint result = new ExtendedPoint();
+  private ExtendedPoint p;
+  private ExtendedPoint q;
+  private ExtendedPoint[] bases;
+  private ExtendedPoint[] normalized;
+  private MutableElement[] scalars;
+  private PrecomputedBases precomputedBases;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Random random = new Random(42);
+    final ExtendedPoint generator = ExtendedPoint.generator();
+    bases = new ExtendedPoint[size];
+    normalized = new ExtendedPoint[size];
+    scalars = new MutableElement[size];
+    for (int i = 0; i < size; i++) {
+      bases[i] = new ExtendedPoint().scalarMul(generator, randomScalar(random));
+      normalized[i] = new ExtendedPoint();
+      scalars[i] = randomScalar(random);
+    }
+    precomputedBases = new PrecomputedBases(bases);
+    p = new ExtendedPoint().set(bases[0]);
+    q = new ExtendedPoint().set(bases[size - 1]);
+  }
+
+  private static MutableElement randomScalar(final Random random) {
+    return MutableElement.fromBigInteger(new BigInteger(ORDER.bitLength(), random).mod(ORDER));
+  }
+
+  @Benchmark
+  public ExtendedPoint add() {
+    return result.add(p, q);
+  }
+
+  @Benchmark
+  public ExtendedPoint dbl() {
+    return result.dbl(p);
+  }
+
+  @Benchmark
+  public ExtendedPoint multiScalarMul() {
+    return msm.multiScalarMul(bases, scalars, result);
+  }
+
+  @Benchmark
+  public ExtendedPoint precomputedMultiScalarMul() {
+    return msm.multiScalarMul(precomputedBases, scalars, result);
+  }
+
+  @Benchmark
+  public ExtendedPoint[] batchNormalize() {
+    // normalizes copies, as the bases must keep their coordinates between invocations
+    for (int i = 0; i < size; i++) {
+      normalized[i].set(bases[i]);
+    }
+    ExtendedPoint.batchNormalize(normalized);
+    return normalized;
+  }
+}
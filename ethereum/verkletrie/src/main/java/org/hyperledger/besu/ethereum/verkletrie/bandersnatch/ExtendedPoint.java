@@ -0,0 +1,302 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fp.MutableElement;
+
+import java.math.BigInteger;
+
+/**
+ * A mutable point of bandersnatch, the twisted Edwards curve {@code -5x^2 + y^2 = 1 + dx^2y^2}, in
+ * extended coordinates {@code (X : Y : T : Z)} with {@code x = X/Z}, {@code y = Y/Z} and {@code xy
+ * = T/Z}. The operations write their result in this point, which may also be one of their
+ * operands, and return it, so the arithmetic does not allocate.
+ *
+ * <p>The additions and doublings use the formulas add-2008-hwcd and dbl-2008-hwcd of Hisil, Wong,
+ * Carter and Dawson, which hold for all the points of the prime order subgroup.
+ */
+public final class ExtendedPoint {
+  static final MutableElement D =
+      MutableElement.fromBigInteger(
+          new BigInteger("6389c12633c267cbc66e3bf86be3b6d8cb66677177e54f92b369f2f5188d58e7", 16));
+  private static final BigInteger GENERATOR_X =
+      new BigInteger("29c132cc2c0b34c5743711777bbe42f32b79c022ad998465e1e71866a252ae18", 16);
+  private static final BigInteger GENERATOR_Y =
+      new BigInteger("2a6c669eda123e0f157d8b50badcd586358cad81eee464605e3167b6cc974166", 16);
+  private static final ThreadLocal<Temporaries> TEMPORARIES =
+      ThreadLocal.withInitial(Temporaries::new);
+
+  public final MutableElement x = new MutableElement();
+  public final MutableElement y = new MutableElement();
+  public final MutableElement t = new MutableElement();
+  public final MutableElement z = new MutableElement();
+
+  /** Creates the identity point. */
+  public ExtendedPoint() {
+    setIdentity();
+  }
+
+  /**
+   * Creates a point at the standard generator of the prime order subgroup.
+   *
+   * @return the generator
+   */
+  public static ExtendedPoint generator() {
+    return new ExtendedPoint()
+        .setAffine(
+            MutableElement.fromBigInteger(GENERATOR_X), MutableElement.fromBigInteger(GENERATOR_Y));
+  }
+
+  /**
+   * Creates a point from its projective coordinates {@code (x : y : z)}.
+   *
+   * @param point the projective point
+   * @return the point
+   */
+  public static ExtendedPoint fromPoint(final Point point) {
+    final ExtendedPoint result = new ExtendedPoint();
+    final MutableElement px = MutableElement.fromElement(point.x);
+    final MutableElement py = MutableElement.fromElement(point.y);
+    final MutableElement pz = MutableElement.fromElement(point.z);
+    result.x.mul(px, pz);
+    result.y.mul(py, pz);
+    result.t.mul(px, py);
+    result.z.square(pz);
+    return result;
+  }
+
+  /**
+   * Converts this point to projective coordinates {@code (x : y : z)}.
+   *
+   * @return the projective point
+   */
+  public Point toPoint() {
+    return new Point(x.toElement(), y.toElement(), z.toElement());
+  }
+
+  public ExtendedPoint setIdentity() {
+    x.setZero();
+    y.setOne();
+    t.setZero();
+    z.setOne();
+    return this;
+  }
+
+  public ExtendedPoint set(final ExtendedPoint p) {
+    x.set(p.x);
+    y.set(p.y);
+    t.set(p.t);
+    z.set(p.z);
+    return this;
+  }
+
+  /**
+   * Sets this point from its affine coordinates.
+   *
+   * @param affineX the x coordinate
+   * @param affineY the y coordinate
+   * @return this point
+   */
+  public ExtendedPoint setAffine(final MutableElement affineX, final MutableElement affineY) {
+    x.set(affineX);
+    y.set(affineY);
+    t.mul(affineX, affineY);
+    z.setOne();
+    return this;
+  }
+
+  public boolean isIdentity() {
+    return x.isZero() && y.equals(z);
+  }
+
+  /**
+   * Whether this point and another represent the same point of the curve, whatever their
+   * coordinates.
+   *
+   * @param other the other point
+   * @return true if both are the same point
+   */
+  public boolean isSamePoint(final ExtendedPoint other) {
+    final Temporaries tmp = TEMPORARIES.get();
+    return tmp.a.mul(x, other.z).equals(tmp.b.mul(other.x, z))
+        && tmp.a.mul(y, other.z).equals(tmp.b.mul(other.y, z));
+  }
+
+  /**
+   * Sets this point to {@code -p}.
+   *
+   * @param p the operand
+   * @return this point
+   */
+  public ExtendedPoint neg(final ExtendedPoint p) {
+    x.neg(p.x);
+    y.set(p.y);
+    t.neg(p.t);
+    z.set(p.z);
+    return this;
+  }
+
+  /**
+   * Sets this point to {@code p + q}.
+   *
+   * @param p the first operand
+   * @param q the second operand
+   * @return this point
+   */
+  public ExtendedPoint add(final ExtendedPoint p, final ExtendedPoint q) {
+    return add(p, q, TEMPORARIES.get());
+  }
+
+  ExtendedPoint add(final ExtendedPoint p, final ExtendedPoint q, final Temporaries tmp) {
+    tmp.a.mul(p.x, q.x);
+    tmp.b.mul(p.y, q.y);
+    tmp.c.mul(p.t, q.t).mul(tmp.c, D);
+    tmp.d.mul(p.z, q.z);
+    tmp.e.add(p.x, p.y).mul(tmp.e, tmp.f.add(q.x, q.y)).sub(tmp.e, tmp.a).sub(tmp.e, tmp.b);
+    return complete(tmp);
+  }
+
+  /**
+   * Sets this point to {@code p + q}, where {@code q} is read from a table of normalized points as
+   * its coordinates x, y and dxy, and negated if requested.
+   */
+  ExtendedPoint addPrecomputed(
+      final ExtendedPoint p,
+      final long[] table,
+      final int offset,
+      final boolean negate,
+      final Temporaries tmp) {
+    final MutableElement qx = tmp.qx.copyFrom(table, offset);
+    final MutableElement qy = tmp.qy.copyFrom(table, offset + 4);
+    final MutableElement qdt = tmp.qdt.copyFrom(table, offset + 8);
+    if (negate) {
+      qx.neg(qx);
+      qdt.neg(qdt);
+    }
+    tmp.a.mul(p.x, qx);
+    tmp.b.mul(p.y, qy);
+    tmp.c.mul(p.t, qdt);
+    tmp.d.set(p.z);
+    tmp.e.add(p.x, p.y).mul(tmp.e, tmp.f.add(qx, qy)).sub(tmp.e, tmp.a).sub(tmp.e, tmp.b);
+    return complete(tmp);
+  }
+
+  // completes an addition from A = X1X2, B = Y1Y2, C = dT1T2, D = Z1Z2 and E = X1Y2 + Y1X2
+  private ExtendedPoint complete(final Temporaries tmp) {
+    // F = D - C, G = D + C, H = B - aA = B + 5A
+    final MutableElement f = tmp.f.sub(tmp.d, tmp.c);
+    final MutableElement g = tmp.g.add(tmp.d, tmp.c);
+    final MutableElement h = tmp.h.dbl(tmp.a).dbl(tmp.h).add(tmp.h, tmp.a).add(tmp.h, tmp.b);
+    x.mul(tmp.e, f);
+    y.mul(g, h);
+    t.mul(tmp.e, h);
+    z.mul(f, g);
+    return this;
+  }
+
+  /**
+   * Sets this point to {@code 2p}.
+   *
+   * @param p the operand
+   * @return this point
+   */
+  public ExtendedPoint dbl(final ExtendedPoint p) {
+    return dbl(p, TEMPORARIES.get());
+  }
+
+  ExtendedPoint dbl(final ExtendedPoint p, final Temporaries tmp) {
+    // A = X^2, B = Y^2, C = 2Z^2, D = aA = -5A, E = (X + Y)^2 - A - B
+    final MutableElement a = tmp.a.square(p.x);
+    final MutableElement b = tmp.b.square(p.y);
+    final MutableElement c = tmp.c.square(p.z).dbl(tmp.c);
+    final MutableElement d = tmp.d.dbl(a).dbl(tmp.d).add(tmp.d, a).neg(tmp.d);
+    final MutableElement e = tmp.e.add(p.x, p.y).square(tmp.e).sub(tmp.e, a).sub(tmp.e, b);
+    // G = D + B, F = G - C, H = D - B
+    final MutableElement g = tmp.g.add(d, b);
+    final MutableElement f = tmp.f.sub(g, c);
+    final MutableElement h = tmp.h.sub(d, b);
+    x.mul(e, f);
+    y.mul(g, h);
+    t.mul(e, h);
+    z.mul(f, g);
+    return this;
+  }
+
+  /**
+   * Sets this point to {@code kp}, by double and add.
+   *
+   * @param p the point
+   * @param k the scalar
+   * @return this point
+   */
+  public ExtendedPoint scalarMul(
+      final ExtendedPoint p,
+      final org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.MutableElement k) {
+    final Temporaries tmp = TEMPORARIES.get();
+    final ExtendedPoint base = new ExtendedPoint().set(p);
+    final org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.MutableElement scalar =
+        new org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.MutableElement()
+            .fromMontgomery(k);
+    setIdentity();
+    for (int bit = 255; bit >= 0; bit--) {
+      dbl(this, tmp);
+      if (((scalar.limb(bit >>> 6) >>> (bit & 63)) & 1) != 0) {
+        add(this, base, tmp);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Normalizes the given points in place to {@code Z = 1}, with a single field inversion, so their
+   * X and Y are their affine coordinates.
+   *
+   * @param points the points to normalize
+   */
+  public static void batchNormalize(final ExtendedPoint[] points) {
+    final MutableElement[] inverses = new MutableElement[points.length];
+    for (int i = 0; i < points.length; i++) {
+      inverses[i] = points[i].z;
+    }
+    // inverts the Z coordinates in place, then scales the other coordinates with them
+    MutableElement.batchInverse(inverses);
+    for (final ExtendedPoint point : points) {
+      point.x.mul(point.x, point.z);
+      point.y.mul(point.y, point.z);
+      point.t.mul(point.x, point.y);
+      point.z.setOne();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ExtendedPoint{" + "x=" + x + ", y=" + y + ", t=" + t + ", z=" + z + '}';
+  }
+
+  /** The temporary field elements of the point operations. */
+  static final class Temporaries {
+    final MutableElement a = new MutableElement();
+    final MutableElement b = new MutableElement();
+    final MutableElement c = new MutableElement();
+    final MutableElement d = new MutableElement();
+    final MutableElement e = new MutableElement();
+    final MutableElement f = new MutableElement();
+    final MutableElement g = new MutableElement();
+    final MutableElement h = new MutableElement();
+    final MutableElement qx = new MutableElement();
+    final MutableElement qy = new MutableElement();
+    final MutableElement qdt = new MutableElement();
+  }
+}
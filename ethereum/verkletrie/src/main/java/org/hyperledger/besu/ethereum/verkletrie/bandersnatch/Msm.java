@@ -0,0 +1,216 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.MutableElement;
+
+import java.util.Arrays;
+
+/**
+ * Multi scalar multiplication {@code k_1B_1 + ... + k_nB_n} on bandersnatch, by the bucket method
+ * of Pippenger.
+ *
+ * <p>The scalars are split into windows of {@code c} bits, recoded as signed digits in {@code
+ * [-2^(c-1), 2^(c-1)]}, so a window needs {@code 2^(c-1)} buckets and a negative digit adds the
+ * negated base. The bases are either arbitrary points, whose windows are combined by {@code c}
+ * doublings, or {@link PrecomputedBases}, which hold the multiple of every base for every window
+ * so all the windows share a single set of buckets.
+ *
+ * <p>An instance keeps its buckets and digits between calls to avoid allocating them again, so it
+ * must not be shared by threads.
+ */
+public final class Msm {
+  // the number of bits of the scalars, the scalar field modulus is below 2^253
+  static final int SCALAR_BITS = 253;
+  private static final int MAX_WINDOW_BITS = 16;
+
+  private final ExtendedPoint.Temporaries tmp = new ExtendedPoint.Temporaries();
+  private final MutableElement scalar = new MutableElement();
+  private final ExtendedPoint negated = new ExtendedPoint();
+  private final ExtendedPoint running = new ExtendedPoint();
+  private final ExtendedPoint sum = new ExtendedPoint();
+  private ExtendedPoint[] buckets = new ExtendedPoint[0];
+  private boolean[] usedBuckets = new boolean[0];
+  private int bucketCount;
+  private int[] digits = new int[0];
+
+  /**
+   * Sets {@code result} to the sum of the bases multiplied by their scalars.
+   *
+   * @param bases the bases
+   * @param scalars the scalars, in Montgomery form, as many as the bases
+   * @param result the point receiving the sum
+   * @return the result
+   */
+  public ExtendedPoint multiScalarMul(
+      final ExtendedPoint[] bases, final MutableElement[] scalars, final ExtendedPoint result) {
+    checkSize(bases.length, scalars);
+    final int n = bases.length;
+    final int c = optimalWindowBits(n);
+    final int windows = windows(c);
+    recode(scalars, n, c, windows);
+    resetBuckets(1 << (c - 1));
+    result.setIdentity();
+    for (int w = windows - 1; w >= 0; w--) {
+      for (int bit = 0; bit < c && !result.isIdentity(); bit++) {
+        result.dbl(result, tmp);
+      }
+      for (int i = 0; i < n; i++) {
+        final int digit = digits[i * windows + w];
+        if (digit > 0) {
+          addToBucket(digit - 1, bases[i]);
+        } else if (digit < 0) {
+          addToBucket(-digit - 1, negated.neg(bases[i]));
+        }
+      }
+      sumBuckets(result);
+    }
+    return result;
+  }
+
+  /**
+   * Sets {@code result} to the sum of the precomputed bases multiplied by their scalars.
+   *
+   * @param bases the precomputed bases
+   * @param scalars the scalars, in Montgomery form, as many as the bases
+   * @param result the point receiving the sum
+   * @return the result
+   */
+  public ExtendedPoint multiScalarMul(
+      final PrecomputedBases bases, final MutableElement[] scalars, final ExtendedPoint result) {
+    checkSize(bases.size(), scalars);
+    final int windows = bases.windows();
+    final int entries = bases.size() * windows;
+    final long[] table = bases.table();
+    recode(scalars, bases.size(), bases.windowBits(), windows);
+    resetBuckets(1 << (bases.windowBits() - 1));
+    for (int i = 0; i < entries; i++) {
+      final int digit = digits[i];
+      if (digit != 0) {
+        final int bucket = Math.abs(digit) - 1;
+        if (!usedBuckets[bucket]) {
+          buckets[bucket].setIdentity();
+          usedBuckets[bucket] = true;
+        }
+        buckets[bucket].addPrecomputed(
+            buckets[bucket], table, i * PrecomputedBases.ENTRY_SIZE, digit < 0, tmp);
+      }
+    }
+    result.setIdentity();
+    sumBuckets(result);
+    return result;
+  }
+
+  /**
+   * Returns the number of windows of {@code c} bits of a scalar, with one more window than the bits
+   * need for the carry of the signed digits.
+   */
+  static int windows(final int c) {
+    return SCALAR_BITS / c + 1;
+  }
+
+  // minimizes the additions to the buckets and the additions of the passes over the buckets
+  static int optimalWindowBits(final int size) {
+    int best = 1;
+    long bestCost = Long.MAX_VALUE;
+    for (int c = 1; c <= MAX_WINDOW_BITS; c++) {
+      final long cost = windows(c) * ((long) size + (1L << c));
+      if (cost < bestCost) {
+        best = c;
+        bestCost = cost;
+      }
+    }
+    return best;
+  }
+
+  private static void checkSize(final int size, final MutableElement[] scalars) {
+    if (scalars.length != size) {
+      throw new IllegalArgumentException("Expected " + size + " scalars but got " + scalars.length);
+    }
+  }
+
+  // recodes the scalars in signed digits, the digits of a scalar are consecutive
+  private void recode(final MutableElement[] scalars, final int n, final int c, final int windows) {
+    if (digits.length < n * windows) {
+      digits = new int[n * windows];
+    }
+    final int half = 1 << (c - 1);
+    for (int i = 0; i < n; i++) {
+      scalar.fromMontgomery(scalars[i]);
+      int carry = 0;
+      for (int w = 0; w < windows; w++) {
+        int digit = window(scalar, w * c, c) + carry;
+        if (digit > half) {
+          digit -= 1 << c;
+          carry = 1;
+        } else {
+          carry = 0;
+        }
+        digits[i * windows + w] = digit;
+      }
+    }
+  }
+
+  // the c bits of a scalar in regular form starting at the given bit
+  private static int window(final MutableElement scalar, final int bit, final int c) {
+    final int limb = bit >>> 6;
+    if (limb > 3) {
+      return 0;
+    }
+    final int shift = bit & 63;
+    long bits = scalar.limb(limb) >>> shift;
+    if (shift + c > 64 && limb < 3) {
+      bits |= scalar.limb(limb + 1) << (64 - shift);
+    }
+    return (int) (bits & ((1L << c) - 1));
+  }
+
+  private void resetBuckets(final int count) {
+    if (buckets.length < count) {
+      final ExtendedPoint[] grown = new ExtendedPoint[count];
+      System.arraycopy(buckets, 0, grown, 0, buckets.length);
+      for (int i = buckets.length; i < count; i++) {
+        grown[i] = new ExtendedPoint();
+      }
+      buckets = grown;
+      usedBuckets = new boolean[count];
+    }
+    Arrays.fill(usedBuckets, 0, count, false);
+    bucketCount = count;
+  }
+
+  private void addToBucket(final int bucket, final ExtendedPoint point) {
+    if (usedBuckets[bucket]) {
+      buckets[bucket].add(buckets[bucket], point, tmp);
+    } else {
+      buckets[bucket].set(point);
+      usedBuckets[bucket] = true;
+    }
+  }
+
+  // adds the sum of j times the bucket j to the result, then empties the buckets
+  private void sumBuckets(final ExtendedPoint result) {
+    running.setIdentity();
+    sum.setIdentity();
+    for (int bucket = bucketCount - 1; bucket >= 0; bucket--) {
+      if (usedBuckets[bucket]) {
+        running.add(running, buckets[bucket], tmp);
+        usedBuckets[bucket] = false;
+      }
+      sum.add(sum, running, tmp);
+    }
+    result.add(result, sum, tmp);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fp.MutableElement;
+
+/**
+ * The multiples {@code 2^(cw)B} of a fixed set of bases {@code B}, for every window {@code w} of
+ * {@code c} bits of a scalar, normalized and stored as the limbs of their coordinates x, y and dxy.
+ * A multi scalar multiplication over these bases is then a single pass of bucket additions, without
+ * any doubling.
+ *
+ * <p>The table is immutable once built, so it can be shared by all the threads.
+ */
+public final class PrecomputedBases {
+  // the limbs of the coordinates x, y and dxy of a point
+  static final int ENTRY_SIZE = 12;
+  private static final int MAX_WINDOW_BITS = 16;
+
+  private final int size;
+  private final int windowBits;
+  private final int windows;
+  private final long[] table;
+
+  /**
+   * Precomputes the multiples of the given bases, with a window size minimizing the number of
+   * point additions of a multi scalar multiplication.
+   *
+   * @param bases the bases
+   */
+  public PrecomputedBases(final ExtendedPoint[] bases) {
+    this(bases, optimalWindowBits(bases.length));
+  }
+
+  /**
+   * Precomputes the multiples of the given bases for a given window size.
+   *
+   * @param bases the bases
+   * @param windowBits the number of bits of the scalar windows
+   */
+  public PrecomputedBases(final ExtendedPoint[] bases, final int windowBits) {
+    if (windowBits < 1 || windowBits > MAX_WINDOW_BITS) {
+      throw new IllegalArgumentException("Invalid window size " + windowBits);
+    }
+    this.size = bases.length;
+    this.windowBits = windowBits;
+    this.windows = Msm.windows(windowBits);
+    final ExtendedPoint[] points = new ExtendedPoint[size * windows];
+    for (int i = 0; i < size; i++) {
+      final ExtendedPoint point = new ExtendedPoint().set(bases[i]);
+      for (int w = 0; w < windows; w++) {
+        points[i * windows + w] = new ExtendedPoint().set(point);
+        for (int bit = 0; bit < windowBits; bit++) {
+          point.dbl(point);
+        }
+      }
+    }
+    ExtendedPoint.batchNormalize(points);
+    this.table = new long[points.length * ENTRY_SIZE];
+    final MutableElement dxy = new MutableElement();
+    for (int i = 0; i < points.length; i++) {
+      points[i].x.copyTo(table, i * ENTRY_SIZE);
+      points[i].y.copyTo(table, i * ENTRY_SIZE + 4);
+      dxy.mul(points[i].t, ExtendedPoint.D).copyTo(table, i * ENTRY_SIZE + 8);
+    }
+  }
+
+  // minimizes the additions to the buckets and the additions of the final pass over the buckets
+  static int optimalWindowBits(final int size) {
+    int best = 1;
+    long bestCost = Long.MAX_VALUE;
+    for (int c = 1; c <= MAX_WINDOW_BITS; c++) {
+      final long cost = (long) size * Msm.windows(c) + (1L << c);
+      if (cost < bestCost) {
+        best = c;
+        bestCost = cost;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the number of bases.
+   *
+   * @return the number of bases
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of bits of the scalar windows.
+   *
+   * @return the window size
+   */
+  public int windowBits() {
+    return windowBits;
+  }
+
+  int windows() {
+    return windows;
+  }
+
+  long[] table() {
+    return table;
+  }
+}
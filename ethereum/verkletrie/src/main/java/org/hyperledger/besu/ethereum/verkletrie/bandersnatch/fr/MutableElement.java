@@ -0,0 +1,513 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr;
+
+import java.math.BigInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * A mutable element of the scalar field of bandersnatch, stored as four 64-bit limbs in Montgomery
+ * form. The operations write their result in this element, which may also be one of their
+ * operands, and return it, so the arithmetic does not allocate.
+ *
+ * <p>The multiplication is the CIOS Montgomery multiplication without the final carry, which
+ * applies because the most significant limb of the modulus is below {@code 2^63 - 1}. The
+ * elements are always fully reduced, so equal elements have equal limbs.
+ */
+public final class MutableElement {
+  // the modulus, least significant limb first
+  static final long Q0 = 0x74fd06b52876e7e1L;
+  static final long Q1 = 0xff8f870074190471L;
+  static final long Q2 = 0x0cce760202687600L;
+  static final long Q3 = 0x1cfb69d4ca675f52L;
+  // -q^-1 mod 2^64
+  private static final long Q_INV_NEG = 0xf19f22295cc063dfL;
+
+  static final BigInteger MODULUS = toBigInteger(Q0, Q1, Q2, Q3);
+  private static final MutableElement ONE =
+      limbs(0x5817ca56bc48c0f8L, 0x0383c7fc5f37dc74L, 0x998c4fefecbc4ff8L, 0x1824b159acc5056fL);
+  private static final MutableElement R_SQUARE =
+      limbs(0xdbb4f5d658db47cbL, 0x40fa7ca27fecb938L, 0xaa9e6daec0055ceaL, 0x0ae793ddb14aec7dL);
+  // the raw value 1, multiplying by it converts from Montgomery form
+  private static final MutableElement RAW_ONE = limbs(1L, 0L, 0L, 0L);
+
+  long l0;
+  long l1;
+  long l2;
+  long l3;
+
+  /** Creates an element equal to zero. */
+  public MutableElement() {}
+
+  /**
+   * Creates an element from a value in regular form.
+   *
+   * @param value the value, reduced modulo the modulus
+   * @return the element
+   */
+  public static MutableElement fromBigInteger(final BigInteger value) {
+    final BigInteger reduced = value.mod(MODULUS);
+    final MutableElement element =
+        limbs(
+            reduced.longValue(),
+            reduced.shiftRight(64).longValue(),
+            reduced.shiftRight(128).longValue(),
+            reduced.shiftRight(192).longValue());
+    return element.toMontgomery(element);
+  }
+
+  /**
+   * Creates an element from an immutable {@link Element}, which is also in Montgomery form.
+   *
+   * @param element the immutable element
+   * @return the element
+   */
+  public static MutableElement fromElement(final Element element) {
+    final UInt256 value = element.value;
+    return limbs(value.getLong(24), value.getLong(16), value.getLong(8), value.getLong(0));
+  }
+
+  private static MutableElement limbs(final long l0, final long l1, final long l2, final long l3) {
+    final MutableElement element = new MutableElement();
+    element.l0 = l0;
+    element.l1 = l1;
+    element.l2 = l2;
+    element.l3 = l3;
+    return element;
+  }
+
+  /**
+   * Converts this element to an immutable {@link Element}.
+   *
+   * @return the immutable element
+   */
+  public Element toElement() {
+    return new Element(
+        UInt256.fromBytes(
+            Bytes.concatenate(
+                Bytes.ofUnsignedLong(l3),
+                Bytes.ofUnsignedLong(l2),
+                Bytes.ofUnsignedLong(l1),
+                Bytes.ofUnsignedLong(l0))));
+  }
+
+  /**
+   * Returns the value of this element in regular form.
+   *
+   * @return the value
+   */
+  public BigInteger toBigInteger() {
+    final MutableElement regular = new MutableElement().fromMontgomery(this);
+    return toBigInteger(regular.l0, regular.l1, regular.l2, regular.l3);
+  }
+
+  private static BigInteger toBigInteger(
+      final long l0, final long l1, final long l2, final long l3) {
+    BigInteger value = BigInteger.ZERO;
+    for (final long limb : new long[] {l3, l2, l1, l0}) {
+      value = value.shiftLeft(64).or(new BigInteger(Long.toUnsignedString(limb)));
+    }
+    return value;
+  }
+
+  /**
+   * Returns a limb of this element, as stored in Montgomery form unless it was converted by {@link
+   * #fromMontgomery(MutableElement)}.
+   *
+   * @param index the index of the limb, 0 being the least significant
+   * @return the limb
+   */
+  public long limb(final int index) {
+    return switch (index) {
+      case 0 -> l0;
+      case 1 -> l1;
+      case 2 -> l2;
+      case 3 -> l3;
+      default -> throw new IndexOutOfBoundsException(index);
+    };
+  }
+
+  public MutableElement set(final MutableElement a) {
+    l0 = a.l0;
+    l1 = a.l1;
+    l2 = a.l2;
+    l3 = a.l3;
+    return this;
+  }
+
+  public MutableElement setZero() {
+    l0 = 0;
+    l1 = 0;
+    l2 = 0;
+    l3 = 0;
+    return this;
+  }
+
+  public MutableElement setOne() {
+    return set(ONE);
+  }
+
+  public boolean isZero() {
+    return (l0 | l1 | l2 | l3) == 0;
+  }
+
+  public boolean isOne() {
+    return equals(ONE);
+  }
+
+  /**
+   * Sets this element to {@code a + b}.
+   *
+   * @param a the first operand
+   * @param b the second operand
+   * @return this element
+   */
+  public MutableElement add(final MutableElement a, final MutableElement b) {
+    // the sum of two reduced elements does not overflow 256 bits
+    final long s0 = a.l0 + b.l0;
+    long carry = carry(a.l0, b.l0, s0);
+    final long s1 = a.l1 + b.l1 + carry;
+    carry = carry(a.l1, b.l1, s1);
+    final long s2 = a.l2 + b.l2 + carry;
+    carry = carry(a.l2, b.l2, s2);
+    final long s3 = a.l3 + b.l3 + carry;
+    return reduce(s0, s1, s2, s3);
+  }
+
+  /**
+   * Sets this element to {@code 2 * a}.
+   *
+   * @param a the operand
+   * @return this element
+   */
+  public MutableElement dbl(final MutableElement a) {
+    return add(a, a);
+  }
+
+  /**
+   * Sets this element to {@code a - b}.
+   *
+   * @param a the first operand
+   * @param b the second operand
+   * @return this element
+   */
+  public MutableElement sub(final MutableElement a, final MutableElement b) {
+    long d0 = a.l0 - b.l0;
+    long borrow = borrow(a.l0, b.l0, d0);
+    long d1 = a.l1 - b.l1 - borrow;
+    borrow = borrow(a.l1, b.l1, d1);
+    long d2 = a.l2 - b.l2 - borrow;
+    borrow = borrow(a.l2, b.l2, d2);
+    long d3 = a.l3 - b.l3 - borrow;
+    borrow = borrow(a.l3, b.l3, d3);
+    if (borrow != 0) {
+      final long s0 = d0 + Q0;
+      long carry = carry(d0, Q0, s0);
+      final long s1 = d1 + Q1 + carry;
+      carry = carry(d1, Q1, s1);
+      final long s2 = d2 + Q2 + carry;
+      carry = carry(d2, Q2, s2);
+      d3 = d3 + Q3 + carry;
+      d0 = s0;
+      d1 = s1;
+      d2 = s2;
+    }
+    l0 = d0;
+    l1 = d1;
+    l2 = d2;
+    l3 = d3;
+    return this;
+  }
+
+  /**
+   * Sets this element to {@code -a}.
+   *
+   * @param a the operand
+   * @return this element
+   */
+  public MutableElement neg(final MutableElement a) {
+    if (a.isZero()) {
+      return setZero();
+    }
+    final long d0 = Q0 - a.l0;
+    long borrow = borrow(Q0, a.l0, d0);
+    final long d1 = Q1 - a.l1 - borrow;
+    borrow = borrow(Q1, a.l1, d1);
+    final long d2 = Q2 - a.l2 - borrow;
+    borrow = borrow(Q2, a.l2, d2);
+    l3 = Q3 - a.l3 - borrow;
+    l0 = d0;
+    l1 = d1;
+    l2 = d2;
+    return this;
+  }
+
+  /**
+   * Sets this element to {@code a * b}.
+   *
+   * @param a the first operand
+   * @param b the second operand
+   * @return this element
+   */
+  public MutableElement mul(final MutableElement a, final MutableElement b) {
+    final long a0 = a.l0;
+    final long a1 = a.l1;
+    final long a2 = a.l2;
+    final long a3 = a.l3;
+    long t0 = 0;
+    long t1 = 0;
+    long t2 = 0;
+    long t3 = 0;
+    for (int i = 0; i < 4; i++) {
+      final long bi = i == 0 ? b.l0 : i == 1 ? b.l1 : i == 2 ? b.l2 : b.l3;
+      long lo;
+      long hi;
+      long sum;
+
+      // (A, t0) = a0 * bi + t0
+      lo = a0 * bi;
+      hi = Math.unsignedMultiplyHigh(a0, bi);
+      sum = lo + t0;
+      long carryA = hi + carry(lo, t0, sum);
+      t0 = sum;
+      // m = t0 * -q^-1, so that t0 + m * q0 = 0 mod 2^64
+      final long m = t0 * Q_INV_NEG;
+      // C = (m * q0 + t0) >> 64
+      lo = m * Q0;
+      hi = Math.unsignedMultiplyHigh(m, Q0);
+      sum = lo + t0;
+      long carryC = hi + carry(lo, t0, sum);
+
+      // (A, t1) = a1 * bi + t1 + A
+      lo = a1 * bi;
+      hi = Math.unsignedMultiplyHigh(a1, bi);
+      sum = lo + t1;
+      hi += carry(lo, t1, sum);
+      t1 = sum + carryA;
+      carryA = hi + carry(sum, carryA, t1);
+      // (C, t0) = m * q1 + t1 + C
+      lo = m * Q1;
+      hi = Math.unsignedMultiplyHigh(m, Q1);
+      sum = lo + t1;
+      hi += carry(lo, t1, sum);
+      t0 = sum + carryC;
+      carryC = hi + carry(sum, carryC, t0);
+
+      // (A, t2) = a2 * bi + t2 + A
+      lo = a2 * bi;
+      hi = Math.unsignedMultiplyHigh(a2, bi);
+      sum = lo + t2;
+      hi += carry(lo, t2, sum);
+      t2 = sum + carryA;
+      carryA = hi + carry(sum, carryA, t2);
+      // (C, t1) = m * q2 + t2 + C
+      lo = m * Q2;
+      hi = Math.unsignedMultiplyHigh(m, Q2);
+      sum = lo + t2;
+      hi += carry(lo, t2, sum);
+      t1 = sum + carryC;
+      carryC = hi + carry(sum, carryC, t1);
+
+      // (A, t3) = a3 * bi + t3 + A
+      lo = a3 * bi;
+      hi = Math.unsignedMultiplyHigh(a3, bi);
+      sum = lo + t3;
+      hi += carry(lo, t3, sum);
+      t3 = sum + carryA;
+      carryA = hi + carry(sum, carryA, t3);
+      // (C, t2) = m * q3 + t3 + C
+      lo = m * Q3;
+      hi = Math.unsignedMultiplyHigh(m, Q3);
+      sum = lo + t3;
+      hi += carry(lo, t3, sum);
+      t2 = sum + carryC;
+      carryC = hi + carry(sum, carryC, t2);
+
+      t3 = carryC + carryA;
+    }
+    return reduce(t0, t1, t2, t3);
+  }
+
+  /**
+   * Sets this element to {@code a * a}.
+   *
+   * @param a the operand
+   * @return this element
+   */
+  public MutableElement square(final MutableElement a) {
+    return mul(a, a);
+  }
+
+  /**
+   * Sets this element to the inverse of {@code a}, or to zero if {@code a} is zero. The inverse is
+   * computed as {@code a^(q - 2)}, so the inversions of many elements should be batched with {@link
+   * #batchInverse(MutableElement[])}.
+   *
+   * @param a the operand
+   * @return this element
+   */
+  public MutableElement inverse(final MutableElement a) {
+    final MutableElement base = new MutableElement().set(a);
+    setOne();
+    // the exponent q - 2 only differs from q in its least significant limb
+    for (int limb = 3; limb >= 0; limb--) {
+      final long exponent = limb == 0 ? Q0 - 2 : limb == 1 ? Q1 : limb == 2 ? Q2 : Q3;
+      for (int bit = 63; bit >= 0; bit--) {
+        square(this);
+        if (((exponent >>> bit) & 1) != 0) {
+          mul(this, base);
+        }
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Inverts the given elements in place with a single inversion, by Montgomery's trick. The zero
+   * elements are left unchanged.
+   *
+   * @param elements the elements to invert
+   */
+  public static void batchInverse(final MutableElement[] elements) {
+    // the products of the non-zero elements preceding each element
+    final long[] prefixes = new long[4 * elements.length];
+    final MutableElement accumulator = new MutableElement().setOne();
+    for (int i = 0; i < elements.length; i++) {
+      accumulator.copyTo(prefixes, 4 * i);
+      if (!elements[i].isZero()) {
+        accumulator.mul(accumulator, elements[i]);
+      }
+    }
+    accumulator.inverse(accumulator);
+    final MutableElement prefix = new MutableElement();
+    final MutableElement inverse = new MutableElement();
+    for (int i = elements.length - 1; i >= 0; i--) {
+      final MutableElement element = elements[i];
+      if (!element.isZero()) {
+        prefix.copyFrom(prefixes, 4 * i);
+        inverse.mul(accumulator, prefix);
+        accumulator.mul(accumulator, element);
+        element.set(inverse);
+      }
+    }
+  }
+
+  /**
+   * Sets this element to the regular form of {@code a}, whose limbs are then the limbs of its
+   * value.
+   *
+   * @param a an element in Montgomery form
+   * @return this element
+   */
+  public MutableElement fromMontgomery(final MutableElement a) {
+    return mul(a, RAW_ONE);
+  }
+
+  /**
+   * Sets this element to the Montgomery form of {@code a}, whose limbs are the limbs of a value.
+   *
+   * @param a an element in regular form
+   * @return this element
+   */
+  public MutableElement toMontgomery(final MutableElement a) {
+    return mul(a, R_SQUARE);
+  }
+
+  public boolean lexicographicallyLargest() {
+    return toBigInteger().compareTo(MODULUS.shiftRight(1)) > 0;
+  }
+
+  /**
+   * Copies the limbs of this element to an array, least significant limb first.
+   *
+   * @param limbs the array
+   * @param offset the offset of the first limb in the array
+   */
+  public void copyTo(final long[] limbs, final int offset) {
+    limbs[offset] = l0;
+    limbs[offset + 1] = l1;
+    limbs[offset + 2] = l2;
+    limbs[offset + 3] = l3;
+  }
+
+  /**
+   * Sets the limbs of this element from an array, least significant limb first, as copied by
+   * {@link #copyTo(long[], int)}.
+   *
+   * @param limbs the array
+   * @param offset the offset of the first limb in the array
+   * @return this element
+   */
+  public MutableElement copyFrom(final long[] limbs, final int offset) {
+    l0 = limbs[offset];
+    l1 = limbs[offset + 1];
+    l2 = limbs[offset + 2];
+    l3 = limbs[offset + 3];
+    return this;
+  }
+
+  // subtracts the modulus from a value below twice the modulus if it is not below it
+  private MutableElement reduce(final long s0, final long s1, final long s2, final long s3) {
+    final long d0 = s0 - Q0;
+    long borrow = borrow(s0, Q0, d0);
+    final long d1 = s1 - Q1 - borrow;
+    borrow = borrow(s1, Q1, d1);
+    final long d2 = s2 - Q2 - borrow;
+    borrow = borrow(s2, Q2, d2);
+    final long d3 = s3 - Q3 - borrow;
+    borrow = borrow(s3, Q3, d3);
+    if (borrow != 0) {
+      l0 = s0;
+      l1 = s1;
+      l2 = s2;
+      l3 = s3;
+    } else {
+      l0 = d0;
+      l1 = d1;
+      l2 = d2;
+      l3 = d3;
+    }
+    return this;
+  }
+
+  // the carry out of x + y (+ carry in), given their sum
+  private static long carry(final long x, final long y, final long sum) {
+    return ((x & y) | ((x | y) & ~sum)) >>> 63;
+  }
+
+  // the borrow out of x - y (- borrow in), given their difference
+  private static long borrow(final long x, final long y, final long difference) {
+    return ((~x & y) | (~(x ^ y) & difference)) >>> 63;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (!(o instanceof MutableElement that)) return false;
+    return l0 == that.l0 && l1 == that.l1 && l2 == that.l2 && l3 == that.l3;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(l0 ^ l1 ^ l2 ^ l3);
+  }
+
+  @Override
+  public String toString() {
+    return "MutableElement{" + "value=" + toBigInteger() + '}';
+  }
+}
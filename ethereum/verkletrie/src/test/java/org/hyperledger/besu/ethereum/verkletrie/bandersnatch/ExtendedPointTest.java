@@ -0,0 +1,96 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.MutableElement;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ExtendedPointTest {
+  private static final BigInteger ORDER =
+      new BigInteger("1cfb69d4ca675f520cce760202687600ff8f87007419047174fd06b52876e7e1", 16);
+
+  private final ExtendedPoint generator = ExtendedPoint.generator();
+
+  @Test
+  public void generatorHasTheOrderOfTheScalarField() {
+    final ExtendedPoint minusGenerator = new ExtendedPoint().neg(generator);
+    assertThat(
+            new ExtendedPoint()
+                .scalarMul(generator, scalar(ORDER.subtract(BigInteger.ONE)))
+                .isSamePoint(minusGenerator))
+        .isTrue();
+    assertThat(new ExtendedPoint().add(generator, minusGenerator).isIdentity()).isTrue();
+  }
+
+  @Test
+  public void addingAPointToItselfDoublesIt() {
+    final ExtendedPoint point = new ExtendedPoint().scalarMul(generator, scalar(BigInteger.TEN));
+    assertThat(new ExtendedPoint().add(point, point).isSamePoint(new ExtendedPoint().dbl(point)))
+        .isTrue();
+  }
+
+  @Test
+  public void scalarMulMatchesRepeatedAdditions() {
+    final ExtendedPoint sum = new ExtendedPoint();
+    for (int i = 0; i < 100; i++) {
+      sum.add(sum, generator);
+    }
+    assertThat(
+            new ExtendedPoint()
+                .scalarMul(generator, scalar(BigInteger.valueOf(100)))
+                .isSamePoint(sum))
+        .isTrue();
+  }
+
+  @Test
+  public void identityIsNeutral() {
+    final ExtendedPoint identity = new ExtendedPoint();
+    assertThat(identity.isIdentity()).isTrue();
+    assertThat(new ExtendedPoint().add(generator, identity).isSamePoint(generator)).isTrue();
+    assertThat(new ExtendedPoint().dbl(identity).isIdentity()).isTrue();
+  }
+
+  @Test
+  public void batchNormalizeKeepsThePoints() {
+    final ExtendedPoint[] points = new ExtendedPoint[5];
+    final ExtendedPoint[] normalized = new ExtendedPoint[points.length];
+    for (int i = 0; i < points.length; i++) {
+      points[i] = new ExtendedPoint().scalarMul(generator, scalar(BigInteger.valueOf(i + 2)));
+      normalized[i] = new ExtendedPoint().set(points[i]);
+    }
+    ExtendedPoint.batchNormalize(normalized);
+    for (int i = 0; i < points.length; i++) {
+      assertThat(normalized[i].z.isOne()).isTrue();
+      assertThat(normalized[i].isSamePoint(points[i])).isTrue();
+    }
+  }
+
+  @Test
+  public void convertsFromAndToProjectivePoint() {
+    final ExtendedPoint point = new ExtendedPoint().scalarMul(generator, scalar(BigInteger.TWO));
+    final Point projective = point.toPoint();
+    assertThat(ExtendedPoint.fromPoint(projective).isSamePoint(point)).isTrue();
+    assertThat(ExtendedPoint.fromPoint(Point.IDENTITY).isIdentity()).isTrue();
+  }
+
+  private static MutableElement scalar(final BigInteger value) {
+    return MutableElement.fromBigInteger(value);
+  }
+}
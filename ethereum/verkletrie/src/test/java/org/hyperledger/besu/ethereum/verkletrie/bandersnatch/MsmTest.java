@@ -0,0 +1,116 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.MutableElement;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class MsmTest {
+  private static final BigInteger ORDER =
+      new BigInteger("1cfb69d4ca675f520cce760202687600ff8f87007419047174fd06b52876e7e1", 16);
+
+  private final Random random = new Random(42);
+  private final Msm msm = new Msm();
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 7, 64})
+  public void multiScalarMulMatchesScalarMuls(final int size) {
+    final ExtendedPoint[] bases = randomBases(size);
+    final MutableElement[] scalars = randomScalars(size);
+
+    final ExtendedPoint expected = naiveMultiScalarMul(bases, scalars);
+
+    assertThat(msm.multiScalarMul(bases, scalars, new ExtendedPoint()).isSamePoint(expected))
+        .isTrue();
+    // the buckets are reused by the next multiplication
+    assertThat(msm.multiScalarMul(bases, scalars, new ExtendedPoint()).isSamePoint(expected))
+        .isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 7, 64})
+  public void precomputedMultiScalarMulMatchesScalarMuls(final int size) {
+    final ExtendedPoint[] bases = randomBases(size);
+    final MutableElement[] scalars = randomScalars(size);
+    final PrecomputedBases precomputed = new PrecomputedBases(bases);
+
+    final ExtendedPoint expected = naiveMultiScalarMul(bases, scalars);
+
+    assertThat(msm.multiScalarMul(precomputed, scalars, new ExtendedPoint()).isSamePoint(expected))
+        .isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3, 8, 13})
+  public void precomputedMultiScalarMulSupportsAnyWindowSize(final int windowBits) {
+    final ExtendedPoint[] bases = randomBases(5);
+    final MutableElement[] scalars = randomScalars(5);
+    final PrecomputedBases precomputed = new PrecomputedBases(bases, windowBits);
+
+    assertThat(
+            msm.multiScalarMul(precomputed, scalars, new ExtendedPoint())
+                .isSamePoint(naiveMultiScalarMul(bases, scalars)))
+        .isTrue();
+  }
+
+  @Test
+  public void rejectsScalarsNotMatchingTheBases() {
+    assertThatThrownBy(
+            () -> msm.multiScalarMul(randomBases(2), randomScalars(3), new ExtendedPoint()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private ExtendedPoint[] randomBases(final int size) {
+    final ExtendedPoint[] bases = new ExtendedPoint[size];
+    for (int i = 0; i < size; i++) {
+      bases[i] =
+          new ExtendedPoint()
+              .scalarMul(ExtendedPoint.generator(), MutableElement.fromBigInteger(randomScalar()));
+    }
+    return bases;
+  }
+
+  private MutableElement[] randomScalars(final int size) {
+    final MutableElement[] scalars = new MutableElement[size];
+    for (int i = 0; i < size; i++) {
+      // includes the largest scalar
+      scalars[i] =
+          MutableElement.fromBigInteger(i == 0 ? ORDER.subtract(BigInteger.ONE) : randomScalar());
+    }
+    return scalars;
+  }
+
+  private BigInteger randomScalar() {
+    return new BigInteger(ORDER.bitLength(), random).mod(ORDER);
+  }
+
+  private static ExtendedPoint naiveMultiScalarMul(
+      final ExtendedPoint[] bases, final MutableElement[] scalars) {
+    final ExtendedPoint sum = new ExtendedPoint();
+    for (int i = 0; i < bases.length; i++) {
+      sum.add(sum, new ExtendedPoint().scalarMul(bases[i], scalars[i]));
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+public class MutableElementTest {
+  private static final BigInteger MODULUS = MutableElement.MODULUS;
+  private final Random random = new Random(42);
+
+  private BigInteger randomValue() {
+    return new BigInteger(MODULUS.bitLength(), random).mod(MODULUS);
+  }
+
+  @Test
+  public void arithmeticMatchesBigInteger() {
+    for (int i = 0; i < 1000; i++) {
+      final BigInteger a = i == 0 ? MODULUS.subtract(BigInteger.ONE) : randomValue();
+      final BigInteger b = i == 1 ? BigInteger.ZERO : randomValue();
+      final MutableElement x = MutableElement.fromBigInteger(a);
+      final MutableElement y = MutableElement.fromBigInteger(b);
+
+      assertThat(new MutableElement().add(x, y).toBigInteger()).isEqualTo(a.add(b).mod(MODULUS));
+      assertThat(new MutableElement().sub(x, y).toBigInteger())
+          .isEqualTo(a.subtract(b).mod(MODULUS));
+      assertThat(new MutableElement().mul(x, y).toBigInteger())
+          .isEqualTo(a.multiply(b).mod(MODULUS));
+      assertThat(new MutableElement().square(x).toBigInteger())
+          .isEqualTo(a.multiply(a).mod(MODULUS));
+      assertThat(new MutableElement().neg(y).toBigInteger()).isEqualTo(b.negate().mod(MODULUS));
+      assertThat(new MutableElement().dbl(x).toBigInteger()).isEqualTo(a.shiftLeft(1).mod(MODULUS));
+    }
+  }
+
+  @Test
+  public void operandsMayBeTheResult() {
+    final BigInteger a = randomValue();
+    final MutableElement x = MutableElement.fromBigInteger(a);
+    x.mul(x, x).add(x, x);
+    assertThat(x.toBigInteger()).isEqualTo(a.multiply(a).shiftLeft(1).mod(MODULUS));
+  }
+
+  @Test
+  public void inverse() {
+    final BigInteger a = randomValue();
+    final MutableElement x = MutableElement.fromBigInteger(a);
+    assertThat(new MutableElement().inverse(x).toBigInteger()).isEqualTo(a.modInverse(MODULUS));
+    assertThat(new MutableElement().inverse(new MutableElement()).isZero()).isTrue();
+  }
+
+  @Test
+  public void batchInverseSkipsZeros() {
+    final BigInteger[] values = new BigInteger[10];
+    final MutableElement[] elements = new MutableElement[values.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i == 3 ? BigInteger.ZERO : randomValue();
+      elements[i] = MutableElement.fromBigInteger(values[i]);
+    }
+    MutableElement.batchInverse(elements);
+    for (int i = 0; i < values.length; i++) {
+      assertThat(elements[i].toBigInteger())
+          .isEqualTo(i == 3 ? BigInteger.ZERO : values[i].modInverse(MODULUS));
+    }
+  }
+
+  @Test
+  public void convertsFromAndToElement() {
+    final BigInteger a = randomValue();
+    // the immutable element holds the Montgomery form aR of the value
+    final Element element = new Element(UInt256.valueOf(a.shiftLeft(256).mod(MODULUS)));
+    final MutableElement mutable = MutableElement.fromElement(element);
+    assertThat(mutable.toBigInteger()).isEqualTo(a);
+    assertThat(mutable.toElement()).isEqualTo(element);
+    assertThat(new MutableElement().mul(mutable, mutable).toElement())
+        .isEqualTo(element.multiply(element));
+  }
+
+  @Test
+  public void regularFormRoundTrip() {
+    final BigInteger a = randomValue();
+    final MutableElement regular =
+        new MutableElement().fromMontgomery(MutableElement.fromBigInteger(a));
+    assertThat(regular.limb(0)).isEqualTo(a.longValue());
+    assertThat(new MutableElement().toMontgomery(regular).toBigInteger()).isEqualTo(a);
+  }
+}
@@ -70,6 +70,8 @@ import org.hyperledger.besu.evm.operation.SubOperation;
 import org.hyperledger.besu.evm.operation.SwapOperation;
 import org.hyperledger.besu.evm.operation.VirtualOperation;
 import org.hyperledger.besu.evm.operation.XorOperation;
+import org.hyperledger.besu.evm.profiling.EvmProfiler;
+import org.hyperledger.besu.evm.profiling.FrameProfile;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
 import java.util.Optional;
@@ -215,6 +217,10 @@ public class EVM {
     evmSpecVersion.maybeWarnVersion();
 
     var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
+    final FrameProfile frameProfile = EvmProfiler.getInstance().startFrame(frame, operationTracer);
+    if (frameProfile != null) {
+      operationTracer = frameProfile;
+    }
     byte[] code = frame.getCode().getBytes().toArrayUnsafe();
     Operation[] operationArray = operations.getOperations();
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
@@ -379,6 +385,9 @@ public class EVM {
         operationTracer.tracePostExecution(frame, result);
       }
     }
+    if (frameProfile != null) {
+      frameProfile.frameExecuted();
+    }
   }
 
   /**
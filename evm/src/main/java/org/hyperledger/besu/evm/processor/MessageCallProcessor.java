@@ -23,6 +23,7 @@ import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.precompile.PrecompileContractRegistry;
 import org.hyperledger.besu.evm.precompile.PrecompiledContract;
+import org.hyperledger.besu.evm.profiling.EvmProfiler;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
 import java.util.Collection;
@@ -165,8 +166,14 @@ public class MessageCallProcessor extends AbstractMessageProcessor {
       output = null;
     } else {
       frame.decrementRemainingGas(gasRequirement);
+      final EvmProfiler profiler = EvmProfiler.getInstance();
+      final boolean profiled = profiler.isEnabled();
+      final long start = profiled ? System.nanoTime() : 0L;
       final PrecompiledContract.PrecompileContractResult result =
           contract.computePrecompile(frame.getInputData(), frame);
+      if (profiled) {
+        profiler.precompileExecuted(contract.getName(), System.nanoTime() - start);
+      }
       output = result.output();
       if (result.isRefundGas()) {
         frame.incrementRemainingGas(gasRequirement);
@@ -0,0 +1,126 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.profiling;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The execution profile of the EVM, as the invocation counts and the nanoseconds spent per opcode,
+ * per precompile and per code hash, either cumulated since the start of the node or over a window
+ * of time.
+ *
+ * <p>The nanoseconds of the opcodes are estimated from the sampled operations, the ones of the
+ * precompiles and of the code hashes are measured. The time of a code hash is the time spent
+ * executing its own operations, excluding the calls it makes to other contracts.
+ */
+public final class EvmProfile {
+  private final long[] opcodeCounts;
+  private final long[] opcodeNanos;
+  private final Map<String, Usage> precompiles;
+  private final Map<Hash, Usage> contracts;
+
+  EvmProfile(
+      final long[] opcodeCounts,
+      final long[] opcodeNanos,
+      final Map<String, Usage> precompiles,
+      final Map<Hash, Usage> contracts) {
+    this.opcodeCounts = opcodeCounts;
+    this.opcodeNanos = opcodeNanos;
+    this.precompiles = precompiles;
+    this.contracts = contracts;
+  }
+
+  /**
+   * The usage of an opcode.
+   *
+   * @param opcode the opcode
+   * @return the number of executions of the opcode and the estimated nanoseconds they took
+   */
+  public Usage opcode(final int opcode) {
+    return new Usage(opcodeCounts[opcode], opcodeNanos[opcode]);
+  }
+
+  /**
+   * The usage of the precompiles, by precompile name.
+   *
+   * @return the usage of the precompiles
+   */
+  public Map<String, Usage> precompiles() {
+    return precompiles;
+  }
+
+  /**
+   * The usage of the contracts, by code hash. A contract is invoked once per message frame
+   * executing its code.
+   *
+   * @return the usage of the contracts
+   */
+  public Map<Hash, Usage> contracts() {
+    return contracts;
+  }
+
+  /**
+   * Returns the part of this profile recorded after the given baseline profile.
+   *
+   * @param baseline an earlier profile of the same profiler
+   * @return the difference between this profile and the baseline
+   */
+  public EvmProfile since(final EvmProfile baseline) {
+    final long[] counts = new long[EvmProfiler.OPCODES];
+    final long[] nanos = new long[EvmProfiler.OPCODES];
+    for (int i = 0; i < EvmProfiler.OPCODES; i++) {
+      counts[i] = opcodeCounts[i] - baseline.opcodeCounts[i];
+      nanos[i] = opcodeNanos[i] - baseline.opcodeNanos[i];
+    }
+    return new EvmProfile(
+        counts,
+        nanos,
+        since(precompiles, baseline.precompiles),
+        since(contracts, baseline.contracts));
+  }
+
+  private static <K> Map<K, Usage> since(final Map<K, Usage> usages, final Map<K, Usage> baseline) {
+    final Map<K, Usage> result = new HashMap<>();
+    usages.forEach(
+        (key, usage) -> {
+          final Usage recent = usage.since(baseline.getOrDefault(key, Usage.NONE));
+          if (recent.count() > 0) {
+            result.put(key, recent);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * The number of invocations of an opcode, a precompile or a contract, and the nanoseconds they
+   * took.
+   *
+   * @param count the number of invocations
+   * @param nanos the nanoseconds spent in the invocations
+   */
+  public record Usage(long count, long nanos) {
+    static final Usage NONE = new Usage(0, 0);
+
+    private Usage since(final Usage baseline) {
+      // a usage dropped from the profiler restarts from zero when it is used again
+      return count >= baseline.count
+          ? new Usage(count - baseline.count, nanos - baseline.nanos)
+          : this;
+    }
+  }
+}
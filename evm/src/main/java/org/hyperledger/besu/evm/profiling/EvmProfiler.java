@@ -0,0 +1,349 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.profiling;
+
+import static org.hyperledger.besu.evm.profiling.EvmProfile.Usage.NONE;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Profiles the execution of the EVM, by opcode, by precompile and by code hash, while it is
+ * enabled. It is disabled by default and can be enabled and disabled at runtime.
+ *
+ * <p>Every operation is counted, but only a random sample of about one operation in {@link
+ * #SAMPLING_INTERVAL} is timed, as reading the clock would cost as much as most of the operations.
+ * The time of an opcode is estimated as its sampled time multiplied by the sampling interval. The
+ * opcodes are counted by the executing thread without synchronization, the precompiles and the
+ * contracts, which are recorded once per call, in shared adders. The opcode counters of the threads
+ * that terminated are folded into shared totals, so they do not accumulate.
+ *
+ * <p>The profile is cumulative, like the metrics exposing it, and {@link #recentProfile()} returns
+ * the profile of a sliding window advanced when it is read, every half of its length. At most
+ * 10,000 contracts are profiled at once, the ones idle during a whole window are dropped.
+ */
+public final class EvmProfiler {
+  /** The number of timed operations is about one in this interval. */
+  public static final int SAMPLING_INTERVAL = 16;
+
+  static final int OPCODES = 256;
+  private static final int MAX_CONTRACTS = 10_000;
+  private static final long DEFAULT_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(10);
+  private static final EvmProfiler INSTANCE =
+      new EvmProfiler(DEFAULT_WINDOW_NANOS, System::nanoTime);
+
+  // guarded by this, the counters of the live threads and the totals of the terminated ones
+  private final List<OpcodeCounters> liveOpcodeCounters = new ArrayList<>();
+  private final long[] terminatedCounts = new long[OPCODES];
+  private final long[] terminatedSampledNanos = new long[OPCODES];
+  private final ThreadLocal<OpcodeCounters> opcodeCounters =
+      ThreadLocal.withInitial(this::newOpcodeCounters);
+  private final Map<String, Counters> precompiles = new ConcurrentHashMap<>();
+  private final List<Consumer<String>> precompileObservers = new CopyOnWriteArrayList<>();
+  private final Map<Hash, Counters> contracts = new ConcurrentHashMap<>();
+  private final long windowNanos;
+  private final LongSupplier nanoClock;
+
+  private volatile boolean enabled;
+  private EvmProfile windowStart;
+  private EvmProfile nextWindowStart;
+  private long nextWindowStartTime;
+
+  @VisibleForTesting
+  EvmProfiler(final long windowNanos, final LongSupplier nanoClock) {
+    this.windowNanos = windowNanos;
+    this.nanoClock = nanoClock;
+    this.windowStart = profile();
+    this.nextWindowStart = windowStart;
+    this.nextWindowStartTime = nanoClock.getAsLong();
+  }
+
+  /**
+   * Gets the profiler of the EVM.
+   *
+   * @return the profiler
+   */
+  public static EvmProfiler getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Whether the execution of the EVM is profiled.
+   *
+   * @return true if the profiler is enabled
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables the profiler. The profile recorded so far is kept.
+   *
+   * @param enabled whether the execution of the EVM is profiled
+   */
+  public void setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Starts profiling the execution of a message frame, until it halts or is suspended by a call.
+   *
+   * @param frame the message frame about to be executed
+   * @param tracer the tracer of the execution, or null
+   * @return the tracer to use for the execution, which profiles its operations and delegates to the
+   *     given tracer, or null if the profiler is disabled
+   */
+  public FrameProfile startFrame(final MessageFrame frame, final OperationTracer tracer) {
+    if (!enabled) {
+      return null;
+    }
+    return new FrameProfile(this, opcodeCounters.get(), frame, tracer);
+  }
+
+  void frameExecuted(final Hash codeHash, final boolean invoked, final long nanos) {
+    Counters counters = contracts.get(codeHash);
+    if (counters == null) {
+      if (contracts.size() >= MAX_CONTRACTS) {
+        return;
+      }
+      counters = contracts.computeIfAbsent(codeHash, key -> new Counters());
+    }
+    counters.record(invoked ? 1 : 0, nanos);
+  }
+
+  /**
+   * Records the execution of a precompile.
+   *
+   * @param name the name of the precompile
+   * @param nanos the nanoseconds its execution took
+   */
+  public void precompileExecuted(final String name, final long nanos) {
+    Counters counters = precompiles.get(name);
+    if (counters == null) {
+      final Counters newCounters = new Counters();
+      counters = precompiles.putIfAbsent(name, newCounters);
+      if (counters == null) {
+        counters = newCounters;
+        precompileObservers.forEach(observer -> observer.accept(name));
+      }
+    }
+    counters.record(1, nanos);
+  }
+
+  /**
+   * Observes the names of the precompiles, which are given to the observer for the precompiles
+   * already executed and then for each precompile when it is executed for the first time. A name
+   * may be given twice if the precompile is first executed while the observer is added.
+   *
+   * @param observer the observer of the precompile names
+   */
+  public void observePrecompiles(final Consumer<String> observer) {
+    precompileObservers.add(observer);
+    precompiles.keySet().forEach(observer);
+  }
+
+  /**
+   * The number of executions of an opcode since the start of the node.
+   *
+   * @param opcode the opcode
+   * @return the number of executions
+   */
+  public synchronized long opcodeCount(final int opcode) {
+    foldTerminatedThreads();
+    long count = terminatedCounts[opcode];
+    for (final OpcodeCounters counters : liveOpcodeCounters) {
+      count += counters.counts[opcode];
+    }
+    return count;
+  }
+
+  /**
+   * The estimated nanoseconds spent executing an opcode since the start of the node.
+   *
+   * @param opcode the opcode
+   * @return the estimated nanoseconds
+   */
+  public synchronized long opcodeNanos(final int opcode) {
+    foldTerminatedThreads();
+    long nanos = terminatedSampledNanos[opcode];
+    for (final OpcodeCounters counters : liveOpcodeCounters) {
+      nanos += counters.sampledNanos[opcode];
+    }
+    return nanos * SAMPLING_INTERVAL;
+  }
+
+  /**
+   * The usage of a precompile since the start of the node.
+   *
+   * @param name the name of the precompile
+   * @return the usage of the precompile
+   */
+  public EvmProfile.Usage precompileUsage(final String name) {
+    final Counters counters = precompiles.get(name);
+    return counters == null ? NONE : counters.usage();
+  }
+
+  /**
+   * The profile of the EVM since the start of the node.
+   *
+   * @return the cumulative profile
+   */
+  public synchronized EvmProfile profile() {
+    final long[] counts = new long[OPCODES];
+    final long[] nanos = new long[OPCODES];
+    for (int i = 0; i < OPCODES; i++) {
+      counts[i] = opcodeCount(i);
+      nanos[i] = opcodeNanos(i);
+    }
+    return new EvmProfile(counts, nanos, usages(precompiles), usages(contracts));
+  }
+
+  /**
+   * The profile of the EVM over the recent window, which covers between half and the whole of its
+   * length of 10 minutes.
+   *
+   * @return the profile of the recent window
+   */
+  public synchronized EvmProfile recentProfile() {
+    final EvmProfile profile = profile();
+    final long now = nanoClock.getAsLong();
+    if (now - nextWindowStartTime >= windowNanos / 2) {
+      dropIdleContracts(profile);
+      windowStart = nextWindowStart;
+      nextWindowStart = profile;
+      nextWindowStartTime = now;
+    }
+    return profile.since(windowStart);
+  }
+
+  private void dropIdleContracts(final EvmProfile profile) {
+    // the contracts not invoked during the whole window make room for the new ones
+    final Set<Hash> idle = new HashSet<>();
+    profile
+        .contracts()
+        .forEach(
+            (codeHash, usage) -> {
+              if (usage.count() == windowStart.contracts().getOrDefault(codeHash, NONE).count()) {
+                idle.add(codeHash);
+              }
+            });
+    contracts.keySet().removeAll(idle);
+    profile.contracts().keySet().removeAll(idle);
+    nextWindowStart.contracts().keySet().removeAll(idle);
+  }
+
+  private synchronized OpcodeCounters newOpcodeCounters() {
+    foldTerminatedThreads();
+    final OpcodeCounters counters = new OpcodeCounters(Thread.currentThread());
+    liveOpcodeCounters.add(counters);
+    return counters;
+  }
+
+  private void foldTerminatedThreads() {
+    // a terminated thread no longer updates its counters, which are then visible to this thread
+    liveOpcodeCounters.removeIf(
+        counters -> {
+          if (counters.thread.isAlive()) {
+            return false;
+          }
+          for (int i = 0; i < OPCODES; i++) {
+            terminatedCounts[i] += counters.counts[i];
+            terminatedSampledNanos[i] += counters.sampledNanos[i];
+          }
+          return true;
+        });
+  }
+
+  @VisibleForTesting
+  synchronized int liveOpcodeCountersSize() {
+    foldTerminatedThreads();
+    return liveOpcodeCounters.size();
+  }
+
+  private static <K> Map<K, EvmProfile.Usage> usages(final Map<K, Counters> counters) {
+    final Map<K, EvmProfile.Usage> usages = new HashMap<>();
+    counters.forEach((key, value) -> usages.put(key, value.usage()));
+    return usages;
+  }
+
+  /**
+   * The opcode counters of a thread. They are only updated by their thread and read without
+   * synchronization, so a profile may miss the latest operations of the threads executing code.
+   */
+  static final class OpcodeCounters {
+    private final Thread thread;
+    private final long[] counts = new long[OPCODES];
+    private final long[] sampledNanos = new long[OPCODES];
+    private int untilSample = nextSamplingInterval();
+    private int sampledOpcode = -1;
+    private long sampleStart;
+
+    private OpcodeCounters(final Thread thread) {
+      this.thread = thread;
+    }
+
+    void operationStarted(final int opcode) {
+      counts[opcode]++;
+      if (--untilSample == 0) {
+        untilSample = nextSamplingInterval();
+        sampledOpcode = opcode;
+        sampleStart = System.nanoTime();
+      }
+    }
+
+    void operationCompleted() {
+      if (sampledOpcode >= 0) {
+        sampledNanos[sampledOpcode] += System.nanoTime() - sampleStart;
+        sampledOpcode = -1;
+      }
+    }
+
+    private static int nextSamplingInterval() {
+      // a random interval, so the loops of the contracts are not sampled at the same operations
+      return ThreadLocalRandom.current().nextInt(1, 2 * SAMPLING_INTERVAL);
+    }
+  }
+
+  private static final class Counters {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    private void record(final long invocations, final long elapsedNanos) {
+      count.add(invocations);
+      nanos.add(elapsedNanos);
+    }
+
+    private EvmProfile.Usage usage() {
+      return new EvmProfile.Usage(count.sum(), nanos.sum());
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.profiling;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+/**
+ * Profiles the execution of a message frame by the EVM, from its start or resumption until it halts
+ * or is suspended by a call. It traces the operations of the frame to count and sample them, and
+ * delegates to the tracer of the execution if there is one.
+ */
+public final class FrameProfile implements OperationTracer {
+  private final EvmProfiler profiler;
+  private final EvmProfiler.OpcodeCounters opcodeCounters;
+  private final OperationTracer tracer;
+  private final Hash codeHash;
+  private final boolean invoked;
+  private final long start;
+
+  FrameProfile(
+      final EvmProfiler profiler,
+      final EvmProfiler.OpcodeCounters opcodeCounters,
+      final MessageFrame frame,
+      final OperationTracer tracer) {
+    this.profiler = profiler;
+    this.opcodeCounters = opcodeCounters;
+    this.tracer = tracer;
+    this.codeHash = frame.getCode().getCodeHash();
+    // a frame resumed after a call does not start at the first operation of its code
+    this.invoked = frame.getPC() == 0;
+    this.start = System.nanoTime();
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    if (tracer != null) {
+      tracer.tracePreExecution(frame);
+    }
+    opcodeCounters.operationStarted(frame.getCurrentOperation().getOpcode());
+  }
+
+  @Override
+  public void tracePostExecution(
+      final MessageFrame frame, final OperationResult operationResult) {
+    opcodeCounters.operationCompleted();
+    if (tracer != null) {
+      tracer.tracePostExecution(frame, operationResult);
+    }
+  }
+
+  /** Records the execution of the frame, once it halted or was suspended. */
+  public void frameExecuted() {
+    profiler.frameExecuted(codeHash, invoked, System.nanoTime() - start);
+  }
+}
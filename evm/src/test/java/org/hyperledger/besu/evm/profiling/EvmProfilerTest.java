@@ -0,0 +1,225 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EvmSpecVersion;
+import org.hyperledger.besu.evm.fluent.EVMExecutor;
+import org.hyperledger.besu.evm.fluent.EvmSpec;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class EvmProfilerTest {
+  private static final int ADD = 0x01;
+  private static final int SSTORE = 0x55;
+  private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+  private final AtomicLong clock = new AtomicLong();
+  private final EvmProfiler profiler = new EvmProfiler(WINDOW_NANOS, clock::get);
+  private final Map<Integer, Operation> operations = new HashMap<>();
+
+  @Test
+  void doesNotProfileFramesWhileDisabled() {
+    assertThat(profiler.startFrame(frame(Hash.ZERO, 0), null)).isNull();
+  }
+
+  @Test
+  void countsOperationsAndInvocationsOfContracts() {
+    profiler.setEnabled(true);
+
+    execute(Hash.ZERO, 0, ADD, ADD, SSTORE);
+    execute(Hash.ZERO, 0, ADD);
+
+    final EvmProfile profile = profiler.profile();
+    assertThat(profile.opcode(ADD).count()).isEqualTo(3);
+    assertThat(profile.opcode(SSTORE).count()).isEqualTo(1);
+    assertThat(profile.contracts().get(Hash.ZERO).count()).isEqualTo(2);
+  }
+
+  @Test
+  void resumedFrameIsNotCountedAsAnInvocation() {
+    profiler.setEnabled(true);
+
+    execute(Hash.ZERO, 0, ADD);
+    execute(Hash.ZERO, 10, ADD);
+
+    assertThat(profiler.profile().contracts().get(Hash.ZERO).count()).isEqualTo(1);
+  }
+
+  @Test
+  void timesASampleOfTheOperations() {
+    profiler.setEnabled(true);
+
+    final int[] opcodes = new int[100 * EvmProfiler.SAMPLING_INTERVAL];
+    Arrays.fill(opcodes, ADD);
+    execute(Hash.ZERO, 0, opcodes);
+
+    assertThat(profiler.opcodeCount(ADD)).isEqualTo(opcodes.length);
+    assertThat(profiler.opcodeNanos(ADD)).isPositive();
+  }
+
+  @Test
+  void foldsTheCountersOfTerminatedThreads() throws InterruptedException {
+    profiler.setEnabled(true);
+    execute(Hash.ZERO, 0, ADD);
+
+    final Thread thread = new Thread(() -> execute(Hash.ZERO, 0, ADD, ADD));
+    thread.start();
+    thread.join();
+
+    assertThat(profiler.opcodeCount(ADD)).isEqualTo(3);
+    assertThat(profiler.liveOpcodeCountersSize()).isEqualTo(1);
+    execute(Hash.ZERO, 0, ADD);
+    assertThat(profiler.opcodeCount(ADD)).isEqualTo(4);
+  }
+
+  @Test
+  void notifiesTheObserversOfTheFirstExecutionOfAPrecompile() {
+    final List<String> observed = new ArrayList<>();
+    profiler.precompileExecuted("ECREC", 100);
+
+    profiler.observePrecompiles(observed::add);
+    profiler.precompileExecuted("ECREC", 100);
+    profiler.precompileExecuted("SHA256", 100);
+    profiler.precompileExecuted("SHA256", 100);
+
+    assertThat(observed).containsExactly("ECREC", "SHA256");
+  }
+
+  @Test
+  void delegatesToTheTracerOfTheExecution() {
+    profiler.setEnabled(true);
+    final OperationTracer tracer = mock(OperationTracer.class);
+    final MessageFrame frame = frame(Hash.ZERO, 0);
+    when(frame.getCurrentOperation()).thenReturn(operation(ADD));
+
+    final FrameProfile frameProfile = profiler.startFrame(frame, tracer);
+    frameProfile.tracePreExecution(frame);
+    frameProfile.tracePostExecution(frame, null);
+
+    verify(tracer).tracePreExecution(frame);
+    verify(tracer).tracePostExecution(frame, null);
+  }
+
+  @Test
+  void recentProfileOnlyCoversTheWindow() {
+    profiler.setEnabled(true);
+    execute(Hash.ZERO, 0, ADD);
+    profiler.precompileExecuted("ECREC", 100);
+
+    clock.addAndGet(WINDOW_NANOS / 2);
+    assertThat(profiler.recentProfile().opcode(ADD).count()).isEqualTo(1);
+    execute(Hash.EMPTY, 0, SSTORE);
+
+    clock.addAndGet(WINDOW_NANOS / 2);
+    final EvmProfile recent = profiler.recentProfile();
+    assertThat(recent.opcode(ADD).count()).isZero();
+    assertThat(recent.opcode(SSTORE).count()).isEqualTo(1);
+    assertThat(recent.precompiles()).isEmpty();
+    assertThat(recent.contracts()).containsOnlyKeys(Hash.EMPTY);
+    assertThat(profiler.profile().precompiles().get("ECREC"))
+        .isEqualTo(new EvmProfile.Usage(1, 100));
+  }
+
+  @Test
+  void dropsContractsIdleForAWholeWindow() {
+    profiler.setEnabled(true);
+    execute(Hash.ZERO, 0, ADD);
+
+    clock.addAndGet(WINDOW_NANOS / 2);
+    profiler.recentProfile();
+    clock.addAndGet(WINDOW_NANOS / 2);
+    profiler.recentProfile();
+    assertThat(profiler.profile().contracts()).containsKey(Hash.ZERO);
+
+    clock.addAndGet(WINDOW_NANOS / 2);
+    profiler.recentProfile();
+    assertThat(profiler.profile().contracts()).isEmpty();
+
+    execute(Hash.ZERO, 0, ADD);
+    assertThat(profiler.recentProfile().contracts().get(Hash.ZERO).count()).isEqualTo(1);
+  }
+
+  @Test
+  void profilesTheExecutionOfTheEvm() {
+    final Bytes code = Bytes.fromHexString("0x604080536040604055604060006040600060025afa6040f3");
+    final EvmProfiler instance = EvmProfiler.getInstance();
+    final EvmProfile before = instance.profile();
+    final EVMExecutor executor = new EVMExecutor(EvmSpec.evmSpec(EvmSpecVersion.ISTANBUL));
+    executor.gas(10_000_000_000L);
+
+    instance.setEnabled(true);
+    try {
+      executor.execute(code, Bytes.EMPTY, Wei.ZERO, Address.ZERO);
+    } finally {
+      instance.setEnabled(false);
+    }
+
+    final EvmProfile profile = instance.profile().since(before);
+    assertThat(profile.opcode(SSTORE).count()).isPositive();
+    assertThat(profile.precompiles()).containsKey("SHA256");
+    assertThat(profile.contracts().get(Hash.hash(code)).count()).isEqualTo(1);
+  }
+
+  private void execute(final Hash codeHash, final int pc, final int... opcodes) {
+    final MessageFrame frame = frame(codeHash, pc);
+    final FrameProfile frameProfile = profiler.startFrame(frame, null);
+    for (final int opcode : opcodes) {
+      when(frame.getCurrentOperation()).thenReturn(operation(opcode));
+      frameProfile.tracePreExecution(frame);
+      frameProfile.tracePostExecution(frame, null);
+    }
+    frameProfile.frameExecuted();
+  }
+
+  private Operation operation(final int opcode) {
+    return operations.computeIfAbsent(
+        opcode,
+        __ -> {
+          final Operation operation = mock(Operation.class);
+          when(operation.getOpcode()).thenReturn(opcode);
+          return operation;
+        });
+  }
+
+  private static MessageFrame frame(final Hash codeHash, final int pc) {
+    final Code code = mock(Code.class);
+    when(code.getCodeHash()).thenReturn(codeHash);
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getCode()).thenReturn(code);
+    when(frame.getPC()).thenReturn(pc);
+    return frame;
+  }
+}
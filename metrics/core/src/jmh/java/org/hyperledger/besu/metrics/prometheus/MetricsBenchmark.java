@@ -0,0 +1,108 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import static org.hyperledger.besu.metrics.BesuMetricCategory.DEFAULT_METRIC_CATEGORIES;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.metrics.opentelemetry.OpenTelemetrySystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of updating counters and timers of the metrics systems when all the threads
+ * update the same metric, either through a child resolved once or by resolving its label values on
+ * every update, as most callers do.
+ */
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetricsBenchmark {
+
+  @Param({"PROMETHEUS", "STRIPED", "OPENTELEMETRY"})
+  public String implementation;
+
+  private ObservableMetricsSystem metricsSystem;
+  private LabelledMetric<Counter> labelledCounter;
+  private LabelledMetric<OperationTimer> labelledTimer;
+  private Counter counter;
+  private OperationTimer timer;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    metricsSystem =
+        switch (implementation) {
+          case "PROMETHEUS" -> new PrometheusMetricsSystem(DEFAULT_METRIC_CATEGORIES, true, false);
+          case "STRIPED" -> new PrometheusMetricsSystem(DEFAULT_METRIC_CATEGORIES, true, true);
+          case "OPENTELEMETRY" ->
+              new OpenTelemetrySystem(DEFAULT_METRIC_CATEGORIES, true, "besu-benchmark", false);
+          default -> throw new IllegalArgumentException("Unknown implementation " + implementation);
+        };
+    labelledCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.PEERS, "messages_total", "Benchmarked counter", "protocol", "code");
+    labelledTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.RPC, "request_time", "Benchmarked timer", "methodName");
+    counter = labelledCounter.labels("eth", "7");
+    timer = labelledTimer.labels("eth_call");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    metricsSystem.shutdown();
+  }
+
+  @Benchmark
+  public void incrementResolvedCounter() {
+    counter.inc();
+  }
+
+  @Benchmark
+  public void incrementLabelledCounter() {
+    labelledCounter.labels("eth", "7").inc();
+  }
+
+  @Benchmark
+  public double timeWithResolvedTimer() {
+    return timer.startTimer().stopTimer();
+  }
+
+  @Benchmark
+  public double timeWithLabelledTimer() {
+    return labelledTimer.labels("eth_call").startTimer().stopTimer();
+  }
+}
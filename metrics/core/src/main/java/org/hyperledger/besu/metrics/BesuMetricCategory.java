@@ -28,6 +28,8 @@ public enum BesuMetricCategory implements MetricCategory {
   BLOCKCHAIN("blockchain"),
   /** Ethereum besu metric category. */
   ETHEREUM("ethereum", false),
+  /** EVM besu metric category. */
+  EVM("evm"),
   /** Executors besu metric category. */
   EXECUTORS("executors"),
   /** Network besu metric category. */
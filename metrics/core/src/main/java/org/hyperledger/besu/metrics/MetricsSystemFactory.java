@@ -58,7 +58,9 @@ public class MetricsSystemFactory {
     if (PROMETHEUS.equals(metricsConfiguration.getProtocol())) {
       final PrometheusMetricsSystem metricsSystem =
           new PrometheusMetricsSystem(
-              metricsConfiguration.getMetricCategories(), metricsConfiguration.isTimersEnabled());
+              metricsConfiguration.getMetricCategories(),
+              metricsConfiguration.isTimersEnabled(),
+              metricsConfiguration.isStripedEnabled());
       metricsSystem.init();
       disableGlobalOpenTelemetry();
       return metricsSystem;
@@ -0,0 +1,74 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The children of a labelled metric, created once per label values. The child returned by {@link
+ * #labels(String...)} is meant to be kept by the caller, so the hot path updates it directly
+ * instead of resolving its label values again.
+ *
+ * @param <C> the type of the children
+ */
+class LabelledChildren<C> {
+  private final String[] labelNames;
+  private final Function<String[], C> childFactory;
+  private final Map<List<String>, C> children = new ConcurrentHashMap<>();
+  private final C unlabelledChild;
+
+  LabelledChildren(final String[] labelNames, final Function<String[], C> childFactory) {
+    this.labelNames = labelNames.clone();
+    this.childFactory = childFactory;
+    this.unlabelledChild = labelNames.length == 0 ? child(new String[0]) : null;
+  }
+
+  /**
+   * Returns the child of the given label values, creating it on first use.
+   *
+   * @param labelValues the label values, in the order of the label names
+   * @return the child
+   */
+  C labels(final String... labelValues) {
+    if (labelValues.length != labelNames.length) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected %d label values for %s but got %d",
+              labelNames.length, List.of(labelNames), labelValues.length));
+    }
+    if (unlabelledChild != null) {
+      return unlabelledChild;
+    }
+    return child(labelValues);
+  }
+
+  private C child(final String[] labelValues) {
+    return children.computeIfAbsent(
+        List.of(labelValues), values -> childFactory.apply(values.toArray(String[]::new)));
+  }
+
+  /**
+   * Returns the children created so far.
+   *
+   * @return the children
+   */
+  Collection<C> children() {
+    return children.values();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative long values over fixed log-linear buckets, in the manner of
+ * HdrHistogram: each power of two is split into {@value #SUB_BUCKETS} buckets of equal width, so a
+ * value is recorded with a relative error below 1/{@value #SUB_BUCKETS} over the whole long range.
+ *
+ * <p>A value is recorded by incrementing the striped cells of its bucket and of the sum, without
+ * allocation or locking. The counts are only aggregated when the histogram is read.
+ */
+class LogLinearHistogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /** The number of buckets, enough to record {@link Long#MAX_VALUE}. */
+  static final int BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKETS];
+  private final LongAdder sum = new LongAdder();
+
+  LogLinearHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a value, a negative value is recorded as zero.
+   *
+   * @param value the value
+   */
+  void record(final long value) {
+    final long recorded = Math.max(0, value);
+    buckets[bucketIndex(recorded)].increment();
+    sum.add(recorded);
+  }
+
+  /**
+   * Returns the number of values recorded in each bucket.
+   *
+   * @return the counts, indexed by bucket
+   */
+  long[] counts() {
+    final long[] counts = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets[i].sum();
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the sum of the recorded values.
+   *
+   * @return the sum
+   */
+  long sum() {
+    return sum.sum();
+  }
+
+  /**
+   * Returns an estimate of the value at the given quantile of the given bucket counts, which is
+   * the middle of the bucket the quantile falls in.
+   *
+   * @param counts the counts, indexed by bucket
+   * @param quantile the quantile, between 0 and 1
+   * @return the estimated value, or NaN if the counts are all zero
+   */
+  static double valueAtQuantile(final long[] counts, final double quantile) {
+    long total = 0;
+    for (final long count : counts) {
+      total += count;
+    }
+    if (total == 0) {
+      return Double.NaN;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    int index = 0;
+    for (; index < counts.length - 1; index++) {
+      seen += counts[index];
+      if (seen >= rank) {
+        break;
+      }
+    }
+    return bucketLowerBound(index) + (bucketWidth(index) >>> 1);
+  }
+
+  static int bucketIndex(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  static long bucketLowerBound(final int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    return (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift(index);
+  }
+
+  private static long bucketWidth(final int index) {
+    return index < SUB_BUCKETS ? 1 : 1L << shift(index);
+  }
+
+  private static int shift(final int index) {
+    return (index >>> SUB_BUCKET_BITS) - 1;
+  }
+}
@@ -51,6 +51,9 @@ public class MetricsConfiguration {
   /** The constant DEFAULT_METRICS_IDLE_TIMEOUT_SECONDS. */
   public static final int DEFAULT_METRICS_IDLE_TIMEOUT_SECONDS = 60;
 
+  /** The constant DEFAULT_METRICS_STRIPED_ENABLED. */
+  public static final Boolean DEFAULT_METRICS_STRIPED_ENABLED = false;
+
   private final boolean enabled;
   private final MetricsProtocol protocol;
   private final int port;
@@ -65,6 +68,7 @@ public class MetricsConfiguration {
   private final List<String> hostsAllowlist;
   private final boolean timersEnabled;
   private final int idleTimeout;
+  private final boolean stripedEnabled;
 
   /**
    * Builder.
@@ -88,7 +92,8 @@ public class MetricsConfiguration {
       final String prometheusJob,
       final List<String> hostsAllowlist,
       final boolean timersEnabled,
-      final int idleTimeout) {
+      final int idleTimeout,
+      final boolean stripedEnabled) {
     this.enabled = enabled;
     this.port = port;
     this.protocol = protocol;
@@ -102,6 +107,7 @@ public class MetricsConfiguration {
     this.hostsAllowlist = hostsAllowlist;
     this.timersEnabled = timersEnabled;
     this.idleTimeout = idleTimeout;
+    this.stripedEnabled = stripedEnabled;
   }
 
   /**
@@ -250,6 +256,16 @@ public class MetricsConfiguration {
     return idleTimeout;
   }
 
+  /**
+   * Is striped enabled, to record counters and timers in striped cells instead of the Prometheus
+   * client metrics.
+   *
+   * @return the boolean
+   */
+  public boolean isStripedEnabled() {
+    return stripedEnabled;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -266,6 +282,7 @@ public class MetricsConfiguration {
         .add("hostsAllowlist", hostsAllowlist)
         .add("timersEnabled", timersEnabled)
         .add("idleTimeout", idleTimeout)
+        .add("stripedEnabled", stripedEnabled)
         .toString();
   }
 
@@ -290,7 +307,8 @@ public class MetricsConfiguration {
         && Objects.equals(prometheusJob, that.prometheusJob)
         && Objects.equals(hostsAllowlist, that.hostsAllowlist)
         && timersEnabled == that.timersEnabled
-        && idleTimeout == that.idleTimeout;
+        && idleTimeout == that.idleTimeout
+        && stripedEnabled == that.stripedEnabled;
   }
 
   @Override
@@ -308,7 +326,8 @@ public class MetricsConfiguration {
         prometheusJob,
         hostsAllowlist,
         timersEnabled,
-        idleTimeout);
+        idleTimeout,
+        stripedEnabled);
   }
 
   /** The type Builder. */
@@ -326,6 +345,7 @@ public class MetricsConfiguration {
     private List<String> hostsAllowlist = Arrays.asList("localhost", "127.0.0.1");
     private boolean timersEnabled = DEFAULT_METRICS_TIMERS_ENABLED;
     private int idleTimeout = DEFAULT_METRICS_IDLE_TIMEOUT_SECONDS;
+    private boolean stripedEnabled = DEFAULT_METRICS_STRIPED_ENABLED;
 
     private Builder() {}
 
@@ -485,6 +505,17 @@ public class MetricsConfiguration {
       return this;
     }
 
+    /**
+     * Striped enabled.
+     *
+     * @param stripedEnabled the striped enabled
+     * @return the builder
+     */
+    public Builder stripedEnabled(final boolean stripedEnabled) {
+      this.stripedEnabled = stripedEnabled;
+      return this;
+    }
+
     /**
      * Build metrics configuration.
      *
@@ -504,7 +535,8 @@ public class MetricsConfiguration {
           prometheusJob,
           hostsAllowlist,
           timersEnabled,
-          idleTimeout);
+          idleTimeout,
+          stripedEnabled);
     }
   }
 }
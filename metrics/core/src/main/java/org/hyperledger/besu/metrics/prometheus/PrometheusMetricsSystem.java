@@ -76,6 +76,7 @@ public class PrometheusMetricsSystem implements ObservableMetricsSystem {
 
   private final Set<MetricCategory> enabledCategories;
   private final boolean timersEnabled;
+  private final boolean stripedEnabled;
 
   /**
    * Instantiates a new Prometheus metrics system.
@@ -85,8 +86,24 @@ public class PrometheusMetricsSystem implements ObservableMetricsSystem {
    */
   public PrometheusMetricsSystem(
       final Set<MetricCategory> enabledCategories, final boolean timersEnabled) {
+    this(enabledCategories, timersEnabled, false);
+  }
+
+  /**
+   * Instantiates a new Prometheus metrics system.
+   *
+   * @param enabledCategories the enabled categories
+   * @param timersEnabled the timers enabled
+   * @param stripedEnabled whether counters and timers record in striped cells instead of the
+   *     Prometheus client metrics
+   */
+  public PrometheusMetricsSystem(
+      final Set<MetricCategory> enabledCategories,
+      final boolean timersEnabled,
+      final boolean stripedEnabled) {
     this.enabledCategories = ImmutableSet.copyOf(enabledCategories);
     this.timersEnabled = timersEnabled;
+    this.stripedEnabled = stripedEnabled;
   }
 
   /** Init. */
@@ -122,6 +139,11 @@ public class PrometheusMetricsSystem implements ObservableMetricsSystem {
         CachedMetricKey.of(category, name),
         k -> {
           if (isCategoryEnabled(category)) {
+            if (stripedEnabled) {
+              final var counter = new StripedCounter(category, name, help, labelNames);
+              registerCollector(category, counter);
+              return counter;
+            }
             final var counter = new PrometheusCounter(category, name, help, labelNames);
             registerCollector(category, counter);
             return counter;
@@ -140,6 +162,12 @@ public class PrometheusMetricsSystem implements ObservableMetricsSystem {
         CachedMetricKey.of(category, name),
         k -> {
           if (timersEnabled && isCategoryEnabled(category)) {
+            if (stripedEnabled) {
+              final var summary =
+                  new StripedTimer(category, name, help, DEFAULT_SUMMARY_QUANTILES, labelNames);
+              registerCollector(category, summary);
+              return summary;
+            }
             final var summary =
                 new PrometheusTimer(category, name, help, DEFAULT_SUMMARY_QUANTILES, labelNames);
             registerCollector(category, summary);
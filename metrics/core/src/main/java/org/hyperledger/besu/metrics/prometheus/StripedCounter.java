@@ -0,0 +1,106 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import static org.hyperledger.besu.metrics.prometheus.PrometheusCollector.getLabelValues;
+
+import org.hyperledger.besu.metrics.Observation;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import io.prometheus.metrics.core.metrics.CounterWithCallback;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+
+/**
+ * A Prometheus counter whose children count in striped cells, which are only summed when the
+ * counter is collected. Incrementing a child neither allocates nor contends with the other threads
+ * incrementing it.
+ */
+class StripedCounter extends CategorizedPrometheusCollector implements LabelledMetric<Counter> {
+  private final LabelledChildren<StripedChild> children;
+  private final CounterWithCallback collector;
+
+  public StripedCounter(
+      final MetricCategory category,
+      final String name,
+      final String help,
+      final String... labelNames) {
+    super(category, name);
+    this.children = new LabelledChildren<>(labelNames, StripedChild::new);
+    this.collector =
+        CounterWithCallback.builder()
+            .name(this.prefixedName)
+            .help(help)
+            .labelNames(labelNames)
+            .callback(this::callback)
+            .build();
+  }
+
+  private void callback(final CounterWithCallback.Callback callback) {
+    children.children().forEach(child -> callback.call(child.value.sum(), child.labelValues));
+  }
+
+  @Override
+  public Counter labels(final String... labels) {
+    return children.labels(labels);
+  }
+
+  @Override
+  public String getIdentifier() {
+    return collector.getPrometheusName();
+  }
+
+  @Override
+  public void register(final PrometheusRegistry registry) {
+    registry.register(collector);
+  }
+
+  @Override
+  public void unregister(final PrometheusRegistry registry) {
+    registry.unregister(collector);
+  }
+
+  @Override
+  public Stream<Observation> streamObservations() {
+    return collector.collect().getDataPoints().stream()
+        .map(
+            sample ->
+                new Observation(
+                    category, name, sample.getValue(), getLabelValues(sample.getLabels())));
+  }
+
+  private static final class StripedChild implements Counter {
+    private final String[] labelValues;
+    private final LongAdder value = new LongAdder();
+
+    private StripedChild(final String[] labelValues) {
+      this.labelValues = labelValues;
+    }
+
+    @Override
+    public void inc() {
+      value.increment();
+    }
+
+    @Override
+    public void inc(final long amount) {
+      value.add(amount);
+    }
+  }
+}
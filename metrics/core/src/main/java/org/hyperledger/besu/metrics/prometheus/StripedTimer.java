@@ -0,0 +1,137 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.prometheus.metrics.core.metrics.SummaryWithCallback;
+import io.prometheus.metrics.model.snapshots.Quantile;
+import io.prometheus.metrics.model.snapshots.Quantiles;
+
+/**
+ * A Prometheus timer, collected as a summary, whose children record the durations in a {@link
+ * LogLinearHistogram}. Stopping a timer records its duration without allocation or locking, and
+ * the quantiles are only computed from the bucket counts when the timer is collected.
+ *
+ * <p>Like the summaries of the Prometheus client, the quantiles are computed over a sliding window
+ * of the recent durations: the window is advanced at collection time, every half of its maximum
+ * age, and covers between half and the whole of it.
+ */
+class StripedTimer extends AbstractPrometheusSummary implements LabelledMetric<OperationTimer> {
+  private static final long DEFAULT_MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(10);
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final LabelledChildren<StripedChild> children;
+  private final double[] quantiles;
+  private final long maxAgeNanos;
+  private final LongSupplier nanoClock;
+
+  public StripedTimer(
+      final MetricCategory category,
+      final String name,
+      final String help,
+      final Map<Double, Double> quantiles,
+      final String... labelNames) {
+    this(category, name, help, quantiles, DEFAULT_MAX_AGE_NANOS, System::nanoTime, labelNames);
+  }
+
+  @VisibleForTesting
+  StripedTimer(
+      final MetricCategory category,
+      final String name,
+      final String help,
+      final Map<Double, Double> quantiles,
+      final long maxAgeNanos,
+      final LongSupplier nanoClock,
+      final String... labelNames) {
+    super(category, name);
+    this.quantiles =
+        quantiles.keySet().stream().mapToDouble(Double::doubleValue).sorted().toArray();
+    this.maxAgeNanos = maxAgeNanos;
+    this.nanoClock = nanoClock;
+    this.children = new LabelledChildren<>(labelNames, StripedChild::new);
+    this.collector =
+        SummaryWithCallback.builder()
+            .name(this.prefixedName)
+            .help(help)
+            .labelNames(labelNames)
+            .callback(this::callback)
+            .build();
+  }
+
+  private void callback(final SummaryWithCallback.Callback callback) {
+    children.children().forEach(child -> child.collect(callback));
+  }
+
+  @Override
+  public OperationTimer labels(final String... labels) {
+    return children.labels(labels);
+  }
+
+  private final class StripedChild implements OperationTimer {
+    private final String[] labelValues;
+    private final LogLinearHistogram histogram = new LogLinearHistogram();
+    private long[] windowStart = new long[LogLinearHistogram.BUCKETS];
+    private long[] nextWindowStart = windowStart;
+    private long nextWindowStartTime = nanoClock.getAsLong();
+
+    private StripedChild(final String[] labelValues) {
+      this.labelValues = labelValues;
+    }
+
+    @Override
+    public TimingContext startTimer() {
+      final long start = System.nanoTime();
+      return () -> {
+        final long elapsed = System.nanoTime() - start;
+        histogram.record(elapsed);
+        return elapsed / NANOS_PER_SECOND;
+      };
+    }
+
+    private synchronized void collect(final SummaryWithCallback.Callback callback) {
+      final long[] counts = histogram.counts();
+      final long now = nanoClock.getAsLong();
+      if (now - nextWindowStartTime >= maxAgeNanos / 2) {
+        windowStart = nextWindowStart;
+        nextWindowStart = counts;
+        nextWindowStartTime = now;
+      }
+
+      long count = 0;
+      final long[] windowCounts = new long[counts.length];
+      for (int i = 0; i < counts.length; i++) {
+        count += counts[i];
+        windowCounts[i] = counts[i] - windowStart[i];
+      }
+      final Quantiles.Builder quantilesBuilder = Quantiles.builder();
+      for (final double quantile : quantiles) {
+        quantilesBuilder.quantile(
+            new Quantile(
+                quantile,
+                LogLinearHistogram.valueAtQuantile(windowCounts, quantile) / NANOS_PER_SECOND));
+      }
+      callback.call(
+          count, histogram.sum() / NANOS_PER_SECOND, quantilesBuilder.build(), labelValues);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+public class LogLinearHistogramTest {
+
+  @Test
+  public void bucketsCoverTheLongRangeContiguously() {
+    for (int index = 1; index < LogLinearHistogram.BUCKETS; index++) {
+      final long lowerBound = LogLinearHistogram.bucketLowerBound(index);
+      assertThat(LogLinearHistogram.bucketIndex(lowerBound)).isEqualTo(index);
+      assertThat(LogLinearHistogram.bucketIndex(lowerBound - 1)).isEqualTo(index - 1);
+    }
+    assertThat(LogLinearHistogram.bucketIndex(Long.MAX_VALUE))
+        .isEqualTo(LogLinearHistogram.BUCKETS - 1);
+  }
+
+  @Test
+  public void smallValuesAreRecordedExactly() {
+    final LogLinearHistogram histogram = new LogLinearHistogram();
+    histogram.record(3);
+    histogram.record(-1);
+
+    final long[] counts = histogram.counts();
+    assertThat(counts[0]).isEqualTo(1);
+    assertThat(counts[3]).isEqualTo(1);
+    assertThat(histogram.sum()).isEqualTo(3);
+    assertThat(LogLinearHistogram.valueAtQuantile(counts, 1.0)).isEqualTo(3.0);
+  }
+
+  @Test
+  public void quantilesAreWithinTheRelativeErrorOfTheBuckets() {
+    final LogLinearHistogram histogram = new LogLinearHistogram();
+    LongStream.rangeClosed(1, 10_000).forEach(value -> histogram.record(value * 1_000));
+
+    final long[] counts = histogram.counts();
+    assertThat(histogram.sum()).isEqualTo(50_005_000_000L);
+    assertThat(LogLinearHistogram.valueAtQuantile(counts, 0.5))
+        .isCloseTo(5_000_000.0, within(5_000_000.0 / 8));
+    assertThat(LogLinearHistogram.valueAtQuantile(counts, 0.99))
+        .isCloseTo(9_900_000.0, within(9_900_000.0 / 8));
+    assertThat(LogLinearHistogram.valueAtQuantile(counts, 1.0))
+        .isCloseTo(10_000_000.0, within(10_000_000.0 / 8));
+  }
+
+  @Test
+  public void quantileOfEmptyCountsIsNaN() {
+    assertThat(LogLinearHistogram.valueAtQuantile(new LogLinearHistogram().counts(), 0.5)).isNaN();
+  }
+}
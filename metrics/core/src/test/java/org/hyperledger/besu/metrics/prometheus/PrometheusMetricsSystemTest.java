@@ -20,6 +20,7 @@ import static java.util.Collections.singletonList;
 import static java.util.function.Predicate.not;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
 import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCKCHAIN;
 import static org.hyperledger.besu.metrics.BesuMetricCategory.DEFAULT_METRIC_CATEGORIES;
 import static org.hyperledger.besu.metrics.BesuMetricCategory.NETWORK;
@@ -231,6 +232,55 @@ public class PrometheusMetricsSystemTest {
     assertThat(metricsSystem.streamObservations()).isEmpty();
   }
 
+  @Test
+  public void shouldCreateObservationsFromStripedCounter() {
+    final PrometheusMetricsSystem stripedMetricsSystem =
+        new PrometheusMetricsSystem(DEFAULT_METRIC_CATEGORIES, true, true);
+    final LabelledMetric<Counter> counter =
+        stripedMetricsSystem.createLabelledCounter(
+            PEERS, "connected_total", "Some help string", "labelName");
+
+    final Counter counter1 = counter.labels("value1");
+    counter1.inc();
+    counter.labels("value2").inc();
+    counter1.inc(5);
+
+    assertThat(counter.labels("value1")).isSameAs(counter1);
+    assertThat(stripedMetricsSystem.streamObservations())
+        .containsExactlyInAnyOrder(
+            new Observation(PEERS, "connected_total", 6.0, singletonList("value1")),
+            new Observation(PEERS, "connected_total", 1.0, singletonList("value2")));
+    assertThatThrownBy(() -> counter.labels("value1", "value2"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldCreateObservationsFromStripedTimer() {
+    final PrometheusMetricsSystem stripedMetricsSystem =
+        new PrometheusMetricsSystem(DEFAULT_METRIC_CATEGORIES, true, true);
+    final LabelledMetric<OperationTimer> timer =
+        stripedMetricsSystem.createLabelledTimer(RPC, "request", "Some help", "methodName");
+
+    final OperationTimer.TimingContext context = timer.labels("method").startTimer();
+    final double expected = context.stopTimer();
+
+    final List<Observation> observations = stripedMetricsSystem.streamObservations().toList();
+    assertThat(observations)
+        .contains(
+            new Observation(RPC, "request", expected, asList("method", "sum")),
+            new Observation(RPC, "request", 1L, asList("method", "count")));
+    assertThat(observations)
+        .filteredOn(observation -> observation.labels().contains("quantile"))
+        .extracting(observation -> observation.labels().get(2))
+        .containsExactlyInAnyOrder("0.2", "0.5", "0.8", "0.95", "0.99", "1.0");
+    assertThat(observations)
+        .filteredOn(observation -> observation.labels().contains("quantile"))
+        .allSatisfy(
+            observation ->
+                assertThat((double) observation.value())
+                    .isCloseTo(expected, withinPercentage(12.5)));
+  }
+
   @Test
   public void shouldCreateObservationFromGauge() {
     metricsSystem.createGauge(JVM, "myValue", "Help", () -> 7.0);
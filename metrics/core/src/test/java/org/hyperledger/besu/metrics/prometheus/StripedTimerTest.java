@@ -0,0 +1,65 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.prometheus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.metrics.BesuMetricCategory.RPC;
+
+import org.hyperledger.besu.metrics.Observation;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class StripedTimerTest {
+  private static final long MAX_AGE_NANOS = 1_000;
+
+  private final AtomicLong clock = new AtomicLong();
+  private final StripedTimer timer =
+      new StripedTimer(RPC, "request", "Some help", Map.of(0.5, 0.05), MAX_AGE_NANOS, clock::get);
+
+  @Test
+  public void quantilesOnlyCoverTheRecentDurations() {
+    timer.labels().startTimer().stopTimer();
+    assertThat(quantile()).isNotNaN();
+
+    clock.addAndGet(MAX_AGE_NANOS / 2);
+    assertThat(quantile()).isNotNaN();
+
+    clock.addAndGet(MAX_AGE_NANOS / 2);
+    assertThat(quantile()).isNaN();
+    assertThat(timer.streamObservations())
+        .contains(new Observation(RPC, "request", 1L, List.of("count")));
+  }
+
+  @Test
+  public void childIsResolvedOncePerLabelValues() {
+    final OperationTimer child = timer.labels();
+
+    assertThat(timer.labels()).isSameAs(child);
+  }
+
+  private double quantile() {
+    return timer
+        .streamObservations()
+        .filter(observation -> observation.labels().contains("quantile"))
+        .mapToDouble(observation -> (double) observation.value())
+        .findFirst()
+        .orElseThrow();
+  }
+}
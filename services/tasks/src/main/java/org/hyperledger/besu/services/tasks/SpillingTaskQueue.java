@@ -0,0 +1,180 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A task queue that keeps a bounded number of tasks in memory and spills the others to segment
+ * files, which are reloaded in the order they were written once the tasks in memory are exhausted.
+ *
+ * @param <T> the type parameter
+ */
+public class SpillingTaskQueue<T> implements TaskCollection<T> {
+  private static final int MAX_TASKS_PER_SEGMENT = 10_000;
+
+  private final int maxTasksInMemory;
+  private final TaskSegments<T> segments;
+
+  private final Queue<T> internalQueue = new ArrayDeque<>();
+  private final Set<SpillingTask<T>> unfinishedOutstandingTasks = new HashSet<>();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  /**
+   * Instantiates a new Spilling task queue. Segments left in the directory by a previous instance
+   * are deleted.
+   *
+   * @param directory the directory of the segment files, created when a first task is spilled
+   * @param maxTasksInMemory the number of tasks kept in memory before spilling
+   * @param serializer encodes a task to spill
+   * @param deserializer decodes a spilled task
+   */
+  public SpillingTaskQueue(
+      final Path directory,
+      final int maxTasksInMemory,
+      final Function<T, Bytes> serializer,
+      final Function<Bytes, T> deserializer) {
+    this.maxTasksInMemory = maxTasksInMemory;
+    this.segments =
+        new TaskSegments<>(
+            directory,
+            "",
+            Math.max(1, Math.min(maxTasksInMemory, MAX_TASKS_PER_SEGMENT)),
+            serializer,
+            deserializer);
+    TaskSegments.deleteSegmentFiles(directory);
+  }
+
+  @Override
+  public synchronized void add(final T taskData) {
+    assertNotClosed();
+    // once a task was spilled, the next ones are spilled after it to preserve the order
+    if (segments.size() == 0 && internalQueue.size() < maxTasksInMemory) {
+      internalQueue.add(taskData);
+    } else {
+      segments.write(taskData);
+    }
+  }
+
+  @Override
+  public synchronized Task<T> remove() {
+    assertNotClosed();
+    if (internalQueue.isEmpty() && segments.size() > 0) {
+      segments.readSegment(internalQueue::add);
+    }
+    final T data = internalQueue.poll();
+    if (data == null) {
+      return null;
+    }
+    final SpillingTask<T> task = new SpillingTask<>(this, data);
+    unfinishedOutstandingTasks.add(task);
+    return task;
+  }
+
+  @Override
+  public synchronized long size() {
+    return internalQueue.size() + segments.size();
+  }
+
+  /**
+   * Returns the number of tasks spilled to the segment files.
+   *
+   * @return the number of spilled tasks
+   */
+  public synchronized long spilledSize() {
+    return segments.size();
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public synchronized void clear() {
+    assertNotClosed();
+    unfinishedOutstandingTasks.clear();
+    internalQueue.clear();
+    segments.delete();
+  }
+
+  @Override
+  public synchronized boolean allTasksCompleted() {
+    return isEmpty() && unfinishedOutstandingTasks.isEmpty();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed.compareAndSet(false, true)) {
+      unfinishedOutstandingTasks.clear();
+      internalQueue.clear();
+      segments.delete();
+    }
+  }
+
+  private void assertNotClosed() {
+    if (closed.get()) {
+      throw new IllegalStateException("Attempt to access closed " + getClass().getSimpleName());
+    }
+  }
+
+  private synchronized void handleFailedTask(final SpillingTask<T> task) {
+    if (markTaskCompleted(task)) {
+      add(task.getData());
+    }
+  }
+
+  private synchronized boolean markTaskCompleted(final SpillingTask<T> task) {
+    return unfinishedOutstandingTasks.remove(task);
+  }
+
+  private static class SpillingTask<T> implements Task<T> {
+    private final T data;
+    private final SpillingTaskQueue<T> queue;
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+
+    private SpillingTask(final SpillingTaskQueue<T> queue, final T data) {
+      this.queue = queue;
+      this.data = data;
+    }
+
+    @Override
+    public T getData() {
+      return data;
+    }
+
+    @Override
+    public void markCompleted() {
+      if (completed.compareAndSet(false, true)) {
+        queue.markTaskCompleted(this);
+      }
+    }
+
+    @Override
+    public void markFailed() {
+      if (completed.compareAndSet(false, true)) {
+        queue.handleFailedTask(this);
+      }
+    }
+  }
+}
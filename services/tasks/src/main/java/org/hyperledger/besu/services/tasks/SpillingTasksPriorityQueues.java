@@ -0,0 +1,244 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Tasks priority queues, like {@link InMemoryTasksPriorityQueues}, that keep a bounded number of
+ * tasks in memory and spill the others to segment files, one set of segments per depth.
+ *
+ * <p>The deepest tasks are served first. Within a depth, the tasks in memory are served in
+ * priority order before the spilled ones, which are reloaded a segment at a time in the order
+ * they were written and are then served in priority order among themselves. A reloaded segment is
+ * kept in memory on top of the bound until it is consumed.
+ *
+ * @param <T> the type parameter
+ */
+public class SpillingTasksPriorityQueues<T extends TasksPriorityProvider>
+    implements TaskCollection<T> {
+  private static final int MAX_TASKS_PER_SEGMENT = 10_000;
+
+  private final Path directory;
+  private final int maxTasksInMemory;
+  private final int tasksPerSegment;
+  private final Function<T, Bytes> serializer;
+  private final Function<Bytes, T> deserializer;
+
+  private final List<PriorityQueue<T>> internalQueues = new ArrayList<>(16);
+  private final List<TaskSegments<T>> spilledQueues = new ArrayList<>(16);
+  private final Set<SpillingTask<T>> unfinishedOutstandingTasks = new HashSet<>();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private long tasksInMemory = 0;
+  private long spilledTasks = 0;
+
+  /**
+   * Instantiates new Spilling tasks priority queues. Segments left in the directory by a previous
+   * instance are deleted.
+   *
+   * @param directory the directory of the segment files, created when a first task is spilled
+   * @param maxTasksInMemory the number of tasks kept in memory before spilling
+   * @param serializer encodes a task to spill
+   * @param deserializer decodes a spilled task
+   */
+  public SpillingTasksPriorityQueues(
+      final Path directory,
+      final int maxTasksInMemory,
+      final Function<T, Bytes> serializer,
+      final Function<Bytes, T> deserializer) {
+    this.directory = directory;
+    this.maxTasksInMemory = maxTasksInMemory;
+    this.tasksPerSegment = Math.max(1, Math.min(maxTasksInMemory, MAX_TASKS_PER_SEGMENT));
+    this.serializer = serializer;
+    this.deserializer = deserializer;
+    TaskSegments.deleteSegmentFiles(directory);
+  }
+
+  @Override
+  public synchronized void add(final T taskData) {
+    assertNotClosed();
+    final int depth = taskData.getDepth();
+    if (tasksInMemory < maxTasksInMemory) {
+      findQueue(depth).add(taskData);
+      tasksInMemory++;
+    } else {
+      findSpilledQueue(depth).write(taskData);
+      spilledTasks++;
+    }
+  }
+
+  @Override
+  public synchronized Task<T> remove() {
+    assertNotClosed();
+    final int depth = findDeepestNonEmptyDepth();
+    if (depth < 0) {
+      return null;
+    }
+    final PriorityQueue<T> queue = internalQueues.get(depth);
+    if (queue.isEmpty()) {
+      final TaskSegments<T> spilledQueue = spilledQueues.get(depth);
+      final long spilledBefore = spilledQueue.size();
+      spilledQueue.readSegment(queue::add);
+      final long reloadedTasks = spilledBefore - spilledQueue.size();
+      spilledTasks -= reloadedTasks;
+      tasksInMemory += reloadedTasks;
+    }
+    final T data = queue.remove();
+    tasksInMemory--;
+    final SpillingTask<T> task = new SpillingTask<>(this, data);
+    unfinishedOutstandingTasks.add(task);
+    return task;
+  }
+
+  @Override
+  public synchronized long size() {
+    return tasksInMemory + spilledTasks;
+  }
+
+  /**
+   * Returns the number of tasks spilled to the segment files.
+   *
+   * @return the number of spilled tasks
+   */
+  public synchronized long spilledSize() {
+    return spilledTasks;
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public synchronized void clear() {
+    assertNotClosed();
+    unfinishedOutstandingTasks.clear();
+    clearQueues();
+  }
+
+  @Override
+  public synchronized boolean allTasksCompleted() {
+    return isEmpty() && unfinishedOutstandingTasks.isEmpty();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed.compareAndSet(false, true)) {
+      unfinishedOutstandingTasks.clear();
+      clearQueues();
+    }
+  }
+
+  private void clearQueues() {
+    internalQueues.clear();
+    try {
+      spilledQueues.forEach(TaskSegments::delete);
+    } finally {
+      spilledQueues.clear();
+      tasksInMemory = 0;
+      spilledTasks = 0;
+    }
+  }
+
+  private PriorityQueue<T> findQueue(final int depth) {
+    ensureDepth(depth);
+    return internalQueues.get(depth);
+  }
+
+  private TaskSegments<T> findSpilledQueue(final int depth) {
+    ensureDepth(depth);
+    return spilledQueues.get(depth);
+  }
+
+  private void ensureDepth(final int depth) {
+    while (depth + 1 > internalQueues.size()) {
+      internalQueues.add(
+          new PriorityQueue<>(Comparator.comparingLong(TasksPriorityProvider::getPriority)));
+      spilledQueues.add(
+          new TaskSegments<>(
+              directory,
+              spilledQueues.size() + "-",
+              tasksPerSegment,
+              serializer,
+              deserializer));
+    }
+  }
+
+  private int findDeepestNonEmptyDepth() {
+    for (int depth = internalQueues.size() - 1; depth >= 0; depth--) {
+      if (!internalQueues.get(depth).isEmpty() || spilledQueues.get(depth).size() > 0) {
+        return depth;
+      }
+    }
+    return -1;
+  }
+
+  private void assertNotClosed() {
+    if (closed.get()) {
+      throw new IllegalStateException("Attempt to access closed " + getClass().getSimpleName());
+    }
+  }
+
+  private synchronized void handleFailedTask(final SpillingTask<T> task) {
+    if (markTaskCompleted(task)) {
+      add(task.getData());
+    }
+  }
+
+  private synchronized boolean markTaskCompleted(final SpillingTask<T> task) {
+    return unfinishedOutstandingTasks.remove(task);
+  }
+
+  private static class SpillingTask<T extends TasksPriorityProvider> implements Task<T> {
+    private final T data;
+    private final SpillingTasksPriorityQueues<T> queue;
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+
+    private SpillingTask(final SpillingTasksPriorityQueues<T> queue, final T data) {
+      this.queue = queue;
+      this.data = data;
+    }
+
+    @Override
+    public T getData() {
+      return data;
+    }
+
+    @Override
+    public void markCompleted() {
+      if (completed.compareAndSet(false, true)) {
+        queue.markTaskCompleted(this);
+      }
+    }
+
+    @Override
+    public void markFailed() {
+      if (completed.compareAndSet(false, true)) {
+        queue.handleFailedTask(this);
+      }
+    }
+  }
+}
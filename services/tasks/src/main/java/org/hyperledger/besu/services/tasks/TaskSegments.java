@@ -0,0 +1,170 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Segment files of tasks spilled to disk by a task collection, read back in the order they were
+ * written.
+ *
+ * @param <T> the type parameter
+ */
+final class TaskSegments<T> {
+  private static final String SEGMENT_PREFIX = "tasks-";
+
+  private final Path directory;
+  private final String segmentPrefix;
+  private final int tasksPerSegment;
+  private final Function<T, Bytes> serializer;
+  private final Function<Bytes, T> deserializer;
+
+  private final Queue<Segment> segments = new ArrayDeque<>();
+  private DataOutputStream segmentWriter;
+  private Segment writtenSegment;
+  private long segmentCounter = 0;
+  private long size = 0;
+
+  TaskSegments(
+      final Path directory,
+      final String name,
+      final int tasksPerSegment,
+      final Function<T, Bytes> serializer,
+      final Function<Bytes, T> deserializer) {
+    this.directory = directory;
+    this.segmentPrefix = SEGMENT_PREFIX + name;
+    this.tasksPerSegment = tasksPerSegment;
+    this.serializer = serializer;
+    this.deserializer = deserializer;
+  }
+
+  long size() {
+    return size;
+  }
+
+  void write(final T task) {
+    final Bytes encodedTask = serializer.apply(task);
+    try {
+      if (segmentWriter == null) {
+        Files.createDirectories(directory);
+        writtenSegment = new Segment(directory.resolve(segmentPrefix + segmentCounter++));
+        segmentWriter =
+            new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(writtenSegment.path)));
+      }
+      segmentWriter.writeInt(encodedTask.size());
+      segmentWriter.write(encodedTask.toArrayUnsafe());
+      writtenSegment.size++;
+      size++;
+      if (writtenSegment.size >= tasksPerSegment) {
+        closeWrittenSegment();
+      }
+    } catch (final IOException e) {
+      throw new StorageException("Failed to spill task to " + directory, e);
+    }
+  }
+
+  /**
+   * Reads back the oldest segment, which is deleted once its tasks were handed to the consumer.
+   *
+   * @param consumer receives the tasks of the segment in the order they were written
+   */
+  void readSegment(final Consumer<T> consumer) {
+    try {
+      if (segments.isEmpty()) {
+        closeWrittenSegment();
+      }
+      final Segment segment = segments.remove();
+      try (final DataInputStream reader =
+          new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.path)))) {
+        for (int i = 0; i < segment.size; i++) {
+          final byte[] encodedTask = new byte[reader.readInt()];
+          reader.readFully(encodedTask);
+          consumer.accept(deserializer.apply(Bytes.wrap(encodedTask)));
+        }
+      }
+      size -= segment.size;
+      Files.delete(segment.path);
+    } catch (final IOException e) {
+      throw new StorageException("Failed to reload tasks from " + directory, e);
+    }
+  }
+
+  void delete() {
+    try {
+      if (segmentWriter != null) {
+        closeWrittenSegment();
+      }
+      for (final Segment segment : segments) {
+        Files.deleteIfExists(segment.path);
+      }
+    } catch (final IOException e) {
+      throw new StorageException("Failed to delete tasks from " + directory, e);
+    } finally {
+      segments.clear();
+      size = 0;
+    }
+  }
+
+  /**
+   * Deletes the segment files left in the directory by a previous task collection.
+   *
+   * @param directory the directory of the segment files
+   */
+  static void deleteSegmentFiles(final Path directory) {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (final DirectoryStream<Path> segmentFiles =
+        Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+      for (final Path segmentFile : segmentFiles) {
+        Files.delete(segmentFile);
+      }
+    } catch (final IOException e) {
+      throw new StorageException("Failed to delete tasks from " + directory, e);
+    }
+  }
+
+  private void closeWrittenSegment() throws IOException {
+    segmentWriter.close();
+    segmentWriter = null;
+    segments.add(writtenSegment);
+    writtenSegment = null;
+  }
+
+  private static class Segment {
+    private final Path path;
+    private int size;
+
+    private Segment(final Path path) {
+      this.path = path;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SpillingTaskQueueTest extends AbstractTaskQueueTest<SpillingTaskQueue<Bytes>> {
+
+  @TempDir private Path directory;
+
+  @Override
+  protected SpillingTaskQueue<Bytes> createQueue() {
+    return createQueue(2);
+  }
+
+  private SpillingTaskQueue<Bytes> createQueue(final int maxTasksInMemory) {
+    return new SpillingTaskQueue<>(directory, maxTasksInMemory, task -> task, task -> task);
+  }
+
+  @Test
+  public void spillsTasksBeyondTheBoundAndReloadsThemInOrder() throws Exception {
+    try (final SpillingTaskQueue<Bytes> queue = createQueue(2)) {
+      for (int i = 0; i < 7; i++) {
+        queue.add(Bytes.of(i));
+      }
+      assertThat(queue.size()).isEqualTo(7);
+      assertThat(queue.spilledSize()).isEqualTo(5);
+      assertThat(segmentFiles()).hasSize(3);
+
+      for (int i = 0; i < 7; i++) {
+        final Task<Bytes> task = queue.remove();
+        assertThat(task.getData()).isEqualTo(Bytes.of(i));
+        task.markCompleted();
+      }
+      assertThat(queue.remove()).isNull();
+      assertThat(queue.allTasksCompleted()).isTrue();
+      assertThat(queue.spilledSize()).isZero();
+      assertThat(segmentFiles()).isEmpty();
+    }
+  }
+
+  @Test
+  public void spillsFailedTasksBeyondTheBound() throws Exception {
+    try (final SpillingTaskQueue<Bytes> queue = createQueue(1)) {
+      queue.add(Bytes.of(1));
+      final Task<Bytes> task = queue.remove();
+      queue.add(Bytes.of(2));
+      task.markFailed();
+
+      assertThat(queue.size()).isEqualTo(2);
+      assertThat(queue.spilledSize()).isEqualTo(1);
+      assertThat(queue.remove().getData()).isEqualTo(Bytes.of(2));
+      assertThat(queue.remove().getData()).isEqualTo(Bytes.of(1));
+      assertThat(queue.remove()).isNull();
+    }
+  }
+
+  @Test
+  public void deletesSpilledTasksOnClearAndOnCreation() throws Exception {
+    final SpillingTaskQueue<Bytes> queue = createQueue(1);
+    queue.add(Bytes.of(1));
+    queue.add(Bytes.of(2));
+    queue.add(Bytes.of(3));
+    assertThat(segmentFiles()).hasSize(2);
+
+    queue.clear();
+    assertThat(segmentFiles()).isEmpty();
+    assertThat(queue.isEmpty()).isTrue();
+
+    queue.add(Bytes.of(1));
+    queue.add(Bytes.of(2));
+    assertThat(segmentFiles()).hasSize(1);
+
+    // a new queue does not reuse the tasks left by a previous one
+    try (final SpillingTaskQueue<Bytes> newQueue = createQueue(1)) {
+      assertThat(segmentFiles()).isEmpty();
+      assertThat(newQueue.isEmpty()).isTrue();
+    }
+  }
+
+  private List<Path> segmentFiles() throws Exception {
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files.toList();
+    }
+  }
+}
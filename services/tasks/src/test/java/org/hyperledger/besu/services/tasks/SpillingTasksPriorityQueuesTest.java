@@ -0,0 +1,130 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SpillingTasksPriorityQueuesTest {
+
+  @TempDir private Path directory;
+
+  @Test
+  public void servesDeepestTasksFirstWhetherSpilledOrNot() throws Exception {
+    try (final SpillingTasksPriorityQueues<Item> queue = createQueue(2)) {
+      queue.add(item(1, 1));
+      queue.add(item(2, 30));
+      queue.add(item(2, 10));
+      queue.add(item(5, 1));
+      queue.add(item(99, 7));
+      queue.add(item(1, 20));
+
+      assertThat(queue.size()).isEqualTo(6);
+      assertThat(queue.spilledSize()).isEqualTo(4);
+
+      final List<Item> items = new ArrayList<>();
+      while (!queue.isEmpty()) {
+        final Task<Item> task = queue.remove();
+        items.add(task.getData());
+        task.markCompleted();
+      }
+
+      assertThat(items)
+          .containsExactly(
+              item(99, 7), item(5, 1), item(2, 30), item(2, 10), item(1, 1), item(1, 20));
+      assertThat(queue.allTasksCompleted()).isTrue();
+      assertThat(segmentFiles()).isEmpty();
+    }
+  }
+
+  @Test
+  public void keepsTheBoundForFailedTasks() throws Exception {
+    try (final SpillingTasksPriorityQueues<Item> queue = createQueue(1)) {
+      queue.add(item(3, 1));
+      final Task<Item> task = queue.remove();
+      queue.add(item(3, 2));
+      task.markFailed();
+
+      assertThat(queue.size()).isEqualTo(2);
+      assertThat(queue.spilledSize()).isEqualTo(1);
+      assertThat(queue.remove().getData()).isEqualTo(item(3, 2));
+      assertThat(queue.remove().getData()).isEqualTo(item(3, 1));
+      assertThat(queue.remove()).isNull();
+    }
+  }
+
+  @Test
+  public void deletesSpilledTasksOnClearAndOnCreation() throws Exception {
+    final SpillingTasksPriorityQueues<Item> queue = createQueue(1);
+    queue.add(item(1, 1));
+    queue.add(item(2, 1));
+    queue.add(item(3, 1));
+    assertThat(segmentFiles()).hasSize(2);
+
+    queue.clear();
+    assertThat(segmentFiles()).isEmpty();
+    assertThat(queue.isEmpty()).isTrue();
+
+    queue.add(item(1, 1));
+    queue.add(item(2, 1));
+    assertThat(segmentFiles()).hasSize(1);
+
+    // new queues do not reuse the tasks left by previous ones
+    try (final SpillingTasksPriorityQueues<Item> newQueue = createQueue(1)) {
+      assertThat(segmentFiles()).isEmpty();
+      assertThat(newQueue.isEmpty()).isTrue();
+    }
+  }
+
+  private SpillingTasksPriorityQueues<Item> createQueue(final int maxTasksInMemory) {
+    return new SpillingTasksPriorityQueues<>(
+        directory,
+        maxTasksInMemory,
+        item ->
+            Bytes.concatenate(Bytes.ofUnsignedInt(item.depth), Bytes.ofUnsignedLong(item.priority)),
+        encoded -> item(encoded.getInt(0), encoded.getLong(4)));
+  }
+
+  private List<Path> segmentFiles() throws Exception {
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files.toList();
+    }
+  }
+
+  private static Item item(final int depth, final long priority) {
+    return new Item(depth, priority);
+  }
+
+  private record Item(int depth, long priority) implements TasksPriorityProvider {
+    @Override
+    public long getPriority() {
+      return priority;
+    }
+
+    @Override
+    public int getDepth() {
+      return depth;
+    }
+  }
+}
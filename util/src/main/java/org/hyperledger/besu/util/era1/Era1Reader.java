@@ -21,6 +21,7 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -139,6 +140,18 @@ public class Era1Reader {
     bufferedInputStream.close();
   }
 
+  /**
+   * Memory-maps the supplied era1 file for random access to its blocks by block number, instead of
+   * reading it sequentially
+   *
+   * @param path The path of the era1 file
+   * @return the mapped era1 file, which must be closed by the caller
+   * @throws IOException If the file cannot be opened or mapped
+   */
+  public MappedEra1File map(final Path path) throws IOException {
+    return MappedEra1File.open(path, snappyFactory);
+  }
+
   private long convertLittleEndianBytesToLong(final byte[] bytes) {
     return Pack.littleEndianToLong(bytes, 0, bytes.length);
   }
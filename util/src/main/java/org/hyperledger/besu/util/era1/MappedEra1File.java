@@ -0,0 +1,342 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util.era1;
+
+import org.hyperledger.besu.util.snappy.SnappyFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.xerial.snappy.SnappyFramedInputStream;
+
+/**
+ * A memory-mapped era1 file providing random access to its blocks by block number.
+ *
+ * <p>The trailing block index is read when the file is opened, so any block can be located
+ * without scanning the file. The entries of a block are returned as zero-copy {@link Bytes} slices
+ * over the mapping, and are only decompressed when requested.
+ */
+public class MappedEra1File implements Closeable {
+  private static final int TYPE_LENGTH = 2;
+  private static final int LENGTH_LENGTH = 6;
+  private static final int ENTRY_HEADER_LENGTH = TYPE_LENGTH + LENGTH_LENGTH;
+  private static final int STARTING_BLOCK_INDEX_LENGTH = 8;
+  private static final int BLOCK_INDEX_LENGTH = 8;
+  private static final int BLOCK_INDEX_COUNT_LENGTH = 8;
+
+  private final Path path;
+  private final FileChannel fileChannel;
+  private final MappedByteBuffer mapping;
+  private final SnappyFactory snappyFactory;
+  private final long startingBlockNumber;
+  private final long[] blockPositions;
+
+  private MappedEra1File(
+      final Path path,
+      final FileChannel fileChannel,
+      final MappedByteBuffer mapping,
+      final SnappyFactory snappyFactory) {
+    this.path = path;
+    this.fileChannel = fileChannel;
+    this.mapping = mapping;
+    this.snappyFactory = snappyFactory;
+
+    final ByteBuffer buffer = mapping.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    final int size = buffer.limit();
+    if (size < ENTRY_HEADER_LENGTH + STARTING_BLOCK_INDEX_LENGTH + BLOCK_INDEX_COUNT_LENGTH) {
+      throw new IllegalArgumentException("File " + path + " is too small to be an era1 file");
+    }
+    final long count = buffer.getLong(size - BLOCK_INDEX_COUNT_LENGTH);
+    final long indexLength =
+        STARTING_BLOCK_INDEX_LENGTH + count * BLOCK_INDEX_LENGTH + BLOCK_INDEX_COUNT_LENGTH;
+    final long indexPosition = size - indexLength - ENTRY_HEADER_LENGTH;
+    if (count < 0 || indexPosition < 0) {
+      throw new IllegalArgumentException("Invalid block index count " + count + " in " + path);
+    }
+    final int indexStart = (int) indexPosition;
+    if (typeAt(indexStart) != Era1Type.BLOCK_INDEX || lengthAt(indexStart) != indexLength) {
+      throw new IllegalArgumentException("No block index found at the end of " + path);
+    }
+    this.startingBlockNumber = buffer.getLong(indexStart + ENTRY_HEADER_LENGTH);
+    this.blockPositions = new long[(int) count];
+    for (int i = 0; i < count; i++) {
+      blockPositions[i] =
+          indexPosition
+              + buffer.getLong(
+                  indexStart
+                      + ENTRY_HEADER_LENGTH
+                      + STARTING_BLOCK_INDEX_LENGTH
+                      + i * BLOCK_INDEX_LENGTH);
+      if (blockPositions[i] < 0 || blockPositions[i] >= indexPosition) {
+        throw new IllegalArgumentException(
+            "Invalid position for block " + (startingBlockNumber + i) + " in " + path);
+      }
+    }
+  }
+
+  /**
+   * Opens and memory-maps the supplied era1 file, reading its block index
+   *
+   * @param path the path of the era1 file
+   * @param snappyFactory A factory to provide objects for snappy decompression
+   * @return the mapped era1 file
+   * @throws IOException if the file cannot be opened or mapped
+   * @throws IllegalArgumentException if the file does not end with a valid block index
+   */
+  public static MappedEra1File open(final Path path, final SnappyFactory snappyFactory)
+      throws IOException {
+    final FileChannel fileChannel = FileChannel.open(path);
+    try {
+      final long size = fileChannel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("File " + path + " is too large to be mapped as an era1 file");
+      }
+      final MappedByteBuffer mapping = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      return new MappedEra1File(path, fileChannel, mapping, snappyFactory);
+    } catch (final IOException | RuntimeException e) {
+      fileChannel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets the path of this file
+   *
+   * @return the path of this file
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Gets the number of the first block in this file
+   *
+   * @return the number of the first block in this file
+   */
+  public long getStartingBlockNumber() {
+    return startingBlockNumber;
+  }
+
+  /**
+   * Gets the number of blocks in this file
+   *
+   * @return the number of blocks in this file
+   */
+  public int getBlockCount() {
+    return blockPositions.length;
+  }
+
+  /**
+   * Checks whether the supplied block number is stored in this file
+   *
+   * @param blockNumber the block number
+   * @return true if the block is stored in this file
+   */
+  public boolean containsBlock(final long blockNumber) {
+    return blockNumber >= startingBlockNumber
+        && blockNumber - startingBlockNumber < blockPositions.length;
+  }
+
+  /**
+   * Gets the block index of this file, with positions relative to the block index as stored
+   *
+   * @return the block index
+   */
+  public Era1BlockIndex getBlockIndex() {
+    final long indexPosition =
+        mapping.limit()
+            - (STARTING_BLOCK_INDEX_LENGTH
+                + (long) blockPositions.length * BLOCK_INDEX_LENGTH
+                + BLOCK_INDEX_COUNT_LENGTH)
+            - ENTRY_HEADER_LENGTH;
+    final List<Long> indexes = new ArrayList<>(blockPositions.length);
+    for (final long blockPosition : blockPositions) {
+      indexes.add(blockPosition - indexPosition);
+    }
+    return new Era1BlockIndex(startingBlockNumber, indexes);
+  }
+
+  /**
+   * Locates the entries of the supplied block without decompressing them
+   *
+   * @param blockNumber the block number
+   * @return the still compressed entries of the block
+   * @throws NoSuchElementException if the block is not stored in this file
+   */
+  public Era1BlockEntries getBlock(final long blockNumber) {
+    if (!containsBlock(blockNumber)) {
+      throw new NoSuchElementException("Block " + blockNumber + " is not stored in " + path);
+    }
+    int position = (int) blockPositions[(int) (blockNumber - startingBlockNumber)];
+    final Bytes header = entryAt(position, Era1Type.COMPRESSED_EXECUTION_BLOCK_HEADER);
+    position += ENTRY_HEADER_LENGTH + header.size();
+    final Bytes body = entryAt(position, Era1Type.COMPRESSED_EXECUTION_BLOCK_BODY);
+    position += ENTRY_HEADER_LENGTH + body.size();
+    final Bytes receipts = entryAt(position, Era1Type.COMPRESSED_EXECUTION_BLOCK_RECEIPTS);
+    position += ENTRY_HEADER_LENGTH + receipts.size();
+    final Bytes totalDifficulty = entryAt(position, Era1Type.TOTAL_DIFFICULTY);
+    return new Era1BlockEntries(blockNumber, header, body, receipts, totalDifficulty);
+  }
+
+  @Override
+  public void close() throws IOException {
+    fileChannel.close();
+  }
+
+  private Era1Type typeAt(final int position) {
+    return Era1Type.getForTypeCode(new byte[] {mapping.get(position), mapping.get(position + 1)});
+  }
+
+  private long lengthAt(final int position) {
+    long length = 0;
+    for (int i = LENGTH_LENGTH - 1; i >= 0; i--) {
+      length = (length << 8) | (mapping.get(position + TYPE_LENGTH + i) & 0xFF);
+    }
+    return length;
+  }
+
+  private Bytes entryAt(final int position, final Era1Type expectedType) {
+    final Era1Type type = typeAt(position);
+    if (type != expectedType) {
+      throw new IllegalStateException(
+          "Expected " + expectedType + " at position " + position + " of " + path + " not " + type);
+    }
+    return Bytes.wrapByteBuffer(mapping, position + ENTRY_HEADER_LENGTH, (int) lengthAt(position));
+  }
+
+  private Bytes decompress(final Bytes compressed) {
+    try (SnappyFramedInputStream decompressionStream =
+        snappyFactory.createFramedInputStream(new BytesInputStream(compressed))) {
+      return Bytes.wrap(decompressionStream.readAllBytes());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * The entries of a single block in a mapped era1 file. The compressed entries are slices over the
+   * mapping, and are decompressed each time the corresponding accessor is called.
+   */
+  public final class Era1BlockEntries {
+    private final long blockNumber;
+    private final Bytes compressedHeader;
+    private final Bytes compressedBody;
+    private final Bytes compressedReceipts;
+    private final Bytes totalDifficulty;
+
+    private Era1BlockEntries(
+        final long blockNumber,
+        final Bytes compressedHeader,
+        final Bytes compressedBody,
+        final Bytes compressedReceipts,
+        final Bytes totalDifficulty) {
+      this.blockNumber = blockNumber;
+      this.compressedHeader = compressedHeader;
+      this.compressedBody = compressedBody;
+      this.compressedReceipts = compressedReceipts;
+      this.totalDifficulty = totalDifficulty;
+    }
+
+    /**
+     * Gets the block number
+     *
+     * @return the block number
+     */
+    public long getBlockNumber() {
+      return blockNumber;
+    }
+
+    /**
+     * Decompresses the RLP encoded block header
+     *
+     * @return the RLP encoded block header
+     */
+    public Bytes header() {
+      return decompress(compressedHeader);
+    }
+
+    /**
+     * Decompresses the RLP encoded block body
+     *
+     * @return the RLP encoded block body
+     */
+    public Bytes body() {
+      return decompress(compressedBody);
+    }
+
+    /**
+     * Decompresses the RLP encoded list of transaction receipts
+     *
+     * @return the RLP encoded list of transaction receipts
+     */
+    public Bytes receipts() {
+      return decompress(compressedReceipts);
+    }
+
+    /**
+     * Gets the little endian encoded total difficulty
+     *
+     * @return the little endian encoded total difficulty
+     */
+    public Bytes totalDifficulty() {
+      return totalDifficulty;
+    }
+  }
+
+  private static final class BytesInputStream extends InputStream {
+    private final Bytes bytes;
+    private int position;
+
+    private BytesInputStream(final Bytes bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public int read() {
+      return position < bytes.size() ? bytes.get(position++) & 0xFF : -1;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) {
+      if (length == 0) {
+        return 0;
+      }
+      final int available = bytes.size() - position;
+      if (available <= 0) {
+        return -1;
+      }
+      final int count = Math.min(length, available);
+      bytes.slice(position, count).copyTo(buffer, offset);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return bytes.size() - position;
+    }
+  }
+}
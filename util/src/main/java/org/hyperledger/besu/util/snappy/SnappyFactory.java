@@ -16,6 +16,7 @@ package org.hyperledger.besu.util.snappy;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 
 import org.xerial.snappy.SnappyFramedInputStream;
@@ -39,6 +40,18 @@ public class SnappyFactory {
     return new SnappyFramedInputStream(new ByteArrayInputStream(compressedData));
   }
 
+  /**
+   * Creates a SnappyFramedInputStream reading from the supplied InputStream
+   *
+   * @param compressedData The compressed data for the SnappyFramedInputStream to read
+   * @return a SnappyFramedInputStream reading from the supplied InputStream
+   * @throws IOException if the SnappyFramedInputStream is unable to be created
+   */
+  public SnappyFramedInputStream createFramedInputStream(final InputStream compressedData)
+      throws IOException {
+    return new SnappyFramedInputStream(compressedData);
+  }
+
   /**
    * Creates a SnappyFramedOutputStream writing to the supplied OutputStream
    *
@@ -0,0 +1,159 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util.era1;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.util.io.InputStreamFactory;
+import org.hyperledger.besu.util.snappy.SnappyFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.bouncycastle.util.Pack;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xerial.snappy.SnappyFramedOutputStream;
+
+public class MappedEra1FileTest {
+  private static final long STARTING_BLOCK = 8192;
+  private static final int BLOCK_COUNT = 5;
+
+  @TempDir Path tempDir;
+
+  private final SnappyFactory snappyFactory = new SnappyFactory();
+
+  @Test
+  public void readsBlocksInAnyOrder() throws IOException {
+    final Path file = writeEra1File();
+
+    try (final MappedEra1File era1File = MappedEra1File.open(file, snappyFactory)) {
+      assertThat(era1File.getStartingBlockNumber()).isEqualTo(STARTING_BLOCK);
+      assertThat(era1File.getBlockCount()).isEqualTo(BLOCK_COUNT);
+      for (int i = BLOCK_COUNT - 1; i >= 0; i--) {
+        final MappedEra1File.Era1BlockEntries entries = era1File.getBlock(STARTING_BLOCK + i);
+        assertThat(entries.getBlockNumber()).isEqualTo(STARTING_BLOCK + i);
+        assertThat(entries.header()).isEqualTo(content("header", i));
+        assertThat(entries.body()).isEqualTo(content("body", i));
+        assertThat(entries.receipts()).isEqualTo(content("receipts", i));
+        assertThat(entries.totalDifficulty()).isEqualTo(Bytes.wrap(Pack.longToLittleEndian(i)));
+      }
+    }
+  }
+
+  @Test
+  public void blockIndexMatchesSequentialReader() throws IOException {
+    final Path file = writeEra1File();
+    final List<Era1BlockIndex> sequentialIndexes = new ArrayList<>();
+    new Era1Reader(snappyFactory, new InputStreamFactory())
+        .read(
+            Files.newInputStream(file),
+            new Era1ReaderListener() {
+              @Override
+              public void handleExecutionBlockHeader(final Era1ExecutionBlockHeader header) {}
+
+              @Override
+              public void handleExecutionBlockBody(final Era1ExecutionBlockBody body) {}
+
+              @Override
+              public void handleExecutionBlockReceipts(
+                  final Era1ExecutionBlockReceipts receipts) {}
+
+              @Override
+              public void handleBlockIndex(final Era1BlockIndex blockIndex) {
+                sequentialIndexes.add(blockIndex);
+              }
+            });
+
+    try (final MappedEra1File era1File = MappedEra1File.open(file, snappyFactory)) {
+      assertThat(sequentialIndexes).containsExactly(era1File.getBlockIndex());
+    }
+  }
+
+  @Test
+  public void rejectsBlocksOutsideOfFile() throws IOException {
+    try (final MappedEra1File era1File = MappedEra1File.open(writeEra1File(), snappyFactory)) {
+      assertThat(era1File.containsBlock(STARTING_BLOCK - 1)).isFalse();
+      assertThat(era1File.containsBlock(STARTING_BLOCK + BLOCK_COUNT)).isFalse();
+      assertThatThrownBy(() -> era1File.getBlock(STARTING_BLOCK + BLOCK_COUNT))
+          .isInstanceOf(NoSuchElementException.class);
+    }
+  }
+
+  @Test
+  public void rejectsFileWithoutBlockIndex() throws IOException {
+    final Path file = tempDir.resolve("invalid.era1");
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writeEntry(out, Era1Type.VERSION, new byte[0]);
+    writeEntry(out, Era1Type.ACCUMULATOR, new byte[32]);
+    Files.write(file, out.toByteArray());
+
+    assertThatThrownBy(() -> MappedEra1File.open(file, snappyFactory))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private Path writeEra1File() throws IOException {
+    final Path file = tempDir.resolve("test-00001-00000000.era1");
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writeEntry(out, Era1Type.VERSION, new byte[0]);
+    final List<Long> positions = new ArrayList<>();
+    for (int i = 0; i < BLOCK_COUNT; i++) {
+      positions.add((long) out.size());
+      writeEntry(out, Era1Type.COMPRESSED_EXECUTION_BLOCK_HEADER, compress(content("header", i)));
+      writeEntry(out, Era1Type.COMPRESSED_EXECUTION_BLOCK_BODY, compress(content("body", i)));
+      writeEntry(
+          out, Era1Type.COMPRESSED_EXECUTION_BLOCK_RECEIPTS, compress(content("receipts", i)));
+      writeEntry(out, Era1Type.TOTAL_DIFFICULTY, Pack.longToLittleEndian(i));
+    }
+    writeEntry(out, Era1Type.ACCUMULATOR, new byte[32]);
+    final long indexPosition = out.size();
+    final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    index.write(Pack.longToLittleEndian(STARTING_BLOCK));
+    for (final long position : positions) {
+      index.write(Pack.longToLittleEndian(position - indexPosition));
+    }
+    index.write(Pack.longToLittleEndian(BLOCK_COUNT));
+    writeEntry(out, Era1Type.BLOCK_INDEX, index.toByteArray());
+    Files.write(file, out.toByteArray());
+    return file;
+  }
+
+  private static Bytes content(final String entry, final int block) {
+    return Bytes.wrap((entry + " of block " + block).repeat(block + 1).getBytes(UTF_8));
+  }
+
+  private byte[] compress(final Bytes data) throws IOException {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (SnappyFramedOutputStream snappy = snappyFactory.createFramedOutputStream(compressed)) {
+      snappy.write(data.toArrayUnsafe());
+    }
+    return compressed.toByteArray();
+  }
+
+  private static void writeEntry(
+      final ByteArrayOutputStream out, final Era1Type type, final byte[] data) throws IOException {
+    out.write(type.getTypeCode());
+    out.write(Pack.longToLittleEndian(data.length), 0, 6);
+    out.write(data);
+  }
+}